@@ -0,0 +1,57 @@
+package club.magiccrazyman.geodetic.benchmarks;
+
+import club.magiccrazyman.geodetic.core.tools.CalculationTools;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 角度换算及格式化的单点性能
+ * <br>
+ * 运行：java -jar target/benchmarks.jar CalculationToolsBenchmark
+ *
+ * @author Magic Crazy Man
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalculationToolsBenchmark {
+
+    private static final int SIZE = 1024;
+
+    private double[] degrees;
+    private double[] radians;
+    private int index;
+
+    @Setup
+    public void setup() {
+        Workload.Points points = Workload.UNIFORM.generate(SIZE);
+        degrees = new double[SIZE];
+        radians = points.B;
+        for (int i = 0; i < SIZE; i++) {
+            degrees[i] = CalculationTools.radians2Degrees(radians[i]);
+        }
+    }
+
+    private int next() {
+        return index = (index + 1) & (SIZE - 1);
+    }
+
+    @Benchmark
+    public double radians2Degrees() {
+        return CalculationTools.radians2Degrees(radians[next()]);
+    }
+
+    @Benchmark
+    public double degrees2Radians() {
+        return CalculationTools.degrees2Radians(degrees[next()]);
+    }
+
+    @Benchmark
+    public String degreesFormatter() {
+        return CalculationTools.degreesFormatter(degrees[next()]);
+    }
+}
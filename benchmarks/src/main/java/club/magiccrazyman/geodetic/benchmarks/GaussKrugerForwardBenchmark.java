@@ -0,0 +1,60 @@
+package club.magiccrazyman.geodetic.benchmarks;
+
+import club.magiccrazyman.geodetic.core.coordinatesystem.projection.GaussKrugerProjectionCoordinateSystem;
+import club.magiccrazyman.geodetic.core.tools.CalculationTools;
+import club.magiccrazyman.geodetic.vector.VectorizedGaussKrugerProjection;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 批量高斯克吕格投影正算：标量实现与SIMD实现的吞吐量对比
+ * <br>
+ * 运行：java -jar target/benchmarks.jar GaussKrugerForwardBenchmark
+ *
+ * @author Magic Crazy Man
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class GaussKrugerForwardBenchmark {
+
+    @Param({"1024", "65536"})
+    private int size;
+
+    private GaussKrugerProjectionCoordinateSystem system;
+    private VectorizedGaussKrugerProjection vectorized;
+    private double[] L, B, xz, yz;
+
+    @Setup
+    public void setup() {
+        system = GaussKrugerProjectionCoordinateSystem.RecordedSystem.CGCS2000_3_Degree_GK_Zone_37.getSystem();
+        vectorized = new VectorizedGaussKrugerProjection(system);
+
+        Random random = new Random(42);
+        L = new double[size];
+        B = new double[size];
+        xz = new double[size];
+        yz = new double[size];
+        for (int i = 0; i < size; i++) {
+            L[i] = CalculationTools.degrees2Radians(109.5 + 3 * random.nextDouble());
+            B[i] = CalculationTools.degrees2Radians(18 + 35 * random.nextDouble());
+        }
+    }
+
+    @Benchmark
+    public double[] scalar() {
+        system.forwardCalculation(L, B, 0, size, xz, yz);
+        return xz;
+    }
+
+    @Benchmark
+    public double[] vector() {
+        vectorized.forwardCalculation(L, B, 0, size, xz, yz);
+        return xz;
+    }
+}
@@ -0,0 +1,137 @@
+package club.magiccrazyman.geodetic.benchmarks;
+
+import club.magiccrazyman.geodetic.core.coordinatesystem.GeodeticCoordinateSystem;
+import club.magiccrazyman.geodetic.core.coordinatesystem.SolutionMethod;
+import club.magiccrazyman.geodetic.core.coordinatesystem.projection.GaussKrugerProjectionCoordinateSystem;
+import club.magiccrazyman.geodetic.core.coordinatesystem.projection.GaussKrugerZoneProjector;
+import club.magiccrazyman.geodetic.core.coordinatesystem.projection.KrugerTransverseMercator;
+import club.magiccrazyman.geodetic.core.coordinatesystem.projection.TransformPlan;
+import club.magiccrazyman.geodetic.core.tools.CalculationTools;
+import club.magiccrazyman.geodetic.core.tools.MathBackend;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 高斯克吕格投影各公开计算方法的单点性能，同时输出吞吐量及延迟分位数
+ * <br>
+ * 固定投影带的方法使用平移至37带（111°E）范围内的测试数据，自动分带的方法使用原始测试数据；
+ * 换带计算由37带至38带，三角函数计算后端由参数指定
+ * <br>
+ * 运行：java -jar target/benchmarks.jar GaussKrugerProjectionBenchmark
+ *
+ * @author Magic Crazy Man
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GaussKrugerProjectionBenchmark {
+
+    private static final int SIZE = 1024;
+    private static final double PRECISION = 1e-12;
+
+    @Param({"UNIFORM", "POLAR"})
+    private Workload workload;
+
+    @Param({"JAVA", "FAST"})
+    private MathBackend backend;
+
+    private GaussKrugerProjectionCoordinateSystem system;
+    private GaussKrugerProjectionCoordinateSystem target;
+    private TransformPlan plan;
+    private GaussKrugerZoneProjector projector;
+    private KrugerTransverseMercator kruger;
+    private Workload.Points points;
+    private double[] L, xz, yz;
+    private final double[] output = new double[13];
+    private int index;
+
+    @Setup
+    public void setup() {
+        GeodeticCoordinateSystem geodetic = GeodeticCoordinateSystem.getSystemById(1);
+        system = new GaussKrugerProjectionCoordinateSystem(geodetic, 3, true, 37500000.0, 0.0, 111.0, 1.0, 0.0, "Meter (1.0)", "CGCS2000_3_Degree_GK_Zone_37", backend);
+        target = new GaussKrugerProjectionCoordinateSystem(geodetic, 3, true, 38500000.0, 0.0, 114.0, 1.0, 0.0, "Meter (1.0)", "CGCS2000_3_Degree_GK_Zone_38", backend);
+        plan = system.getTransformPlan(target);
+        projector = new GaussKrugerZoneProjector(geodetic, 3, true, backend);
+        kruger = system.getKrugerTransverseMercator();
+
+        points = workload.generate(SIZE);
+        L = new double[SIZE];
+        xz = new double[SIZE];
+        yz = new double[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            //平移至中央子午线两侧1.5°以内
+            double degrees = CalculationTools.radians2Degrees(points.L[i]) - 109.5;
+            L[i] = CalculationTools.degrees2Radians(109.5 + degrees - 3 * Math.floor(degrees / 3));
+        }
+        system.forwardCalculation(L, points.B, 0, SIZE, xz, yz);
+    }
+
+    private int next() {
+        return index = (index + 1) & (SIZE - 1);
+    }
+
+    @Benchmark
+    public double[] forwardCalculation() {
+        int i = next();
+        return system.forwardCalculation(L[i], points.B[i], output);
+    }
+
+    @Benchmark
+    public List<Double> forwardCalculationList() {
+        int i = next();
+        return system.forwardCalculation(L[i], points.B[i]);
+    }
+
+    @Benchmark
+    public double[] backwardCalculation() {
+        int i = next();
+        return system.backwardCalculation(xz[i], yz[i], PRECISION, true, output);
+    }
+
+    @Benchmark
+    public double[] backwardCalculationByClosedForm() {
+        int i = next();
+        return system.backwardCalculation(xz[i], yz[i], PRECISION, true, SolutionMethod.CLOSED_FORM, output);
+    }
+
+    @Benchmark
+    public double[] backwardCalculationByTable() {
+        int i = next();
+        return system.backwardCalculation(xz[i], yz[i], PRECISION, true, SolutionMethod.TABLE, output);
+    }
+
+    @Benchmark
+    public double[] projectionTransform() {
+        int i = next();
+        return system.projectionTransform(target, xz[i], yz[i], true, output);
+    }
+
+    @Benchmark
+    public double[] transformPlan() {
+        int i = next();
+        return plan.transform(xz[i], yz[i], true, output);
+    }
+
+    @Benchmark
+    public double[] zoneProjectorForwardCalculation() {
+        int i = next();
+        return projector.forwardCalculation(points.L[i], points.B[i], output);
+    }
+
+    @Benchmark
+    public double[] krugerForwardCalculation() {
+        int i = next();
+        return kruger.forwardCalculation(L[i], points.B[i], output);
+    }
+
+    @Benchmark
+    public double[] krugerBackwardCalculation() {
+        int i = next();
+        return kruger.backwardCalculation(xz[i], yz[i], true, output);
+    }
+}
@@ -0,0 +1,44 @@
+package club.magiccrazyman.geodetic.benchmarks;
+
+import club.magiccrazyman.geodetic.core.coordinatesystem.GeodeticCoordinateSystem;
+import club.magiccrazyman.geodetic.core.coordinatesystem.KarneyGeodesicSolver;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 近似对跖点的大地主题反算，迭代次数最多，用于观察延迟分位数的尾部
+ * <br>
+ * 教科书的反算迭代在近似对跖点处可能不收敛，故只测试有迭代上限的Karney算法
+ * <br>
+ * 运行：java -jar target/benchmarks.jar GeodesicStressBenchmark
+ *
+ * @author Magic Crazy Man
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeodesicStressBenchmark {
+
+    private static final int SIZE = 1024;
+
+    private KarneyGeodesicSolver karney;
+    private Workload.Points points;
+    private final double[] output = new double[4];
+    private int index;
+
+    @Setup
+    public void setup() {
+        karney = GeodeticCoordinateSystem.getSystemById(1).getKarneyGeodesicSolver();
+        points = Workload.ANTIPODAL.generate(SIZE);
+    }
+
+    @Benchmark
+    public double[] karneyInverseSolutionOfGeodeticProblem() {
+        int i = index = (index + 1) & (SIZE - 1);
+        return karney.inverseSolutionOfGeodeticProblem(points.L[i], points.B[i], points.L2[i], points.B2[i], output);
+    }
+}
@@ -0,0 +1,141 @@
+package club.magiccrazyman.geodetic.benchmarks;
+
+import club.magiccrazyman.geodetic.core.coordinatesystem.GeodeticCoordinateSystem;
+import club.magiccrazyman.geodetic.core.coordinatesystem.KarneyGeodesicSolver;
+import club.magiccrazyman.geodetic.core.coordinatesystem.SolutionMethod;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 大地坐标系各公开计算方法的单点性能，同时输出吞吐量及延迟分位数
+ * <br>
+ * 每次调用按顺序取测试数据中的下一个点，避免分支预测及缓存对同一点的偏向；
+ * 除返回ArrayList的方法外，各方法均使用 double[] output 重载，两者的分配速率可由GC分析器（-prof gc）对比
+ * <br>
+ * 运行：java -jar target/benchmarks.jar GeodeticCoordinateSystemBenchmark
+ *
+ * @author Magic Crazy Man
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeodeticCoordinateSystemBenchmark {
+
+    private static final int SIZE = 1024;
+    private static final double PRECISION = 1e-12;
+
+    @Param({"UNIFORM", "POLAR"})
+    private Workload workload;
+
+    private GeodeticCoordinateSystem system;
+    private KarneyGeodesicSolver karney;
+    private Workload.Points points;
+    private double[] X, Y, Z, meridianArc;
+    private final double[] output = new double[4];
+    private int index;
+
+    @Setup
+    public void setup() {
+        system = GeodeticCoordinateSystem.getSystemById(1);
+        karney = system.getKarneyGeodesicSolver();
+        points = workload.generate(SIZE);
+        X = new double[SIZE];
+        Y = new double[SIZE];
+        Z = new double[SIZE];
+        meridianArc = new double[SIZE];
+        system.transformToSpatialCoordinateSystem(points.L, points.B, points.H, 0, SIZE, X, Y, Z);
+        for (int i = 0; i < SIZE; i++) {
+            meridianArc[i] = system.calculateMeridianArc(points.B[i]);
+        }
+    }
+
+    private int next() {
+        return index = (index + 1) & (SIZE - 1);
+    }
+
+    @Benchmark
+    public double[] transformToSpatialCoordinateSystem() {
+        int i = next();
+        return system.transformToSpatialCoordinateSystem(points.L[i], points.B[i], points.H[i], output);
+    }
+
+    @Benchmark
+    public double[] transformToGeodeticCoordinateSystem() {
+        int i = next();
+        return system.transformToGeodeticCoordinateSystem(X[i], Y[i], Z[i], PRECISION, output);
+    }
+
+    @Benchmark
+    public double[] transformToGeodeticCoordinateSystemByClosedForm() {
+        int i = next();
+        return system.transformToGeodeticCoordinateSystemByClosedForm(X[i], Y[i], Z[i], output);
+    }
+
+    @Benchmark
+    public double[] directSolutionOfGeodeticProblem() {
+        int i = next();
+        return system.directSolutionOfGeodeticProblem(points.L[i], points.B[i], points.A[i], points.S[i], output);
+    }
+
+    @Benchmark
+    public double[] inverseSolutionOfGeodeticProblem() {
+        int i = next();
+        return system.inverseSolutionOfGeodeticProblem(points.L[i], points.B[i], points.L2[i], points.B2[i], PRECISION, output);
+    }
+
+    @Benchmark
+    public List<Double> inverseSolutionOfGeodeticProblemList() {
+        int i = next();
+        return system.inverseSolutionOfGeodeticProblem(points.L[i], points.B[i], points.L2[i], points.B2[i], PRECISION);
+    }
+
+    @Benchmark
+    public double[] karneyDirectSolutionOfGeodeticProblem() {
+        int i = next();
+        return karney.directSolutionOfGeodeticProblem(points.L[i], points.B[i], points.A[i], points.S[i], output);
+    }
+
+    @Benchmark
+    public double[] karneyInverseSolutionOfGeodeticProblem() {
+        int i = next();
+        return karney.inverseSolutionOfGeodeticProblem(points.L[i], points.B[i], points.L2[i], points.B2[i], output);
+    }
+
+    @Benchmark
+    public double calculateMeridianArc() {
+        return system.calculateMeridianArc(points.B[next()]);
+    }
+
+    @Benchmark
+    public double[] calculateGeodeticLatitudeFromMeridianArc() {
+        return system.calculateGeodeticLatitudeFromMeridianArc(meridianArc[next()], PRECISION, output);
+    }
+
+    @Benchmark
+    public double[] calculateGeodeticLatitudeFromMeridianArcByClosedForm() {
+        return system.calculateGeodeticLatitudeFromMeridianArc(meridianArc[next()], PRECISION, SolutionMethod.CLOSED_FORM, output);
+    }
+
+    @Benchmark
+    public double calculateParallelCircleArc() {
+        int i = next();
+        return system.calculateParallelCircleArc(points.L[i], points.B[i]);
+    }
+
+    @Benchmark
+    public double[] calculateReducedLatitude() {
+        return system.calculateReducedLatitude(points.B[next()], output);
+    }
+
+    @Benchmark
+    public double calculateCurvatureRadius() {
+        double sinB = Math.sin(points.B[next()]);
+        double eit2 = system.getSecondEccentricity() * sinB * sinB;
+        return system.calculateMeridianCurvatureRadius(eit2) + system.calculatePrimeVerticalCurvatureRadius(eit2) + system.calculateAverageCurvatureRadius(eit2);
+    }
+}
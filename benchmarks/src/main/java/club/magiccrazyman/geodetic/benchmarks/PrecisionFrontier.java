@@ -0,0 +1,362 @@
+package club.magiccrazyman.geodetic.benchmarks;
+
+import club.magiccrazyman.geodetic.core.coordinatesystem.GeodeticCoordinateSystem;
+import club.magiccrazyman.geodetic.core.coordinatesystem.KarneyGeodesicSolver;
+import club.magiccrazyman.geodetic.core.coordinatesystem.SolutionMethod;
+import club.magiccrazyman.geodetic.core.coordinatesystem.projection.GaussKrugerProjectionCoordinateSystem;
+import club.magiccrazyman.geodetic.core.coordinatesystem.projection.KrugerTransverseMercator;
+import club.magiccrazyman.geodetic.core.tools.CalculationTools;
+import club.magiccrazyman.geodetic.core.tools.MathBackend;
+import club.magiccrazyman.geodetic.core.tools.ParallelTools;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 迭代精度与计算耗时的取舍表，用于选取满足误差预算的最廉价迭代精度
+ * <br>
+ * 对所有登记的坐标系，以全球均匀分布的测试数据（{@link Workload#GLOBAL}）并行执行往返计算，按迭代精度及计算方法输出最大误差、均方根误差、平均迭代次数及每点耗时：
+ * <ul>
+ *     <li>空间直角坐标：大地坐标 → 空间直角坐标 → 大地坐标，对比迭代法与闭合公式法</li>
+ *     <li>高斯克吕格投影：正算 → 反算，对比迭代法、闭合公式法及Krüger级数，三角函数计算后端取JAVA及FAST，纬度压缩至±84°以内，经度位于中央子午线两侧半个分带内</li>
+ *     <li>大地主题：正算 → 反算，对比教科书算法与Karney算法，大地线长度1km至2000km</li>
+ * </ul>
+ * 误差为往返结果与原始值之差换算得到的距离，单位：毫米；耗时只计入与迭代精度有关的一步（反算），为各线程耗时之和除以点数；
+ * 每种设置先完整执行一轮用于预热，只统计第二轮
+ * <br>
+ * 运行：java -cp target/benchmarks.jar club.magiccrazyman.geodetic.benchmarks.PrecisionFrontier [每个坐标系的点数] [误差预算（毫米）] [线程数]
+ *
+ * @author Magic Crazy Man
+ */
+public class PrecisionFrontier {
+
+    /**
+     * 参与比较的迭代精度，单位：弧度
+     */
+    private static final double[] PRECISIONS = {1e-6, 1e-7, 1e-8, 1e-9, 1e-10, 1e-11, 1e-12, 1e-13, 1e-14};
+
+    /**
+     * 不使用迭代精度的计算方法在表中的精度值
+     */
+    private static final double NO_PRECISION = Double.NaN;
+
+    /**
+     * 每点保存的反算结果个数，须包含迭代次数所在的下标
+     */
+    private static final int WIDTH = 6;
+
+    /**
+     * 投影测试数据的纬度范围，单位：十进制度
+     */
+    private static final double PROJECTION_LATITUDE = 84;
+
+    private final int size;
+    private final double budget;
+    private final ForkJoinPool pool;
+    private final PrintStream out;
+    private final Workload.Points points;
+
+    /**
+     * @param size   每个坐标系的点数
+     * @param budget 误差预算，单位：毫米
+     * @param pool   执行计算的ForkJoinPool
+     * @param out    输出
+     */
+    public PrecisionFrontier(int size, double budget, ForkJoinPool pool, PrintStream out) {
+        this.size = size;
+        this.budget = budget;
+        this.pool = pool;
+        this.out = out;
+        this.points = Workload.GLOBAL.generate(size);
+    }
+
+    public static void main(String[] args) {
+        int size;
+        double budget;
+        int threads;
+        try {
+            size = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+            budget = args.length > 1 ? Double.parseDouble(args[1]) : 1.0;
+            threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        } catch (NumberFormatException e) {
+            System.err.println("用法：PrecisionFrontier [每个坐标系的点数] [误差预算（毫米）] [线程数]");
+            System.exit(2);
+            return;
+        }
+        if (size < 1 || !(budget > 0) || threads < 1) {
+            System.err.println("点数、误差预算及线程数均须大于0");
+            System.exit(2);
+            return;
+        }
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            new PrecisionFrontier(size, budget, pool, System.out).run();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * 执行所有往返计算并输出结果表及各坐标系满足误差预算的最廉价设置
+     */
+    public void run() {
+        out.printf("每个坐标系%d点，误差预算%.3fmm，%d线程%n%n", size, budget, pool.getParallelism());
+        out.printf("%-10s %-36s %-18s %8s %10s %12s %12s %10s%n",
+                "计算", "坐标系", "计算方法", "迭代精度", "平均迭代", "最大误差mm", "RMS误差mm", "ns/点");
+
+        List<Frontier> frontiers = new ArrayList<>();
+        for (GeodeticCoordinateSystem system : GeodeticCoordinateSystem.getSystems()) {
+            frontiers.add(spatial(system));
+        }
+        for (GaussKrugerProjectionCoordinateSystem.RecordedSystem recorded : GaussKrugerProjectionCoordinateSystem.RecordedSystem.values()) {
+            frontiers.add(projection(recorded.getSystem()));
+        }
+        for (GeodeticCoordinateSystem system : GeodeticCoordinateSystem.getSystems()) {
+            frontiers.add(geodesic(system));
+        }
+
+        out.printf("%n满足%.3fmm误差预算的最廉价设置：%n", budget);
+        for (Frontier frontier : frontiers) {
+            out.println(frontier.summary());
+        }
+    }
+
+    /**
+     * 空间直角坐标往返计算
+     */
+    private Frontier spatial(GeodeticCoordinateSystem system) {
+        double[] X = new double[size], Y = new double[size], Z = new double[size];
+        system.transformToSpatialCoordinateSystem(points.L, points.B, points.H, 0, size, X, Y, Z, pool);
+        ErrorFunction error = (i, output) -> {
+            double B = points.B[i];
+            double eit2 = system.getSecondEccentricity() * Math.pow(Math.cos(B), 2);
+            double dB = (output[1] - B) * system.calculateMeridianCurvatureRadius(eit2);
+            double dL = wrap(output[0] - points.L[i]) * system.calculatePrimeVerticalCurvatureRadius(eit2) * Math.cos(B);
+            double dH = output[2] - points.H[i];
+            return Math.sqrt(dB * dB + dL * dL + dH * dH);
+        };
+
+        Frontier frontier = new Frontier("空间直角坐标", system.getName());
+        for (double precision : PRECISIONS) {
+            frontier.add(measure(frontier, "ITERATION", precision, 3,
+                    (i, p, output) -> system.transformToGeodeticCoordinateSystem(X[i], Y[i], Z[i], p, SolutionMethod.ITERATION, output), error));
+        }
+        frontier.add(measure(frontier, "CLOSED_FORM", NO_PRECISION, 3,
+                (i, p, output) -> system.transformToGeodeticCoordinateSystem(X[i], Y[i], Z[i], p, SolutionMethod.CLOSED_FORM, output), error));
+        return frontier;
+    }
+
+    /**
+     * 高斯克吕格投影往返计算
+     */
+    private Frontier projection(GaussKrugerProjectionCoordinateSystem system) {
+        GeodeticCoordinateSystem geodetic = system.getGeodeticCoordinateSystem();
+        KrugerTransverseMercator kruger = system.getKrugerTransverseMercator();
+        double halfWidth = system.getDegree() / 2.0;
+        double[] L = new double[size], B = new double[size];
+        double[] xz = new double[size], yz = new double[size], kx = new double[size], ky = new double[size];
+        ParallelTools.forRange(pool, 0, size, (from, to) -> {
+            double[] output = new double[7];
+            for (int i = from; i < to; i++) {
+                //经度平移至中央子午线两侧半个分带以内，纬度按比例压缩
+                double l = wrap(points.L[i]) / Math.PI * halfWidth;
+                L[i] = CalculationTools.degrees2Radians(system.getCentralMeridian() + l);
+                B[i] = points.B[i] * (PROJECTION_LATITUDE / 90);
+                system.forwardCalculation(L[i], B[i], output);
+                xz[i] = output[0];
+                yz[i] = output[1];
+                kruger.forwardCalculation(L[i], B[i], output);
+                kx[i] = output[0];
+                ky[i] = output[1];
+            }
+        });
+        ErrorFunction error = (i, output) -> {
+            double eit2 = geodetic.getSecondEccentricity() * Math.pow(Math.cos(B[i]), 2);
+            double dB = (output[1] - B[i]) * geodetic.calculateMeridianCurvatureRadius(eit2);
+            double dL = wrap(output[0] - L[i]) * geodetic.calculatePrimeVerticalCurvatureRadius(eit2) * Math.cos(B[i]);
+            return Math.sqrt(dB * dB + dL * dL);
+        };
+
+        Frontier frontier = new Frontier("高斯克吕格投影", system.getName());
+        for (MathBackend backend : new MathBackend[]{MathBackend.JAVA, MathBackend.FAST}) {
+            for (double precision : PRECISIONS) {
+                frontier.add(measure(frontier, "ITERATION/" + backend, precision, 5,
+                        (i, p, output) -> system.backwardCalculation(xz[i], yz[i], p, true, SolutionMethod.ITERATION, backend, output), error));
+            }
+            frontier.add(measure(frontier, "CLOSED_FORM/" + backend, NO_PRECISION, 5,
+                    (i, p, output) -> system.backwardCalculation(xz[i], yz[i], p, true, SolutionMethod.CLOSED_FORM, backend, output), error));
+        }
+        frontier.add(measure(frontier, "KRUGER", NO_PRECISION, -1,
+                (i, p, output) -> kruger.backwardCalculation(kx[i], ky[i], true, output), error));
+        return frontier;
+    }
+
+    /**
+     * 大地主题往返计算，教科书的正算结果只用于教科书的反算，Karney算法同理
+     */
+    private Frontier geodesic(GeodeticCoordinateSystem system) {
+        KarneyGeodesicSolver karney = system.getKarneyGeodesicSolver();
+        double[] L2 = new double[size], B2 = new double[size], KL2 = new double[size], KB2 = new double[size];
+        ParallelTools.forRange(pool, 0, size, (from, to) -> {
+            double[] output = new double[4];
+            for (int i = from; i < to; i++) {
+                system.directSolutionOfGeodeticProblem(points.L[i], points.B[i], points.A[i], points.S[i], output);
+                L2[i] = output[0];
+                B2[i] = output[1];
+                karney.directSolutionOfGeodeticProblem(points.L[i], points.B[i], points.A[i], points.S[i], output);
+                KL2[i] = output[0];
+                KB2[i] = output[1];
+            }
+        });
+        ErrorFunction error = (i, output) -> {
+            double dS = output[2] - points.S[i];
+            double dA = wrap(output[0] - points.A[i]) * points.S[i];
+            return Math.sqrt(dS * dS + dA * dA);
+        };
+
+        Frontier frontier = new Frontier("大地主题", system.getName());
+        for (double precision : PRECISIONS) {
+            frontier.add(measure(frontier, "TEXTBOOK", precision, 3,
+                    (i, p, output) -> system.inverseSolutionOfGeodeticProblem(points.L[i], points.B[i], L2[i], B2[i], p, output), error));
+        }
+        frontier.add(measure(frontier, "KARNEY", NO_PRECISION, 3,
+                (i, p, output) -> karney.inverseSolutionOfGeodeticProblem(points.L[i], points.B[i], KL2[i], KB2[i], output), error));
+        return frontier;
+    }
+
+    /**
+     * 并行执行一种设置的反算并统计误差
+     *
+     * @param frontier   所属的坐标系及计算
+     * @param method     计算方法
+     * @param precision  迭代精度，不使用时为NaN
+     * @param countIndex 迭代次数在输出数组中的下标，无迭代时为-1
+     * @param solver     反算
+     * @param error      误差计算
+     * @return 统计结果
+     */
+    private Row measure(Frontier frontier, String method, double precision, int countIndex, Solver solver, ErrorFunction error) {
+        //第一轮只用于预热，丢弃其结果
+        measure(new Row(frontier.calculation, frontier.system, method, precision), precision, countIndex, solver, error);
+        Row row = measure(new Row(frontier.calculation, frontier.system, method, precision), precision, countIndex, solver, error);
+        out.println(row.format());
+        return row;
+    }
+
+    private Row measure(Row row, double precision, int countIndex, Solver solver, ErrorFunction error) {
+        ParallelTools.forRange(pool, 0, size, (from, to) -> {
+            double[] output = new double[13];
+            double[] results = new double[(to - from) * WIDTH];
+            long start = System.nanoTime();
+            for (int i = from; i < to; i++) {
+                solver.solve(i, precision, output);
+                System.arraycopy(output, 0, results, (i - from) * WIDTH, WIDTH);
+            }
+            long nanos = System.nanoTime() - start;
+
+            double max = 0, squares = 0, iterations = 0;
+            for (int i = from; i < to; i++) {
+                System.arraycopy(results, (i - from) * WIDTH, output, 0, WIDTH);
+                double e = error.error(i, output);
+                //未收敛产生的NaN按无穷大计
+                e = Double.isNaN(e) ? Double.POSITIVE_INFINITY : e;
+                max = Math.max(max, e);
+                squares += e * e;
+                iterations += countIndex < 0 ? 0 : output[countIndex];
+            }
+            row.merge(max, squares, iterations, nanos);
+        });
+        return row;
+    }
+
+    /**
+     * 将角度差规化至 [-π, π]
+     */
+    private static double wrap(double radians) {
+        return Math.IEEEremainder(radians, 2 * Math.PI);
+    }
+
+    @FunctionalInterface
+    private interface Solver {
+        void solve(int i, double precision, double[] output);
+    }
+
+    @FunctionalInterface
+    private interface ErrorFunction {
+        /**
+         * @return 第i点的往返误差，单位：米
+         */
+        double error(int i, double[] output);
+    }
+
+    /**
+     * 同一坐标系同一计算的所有设置
+     */
+    private final class Frontier {
+        private final String calculation;
+        private final String system;
+        private final List<Row> rows = new ArrayList<>();
+
+        private Frontier(String calculation, String system) {
+            this.calculation = calculation;
+            this.system = system;
+        }
+
+        private void add(Row row) {
+            rows.add(row);
+        }
+
+        /**
+         * @return 最大误差不超过预算且每点耗时最少的设置
+         */
+        private String summary() {
+            Row cheapest = null;
+            for (Row row : rows) {
+                if (row.maxError * 1000 <= budget && (cheapest == null || row.nanosPerPoint() < cheapest.nanosPerPoint())) {
+                    cheapest = row;
+                }
+            }
+            return cheapest == null ? String.format("%-10s %-36s 无满足误差预算的设置", calculation, system) : cheapest.format();
+        }
+    }
+
+    /**
+     * 一种设置的统计结果，由各子区间合并
+     */
+    private final class Row {
+        private final String calculation;
+        private final String system;
+        private final String method;
+        private final double precision;
+        private double maxError;
+        private double squares;
+        private double iterations;
+        private long nanos;
+
+        private Row(String calculation, String system, String method, double precision) {
+            this.calculation = calculation;
+            this.system = system;
+            this.method = method;
+            this.precision = precision;
+        }
+
+        private synchronized void merge(double maxError, double squares, double iterations, long nanos) {
+            this.maxError = Math.max(this.maxError, maxError);
+            this.squares += squares;
+            this.iterations += iterations;
+            this.nanos += nanos;
+        }
+
+        private double nanosPerPoint() {
+            return (double) nanos / size;
+        }
+
+        private String format() {
+            return String.format("%-10s %-36s %-18s %8s %10.2f %12.4g %12.4g %10.1f",
+                    calculation, system, method, Double.isNaN(precision) ? "-" : String.format("%.0e", precision),
+                    iterations / size, maxError * 1000, Math.sqrt(squares / size) * 1000, nanosPerPoint());
+        }
+    }
+}
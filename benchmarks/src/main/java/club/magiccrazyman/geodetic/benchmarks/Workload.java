@@ -0,0 +1,145 @@
+package club.magiccrazyman.geodetic.benchmarks;
+
+import club.magiccrazyman.geodetic.core.tools.CalculationTools;
+
+import java.util.Random;
+
+/**
+ * 确定性的合成测试数据，相同的种子总是生成相同的数据，保证各次测试及各计算方法之间可比较
+ * <br>
+ * 角度均为弧度，长度均为米
+ *
+ * @author Magic Crazy Man
+ */
+public enum Workload {
+
+    /**
+     * 中国范围内均匀分布的点，经度73°E至135°E跨越多个投影带，纬度3°N至54°N
+     */
+    UNIFORM {
+        @Override
+        void fill(Random random, Points points, int i) {
+            points.L[i] = CalculationTools.degrees2Radians(73 + 62 * random.nextDouble());
+            points.B[i] = CalculationTools.degrees2Radians(3 + 51 * random.nextDouble());
+            points.L2[i] = CalculationTools.degrees2Radians(73 + 62 * random.nextDouble());
+            points.B2[i] = CalculationTools.degrees2Radians(3 + 51 * random.nextDouble());
+        }
+    },
+
+    /**
+     * 南北纬85°至89.9°的近极点，大地线终点亦位于极区
+     */
+    POLAR {
+        @Override
+        void fill(Random random, Points points, int i) {
+            double sign = random.nextBoolean() ? 1 : -1;
+            points.L[i] = CalculationTools.degrees2Radians(360 * random.nextDouble() - 180);
+            points.B[i] = sign * CalculationTools.degrees2Radians(85 + 4.9 * random.nextDouble());
+            points.L2[i] = CalculationTools.degrees2Radians(360 * random.nextDouble() - 180);
+            points.B2[i] = sign * CalculationTools.degrees2Radians(85 + 4.9 * random.nextDouble());
+        }
+    },
+
+    /**
+     * 近似对跖点，终点与起点的对跖点相差不超过0.5°，教科书的反算迭代在此可能不收敛，只用于有迭代上限的算法
+     */
+    ANTIPODAL {
+        @Override
+        void fill(Random random, Points points, int i) {
+            double L = 360 * random.nextDouble() - 180;
+            double B = 180 * random.nextDouble() - 90;
+            points.L[i] = CalculationTools.degrees2Radians(L);
+            points.B[i] = CalculationTools.degrees2Radians(B);
+            points.L2[i] = CalculationTools.degrees2Radians(L + 180 - 0.5 * random.nextDouble());
+            points.B2[i] = CalculationTools.degrees2Radians(-B + random.nextDouble() - 0.5);
+        }
+    },
+
+    /**
+     * 全球按面积均匀分布的点，大地线终点位于起点经纬度各±10°范围内
+     */
+    GLOBAL {
+        @Override
+        void fill(Random random, Points points, int i) {
+            double L = 360 * random.nextDouble() - 180;
+            double B = Math.toDegrees(Math.asin(2 * random.nextDouble() - 1));
+            points.L[i] = CalculationTools.degrees2Radians(L);
+            points.B[i] = CalculationTools.degrees2Radians(B);
+            points.L2[i] = CalculationTools.degrees2Radians(L + 20 * random.nextDouble() - 10);
+            points.B2[i] = CalculationTools.degrees2Radians(Math.max(-89.9, Math.min(89.9, B + 20 * random.nextDouble() - 10)));
+        }
+    };
+
+    /**
+     * 默认种子
+     */
+    public static final long SEED = 20191127L;
+
+    abstract void fill(Random random, Points points, int i);
+
+    /**
+     * 以默认种子生成测试数据
+     *
+     * @param size 点数
+     * @return 测试数据
+     */
+    public Points generate(int size) {
+        return generate(size, SEED);
+    }
+
+    /**
+     * 生成测试数据
+     *
+     * @param size 点数
+     * @param seed 随机数种子
+     * @return 测试数据
+     */
+    public Points generate(int size, long seed) {
+        Random random = new Random(seed ^ ordinal());
+        Points points = new Points(size);
+        for (int i = 0; i < size; i++) {
+            fill(random, points, i);
+            points.H[i] = 5000 * random.nextDouble() - 100;
+            points.A[i] = 2 * Math.PI * random.nextDouble();
+            points.S[i] = 1000 + 2_000_000 * random.nextDouble();
+        }
+        return points;
+    }
+
+    /**
+     * 结构数组形式的测试数据
+     */
+    public static final class Points {
+        /**
+         * 大地经度，大地纬度，大地高
+         */
+        public final double[] L, B, H;
+        /**
+         * 大地线终点的大地经度，大地纬度
+         */
+        public final double[] L2, B2;
+        /**
+         * 大地线起点的大地方位角，大地线长度
+         */
+        public final double[] A, S;
+
+        private Points(int size) {
+            L = new double[size];
+            B = new double[size];
+            H = new double[size];
+            L2 = new double[size];
+            B2 = new double[size];
+            A = new double[size];
+            S = new double[size];
+        }
+
+        /**
+         * 获取点数
+         *
+         * @return 点数
+         */
+        public int size() {
+            return L.length;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package club.magiccrazyman.geodetic.cli;
+
+import club.magiccrazyman.geodetic.core.coordinatesystem.GeodeticCoordinateSystem;
+import club.magiccrazyman.geodetic.core.coordinatesystem.projection.GaussKrugerZoneProjector;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * 命令行入口，以流式方式批量计算分隔符文本文件中的坐标点
+ * <pre>
+ * 用法：&lt;计算&gt; [选项] &lt;输入文件&gt; &lt;输出文件&gt;
+ * 计算：forward | backward | geodetic | direct | inverse
+ * 选项：
+ *   --system &lt;ID或名称&gt;    大地坐标系，默认为1（2000国家大地坐标系）
+ *   --degree &lt;3|6&gt;         分度带，默认为3
+ *   --zone &lt;带号&gt;          固定带号，未指定时正算按经度自动分带，反算由Y轴坐标值的带号确定
+ *   --no-zone-number        Y轴坐标值不含带号
+ *   --delimiter &lt;字符&gt;     列分隔符，默认为逗号，\t表示制表符
+ *   --header                输入文件首行为表头
+ *   --threads &lt;线程数&gt;     工作线程数，默认为可用处理器数
+ *   --chunk-size &lt;字节数&gt;  块大小，默认为1MiB
+ * </pre>
+ *
+ * @author Magic Crazy Man
+ * @see StreamingTransformer
+ */
+public class GeodeticCli {
+
+    private static final String USAGE = "用法：<forward|backward|geodetic|direct|inverse> [--system <ID或名称>] [--degree <3|6>] [--zone <带号>] [--no-zone-number] "
+            + "[--delimiter <字符>] [--header] [--threads <线程数>] [--chunk-size <字节数>] <输入文件> <输出文件>";
+
+    public static void main(String[] args) {
+        System.exit(run(args, System.err));
+    }
+
+    /**
+     * 解析参数并执行计算
+     *
+     * @param args 命令行参数
+     * @param err  错误及统计信息的输出流
+     * @return 进程退出码，0为成功，1为参数错误，2为计算失败
+     */
+    public static int run(String[] args, PrintStream err) {
+        Operation operation;
+        GeodeticCoordinateSystem system = GeodeticCoordinateSystem.getSystemById(1);
+        int degree = 3, zone = 0;
+        boolean hasZoneNum = true, header = false;
+        char delimiter = ',';
+        int threads = Runtime.getRuntime().availableProcessors();
+        int chunkSize = StreamingTransformer.DEFAULT_CHUNK_SIZE;
+        Path input, output;
+
+        try {
+            if (args.length < 3) {
+                throw new IllegalArgumentException("参数不足");
+            }
+            operation = Operation.of(args[0]);
+            int i = 1;
+            for (; i < args.length - 2; i++) {
+                switch (args[i]) {
+                    case "--system":
+                        String name = value(args, ++i);
+                        system = name.matches("\\d+") ? GeodeticCoordinateSystem.getSystemById(Integer.parseInt(name)) : GeodeticCoordinateSystem.getSystemByName(name);
+                        if (system == null) {
+                            throw new IllegalArgumentException("未登记的大地坐标系：" + name);
+                        }
+                        break;
+                    case "--degree":
+                        degree = Integer.parseInt(value(args, ++i));
+                        break;
+                    case "--zone":
+                        zone = Integer.parseInt(value(args, ++i));
+                        break;
+                    case "--no-zone-number":
+                        hasZoneNum = false;
+                        break;
+                    case "--delimiter":
+                        String text = value(args, ++i);
+                        if (text.equals("\\t")) {
+                            text = "\t";
+                        }
+                        if (text.length() != 1) {
+                            throw new IllegalArgumentException("列分隔符只能为单个字符：" + text);
+                        }
+                        delimiter = text.charAt(0);
+                        break;
+                    case "--header":
+                        header = true;
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(value(args, ++i));
+                        break;
+                    case "--chunk-size":
+                        chunkSize = Integer.parseInt(value(args, ++i));
+                        break;
+                    default:
+                        throw new IllegalArgumentException("未知的选项：" + args[i]);
+                }
+            }
+            if (i != args.length - 2) {
+                throw new IllegalArgumentException("缺少输入或输出文件");
+            }
+            input = Paths.get(args[i]);
+            output = Paths.get(args[i + 1]);
+        } catch (IllegalArgumentException e) {
+            err.println(e.getMessage());
+            err.println(USAGE);
+            return 1;
+        }
+
+        try {
+            GaussKrugerZoneProjector projector = new GaussKrugerZoneProjector(system, degree, hasZoneNum);
+            if (zone != 0) {
+                projector.getSystem(zone);
+            } else if (operation == Operation.BACKWARD && !hasZoneNum) {
+                throw new IllegalArgumentException("Y轴坐标值不含带号时须以 --zone 指定带号");
+            }
+            StreamingTransformer transformer = new StreamingTransformer(operation, operation.bind(system, projector, zone), delimiter, header, threads, chunkSize);
+
+            long start = System.nanoTime();
+            long count = transformer.transform(input, output);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            err.printf("共计算%d个点，用时%.3f秒%n", count, seconds);
+            return 0;
+        } catch (IllegalArgumentException | IOException e) {
+            err.println(e.getMessage());
+            return 2;
+        }
+    }
+
+    private static String value(String[] args, int i) {
+        if (i >= args.length - 2) {
+            throw new IllegalArgumentException("选项缺少取值：" + args[i - 1]);
+        }
+        return args[i];
+    }
+}
@@ -0,0 +1,173 @@
+package club.magiccrazyman.geodetic.cli;
+
+import club.magiccrazyman.geodetic.core.coordinatesystem.GeodeticCoordinateSystem;
+import club.magiccrazyman.geodetic.core.coordinatesystem.KarneyGeodesicSolver;
+import club.magiccrazyman.geodetic.core.coordinatesystem.projection.GaussKrugerProjectionCoordinateSystem;
+import club.magiccrazyman.geodetic.core.coordinatesystem.projection.GaussKrugerZoneProjector;
+import club.magiccrazyman.geodetic.core.tools.CalculationTools;
+
+/**
+ * 命令行工具支持的计算，每种计算规定了输入列及输出列
+ * <br>
+ * 输入输出中的经纬度及大地方位角均为十进制度，长度单位均为米
+ *
+ * @author Magic Crazy Man
+ */
+public enum Operation {
+
+    /**
+     * 高斯克吕格投影正算，L，B -> xz，yz，带号
+     */
+    FORWARD("forward", new String[]{"L", "B"}, new String[]{"x", "y", "zone"}) {
+        @Override
+        PointTransform bind(GeodeticCoordinateSystem system, GaussKrugerZoneProjector projector, int zone) {
+            if (zone == 0) {
+                return (input, output) -> {
+                    projector.forwardCalculation(CalculationTools.degrees2Radians(input[0]), CalculationTools.degrees2Radians(input[1]), output);
+                    output[2] = output[7];
+                };
+            }
+            GaussKrugerProjectionCoordinateSystem fixed = projector.getSystem(zone);
+            return (input, output) -> {
+                fixed.forwardCalculation(CalculationTools.degrees2Radians(input[0]), CalculationTools.degrees2Radians(input[1]), output);
+                output[2] = zone;
+            };
+        }
+    },
+
+    /**
+     * 高斯克吕格投影反算（闭合公式），xz，yz -> L，B
+     */
+    BACKWARD("backward", new String[]{"x", "y"}, new String[]{"L", "B"}) {
+        @Override
+        PointTransform bind(GeodeticCoordinateSystem system, GaussKrugerZoneProjector projector, int zone) {
+            if (zone == 0) {
+                return (input, output) -> toDegrees(projector.backwardCalculation(input[0], input[1], output), 2);
+            }
+            return (input, output) -> toDegrees(projector.backwardCalculation(input[0], input[1], zone, output), 2);
+        }
+    },
+
+    /**
+     * 空间直角坐标转换为大地坐标（闭合公式），X，Y，Z -> L，B，H
+     * <br>
+     * 迭代法在极轴上不收敛，批量作业使用不迭代的闭合公式
+     */
+    GEODETIC("geodetic", new String[]{"X", "Y", "Z"}, new String[]{"L", "B", "H"}) {
+        @Override
+        PointTransform bind(GeodeticCoordinateSystem system, GaussKrugerZoneProjector projector, int zone) {
+            return (input, output) -> toDegrees(system.transformToGeodeticCoordinateSystemByClosedForm(input[0], input[1], input[2], output), 2);
+        }
+    },
+
+    /**
+     * 大地主题正算，L1，B1，A1，S -> L2，B2，A2
+     */
+    DIRECT("direct", new String[]{"L1", "B1", "A1", "S"}, new String[]{"L2", "B2", "A2"}) {
+        @Override
+        PointTransform bind(GeodeticCoordinateSystem system, GaussKrugerZoneProjector projector, int zone) {
+            return (input, output) -> toDegrees(system.directSolutionOfGeodeticProblem(
+                    CalculationTools.degrees2Radians(input[0]), CalculationTools.degrees2Radians(input[1]),
+                    CalculationTools.degrees2Radians(input[2]), input[3], output), 3);
+        }
+    },
+
+    /**
+     * 大地主题反算（Karney算法），L1，B1，L2，B2 -> S，A1，A2
+     * <br>
+     * 教科书方法在近似对跖点上不收敛，批量作业使用迭代次数有界的 {@link KarneyGeodesicSolver}
+     */
+    INVERSE("inverse", new String[]{"L1", "B1", "L2", "B2"}, new String[]{"S", "A1", "A2"}) {
+        @Override
+        PointTransform bind(GeodeticCoordinateSystem system, GaussKrugerZoneProjector projector, int zone) {
+            KarneyGeodesicSolver solver = system.getKarneyGeodesicSolver();
+            return (input, output) -> {
+                solver.inverseSolutionOfGeodeticProblem(
+                        CalculationTools.degrees2Radians(input[0]), CalculationTools.degrees2Radians(input[1]),
+                        CalculationTools.degrees2Radians(input[2]), CalculationTools.degrees2Radians(input[3]), output);
+                double A1 = output[0], A2 = output[1];
+                output[0] = output[2];
+                output[1] = CalculationTools.radians2Degrees(A1);
+                output[2] = CalculationTools.radians2Degrees(A2);
+            };
+        }
+    };
+
+    private final String command;
+    private final String[] inputColumns;
+    private final String[] outputColumns;
+
+    Operation(String command, String[] inputColumns, String[] outputColumns) {
+        this.command = command;
+        this.inputColumns = inputColumns;
+        this.outputColumns = outputColumns;
+    }
+
+    /**
+     * 根据命令名称获取计算
+     *
+     * @param command 命令名称
+     * @return 计算
+     * @throws IllegalArgumentException 当命令名称不存在时抛出此异常
+     */
+    public static Operation of(String command) {
+        for (Operation operation : values()) {
+            if (operation.command.equals(command)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("未知的计算：" + command);
+    }
+
+    /**
+     * 绑定计算所需的坐标系，生成逐点计算函数
+     *
+     * @param system    大地坐标系
+     * @param projector 自动分带投影
+     * @param zone      固定带号，为0时正算按经度自动分带，反算由Y轴坐标值的带号确定
+     * @return 逐点计算函数，可在多线程中共享
+     */
+    abstract PointTransform bind(GeodeticCoordinateSystem system, GaussKrugerZoneProjector projector, int zone);
+
+    private static void toDegrees(double[] output, int count) {
+        for (int i = 0; i < count; i++) {
+            output[i] = CalculationTools.radians2Degrees(output[i]);
+        }
+    }
+
+    /**
+     * 获取命令名称
+     *
+     * @return 命令名称
+     */
+    public String getCommand() {
+        return command;
+    }
+
+    /**
+     * 获取输入列数
+     *
+     * @return 输入列数
+     */
+    public int getInputCount() {
+        return inputColumns.length;
+    }
+
+    /**
+     * 获取输入列名称
+     *
+     * @return 输入列名称
+     */
+    public String[] getInputColumns() {
+        return inputColumns.clone();
+    }
+
+    /**
+     * 获取输出列名称
+     *
+     * @return 输出列名称
+     */
+    public String[] getOutputColumns() {
+        return outputColumns.clone();
+    }
+}
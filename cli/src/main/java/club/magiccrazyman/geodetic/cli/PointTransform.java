@@ -0,0 +1,23 @@
+package club.magiccrazyman.geodetic.cli;
+
+/**
+ * 逐点计算函数，实现须可在多线程中共享且计算过程不产生任何对象
+ *
+ * @author Magic Crazy Man
+ */
+@FunctionalInterface
+public interface PointTransform {
+
+    /**
+     * 输出数组的最小长度，除输出值外其余位置可作为计算过程的临时空间
+     */
+    int OUTPUT_LENGTH = 8;
+
+    /**
+     * 计算一个点
+     *
+     * @param input  按输入列顺序排列的输入值
+     * @param output 长度不小于 {@link #OUTPUT_LENGTH} 的输出数组，计算结果按输出列顺序写入前几位
+     */
+    void transform(double[] input, double[] output);
+}
@@ -0,0 +1,304 @@
+package club.magiccrazyman.geodetic.cli;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 分隔符文本文件的流式坐标计算
+ * <br>
+ * 计算分为三级流水线：读取线程以固定大小的块从FileChannel读入数据，并在最后一个换行符处截断，保证每一块均由完整的行组成；
+ * 工作线程并行地解析、计算并格式化各块；写入线程按读入顺序依次取出各块的结果写入输出文件。
+ * 等待写入的块数不超过工作线程数的两倍，读取线程在队列已满时阻塞，因此内存占用只与块大小及线程数有关，与文件大小无关
+ * <br>
+ * 输出的每一行为原始行加上分隔符及计算结果，空行原样输出，含表头时在表头后追加输出列名称
+ *
+ * @author Magic Crazy Man
+ */
+public class StreamingTransformer {
+
+    /**
+     * 默认块大小，单位：字节
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+    private final Operation operation;
+    private final PointTransform transform;
+    private final char delimiter;
+    private final boolean header;
+    private final int threads;
+    private final int chunkSize;
+
+    /**
+     * 流式计算构造器
+     *
+     * @param operation 计算，决定输入列数及输出列名称
+     * @param transform 逐点计算函数
+     * @param delimiter 列分隔符
+     * @param header    输入文件首行是否为表头
+     * @param threads   工作线程数
+     * @param chunkSize 块大小，单位：字节，单行长度不能超过此值
+     * @throws IllegalArgumentException 当工作线程数或块大小小于1时抛出此异常
+     */
+    public StreamingTransformer(Operation operation, PointTransform transform, char delimiter, boolean header, int threads, int chunkSize) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("工作线程数必须大于0");
+        }
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("块大小必须大于0");
+        }
+        this.operation = Objects.requireNonNull(operation);
+        this.transform = Objects.requireNonNull(transform);
+        this.delimiter = delimiter;
+        this.header = header;
+        this.threads = threads;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * 流式计算输入文件中的所有坐标点并写入输出文件，方法会阻塞至全部写入完成
+     *
+     * @param input  输入文件
+     * @param output 输出文件，已存在时覆盖
+     * @return 计算的坐标点数，不含表头及空行
+     * @throws IOException              当读写文件失败或单行长度超过块大小时抛出此异常
+     * @throws IllegalArgumentException 当某一行无法解析时抛出此异常，异常信息中包含行号
+     */
+    public long transform(Path input, Path output) throws IOException {
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "geodetic-cli-worker-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        BlockingQueue<Future<Chunk>> pending = new ArrayBlockingQueue<>(2 * threads);
+        ExecutorService writerThread = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "geodetic-cli-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            Future<Long> writer = writerThread.submit(() -> write(pending, out));
+
+            ByteBuffer buffer = ByteBuffer.allocate(chunkSize);
+            long line = 1;
+            boolean eof = false;
+            while (!eof && !writer.isDone()) {
+                eof = in.read(buffer) < 0;
+                if (!eof && buffer.hasRemaining()) {
+                    continue;
+                }
+                int end = eof ? buffer.position() : lastLineEnd(buffer.array(), buffer.position());
+                if (end == 0 && !eof) {
+                    throw new IOException("第" + line + "行长度超过块大小：" + chunkSize);
+                }
+                if (end > 0) {
+                    Chunk chunk = new Chunk(Arrays.copyOf(buffer.array(), end), line);
+                    line += chunk.lineCount();
+                    if (!put(pending, workers.submit(chunk), writer)) {
+                        break;
+                    }
+                }
+                buffer.flip().position(end);
+                buffer.compact();
+            }
+            put(pending, CompletableFuture.completedFuture(null), writer);
+            return await(writer);
+        } finally {
+            workers.shutdownNow();
+            writerThread.shutdownNow();
+        }
+    }
+
+    /**
+     * 写入线程，按读入顺序取出各块结果写入输出文件，遇到null时结束
+     */
+    private static long write(BlockingQueue<Future<Chunk>> pending, FileChannel out) throws IOException, InterruptedException, ExecutionException {
+        long count = 0;
+        for (Future<Chunk> future = pending.take(); ; future = pending.take()) {
+            Chunk chunk = future.get();
+            if (chunk == null) {
+                return count;
+            }
+            ByteBuffer result = ByteBuffer.wrap(chunk.result);
+            while (result.hasRemaining()) {
+                out.write(result);
+            }
+            count += chunk.count;
+        }
+    }
+
+    /**
+     * 将块放入等待写入队列，队列已满时阻塞，写入线程提前结束（失败）时放弃
+     *
+     * @return 是否放入成功
+     */
+    private static boolean put(BlockingQueue<Future<Chunk>> pending, Future<Chunk> future, Future<Long> writer) throws IOException {
+        try {
+            while (!pending.offer(future, 100, TimeUnit.MILLISECONDS)) {
+                if (writer.isDone()) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("计算被中断", e);
+        }
+    }
+
+    private static long await(Future<Long> writer) throws IOException {
+        try {
+            return writer.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("计算被中断", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            //工作线程的异常经写入线程再次包装
+            if (cause instanceof ExecutionException) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * 查找最后一个换行符之后的位置，不存在换行符时返回0
+     */
+    private static int lastLineEnd(byte[] data, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (data[i] == '\n') {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * 由完整的行组成的数据块，作为工作线程的计算任务
+     */
+    private class Chunk implements Callable<Chunk> {
+        private final byte[] data;
+        private final long firstLine;
+        private byte[] result;
+        private long count;
+
+        private Chunk(byte[] data, long firstLine) {
+            this.data = data;
+            this.firstLine = firstLine;
+        }
+
+        private long lineCount() {
+            long lines = 0;
+            for (byte b : data) {
+                if (b == '\n') {
+                    lines++;
+                }
+            }
+            return lines;
+        }
+
+        @Override
+        public Chunk call() {
+            String text = new String(data, StandardCharsets.UTF_8);
+            StringBuilder builder = new StringBuilder(text.length() + text.length() / 2 + 64);
+            int inputCount = operation.getInputCount();
+            double[] input = new double[inputCount];
+            double[] output = new double[PointTransform.OUTPUT_LENGTH];
+            String[] outputColumns = operation.getOutputColumns();
+
+            long line = firstLine;
+            int position = 0, length = text.length();
+            while (position < length) {
+                int newline = text.indexOf('\n', position);
+                int next = newline < 0 ? length : newline + 1;
+                int end = newline < 0 ? length : newline;
+                if (end > position && text.charAt(end - 1) == '\r') {
+                    end--;
+                }
+
+                if (header && line == 1) {
+                    builder.append(text, position, end);
+                    for (String column : outputColumns) {
+                        builder.append(delimiter).append(column);
+                    }
+                } else if (end > position) {
+                    parse(text, position, end, line, input);
+                    transform.transform(input, output);
+                    builder.append(text, position, end);
+                    for (int i = 0; i < outputColumns.length; i++) {
+                        builder.append(delimiter);
+                        format(builder, output[i]);
+                    }
+                    count++;
+                }
+                builder.append('\n');
+                position = next;
+                line++;
+            }
+            result = builder.toString().getBytes(StandardCharsets.UTF_8);
+            return this;
+        }
+
+        /**
+         * 解析一行的前若干列，多余的列忽略
+         */
+        private void parse(String text, int from, int to, long line, double[] input) {
+            int start = from;
+            for (int i = 0; i < input.length; i++) {
+                if (start > to) {
+                    throw new IllegalArgumentException("第" + line + "行列数不足，需要" + input.length + "列");
+                }
+                int end = text.indexOf(delimiter, start);
+                if (end < 0 || end > to) {
+                    end = to;
+                }
+                try {
+                    input[i] = Double.parseDouble(text.substring(start, end).trim());
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("第" + line + "行第" + (i + 1) + "列无法解析为数值：" + text.substring(start, end), e);
+                }
+                //parseDouble接受NaN及Infinity，此类值无法参与计算
+                if (!Double.isFinite(input[i])) {
+                    throw new IllegalArgumentException("第" + line + "行第" + (i + 1) + "列不是有限数值：" + text.substring(start, end));
+                }
+                start = end + 1;
+            }
+        }
+    }
+
+    /**
+     * 格式化输出值，整数值（如带号）不输出小数部分
+     */
+    private static void format(StringBuilder builder, double value) {
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            builder.append((long) value);
+        } else {
+            builder.append(value);
+        }
+    }
+}
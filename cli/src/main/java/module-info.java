@@ -0,0 +1,5 @@
+module geodetic.cli {
+    requires geodetic.core;
+
+    exports club.magiccrazyman.geodetic.cli;
+}
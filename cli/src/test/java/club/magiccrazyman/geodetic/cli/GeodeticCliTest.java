@@ -0,0 +1,52 @@
+package club.magiccrazyman.geodetic.cli;
+
+import club.magiccrazyman.geodetic.core.coordinatesystem.GeodeticCoordinateSystem;
+import club.magiccrazyman.geodetic.core.tools.CalculationTools;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeodeticCliTest {
+
+    @Test
+    void run() throws IOException {
+        Path input = Files.createTempFile("input", ".txt");
+        Path output = Files.createTempFile("output", ".txt");
+        try {
+            Files.writeString(input, "114.5\t30.5\t116\t32\n");
+            ByteArrayOutputStream err = new ByteArrayOutputStream();
+            int code = GeodeticCli.run(new String[]{"inverse", "--system", "3", "--delimiter", "\\t", "--threads", "1", input.toString(), output.toString()}, new PrintStream(err));
+            assertEquals(0, code, err.toString());
+
+            List<String> lines = Files.readAllLines(output);
+            assertEquals(1, lines.size());
+            String[] fields = lines.get(0).split("\t");
+            double[] expected = GeodeticCoordinateSystem.getSystemById(3).getKarneyGeodesicSolver().inverseSolutionOfGeodeticProblem(
+                    CalculationTools.degrees2Radians(114.5), CalculationTools.degrees2Radians(30.5),
+                    CalculationTools.degrees2Radians(116), CalculationTools.degrees2Radians(32), new double[4]);
+            assertEquals(expected[2], Double.parseDouble(fields[4]));
+            assertEquals(CalculationTools.radians2Degrees(expected[0]), Double.parseDouble(fields[5]));
+            assertEquals(CalculationTools.radians2Degrees(expected[1]), Double.parseDouble(fields[6]));
+        } finally {
+            Files.delete(input);
+            Files.delete(output);
+        }
+    }
+
+    @Test
+    void invalidArguments() {
+        PrintStream err = new PrintStream(new ByteArrayOutputStream());
+        assertEquals(1, GeodeticCli.run(new String[]{"forward", "a.csv"}, err));
+        assertEquals(1, GeodeticCli.run(new String[]{"unknown", "a.csv", "b.csv"}, err));
+        assertEquals(1, GeodeticCli.run(new String[]{"forward", "--system", "NONE", "a.csv", "b.csv"}, err));
+        assertEquals(1, GeodeticCli.run(new String[]{"forward", "--threads", "a.csv", "b.csv"}, err));
+        assertEquals(2, GeodeticCli.run(new String[]{"backward", "--no-zone-number", "a.csv", "b.csv"}, err));
+    }
+}
@@ -0,0 +1,121 @@
+package club.magiccrazyman.geodetic.cli;
+
+import club.magiccrazyman.geodetic.core.coordinatesystem.GeodeticCoordinateSystem;
+import club.magiccrazyman.geodetic.core.coordinatesystem.projection.GaussKrugerZoneProjector;
+import club.magiccrazyman.geodetic.core.tools.CalculationTools;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingTransformerTest {
+
+    private final GeodeticCoordinateSystem system = GeodeticCoordinateSystem.getSystemById(1);
+    private final GaussKrugerZoneProjector projector = new GaussKrugerZoneProjector(system, 3, true);
+
+    @Test
+    void transform() throws IOException {
+        Path input = Files.createTempFile("input", ".csv");
+        Path output = Files.createTempFile("output", ".csv");
+        try {
+            StringBuilder builder = new StringBuilder("L,B,name\r\n");
+            int n = 5000;
+            for (int i = 0; i < n; i++) {
+                builder.append(100 + i * 0.003).append(',').append(20 + i * 0.002).append(",p").append(i).append(i % 2 == 0 ? "\n" : "\r\n");
+                if (i == 100) {
+                    builder.append('\n');
+                }
+            }
+            Files.writeString(input, builder);
+
+            //块大小远小于文件大小，检验跨块的行顺序
+            StreamingTransformer transformer = new StreamingTransformer(Operation.FORWARD, Operation.FORWARD.bind(system, projector, 0), ',', true, 4, 256);
+            assertEquals(n, transformer.transform(input, output));
+
+            List<String> lines = Files.readAllLines(output, StandardCharsets.UTF_8);
+            assertEquals(n + 2, lines.size());
+            assertEquals("L,B,name,x,y,zone", lines.get(0));
+            assertEquals("", lines.get(102));
+            double[] expected = new double[8];
+            for (int i = 0, line = 1; i < n; i++, line++) {
+                if (line == 102) {
+                    line++;
+                }
+                String[] fields = lines.get(line).split(",");
+                assertEquals("p" + i, fields[2]);
+                projector.forwardCalculation(CalculationTools.degrees2Radians(Double.parseDouble(fields[0])), CalculationTools.degrees2Radians(Double.parseDouble(fields[1])), expected);
+                assertEquals(expected[0], Double.parseDouble(fields[3]));
+                assertEquals(expected[1], Double.parseDouble(fields[4]));
+                assertEquals((int) expected[7], Integer.parseInt(fields[5]));
+            }
+        } finally {
+            Files.delete(input);
+            Files.delete(output);
+        }
+    }
+
+    @Test
+    void invalidLine() throws IOException {
+        Path input = Files.createTempFile("input", ".csv");
+        Path output = Files.createTempFile("output", ".csv");
+        try {
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < 1000; i++) {
+                builder.append(i == 700 ? "abc" : "3380000").append(' ').append(38500000).append('\n');
+            }
+            Files.writeString(input, builder);
+
+            StreamingTransformer transformer = new StreamingTransformer(Operation.BACKWARD, Operation.BACKWARD.bind(system, projector, 0), ' ', false, 2, 100);
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> transformer.transform(input, output));
+            assertTrue(e.getMessage().startsWith("第701行"), e.getMessage());
+
+            //单行长度超过块大小
+            Files.writeString(input, "1,2,3,4,5,6,7,8,9,10\n");
+            StreamingTransformer small = new StreamingTransformer(Operation.BACKWARD, Operation.BACKWARD.bind(system, projector, 0), ',', false, 1, 8);
+            assertThrows(IOException.class, () -> small.transform(input, output));
+        } finally {
+            Files.delete(input);
+            Files.delete(output);
+        }
+    }
+
+    @Test
+    void degenerateRows() throws IOException {
+        Path input = Files.createTempFile("input", ".csv");
+        Path output = Files.createTempFile("output", ".csv");
+        try {
+            //近似对跖点，教科书反算方法在此不收敛
+            Files.writeString(input, "0,10,179.8,-10.1\n114.5,30.5,116,32\n");
+            StreamingTransformer inverse = new StreamingTransformer(Operation.INVERSE, Operation.INVERSE.bind(system, projector, 0), ',', false, 1, 256);
+            assertEquals(2, assertTimeoutPreemptively(Duration.ofSeconds(10), () -> inverse.transform(input, output)));
+            String[] fields = Files.readAllLines(output, StandardCharsets.UTF_8).get(0).split(",");
+            double S = Double.parseDouble(fields[4]);
+            assertTrue(S > 1.9e7 && S < 2.01e7, fields[4]);
+
+            //极轴上的点，迭代法在此不收敛
+            Files.writeString(input, "0,0,6356752.3\n");
+            StreamingTransformer geodetic = new StreamingTransformer(Operation.GEODETIC, Operation.GEODETIC.bind(system, projector, 0), ',', false, 1, 256);
+            assertEquals(1, assertTimeoutPreemptively(Duration.ofSeconds(10), () -> geodetic.transform(input, output)));
+            fields = Files.readAllLines(output, StandardCharsets.UTF_8).get(0).split(",");
+            assertEquals(90, Double.parseDouble(fields[4]), 1e-9);
+            assertEquals(0, Double.parseDouble(fields[5]), 0.1); //输入为取整后的短半轴长度
+
+            //NaN及Infinity可被Double.parseDouble解析，但须拒绝
+            Files.writeString(input, "0,0,6356752.3\n1,NaN,2\n");
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> geodetic.transform(input, output));
+            assertTrue(e.getMessage().startsWith("第2行第2列"), e.getMessage());
+            Files.writeString(input, "Infinity,0,0\n");
+            e = assertThrows(IllegalArgumentException.class, () -> geodetic.transform(input, output));
+            assertTrue(e.getMessage().startsWith("第1行第1列"), e.getMessage());
+        } finally {
+            Files.delete(input);
+            Files.delete(output);
+        }
+    }
+}
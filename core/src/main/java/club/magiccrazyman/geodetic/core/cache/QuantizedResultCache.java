@@ -0,0 +1,563 @@
+package club.magiccrazyman.geodetic.core.cache;
+
+import club.magiccrazyman.geodetic.core.coordinatesystem.GeodeticCoordinateSystem;
+import club.magiccrazyman.geodetic.core.coordinatesystem.projection.GaussKrugerProjectionCoordinateSystem;
+import club.magiccrazyman.geodetic.core.tools.ParallelTools;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 以量化后的输入坐标为键的有界LRU计算结果缓存，用于输入中含有大量重复或几乎重复坐标的场合（如静止的车辆、固定的传感器）
+ * <br>
+ * 输入坐标按量化步长取整为整数格网号，与坐标系及计算方法一同构成键，同一格网内的所有输入共用一个结果。
+ * 未命中时以格网中心坐标（格网号乘以量化步长）计算并缓存，因此结果与输入到达的先后及线程无关，
+ * 引入的误差不超过半个量化步长所对应的坐标变化，如角度步长 10^-9 弧度在地面上约6毫米，误差约3毫米；
+ * 不需要近似时应直接调用坐标系的计算方法
+ * <br>
+ * 缓存按键的散列值分为若干段，每段各自加锁，内部以基本类型数组实现线性探测的开放定址散列表及按下标链接的LRU双向链表，
+ * 查找及插入不装箱、不产生任何对象；段满时淘汰该段最久未使用的结果。未命中时的计算在锁外进行，
+ * 不同线程同时计算同一格网时只保留一份结果。非有限或量化后超出 2^52 的输入不经过缓存，直接计算
+ * <br>
+ * 缓存的坐标系在首次使用时登记，按对象同一性区分，登记数目不宜过多
+ *
+ * @author Magic Crazy Man
+ */
+public class QuantizedResultCache {
+
+    /**
+     * 每个结果占用的double个数，取高斯克吕格投影正算结果长度
+     */
+    private static final int WIDTH = 7;
+
+    /**
+     * 空间直角坐标系转换大地坐标系的结果长度
+     */
+    private static final int GEODETIC_WIDTH = 4;
+
+    /**
+     * 计算方法代码，与坐标系登记序号一同组成键中的标记
+     */
+    private static final int FORWARD_CALCULATION = 0, TO_GEODETIC = 1;
+
+    /**
+     * 可量化的最大格网号绝对值，超出后double不能精确表示相邻格网
+     */
+    private static final double MAX_CELL = 0x1p52;
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+    private final int capacity;
+    private final double angularQuantum, linearQuantum;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * 已登记的坐标系，下标即登记序号，只增不减，登记时整体替换
+     */
+    private volatile Object[] systems = new Object[0];
+
+    /**
+     * 使用默认分段数创建缓存，分段数为不小于处理器数4倍的2的幂
+     *
+     * @param capacity       最多缓存的结果数
+     * @param angularQuantum 大地经纬度的量化步长，单位：弧度
+     * @param linearQuantum  空间直角坐标的量化步长，单位：米
+     * @throws IllegalArgumentException 当容量小于1或量化步长不为正有限值时抛出此异常
+     * @see QuantizedResultCache#QuantizedResultCache(int, int, double, double)
+     */
+    public QuantizedResultCache(int capacity, double angularQuantum, double linearQuantum) {
+        this(capacity, Integer.highestOneBit(Math.max(1, 4 * Runtime.getRuntime().availableProcessors() - 1)) << 1, angularQuantum, linearQuantum);
+    }
+
+    /**
+     * 创建缓存，容量按分段数向上取整后平均分配至各段，分段数不超过容量
+     *
+     * @param capacity       最多缓存的结果数
+     * @param stripes        分段数，必须为2的幂
+     * @param angularQuantum 大地经纬度的量化步长，单位：弧度
+     * @param linearQuantum  空间直角坐标的量化步长，单位：米
+     * @throws IllegalArgumentException 当容量小于1、分段数不为2的幂或量化步长不为正有限值时抛出此异常
+     */
+    public QuantizedResultCache(int capacity, int stripes, double angularQuantum, double linearQuantum) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("缓存容量必须大于0");
+        }
+        if (stripes < 1 || Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("分段数必须为2的幂");
+        }
+        if (!(angularQuantum > 0 && angularQuantum < Double.POSITIVE_INFINITY) || !(linearQuantum > 0 && linearQuantum < Double.POSITIVE_INFINITY)) {
+            throw new IllegalArgumentException("量化步长必须为正有限值");
+        }
+        stripes = Math.min(stripes, Integer.highestOneBit(capacity));
+        int stripeCapacity = (capacity + stripes - 1) / stripes;
+        this.stripes = new Stripe[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new Stripe(stripeCapacity);
+        }
+        this.stripeMask = stripes - 1;
+        this.capacity = stripeCapacity * stripes;
+        this.angularQuantum = angularQuantum;
+        this.linearQuantum = linearQuantum;
+    }
+
+    /**
+     * 经缓存的高斯克吕格投影正算
+     * <br>
+     * 命中时直接复制缓存的结果，未命中时以格网中心的经纬度调用 {@link GaussKrugerProjectionCoordinateSystem#forwardCalculation(double, double, double[])} 计算并缓存
+     *
+     * @param system 高斯克吕格投影坐标系
+     * @param L      大地经度，单位：弧度
+     * @param B      大地纬度，单位：弧度
+     * @param output 输出数组，长度不小于7，排列顺序与 {@link GaussKrugerProjectionCoordinateSystem#forwardCalculation(double, double, double[])} 相同
+     * @return 输出数组
+     */
+    public double[] forwardCalculation(GaussKrugerProjectionCoordinateSystem system, double L, double B, double[] output) {
+        double cellL = L / angularQuantum, cellB = B / angularQuantum;
+        if (!(Math.abs(cellL) < MAX_CELL && Math.abs(cellB) < MAX_CELL)) {
+            return system.forwardCalculation(L, B, output);
+        }
+        long kL = Math.round(cellL), kB = Math.round(cellB);
+        int tag = tag(system, FORWARD_CALCULATION);
+        long hash = hash(tag, kL, kB, 0, 0);
+        Stripe stripe = stripes[(int) (hash >>> 32) & stripeMask];
+        if (stripe.get((int) hash, tag, kL, kB, 0, 0, output, WIDTH)) {
+            hits.increment();
+            return output;
+        }
+        misses.increment();
+        system.forwardCalculation(kL * angularQuantum, kB * angularQuantum, output);
+        if (stripe.put((int) hash, tag, kL, kB, 0, 0, output, WIDTH)) {
+            evictions.increment();
+        }
+        return output;
+    }
+
+    /**
+     * 经缓存的空间直角坐标系转换大地坐标系，精度不同的调用分别缓存
+     * <br>
+     * 命中时直接复制缓存的结果，未命中时以格网中心的坐标调用 {@link GeodeticCoordinateSystem#transformToGeodeticCoordinateSystem(double, double, double, double, double[])} 计算并缓存
+     *
+     * @param system    大地坐标系
+     * @param X         空间直角坐标系X轴值，单位：米
+     * @param Y         空间直角坐标系Y轴值，单位：米
+     * @param Z         空间直角坐标系Z轴值，单位：米
+     * @param precision 大地纬度B迭代精度，单位：弧度
+     * @param output    输出数组，长度不小于4，以L(大地经度)，B(大地纬度)，H(大地高)，count(迭代次数)顺序排列
+     * @return 输出数组
+     */
+    public double[] transformToGeodeticCoordinateSystem(GeodeticCoordinateSystem system, double X, double Y, double Z, double precision, double[] output) {
+        double cellX = X / linearQuantum, cellY = Y / linearQuantum, cellZ = Z / linearQuantum;
+        if (!(Math.abs(cellX) < MAX_CELL && Math.abs(cellY) < MAX_CELL && Math.abs(cellZ) < MAX_CELL)) {
+            return system.transformToGeodeticCoordinateSystem(X, Y, Z, precision, output);
+        }
+        long kX = Math.round(cellX), kY = Math.round(cellY), kZ = Math.round(cellZ), kP = Double.doubleToLongBits(precision);
+        int tag = tag(system, TO_GEODETIC);
+        long hash = hash(tag, kX, kY, kZ, kP);
+        Stripe stripe = stripes[(int) (hash >>> 32) & stripeMask];
+        if (stripe.get((int) hash, tag, kX, kY, kZ, kP, output, GEODETIC_WIDTH)) {
+            hits.increment();
+            return output;
+        }
+        misses.increment();
+        system.transformToGeodeticCoordinateSystem(kX * linearQuantum, kY * linearQuantum, kZ * linearQuantum, precision, output);
+        if (stripe.put((int) hash, tag, kX, kY, kZ, kP, output, GEODETIC_WIDTH)) {
+            evictions.increment();
+        }
+        return output;
+    }
+
+    /**
+     * 经缓存的批量高斯克吕格投影正算
+     *
+     * @param system 高斯克吕格投影坐标系
+     * @param L      大地经度数组，单位：弧度
+     * @param B      大地纬度数组，单位：弧度
+     * @param offset 起始下标
+     * @param length 计算点数
+     * @param xz     X轴偏移坐标值输出数组，单位：米
+     * @param yz     Y轴偏移坐标值输出数组，单位：米
+     * @throws IndexOutOfBoundsException 当任一数组长度不足时抛出此异常
+     * @see QuantizedResultCache#forwardCalculation(GaussKrugerProjectionCoordinateSystem, double, double, double[])
+     */
+    public void forwardCalculation(GaussKrugerProjectionCoordinateSystem system, double[] L, double[] B, int offset, int length, double[] xz, double[] yz) {
+        ParallelTools.checkBulkArrays(offset, length, L, B, xz, yz);
+        forwardCalculationRange(system, L, B, offset, offset + length, xz, yz);
+    }
+
+    /**
+     * 在ForkJoinPool中分段并行地经缓存批量进行高斯克吕格投影正算
+     *
+     * @param system 高斯克吕格投影坐标系
+     * @param L      大地经度数组，单位：弧度
+     * @param B      大地纬度数组，单位：弧度
+     * @param offset 起始下标
+     * @param length 计算点数
+     * @param xz     X轴偏移坐标值输出数组，单位：米
+     * @param yz     Y轴偏移坐标值输出数组，单位：米
+     * @param pool   执行并行计算的ForkJoinPool
+     * @throws IndexOutOfBoundsException 当任一数组长度不足时抛出此异常
+     * @see QuantizedResultCache#forwardCalculation(GaussKrugerProjectionCoordinateSystem, double[], double[], int, int, double[], double[])
+     */
+    public void forwardCalculation(GaussKrugerProjectionCoordinateSystem system, double[] L, double[] B, int offset, int length, double[] xz, double[] yz, ForkJoinPool pool) {
+        ParallelTools.checkBulkArrays(offset, length, L, B, xz, yz);
+        ParallelTools.forRange(pool, offset, length, (from, to) -> forwardCalculationRange(system, L, B, from, to, xz, yz));
+    }
+
+    private void forwardCalculationRange(GaussKrugerProjectionCoordinateSystem system, double[] L, double[] B, int from, int to, double[] xz, double[] yz) {
+        double[] output = new double[WIDTH]; //同一区间内复用
+        for (int i = from; i < to; i++) {
+            forwardCalculation(system, L[i], B[i], output);
+            xz[i] = output[0];
+            yz[i] = output[1];
+        }
+    }
+
+    /**
+     * 经缓存批量将空间直角坐标系坐标转换为大地坐标系坐标
+     *
+     * @param system    大地坐标系
+     * @param X         空间直角坐标系X轴值数组，单位：米
+     * @param Y         空间直角坐标系Y轴值数组，单位：米
+     * @param Z         空间直角坐标系Z轴值数组，单位：米
+     * @param offset    起始下标
+     * @param length    计算点数
+     * @param precision 大地纬度B迭代精度，单位：弧度
+     * @param L         大地经度输出数组，单位：弧度
+     * @param B         大地纬度输出数组，单位：弧度
+     * @param H         大地高输出数组，单位：米
+     * @throws IndexOutOfBoundsException 当任一数组长度不足时抛出此异常
+     * @see QuantizedResultCache#transformToGeodeticCoordinateSystem(GeodeticCoordinateSystem, double, double, double, double, double[])
+     */
+    public void transformToGeodeticCoordinateSystem(GeodeticCoordinateSystem system, double[] X, double[] Y, double[] Z, int offset, int length, double precision, double[] L, double[] B, double[] H) {
+        ParallelTools.checkBulkArrays(offset, length, X, Y, Z, L, B, H);
+        transformToGeodeticCoordinateSystemRange(system, X, Y, Z, offset, offset + length, precision, L, B, H);
+    }
+
+    /**
+     * 在ForkJoinPool中分段并行地经缓存批量将空间直角坐标系坐标转换为大地坐标系坐标
+     *
+     * @param system    大地坐标系
+     * @param X         空间直角坐标系X轴值数组，单位：米
+     * @param Y         空间直角坐标系Y轴值数组，单位：米
+     * @param Z         空间直角坐标系Z轴值数组，单位：米
+     * @param offset    起始下标
+     * @param length    计算点数
+     * @param precision 大地纬度B迭代精度，单位：弧度
+     * @param L         大地经度输出数组，单位：弧度
+     * @param B         大地纬度输出数组，单位：弧度
+     * @param H         大地高输出数组，单位：米
+     * @param pool      执行并行计算的ForkJoinPool
+     * @throws IndexOutOfBoundsException 当任一数组长度不足时抛出此异常
+     * @see QuantizedResultCache#transformToGeodeticCoordinateSystem(GeodeticCoordinateSystem, double[], double[], double[], int, int, double, double[], double[], double[])
+     */
+    public void transformToGeodeticCoordinateSystem(GeodeticCoordinateSystem system, double[] X, double[] Y, double[] Z, int offset, int length, double precision, double[] L, double[] B, double[] H, ForkJoinPool pool) {
+        ParallelTools.checkBulkArrays(offset, length, X, Y, Z, L, B, H);
+        ParallelTools.forRange(pool, offset, length, (from, to) -> transformToGeodeticCoordinateSystemRange(system, X, Y, Z, from, to, precision, L, B, H));
+    }
+
+    private void transformToGeodeticCoordinateSystemRange(GeodeticCoordinateSystem system, double[] X, double[] Y, double[] Z, int from, int to, double precision, double[] L, double[] B, double[] H) {
+        double[] output = new double[GEODETIC_WIDTH]; //同一区间内复用
+        for (int i = from; i < to; i++) {
+            transformToGeodeticCoordinateSystem(system, X[i], Y[i], Z[i], precision, output);
+            L[i] = output[0];
+            B[i] = output[1];
+            H[i] = output[2];
+        }
+    }
+
+    /**
+     * 由坐标系登记序号及计算方法组成键中的标记，坐标系首次使用时登记
+     */
+    private int tag(Object system, int operation) {
+        Objects.requireNonNull(system);
+        Object[] registered = systems;
+        for (int i = 0; i < registered.length; i++) {
+            if (registered[i] == system) {
+                return i << 1 | operation;
+            }
+        }
+        return register(system) << 1 | operation;
+    }
+
+    private synchronized int register(Object system) {
+        Object[] registered = systems;
+        for (int i = 0; i < registered.length; i++) {
+            if (registered[i] == system) {
+                return i;
+            }
+        }
+        registered = Arrays.copyOf(registered, registered.length + 1);
+        registered[registered.length - 1] = system;
+        systems = registered;
+        return registered.length - 1;
+    }
+
+    /**
+     * 64位散列值，高32位用于选择分段，低32位用于段内定址
+     */
+    private static long hash(int tag, long k0, long k1, long k2, long k3) {
+        long h = tag * 0x9E3779B97F4A7C15L;
+        h = mix(h ^ k0);
+        h = mix(h ^ k1);
+        h = mix(h ^ k2);
+        return mix(h ^ k3);
+    }
+
+    /**
+     * SplitMix64的终结混合函数
+     */
+    private static long mix(long h) {
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+
+    /**
+     * 获取命中次数
+     *
+     * @return 命中次数
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * 获取未命中次数，不含不经过缓存直接计算的次数
+     *
+     * @return 未命中次数
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * 获取因段满而淘汰的结果数
+     *
+     * @return 淘汰数
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * 获取命中率，尚未查找过时为0
+     *
+     * @return 命中率
+     */
+    public double getHitRate() {
+        long hit = hits.sum(), miss = misses.sum();
+        return hit + miss == 0 ? 0 : (double) hit / (hit + miss);
+    }
+
+    /**
+     * 获取最多缓存的结果数，即各段容量之和
+     *
+     * @return 容量
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * 获取当前缓存的结果数
+     *
+     * @return 结果数
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    /**
+     * 清空缓存的结果，不重置统计数据
+     */
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            stripe.clear();
+        }
+    }
+
+    /**
+     * 获取大地经纬度的量化步长
+     *
+     * @return 量化步长，单位：弧度
+     */
+    public double getAngularQuantum() {
+        return angularQuantum;
+    }
+
+    /**
+     * 获取空间直角坐标的量化步长
+     *
+     * @return 量化步长，单位：米
+     */
+    public double getLinearQuantum() {
+        return linearQuantum;
+    }
+
+    /**
+     * 缓存分段
+     * <br>
+     * 结果依次存放在 [0, capacity) 个条目中，散列表 {@link #table} 以线性探测存放条目下标加1（0表示空位），大小为不小于容量两倍的2的幂；
+     * 条目按 {@link #previous}，{@link #next} 链接为LRU链表，{@link #head} 为最近使用，{@link #tail} 为最久未使用
+     */
+    private static final class Stripe {
+        private final int capacity;
+        private final int mask;
+        private final int[] table;
+        private final int[] hashes;
+        private final int[] tags;
+        private final long[] keys;
+        private final double[] values;
+        private final int[] previous, next;
+        private int head = -1, tail = -1;
+        private int size;
+
+        private Stripe(int capacity) {
+            this.capacity = capacity;
+            int tableSize = Integer.highestOneBit(Math.max(2, 2 * capacity - 1)) << 1;
+            this.mask = tableSize - 1;
+            this.table = new int[tableSize];
+            this.hashes = new int[capacity];
+            this.tags = new int[capacity];
+            this.keys = new long[capacity * 4];
+            this.values = new double[capacity * WIDTH];
+            this.previous = new int[capacity];
+            this.next = new int[capacity];
+        }
+
+        /**
+         * 查找键所在的条目
+         *
+         * @return 条目下标，未找到时为-1
+         */
+        private int find(int hash, int tag, long k0, long k1, long k2, long k3) {
+            for (int i = hash & mask; ; i = (i + 1) & mask) {
+                int entry = table[i] - 1;
+                if (entry < 0) {
+                    return -1;
+                }
+                int k = entry * 4;
+                if (hashes[entry] == hash && tags[entry] == tag && keys[k] == k0 && keys[k + 1] == k1 && keys[k + 2] == k2 && keys[k + 3] == k3) {
+                    return entry;
+                }
+            }
+        }
+
+        private synchronized boolean get(int hash, int tag, long k0, long k1, long k2, long k3, double[] output, int width) {
+            int entry = find(hash, tag, k0, k1, k2, k3);
+            if (entry < 0) {
+                return false;
+            }
+            System.arraycopy(values, entry * WIDTH, output, 0, width);
+            moveToHead(entry);
+            return true;
+        }
+
+        /**
+         * 插入计算结果，键已存在时（其他线程已插入）只更新其使用顺序
+         *
+         * @return 是否淘汰了最久未使用的结果
+         */
+        private synchronized boolean put(int hash, int tag, long k0, long k1, long k2, long k3, double[] output, int width) {
+            int entry = find(hash, tag, k0, k1, k2, k3);
+            if (entry >= 0) {
+                moveToHead(entry);
+                return false;
+            }
+            boolean evicted = size == capacity;
+            if (evicted) {
+                entry = tail;
+                remove(entry);
+                unlink(entry);
+            } else {
+                entry = size++;
+            }
+            hashes[entry] = hash;
+            tags[entry] = tag;
+            int k = entry * 4;
+            keys[k] = k0;
+            keys[k + 1] = k1;
+            keys[k + 2] = k2;
+            keys[k + 3] = k3;
+            System.arraycopy(output, 0, values, entry * WIDTH, width);
+            int i = hash & mask;
+            while (table[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            table[i] = entry + 1;
+            linkAtHead(entry);
+            return evicted;
+        }
+
+        /**
+         * 自散列表中移除条目，其后同一探测序列中的条目依次前移填补空位，不使用删除标记
+         */
+        private void remove(int entry) {
+            int i = hashes[entry] & mask;
+            while (table[i] != entry + 1) {
+                i = (i + 1) & mask;
+            }
+            for (int j = (i + 1) & mask; table[j] != 0; j = (j + 1) & mask) {
+                int home = hashes[table[j] - 1] & mask;
+                //home 不在 (i, j] 内时，j 处条目可前移至 i
+                if (((j - home) & mask) >= ((j - i) & mask)) {
+                    table[i] = table[j];
+                    i = j;
+                }
+            }
+            table[i] = 0;
+        }
+
+        private void moveToHead(int entry) {
+            if (entry != head) {
+                unlink(entry);
+                linkAtHead(entry);
+            }
+        }
+
+        private void unlink(int entry) {
+            int p = previous[entry], n = next[entry];
+            if (p < 0) {
+                head = n;
+            } else {
+                next[p] = n;
+            }
+            if (n < 0) {
+                tail = p;
+            } else {
+                previous[n] = p;
+            }
+        }
+
+        private void linkAtHead(int entry) {
+            previous[entry] = -1;
+            next[entry] = head;
+            if (head >= 0) {
+                previous[head] = entry;
+            }
+            head = entry;
+            if (tail < 0) {
+                tail = entry;
+            }
+        }
+
+        private synchronized int size() {
+            return size;
+        }
+
+        private synchronized void clear() {
+            Arrays.fill(table, 0);
+            head = tail = -1;
+            size = 0;
+        }
+    }
+}
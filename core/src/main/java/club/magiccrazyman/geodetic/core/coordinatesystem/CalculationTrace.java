@@ -0,0 +1,19 @@
+package club.magiccrazyman.geodetic.core.coordinatesystem;
+
+/**
+ * 计算过程记录接口，用于接收迭代计算中的每次迭代值
+ * <br>
+ * 计算方法接收的CalculationTrace为null时不记录任何计算过程，此时计算过程不产生任何对象
+ *
+ * @author Magic Crazy Man
+ */
+@FunctionalInterface
+public interface CalculationTrace {
+
+    /**
+     * 记录一次迭代值，第一个值为迭代初值，最后一个值即为最终计算值
+     *
+     * @param value 迭代值
+     */
+    void record(double value);
+}
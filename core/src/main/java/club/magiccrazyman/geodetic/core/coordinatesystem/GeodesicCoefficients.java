@@ -0,0 +1,121 @@
+package club.magiccrazyman.geodetic.core.coordinatesystem;
+
+/**
+ * 大地主题解算系数
+ * <br>
+ * 大地主题正反算中的α，β及A，B"，C"均为 cos(A0)^2 的多项式，其系数只与椭球有关，
+ * 故在创建大地坐标系时一次性计算并保存，解算时以秦九韶（Horner）形式求值
+ * <br>
+ * 详细请参考《大地测量学基础》（第二版），武汉大学出版社。第147页
+ *
+ * @author Magic Crazy Man
+ */
+final class GeodesicCoefficients {
+
+    /**
+     * sqrt(1 - e^2)，用于计算归化纬度
+     */
+    final double sqrtOneMinusE2;
+
+    /**
+     * α = α0 + α2 * cos(A0)^2 + α4 * cos(A0)^4
+     */
+    private final double alpha0, alpha2, alpha4;
+
+    /**
+     * 反算 β = β0 + β2 * cos(A0)^2，正算 β' = β * cos(A0)^2
+     */
+    private final double beta0, beta2;
+
+    /**
+     * A = A0 + A2 * cos(A0)^2 + A4 * cos(A0)^4 + A6 * cos(A0)^6
+     */
+    private final double a0, a2, a4, a6;
+
+    /**
+     * B" = (B2 + B4 * cos(A0)^2 + B6 * cos(A0)^4) * cos(A0)^2
+     */
+    private final double b2, b4, b6;
+
+    /**
+     * C" = (C4 + C6 * cos(A0)^2) * cos(A0)^4
+     */
+    private final double c4, c6;
+
+    /**
+     * 根据椭球参数计算大地主题解算系数
+     *
+     * @param semiminorAxis      椭圆短半轴
+     * @param firstEccentricity  椭圆第一偏心率e^2
+     * @param secondEccentricity 椭圆第二偏心率e'^2
+     */
+    GeodesicCoefficients(double semiminorAxis, double firstEccentricity, double secondEccentricity) {
+        double e2 = firstEccentricity, e4 = e2 * e2, e6 = e4 * e2;
+        double ep2 = secondEccentricity, ep4 = ep2 * ep2, ep6 = ep4 * ep2;
+        double b = semiminorAxis;
+
+        sqrtOneMinusE2 = Math.sqrt(1 - e2);
+
+        alpha0 = e2 / 2 + e4 / 8 + e6 / 16;
+        alpha2 = -(e4 / 16 + e6 / 16);
+        alpha4 = 3 * e6 / 128;
+
+        beta0 = e4 / 32 + e6 / 32;
+        beta2 = -e6 / 64;
+
+        //k^2 = e'^2 * cos(A0)^2
+        a0 = b;
+        a2 = b * ep2 / 4;
+        a4 = -3 * b * ep4 / 64;
+        a6 = 5 * b * ep6 / 256;
+
+        b2 = b * ep2 / 8;
+        b4 = -b * ep4 / 32;
+        b6 = 15 * b * ep6 / 1024;
+
+        c4 = b * ep4 / 128;
+        c6 = -3 * b * ep6 / 512;
+    }
+
+    /**
+     * @param cosA02 cos(A0)^2
+     * @return 经度改正系数α
+     */
+    double alpha(double cosA02) {
+        return alpha0 + cosA02 * (alpha2 + cosA02 * alpha4);
+    }
+
+    /**
+     * 大地主题反算所用的β，正算所用的β为此值乘以 cos(A0)^2
+     *
+     * @param cosA02 cos(A0)^2
+     * @return 经度改正系数β
+     */
+    double beta(double cosA02) {
+        return beta0 + cosA02 * beta2;
+    }
+
+    /**
+     * @param cosA02 cos(A0)^2
+     * @return 系数A
+     */
+    double A(double cosA02) {
+        return a0 + cosA02 * (a2 + cosA02 * (a4 + cosA02 * a6));
+    }
+
+    /**
+     * @param cosA02 cos(A0)^2
+     * @return B" / cos(A0)^2
+     */
+    double BOverCosA02(double cosA02) {
+        return b2 + cosA02 * (b4 + cosA02 * b6);
+    }
+
+    /**
+     * @param cosA02 cos(A0)^2
+     * @return C" / cos(A0)^4
+     */
+    double COverCosA04(double cosA02) {
+        return c4 + cosA02 * c6;
+    }
+}
@@ -0,0 +1,418 @@
+package club.magiccrazyman.geodetic.core.coordinatesystem;
+
+import club.magiccrazyman.geodetic.core.tools.ParallelTools;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 大地线矩阵计算器，批量计算N个起点至M个终点之间的大地线长度及大地方位角
+ * <br>
+ * 计算按行带进行：每个行带包含不多于tileSize个起点，行带内按不多于tileSize个终点拆分为若干分块并行计算，
+ * 所有点的归化纬度均只计算一次。行带计算开始前及完成后会通知 {@link Output}，以便将结果分段写入内存映射文件
+ * <br>
+ * 大地主题反算详细请参考《大地测量学基础》（第二版），武汉大学出版社。第149页。
+ * 该方法在近似对跖点上趋近不收敛，趋近次数达到 {@link #MAX_ITERATIONS} 时改用 {@link KarneyGeodesicSolver} 计算该元素；
+ * 起终点重合时该方法得到NaN，同样改用 {@link KarneyGeodesicSolver} 计算
+ *
+ * @author Magic Crazy Man
+ * @see GeodeticCoordinateSystem#inverseSolutionOfGeodeticProblem(double, double, double, double, double, double[])
+ * @see KarneyGeodesicSolver#inverseSolutionOfGeodeticProblem(double, double, double, double, double[])
+ */
+public class GeodesicMatrixCalculator {
+
+    /**
+     * 默认分块边长
+     */
+    public static final int DEFAULT_TILE_SIZE = 256;
+
+    /**
+     * 每个元素逐次趋近的最大次数，一般点对在10次以内收敛
+     */
+    public static final int MAX_ITERATIONS = 50;
+
+    /**
+     * 大地坐标系
+     */
+    private final GeodeticCoordinateSystem system;
+
+    /**
+     * 大地主题反算迭代精度
+     */
+    private final double precision;
+
+    /**
+     * 分块边长
+     */
+    private final int tileSize;
+
+    /**
+     * 执行并行计算的ForkJoinPool
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * 趋近不收敛时使用的大地主题解算器
+     */
+    private final KarneyGeodesicSolver fallback;
+
+    /**
+     * 大地线矩阵计算器构造器，使用默认分块边长及 {@link ForkJoinPool#commonPool()}
+     *
+     * @param system    大地坐标系
+     * @param precision 大地主题反算迭代精度
+     */
+    public GeodesicMatrixCalculator(GeodeticCoordinateSystem system, double precision) {
+        this(system, precision, DEFAULT_TILE_SIZE, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 大地线矩阵计算器构造器
+     *
+     * @param system    大地坐标系
+     * @param precision 大地主题反算迭代精度
+     * @param tileSize  分块边长
+     * @param pool      执行并行计算的ForkJoinPool
+     * @throws IllegalArgumentException 当分块边长小于1时抛出此异常
+     */
+    public GeodesicMatrixCalculator(GeodeticCoordinateSystem system, double precision, int tileSize, ForkJoinPool pool) {
+        if (tileSize < 1) {
+            throw new IllegalArgumentException("分块边长必须大于0");
+        }
+        this.system = Objects.requireNonNull(system);
+        this.precision = precision;
+        this.tileSize = tileSize;
+        this.pool = Objects.requireNonNull(pool);
+        this.fallback = system.getKarneyGeodesicSolver();
+    }
+
+    /**
+     * 计算大地线矩阵，结果保存于堆内存中
+     *
+     * @param L1 起点大地经度数组，单位：弧度
+     * @param B1 起点大地纬度数组，单位：弧度
+     * @param L2 终点大地经度数组，单位：弧度
+     * @param B2 终点大地纬度数组，单位：弧度
+     * @return 保存计算结果的HeapOutput
+     * @throws IllegalArgumentException 当矩阵元素个数超出数组容量时抛出此异常
+     */
+    public HeapOutput calculate(double[] L1, double[] B1, double[] L2, double[] B2) {
+        HeapOutput output = new HeapOutput(L1.length, L2.length);
+        try {
+            calculate(L1, B1, L2, B2, output);
+        } catch (IOException e) {
+            throw new IllegalStateException(e); //堆内存输出不会抛出IOException
+        }
+        return output;
+    }
+
+    /**
+     * 计算大地线矩阵，结果以内存映射的方式写入文件，文件格式见 {@link MappedFileOutput}
+     *
+     * @param L1   起点大地经度数组，单位：弧度
+     * @param B1   起点大地纬度数组，单位：弧度
+     * @param L2   终点大地经度数组，单位：弧度
+     * @param B2   终点大地纬度数组，单位：弧度
+     * @param file 输出文件
+     * @throws IOException 当文件读写失败时抛出此异常
+     */
+    public void calculate(double[] L1, double[] B1, double[] L2, double[] B2, Path file) throws IOException {
+        try (MappedFileOutput output = new MappedFileOutput(file, L1.length, L2.length)) {
+            calculate(L1, B1, L2, B2, output);
+        }
+    }
+
+    /**
+     * 计算大地线矩阵，结果按行带写入output
+     *
+     * @param L1     起点大地经度数组，单位：弧度
+     * @param B1     起点大地纬度数组，单位：弧度
+     * @param L2     终点大地经度数组，单位：弧度
+     * @param B2     终点大地纬度数组，单位：弧度
+     * @param output 计算结果输出
+     * @throws IOException              当output写入失败时抛出此异常
+     * @throws IllegalArgumentException 当起点或终点的经纬度数组长度不一致时抛出此异常
+     */
+    public void calculate(double[] L1, double[] B1, double[] L2, double[] B2, Output output) throws IOException {
+        if (L1.length != B1.length || L2.length != B2.length) {
+            throw new IllegalArgumentException("经纬度数组长度不一致");
+        }
+        int rows = L1.length, columns = L2.length;
+
+        //预先计算所有终点的归化纬度
+        double[] sinu2 = new double[columns], cosu2 = new double[columns];
+        reducedLatitudes(B2, sinu2, cosu2);
+
+        double[] sinu1 = new double[tileSize], cosu1 = new double[tileSize];
+        double[] reduced = new double[2];
+        for (int rowFrom = 0; rowFrom < rows; rowFrom += tileSize) {
+            int rowTo = Math.min(rowFrom + tileSize, rows);
+            //每个行带内的起点归化纬度只计算一次，供行带内所有分块使用
+            for (int row = rowFrom; row < rowTo; row++) {
+                system.calculateReducedLatitude(B1[row], reduced);
+                sinu1[row - rowFrom] = reduced[0];
+                cosu1[row - rowFrom] = reduced[1];
+            }
+
+            output.beginRows(rowFrom, rowTo);
+            int from = rowFrom;
+            ParallelTools.forRange(pool, 0, columns, tileSize, (columnFrom, columnTo) -> calculateTile(L1, B1, L2, B2, sinu1, cosu1, sinu2, cosu2, from, rowTo, columnFrom, columnTo, output));
+            output.endRows(rowFrom, rowTo);
+        }
+    }
+
+    /**
+     * 计算一个分块内所有起点与终点之间的大地线，趋近不收敛或结果非有限值（如起终点重合）的元素改用Karney算法计算
+     */
+    private void calculateTile(double[] L1, double[] B1, double[] L2, double[] B2, double[] sinu1, double[] cosu1, double[] sinu2, double[] cosu2,
+                               int rowFrom, int rowTo, int columnFrom, int columnTo, Output output) {
+        double[] AASC = new double[4]; //每个分块复用同一个输出数组
+        for (int row = rowFrom; row < rowTo; row++) {
+            double l1 = L1[row], s1 = sinu1[row - rowFrom], c1 = cosu1[row - rowFrom];
+            for (int column = columnFrom; column < columnTo; column++) {
+                if (system.inverseSolutionOfGeodeticProblem(s1, c1, sinu2[column], cosu2[column], L2[column] - l1, precision, MAX_ITERATIONS, system.getMathBackend(), AASC, null) == null
+                        || !Double.isFinite(AASC[0]) || !Double.isFinite(AASC[1]) || !Double.isFinite(AASC[2])) {
+                    fallback.inverseSolutionOfGeodeticProblem(l1, B1[row], L2[column], B2[column], AASC);
+                }
+                output.write(row, column, AASC[0], AASC[1], AASC[2]);
+            }
+        }
+    }
+
+    /**
+     * 计算所有点的归化纬度正余弦值
+     */
+    private void reducedLatitudes(double[] B, double[] sinu, double[] cosu) {
+        double[] reduced = new double[2];
+        for (int i = 0; i < B.length; i++) {
+            system.calculateReducedLatitude(B[i], reduced);
+            sinu[i] = reduced[0];
+            cosu[i] = reduced[1];
+        }
+    }
+
+    /**
+     * 大地线矩阵计算结果输出
+     * <br>
+     * 同一行带内的不同元素会被多个线程同时写入，实现类须保证写入不同元素时线程安全
+     */
+    public interface Output {
+
+        /**
+         * 开始计算 [rowFrom, rowTo) 行
+         *
+         * @param rowFrom 起始行（包含）
+         * @param rowTo   终止行（不包含）
+         * @throws IOException 当输出准备失败时抛出此异常
+         */
+        void beginRows(int rowFrom, int rowTo) throws IOException;
+
+        /**
+         * 写入一个矩阵元素
+         *
+         * @param row    行号，即起点序号
+         * @param column 列号，即终点序号
+         * @param A1     起点大地方位角，单位：弧度
+         * @param A2     终点大地方位角，单位：弧度
+         * @param S      大地线长度，单位：米
+         */
+        void write(int row, int column, double A1, double A2, double S);
+
+        /**
+         * [rowFrom, rowTo) 行计算完成
+         *
+         * @param rowFrom 起始行（包含）
+         * @param rowTo   终止行（不包含）
+         * @throws IOException 当输出写入失败时抛出此异常
+         */
+        void endRows(int rowFrom, int rowTo) throws IOException;
+    }
+
+    /**
+     * 堆内存输出，以行优先顺序分别保存大地线长度，起点大地方位角及终点大地方位角矩阵
+     */
+    public static class HeapOutput implements Output {
+        private final int rows;
+        private final int columns;
+        private final double[] distances;
+        private final double[] forwardAzimuths;
+        private final double[] backwardAzimuths;
+
+        /**
+         * 堆内存输出构造器
+         *
+         * @param rows    行数
+         * @param columns 列数
+         * @throws IllegalArgumentException 当矩阵元素个数超出数组容量时抛出此异常
+         */
+        public HeapOutput(int rows, int columns) {
+            long size = (long) rows * columns;
+            if (size > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("矩阵过大，无法保存于堆内存中，请使用MappedFileOutput");
+            }
+            this.rows = rows;
+            this.columns = columns;
+            this.distances = new double[(int) size];
+            this.forwardAzimuths = new double[(int) size];
+            this.backwardAzimuths = new double[(int) size];
+        }
+
+        @Override
+        public void beginRows(int rowFrom, int rowTo) {
+        }
+
+        @Override
+        public void write(int row, int column, double A1, double A2, double S) {
+            int index = row * columns + column;
+            distances[index] = S;
+            forwardAzimuths[index] = A1;
+            backwardAzimuths[index] = A2;
+        }
+
+        @Override
+        public void endRows(int rowFrom, int rowTo) {
+        }
+
+        /**
+         * @param row    行号，即起点序号
+         * @param column 列号，即终点序号
+         * @return 大地线长度，单位：米
+         */
+        public double getDistance(int row, int column) {
+            return distances[row * columns + column];
+        }
+
+        /**
+         * @param row    行号，即起点序号
+         * @param column 列号，即终点序号
+         * @return 起点大地方位角，单位：弧度
+         */
+        public double getForwardAzimuth(int row, int column) {
+            return forwardAzimuths[row * columns + column];
+        }
+
+        /**
+         * @param row    行号，即起点序号
+         * @param column 列号，即终点序号
+         * @return 终点大地方位角，单位：弧度
+         */
+        public double getBackwardAzimuth(int row, int column) {
+            return backwardAzimuths[row * columns + column];
+        }
+
+        /**
+         * @return 行优先顺序的大地线长度矩阵，单位：米
+         */
+        public double[] getDistances() {
+            return distances;
+        }
+
+        /**
+         * @return 行优先顺序的起点大地方位角矩阵，单位：弧度
+         */
+        public double[] getForwardAzimuths() {
+            return forwardAzimuths;
+        }
+
+        /**
+         * @return 行优先顺序的终点大地方位角矩阵，单位：弧度
+         */
+        public double[] getBackwardAzimuths() {
+            return backwardAzimuths;
+        }
+
+        /**
+         * @return 行数
+         */
+        public int getRows() {
+            return rows;
+        }
+
+        /**
+         * @return 列数
+         */
+        public int getColumns() {
+            return columns;
+        }
+    }
+
+    /**
+     * 内存映射文件输出，用于无法完整保存于堆内存中的矩阵
+     * <br>
+     * 文件依次包含大地线长度，起点大地方位角及终点大地方位角三个矩阵，每个矩阵均为 rows * columns 个行优先顺序排列的小端序double值，
+     * 第i个矩阵中第row行第column列元素的字节偏移量为 ((i * rows + row) * columns + column) * 8
+     * <br>
+     * 每个行带计算前只映射该行带所在的文件区域，计算完成后将其写回磁盘
+     */
+    public static class MappedFileOutput implements Output, Closeable {
+        private final FileChannel channel;
+        private final int rows;
+        private final int columns;
+        private final DoubleBuffer[] planes = new DoubleBuffer[3];
+        private final MappedByteBuffer[] mapped = new MappedByteBuffer[3];
+        private int rowFrom;
+
+        /**
+         * 内存映射文件输出构造器，文件不存在时会被创建，已存在时会被覆盖
+         *
+         * @param file    输出文件
+         * @param rows    行数
+         * @param columns 列数
+         * @throws IOException 当文件创建失败时抛出此异常
+         */
+        public MappedFileOutput(Path file, int rows, int columns) throws IOException {
+            this.rows = rows;
+            this.columns = columns;
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            long size = 3L * rows * columns * Double.BYTES;
+            if (size > 0) {
+                channel.write(ByteBuffer.allocate(1), size - 1); //预先扩展文件长度
+            }
+        }
+
+        @Override
+        public void beginRows(int rowFrom, int rowTo) throws IOException {
+            long length = (long) (rowTo - rowFrom) * columns * Double.BYTES;
+            if (length > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("单个行带过大，无法映射，请减小分块边长");
+            }
+            this.rowFrom = rowFrom;
+            for (int i = 0; i < 3; i++) {
+                long position = ((long) i * rows + rowFrom) * columns * Double.BYTES;
+                mapped[i] = channel.map(FileChannel.MapMode.READ_WRITE, position, length);
+                planes[i] = mapped[i].order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+            }
+        }
+
+        @Override
+        public void write(int row, int column, double A1, double A2, double S) {
+            int index = (row - rowFrom) * columns + column;
+            planes[0].put(index, S);
+            planes[1].put(index, A1);
+            planes[2].put(index, A2);
+        }
+
+        @Override
+        public void endRows(int rowFrom, int rowTo) {
+            for (int i = 0; i < 3; i++) {
+                mapped[i].force();
+                mapped[i] = null;
+                planes[i] = null;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -1,12 +1,13 @@
 package club.magiccrazyman.geodetic.core.coordinatesystem;
 
-import club.magiccrazyman.geodetic.core.tools.CalculationTools;
-import org.dom4j.Document;
-import org.dom4j.DocumentException;
-import org.dom4j.Element;
-import org.dom4j.io.SAXReader;
+import club.magiccrazyman.geodetic.core.metrics.MetricOperation;
+import club.magiccrazyman.geodetic.core.metrics.Metrics;
+import club.magiccrazyman.geodetic.core.metrics.RegistryLoadEvent;
+import club.magiccrazyman.geodetic.core.tools.MathBackend;
+import club.magiccrazyman.geodetic.core.tools.ParallelTools;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * 大地坐标系
@@ -20,43 +21,66 @@ import java.util.*;
  */
 public class GeodeticCoordinateSystem {
 
-    private static HashMap<Integer, GeodeticCoordinateSystem> systems;
-
+    /**
+     * 根据ID获取登记的大地坐标系，查询无锁，可在任意线程中调用
+     *
+     * @param id 大地坐标系ID
+     * @return 大地坐标系实例，不存在时返回null
+     */
     public static GeodeticCoordinateSystem getSystemById(int id) {
-        if (systems == null) {
-            initSystemsFromXML();
-        }
-        return systems.get(id);
+        return Registry.BY_ID.get(id);
     }
 
-    public static Collection<GeodeticCoordinateSystem> getSystems(){
-        if(systems == null){
-            initSystemsFromXML();
-        }
-        return systems.values();
-    }
-
-    private static void initSystemsFromXML() {
-        try {
-            systems = new HashMap<>();
-
-            SAXReader saxReader = new SAXReader();
-            Document document = saxReader.read(GeodeticCoordinateSystem.class.getResource("/resource/goordinateSystems/geodetic/systems.xml"));
-            Element systemsXML = document.getRootElement();
-            for (Iterator<Element> it = systemsXML.elementIterator("system"); it.hasNext(); ) {
-                Element systemXML = it.next();
-                int id = Integer.parseInt(systemXML.element("id").getText());
-                String referenceEllipsoidName = systemXML.element("referenceEllipsoidName").getText();
-                String name = systemXML.element("names").element("zh_cn").getText();
-                double primeMerdian = Double.parseDouble(systemXML.element("primeMeridian").getText());
-                double semimajorAxis = Double.parseDouble(systemXML.element("semimajorAxis").getText());
-                double semiminorAxis = Double.parseDouble(systemXML.element("semiminorAxis").getText());
-
-                GeodeticCoordinateSystem system = new GeodeticCoordinateSystem(semimajorAxis, semiminorAxis, primeMerdian, name,id,referenceEllipsoidName);
-                systems.put(id, system);
+    /**
+     * 根据名称获取登记的大地坐标系，中文名称与英文名称均可，查询无锁，可在任意线程中调用
+     *
+     * @param name 大地坐标系名称
+     * @return 大地坐标系实例，不存在时返回null
+     */
+    public static GeodeticCoordinateSystem getSystemByName(String name) {
+        return Registry.BY_NAME.get(name);
+    }
+
+    /**
+     * 获取所有登记的大地坐标系
+     *
+     * @return 按ID顺序排列的不可修改集合
+     */
+    public static Collection<GeodeticCoordinateSystem> getSystems() {
+        return Registry.SYSTEMS;
+    }
+
+    /**
+     * 大地坐标系登记表
+     * <br>
+     * 登记表由 systems.xml 在构建时生成为 {@link RecordedGeodeticSystems}，运行时不解析XML；
+     * 首次访问时由类初始化完成创建，JVM保证其只执行一次且对所有线程安全发布，此后的查询均为无锁读取不可变集合
+     */
+    private static final class Registry {
+        private static final Map<Integer, GeodeticCoordinateSystem> BY_ID;
+        private static final Map<String, GeodeticCoordinateSystem> BY_NAME;
+        private static final Collection<GeodeticCoordinateSystem> SYSTEMS;
+
+        static {
+            RegistryLoadEvent event = new RegistryLoadEvent("GeodeticCoordinateSystem");
+            event.begin();
+            GeodeticCoordinateSystem[] systems = RecordedGeodeticSystems.createSystems();
+            String[] englishNames = RecordedGeodeticSystems.englishNames();
+            Map<Integer, GeodeticCoordinateSystem> byId = new HashMap<>();
+            Map<String, GeodeticCoordinateSystem> byName = new HashMap<>();
+            for (int i = 0; i < systems.length; i++) {
+                if (byId.put(systems[i].getId(), systems[i]) != null) {
+                    throw new IllegalStateException("大地坐标系ID重复：" + systems[i].getId());
+                }
+                byName.put(systems[i].getName(), systems[i]);
+                byName.put(englishNames[i], systems[i]);
             }
-        } catch (DocumentException e) {
-            e.printStackTrace();
+            Arrays.sort(systems, Comparator.comparingInt(GeodeticCoordinateSystem::getId));
+
+            BY_ID = Map.copyOf(byId);
+            BY_NAME = Map.copyOf(byName);
+            SYSTEMS = List.of(systems);
+            event.commit(systems.length);
         }
     }
 
@@ -90,6 +114,28 @@ public class GeodeticCoordinateSystem {
      */
     private final double secondEccentricity;
 
+    /**
+     * 大地主题解算系数
+     */
+    private final GeodesicCoefficients geodesicCoefficients;
+
+    /**
+     * 基于Karney算法的大地主题解算器
+     */
+    private final KarneyGeodesicSolver karneyGeodesicSolver;
+
+    /**
+     * 由子午线弧长推算大地纬度的反级数系数d2，d4，d6，d8，d10
+     */
+    private final double[] footpointLatitudeParameters;
+
+    /**
+     * 空间直角坐标转换及大地主题解算使用的三角函数计算后端
+     *
+     * @see MathBackend
+     */
+    private final MathBackend mathBackend;
+
     /**
      * 大地坐标系起始子午线
      */
@@ -121,17 +167,47 @@ public class GeodeticCoordinateSystem {
      * @param referenceEllipsoidName 大地坐标系椭球体名称
      */
     public GeodeticCoordinateSystem(double semimajorAxis, double semiminorAxis, double primeMeridian, String name, int id, String referenceEllipsoidName) {
+        this(semimajorAxis, semiminorAxis, primeMeridian, name, id, referenceEllipsoidName, MathBackend.JAVA);
+    }
+
+    /**
+     * 大地坐标系构造器，通过输入椭圆长半轴a及短半轴b创建一个新的大地坐标系，并指定三角函数计算后端
+     *
+     * @param semimajorAxis          椭圆长半轴
+     * @param semiminorAxis          椭圆短半轴
+     * @param primeMeridian          大地坐标系起始子午线
+     * @param name                   大地坐标系名称
+     * @param id                     大地坐标系ID
+     * @param referenceEllipsoidName 大地坐标系椭球体名称
+     * @param mathBackend            空间直角坐标转换及大地主题解算使用的三角函数计算后端
+     * @see MathBackend
+     */
+    public GeodeticCoordinateSystem(double semimajorAxis, double semiminorAxis, double primeMeridian, String name, int id, String referenceEllipsoidName, MathBackend mathBackend) {
         this.semimajorAxis = semimajorAxis;
         this.semiminorAxis = semiminorAxis;
-        this.poleCurvatureRadius = Math.pow(semimajorAxis, 2) / semiminorAxis;
+        //平方直接相乘，不经Math.pow，椭球参数在任何JVM上逐位一致
+        double a2 = semimajorAxis * semimajorAxis, b2 = semiminorAxis * semiminorAxis;
+        this.poleCurvatureRadius = a2 / semiminorAxis;
         this.flattening = (semiminorAxis - semiminorAxis) / semimajorAxis;
-        double v = Math.pow(semimajorAxis, 2) - Math.pow(semiminorAxis, 2);
-        this.firstEccentricity = v / Math.pow(semimajorAxis, 2);
-        this.secondEccentricity = v / Math.pow(semiminorAxis, 2);
+        double v = a2 - b2;
+        this.firstEccentricity = v / a2;
+        this.secondEccentricity = v / b2;
+        this.geodesicCoefficients = new GeodesicCoefficients(semiminorAxis, firstEccentricity, secondEccentricity);
+        this.karneyGeodesicSolver = new KarneyGeodesicSolver(semimajorAxis, semiminorAxis, name, mathBackend);
+        double n = (semimajorAxis - semiminorAxis) / (semimajorAxis + semiminorAxis);
+        double n2 = n * n, n3 = n2 * n, n4 = n3 * n, n5 = n4 * n;
+        this.footpointLatitudeParameters = new double[]{
+                3.0 / 2 * n - 27.0 / 32 * n3 + 269.0 / 512 * n5,
+                21.0 / 16 * n2 - 55.0 / 32 * n4,
+                151.0 / 96 * n3 - 417.0 / 128 * n5,
+                1097.0 / 512 * n4,
+                8011.0 / 2560 * n5
+        };
         this.primeMeridian = primeMeridian;
         this.name = name;
         this.id = id;
         this.referenceEllipsoidName = referenceEllipsoidName;
+        this.mathBackend = mathBackend;
     }
 
     /**
@@ -157,32 +233,319 @@ public class GeodeticCoordinateSystem {
      * @param Z         空间直角坐标系Z轴值，单位：米
      * @param precision 大地纬度B迭代精度，单位：弧度
      * @return 以L(大地经度), B(大地纬度), H(大地高)，count(迭代总次数)，...(每次迭代值)顺序排列ArrayList
+     * @see GeodeticCoordinateSystem#transformToGeodeticCoordinateSystem(double, double, double, double, double[])
      */
     public ArrayList<Double> transformToGeodeticCoordinateSystem(double X, double Y, double Z, double precision) {
         ArrayList<Double> list = new ArrayList<>();
+        ArrayList<Double> Bi = new ArrayList<>();
+        double[] LBHC = transformToGeodeticCoordinateSystem(X, Y, Z, precision, new double[4], Bi::add);
+
+        list.add(LBHC[0]);
+        list.add(LBHC[1]);
+        list.add(LBHC[2]);
+        list.add(LBHC[3]);
+        list.addAll(Bi);
+        return list;
+    }
+
+    /**
+     * 基于当前大地坐标系，将空间直角坐标系坐标转换为大地坐标系坐标，计算结果写入调用方提供的数组，计算过程不产生任何对象
+     * <br>
+     * 详细请参考《大地测量学基础》（第二版），武汉大学出版社。第105页
+     *
+     * @param X         空间直角坐标系X轴值，单位：米
+     * @param Y         空间直角坐标系Y轴值，单位：米
+     * @param Z         空间直角坐标系Z轴值，单位：米
+     * @param precision 大地纬度B迭代精度，单位：弧度
+     * @param output    长度不小于4的输出数组
+     * @return 以L(大地经度), B(大地纬度), H(大地高)，count(迭代总次数)顺序写入的output数组
+     */
+    public double[] transformToGeodeticCoordinateSystem(double X, double Y, double Z, double precision, double[] output) {
+        return transformToGeodeticCoordinateSystem(X, Y, Z, precision, output, null);
+    }
+
+    /**
+     * 基于当前大地坐标系，使用指定的解算方法将空间直角坐标系坐标转换为大地坐标系坐标，计算结果写入调用方提供的数组，计算过程不产生任何对象
+     *
+     * @param X         空间直角坐标系X轴值，单位：米
+     * @param Y         空间直角坐标系Y轴值，单位：米
+     * @param Z         空间直角坐标系Z轴值，单位：米
+     * @param precision 大地纬度B迭代精度，单位：弧度，使用闭合公式法时忽略
+     * @param method    大地纬度解算方法
+     * @param output    长度不小于4的输出数组
+     * @return 以L(大地经度), B(大地纬度), H(大地高)，count(迭代总次数，闭合公式法恒为0)顺序写入的output数组
+     * @throws IllegalArgumentException 当解算方法为 {@link SolutionMethod#TABLE} 时抛出此异常
+     * @see GeodeticCoordinateSystem#transformToGeodeticCoordinateSystem(double, double, double, double, double[])
+     * @see GeodeticCoordinateSystem#transformToGeodeticCoordinateSystemByClosedForm(double, double, double, double[])
+     */
+    public double[] transformToGeodeticCoordinateSystem(double X, double Y, double Z, double precision, SolutionMethod method, double[] output) {
+        return transformToGeodeticCoordinateSystem(X, Y, Z, precision, method, mathBackend, output);
+    }
+
+    /**
+     * 基于当前大地坐标系，使用指定的解算方法将空间直角坐标系坐标转换为大地坐标系坐标，三角函数由指定的计算后端求得，计算结果写入调用方提供的数组，计算过程不产生任何对象
+     *
+     * @param X         空间直角坐标系X轴值，单位：米
+     * @param Y         空间直角坐标系Y轴值，单位：米
+     * @param Z         空间直角坐标系Z轴值，单位：米
+     * @param precision 大地纬度B迭代精度，单位：弧度，使用闭合公式法时忽略
+     * @param method    大地纬度解算方法
+     * @param backend   三角函数计算后端
+     * @param output    长度不小于4的输出数组
+     * @return 以L(大地经度), B(大地纬度), H(大地高)，count(迭代总次数，闭合公式法恒为0)顺序写入的output数组
+     * @throws IllegalArgumentException 当解算方法为 {@link SolutionMethod#TABLE} 时抛出此异常
+     * @see GeodeticCoordinateSystem#transformToGeodeticCoordinateSystem(double, double, double, double, SolutionMethod, double[])
+     */
+    public double[] transformToGeodeticCoordinateSystem(double X, double Y, double Z, double precision, SolutionMethod method, MathBackend backend, double[] output) {
+        checkSpatialSolutionMethod(method);
+        if (method == SolutionMethod.CLOSED_FORM) {
+            return transformToGeodeticCoordinateSystemByClosedForm(X, Y, Z, backend, output);
+        }
+        return transformToGeodeticCoordinateSystem(X, Y, Z, precision, backend, output, null);
+    }
+
+    /**
+     * 查表法只适用于根据子午线弧长推算大地纬度
+     *
+     * @param method 大地纬度解算方法
+     * @throws IllegalArgumentException 当解算方法为 {@link SolutionMethod#TABLE} 时抛出此异常
+     */
+    private static void checkSpatialSolutionMethod(SolutionMethod method) {
+        if (method == SolutionMethod.TABLE) {
+            throw new IllegalArgumentException("查表法不适用于空间直角坐标转换为大地坐标");
+        }
+    }
+
+    /**
+     * 闭合公式法，基于当前大地坐标系将空间直角坐标系坐标转换为大地坐标系坐标，计算结果写入调用方提供的数组，计算过程不产生任何对象
+     * <br>
+     * 采用Vermeille(2002)的直接解法，无需迭代，计算量与点位无关，对于距地心约 a * e^2 以外的点（包括地表及近地空间的所有点）结果精确至亚毫米级
+     * <br>
+     * 详细请参考 Vermeille H. Direct transformation from geocentric coordinates to geodetic coordinates. Journal of Geodesy, 2002, 76: 451-454
+     *
+     * @param X      空间直角坐标系X轴值，单位：米
+     * @param Y      空间直角坐标系Y轴值，单位：米
+     * @param Z      空间直角坐标系Z轴值，单位：米
+     * @param output 长度不小于4的输出数组
+     * @return 以L(大地经度), B(大地纬度), H(大地高)，count(迭代总次数，恒为0)顺序写入的output数组
+     */
+    public double[] transformToGeodeticCoordinateSystemByClosedForm(double X, double Y, double Z, double[] output) {
+        return transformToGeodeticCoordinateSystemByClosedForm(X, Y, Z, mathBackend, output);
+    }
+
+    /**
+     * 闭合公式法，基于当前大地坐标系将空间直角坐标系坐标转换为大地坐标系坐标，三角函数由指定的计算后端求得，计算结果写入调用方提供的数组，计算过程不产生任何对象
+     *
+     * @param X       空间直角坐标系X轴值，单位：米
+     * @param Y       空间直角坐标系Y轴值，单位：米
+     * @param Z       空间直角坐标系Z轴值，单位：米
+     * @param backend 三角函数计算后端
+     * @param output  长度不小于4的输出数组
+     * @return 以L(大地经度), B(大地纬度), H(大地高)，count(迭代总次数，恒为0)顺序写入的output数组
+     * @see GeodeticCoordinateSystem#transformToGeodeticCoordinateSystemByClosedForm(double, double, double, double[])
+     */
+    public double[] transformToGeodeticCoordinateSystemByClosedForm(double X, double Y, double Z, MathBackend backend, double[] output) {
+        double e4, r, p, q, t, u, v, w, k, D, DZ, s;
+        e4 = firstEccentricity * firstEccentricity;
+        r = backend.hypot(X, Y);
+
+        p = r * r / (semimajorAxis * semimajorAxis);
+        q = (1 - firstEccentricity) * Z * Z / (semimajorAxis * semimajorAxis);
+        s = (p + q - e4) / 6;
+        t = e4 * p * q / (4 * s * s * s);
+        t = backend.cbrt(1 + t + Math.sqrt(t * (2 + t)));
+        u = s * (1 + t + 1 / t);
+        v = Math.sqrt(u * u + e4 * q);
+        w = firstEccentricity * (u + v - q) / (2 * v);
+        k = Math.sqrt(u + v + w * w) - w;
+        D = k * r / (k + firstEccentricity);
+        DZ = backend.hypot(D, Z);
+
+        output[0] = backend.atan2(Y, X);
+        output[1] = 2 * backend.atan2(Z, D + DZ);
+        output[2] = (k + firstEccentricity - 1) / k * DZ;
+        output[3] = 0;
+        return output;
+    }
+
+    /**
+     * 基于当前大地坐标系，将空间直角坐标系坐标转换为大地坐标系坐标，计算结果写入调用方提供的数组，每次迭代值交由trace记录
+     * <br>
+     * 详细请参考《大地测量学基础》（第二版），武汉大学出版社。第105页
+     *
+     * @param X         空间直角坐标系X轴值，单位：米
+     * @param Y         空间直角坐标系Y轴值，单位：米
+     * @param Z         空间直角坐标系Z轴值，单位：米
+     * @param precision 大地纬度B迭代精度，单位：弧度
+     * @param output    长度不小于4的输出数组
+     * @param trace     大地纬度B每次迭代值的记录，为null时不记录
+     * @return 以L(大地经度), B(大地纬度), H(大地高)，count(迭代总次数)顺序写入的output数组
+     */
+    public double[] transformToGeodeticCoordinateSystem(double X, double Y, double Z, double precision, double[] output, CalculationTrace trace) {
+        return transformToGeodeticCoordinateSystem(X, Y, Z, precision, mathBackend, output, trace);
+    }
 
-        double N, L, B, H;
+    /**
+     * 基于当前大地坐标系，将空间直角坐标系坐标转换为大地坐标系坐标，三角函数由指定的计算后端求得，计算结果写入调用方提供的数组，每次迭代值交由trace记录
+     *
+     * @param X         空间直角坐标系X轴值，单位：米
+     * @param Y         空间直角坐标系Y轴值，单位：米
+     * @param Z         空间直角坐标系Z轴值，单位：米
+     * @param precision 大地纬度B迭代精度，单位：弧度
+     * @param backend   三角函数计算后端
+     * @param output    长度不小于4的输出数组
+     * @param trace     大地纬度B每次迭代值的记录，为null时不记录
+     * @return 以L(大地经度), B(大地纬度), H(大地高)，count(迭代总次数)顺序写入的output数组
+     * @see GeodeticCoordinateSystem#transformToGeodeticCoordinateSystem(double, double, double, double, double[], CalculationTrace)
+     */
+    public double[] transformToGeodeticCoordinateSystem(double X, double Y, double Z, double precision, MathBackend backend, double[] output, CalculationTrace trace) {
+        long start = Metrics.start();
+        double N, L, B, H, sinB, r;
 
         //L = acos(X / sqrt(X^2 + Y^2))
-        L = Math.acos(X / Math.hypot(X, Y));
+        r = backend.hypot(X, Y);
+        L = backend.acos(X / r);
         if (Y < 0) { //由于计算结果恒小于等于180度，故如果Y小于0，则需要取反
-            L -= L;
+            L = -L;
         }
 
-        //B迭代推算
-        ArrayList<Double> Bi = calculateGeodeticLatitudeFromSpatialSystem(X, Y, Z, precision);
-        B = Bi.get(Bi.size() - 1);
+        //B迭代推算，B与迭代次数暂存于output前两位
+        iterateGeodeticLatitudeFromSpatialSystem(r, Z, precision, backend, output, trace);
+        B = output[0];
+        output[3] = output[1];
 
         //H = Z / sinB - N * (1 -e^2)
-        N = semimajorAxis / (Math.sqrt(1 - firstEccentricity * Math.pow(Math.sin(B), 2)));
-        H = Z / Math.sin(B) - N * (1 - firstEccentricity);
+        sinB = backend.sin(B);
+        N = semimajorAxis / Math.sqrt(1 - firstEccentricity * sinB * sinB);
+        H = Z / sinB - N * (1 - firstEccentricity);
+
+        output[0] = L;
+        output[1] = B;
+        output[2] = H;
+        Metrics.record(MetricOperation.TRANSFORM_TO_GEODETIC, name, start, output[3]);
+        return output;
+    }
 
-        list.add(L);
-        list.add(B);
-        list.add(H);
-        list.add((double) Bi.size() - 1); //Bi中的第一个值为初值，不算在迭代次数中
-        list.addAll(Bi);
-        return list;
+    /**
+     * 基于当前大地坐标系，批量将空间直角坐标系坐标转换为大地坐标系坐标
+     * <br>
+     * 输入及输出均以结构数组形式存放，第i个点的计算结果写入输出数组的第i位，计算过程不产生任何对象
+     * <br>
+     * 详细请参考《大地测量学基础》（第二版），武汉大学出版社。第105页
+     *
+     * @param X         空间直角坐标系X轴值数组，单位：米
+     * @param Y         空间直角坐标系Y轴值数组，单位：米
+     * @param Z         空间直角坐标系Z轴值数组，单位：米
+     * @param offset    起始下标
+     * @param length    计算点数
+     * @param precision 大地纬度B迭代精度，单位：弧度
+     * @param L         大地经度输出数组，单位：弧度
+     * @param B         大地纬度输出数组，单位：弧度
+     * @param H         大地高输出数组，单位：米
+     * @throws IndexOutOfBoundsException 当任一数组长度不足时抛出此异常
+     */
+    public void transformToGeodeticCoordinateSystem(double[] X, double[] Y, double[] Z, int offset, int length, double precision, double[] L, double[] B, double[] H) {
+        transformToGeodeticCoordinateSystem(X, Y, Z, offset, length, precision, SolutionMethod.ITERATION, L, B, H);
+    }
+
+    /**
+     * 基于当前大地坐标系，使用指定的解算方法批量将空间直角坐标系坐标转换为大地坐标系坐标
+     *
+     * @param X         空间直角坐标系X轴值数组，单位：米
+     * @param Y         空间直角坐标系Y轴值数组，单位：米
+     * @param Z         空间直角坐标系Z轴值数组，单位：米
+     * @param offset    起始下标
+     * @param length    计算点数
+     * @param precision 大地纬度B迭代精度，单位：弧度，使用闭合公式法时忽略
+     * @param method    大地纬度解算方法
+     * @param L         大地经度输出数组，单位：弧度
+     * @param B         大地纬度输出数组，单位：弧度
+     * @param H         大地高输出数组，单位：米
+     * @throws IllegalArgumentException  当解算方法为 {@link SolutionMethod#TABLE} 时抛出此异常
+     * @throws IndexOutOfBoundsException 当任一数组长度不足时抛出此异常
+     * @see GeodeticCoordinateSystem#transformToGeodeticCoordinateSystem(double[], double[], double[], int, int, double, double[], double[], double[])
+     */
+    public void transformToGeodeticCoordinateSystem(double[] X, double[] Y, double[] Z, int offset, int length, double precision, SolutionMethod method, double[] L, double[] B, double[] H) {
+        ParallelTools.checkBulkArrays(offset, length, X, Y, Z, L, B, H);
+        checkSpatialSolutionMethod(method);
+        transformToGeodeticCoordinateSystemRange(X, Y, Z, offset, offset + length, precision, method, L, B, H);
+    }
+
+    /**
+     * 基于当前大地坐标系，在ForkJoinPool中分段并行地批量将空间直角坐标系坐标转换为大地坐标系坐标
+     *
+     * @param X         空间直角坐标系X轴值数组，单位：米
+     * @param Y         空间直角坐标系Y轴值数组，单位：米
+     * @param Z         空间直角坐标系Z轴值数组，单位：米
+     * @param offset    起始下标
+     * @param length    计算点数
+     * @param precision 大地纬度B迭代精度，单位：弧度
+     * @param L         大地经度输出数组，单位：弧度
+     * @param B         大地纬度输出数组，单位：弧度
+     * @param H         大地高输出数组，单位：米
+     * @param pool      执行并行计算的ForkJoinPool
+     * @throws IndexOutOfBoundsException 当任一数组长度不足时抛出此异常
+     * @see GeodeticCoordinateSystem#transformToGeodeticCoordinateSystem(double[], double[], double[], int, int, double, double[], double[], double[])
+     */
+    public void transformToGeodeticCoordinateSystem(double[] X, double[] Y, double[] Z, int offset, int length, double precision, double[] L, double[] B, double[] H, ForkJoinPool pool) {
+        transformToGeodeticCoordinateSystem(X, Y, Z, offset, length, precision, SolutionMethod.ITERATION, L, B, H, pool);
+    }
+
+    /**
+     * 基于当前大地坐标系，使用指定的解算方法在ForkJoinPool中分段并行地批量将空间直角坐标系坐标转换为大地坐标系坐标
+     *
+     * @param X         空间直角坐标系X轴值数组，单位：米
+     * @param Y         空间直角坐标系Y轴值数组，单位：米
+     * @param Z         空间直角坐标系Z轴值数组，单位：米
+     * @param offset    起始下标
+     * @param length    计算点数
+     * @param precision 大地纬度B迭代精度，单位：弧度，使用闭合公式法时忽略
+     * @param method    大地纬度解算方法
+     * @param L         大地经度输出数组，单位：弧度
+     * @param B         大地纬度输出数组，单位：弧度
+     * @param H         大地高输出数组，单位：米
+     * @param pool      执行并行计算的ForkJoinPool
+     * @throws IllegalArgumentException  当解算方法为 {@link SolutionMethod#TABLE} 时抛出此异常
+     * @throws IndexOutOfBoundsException 当任一数组长度不足时抛出此异常
+     * @see GeodeticCoordinateSystem#transformToGeodeticCoordinateSystem(double[], double[], double[], int, int, double, double[], double[], double[])
+     */
+    public void transformToGeodeticCoordinateSystem(double[] X, double[] Y, double[] Z, int offset, int length, double precision, SolutionMethod method, double[] L, double[] B, double[] H, ForkJoinPool pool) {
+        ParallelTools.checkBulkArrays(offset, length, X, Y, Z, L, B, H);
+        checkSpatialSolutionMethod(method);
+        ParallelTools.forRange(pool, offset, length, (from, to) -> transformToGeodeticCoordinateSystemRange(X, Y, Z, from, to, precision, method, L, B, H));
+    }
+
+    /**
+     * 批量空间直角坐标系转换大地坐标系的区间计算实现，不记录迭代值及迭代次数
+     *
+     * @param X         空间直角坐标系X轴值数组，单位：米
+     * @param Y         空间直角坐标系Y轴值数组，单位：米
+     * @param Z         空间直角坐标系Z轴值数组，单位：米
+     * @param from      起始下标（包含）
+     * @param to        终止下标（不包含）
+     * @param precision 大地纬度B迭代精度，单位：弧度
+     * @param method    大地纬度解算方法
+     * @param L         大地经度输出数组，单位：弧度
+     * @param B         大地纬度输出数组，单位：弧度
+     * @param H         大地高输出数组，单位：米
+     */
+    private void transformToGeodeticCoordinateSystemRange(double[] X, double[] Y, double[] Z, int from, int to, double precision, SolutionMethod method, double[] L, double[] B, double[] H) {
+        double[] output = new double[4]; //每个区间复用同一个输出数组
+        if (method == SolutionMethod.CLOSED_FORM) {
+            for (int i = from; i < to; i++) {
+                transformToGeodeticCoordinateSystemByClosedForm(X[i], Y[i], Z[i], output);
+                L[i] = output[0];
+                B[i] = output[1];
+                H[i] = output[2];
+            }
+        } else {
+            for (int i = from; i < to; i++) {
+                transformToGeodeticCoordinateSystem(X[i], Y[i], Z[i], precision, output, null);
+                L[i] = output[0];
+                B[i] = output[1];
+                H[i] = output[2];
+            }
+        }
     }
 
     /**
@@ -195,46 +558,74 @@ public class GeodeticCoordinateSystem {
      * @param Z         空间直角坐标系Z轴值，单位：米
      * @param precision 大地纬度B迭代精度，单位：弧度
      * @return 包含每次迭代值的ArrayList，最后一个值即为最终计算值
-     * @see GeodeticCoordinateSystem#calculateGeodeticLatitudeFromSpatialSystemIteration(double, double, double, double, double, ArrayList)
+     * @see GeodeticCoordinateSystem#calculateGeodeticLatitudeFromSpatialSystem(double, double, double, double, double[], CalculationTrace)
      */
     public ArrayList<Double> calculateGeodeticLatitudeFromSpatialSystem(double X, double Y, double Z, double precision) {
-        double tanB1 = Z / Math.hypot(X, Y);
-        double t0 = Z / Math.hypot(X, Y);
-        double p = poleCurvatureRadius * firstEccentricity / Math.hypot(X, Y);
-        double k = 1 + secondEccentricity;
-        return this.calculateGeodeticLatitudeFromSpatialSystemIteration(precision, tanB1, t0, p, k, new ArrayList<>());
+        ArrayList<Double> list = new ArrayList<>();
+        calculateGeodeticLatitudeFromSpatialSystem(X, Y, Z, precision, new double[2], list::add);
+        return list;
     }
 
     /**
-     * 迭代法，从空间直角坐标系推算大地纬度B
+     * 迭代法，从空间直角坐标系推算大地纬度B，计算结果写入调用方提供的数组，每次迭代值交由trace记录
      * <br>
-     * 详细请参考《大地测量学基础》（第二版），武汉大学出版社。第105页
+     * 详细请参考《大地测量学基础》（第二版），武汉大学出版社。第106页
      *
+     * @param X         空间直角坐标系X轴值，单位：米
+     * @param Y         空间直角坐标系Y轴值，单位：米
+     * @param Z         空间直角坐标系Z轴值，单位：米
      * @param precision 大地纬度B迭代精度，单位：弧度
-     * @param tanB1     前一次迭代所得的tanB值
-     * @param t0        递归计算使用参数
-     * @param p         递归计算使用参数
-     * @param k         递归计算使用参数
-     * @param list      用于递归的ArrayList
-     * @return 包含每次迭代值的ArrayList，最后一个值即为最终计算值
+     * @param output    长度不小于2的输出数组
+     * @param trace     每次迭代值的记录，为null时不记录
+     * @return 以B(大地纬度)，count(迭代总次数)顺序写入的output数组
      */
-    private ArrayList<Double> calculateGeodeticLatitudeFromSpatialSystemIteration(double precision, double tanB1, double t0, double p, double k, ArrayList<Double> list) {
-        double tanB2, B1, B2;
-
-        B1 = Math.atan(tanB1);
-        list.add(B1);
-
-        tanB2 = t0 + p * tanB1 / Math.sqrt(k + Math.pow(tanB1, 2));
-        B2 = Math.atan(tanB2);
+    public double[] calculateGeodeticLatitudeFromSpatialSystem(double X, double Y, double Z, double precision, double[] output, CalculationTrace trace) {
+        return iterateGeodeticLatitudeFromSpatialSystem(mathBackend.hypot(X, Y), Z, precision, mathBackend, output, trace);
+    }
 
-        if (Math.abs(B1 - B2) <= precision) {
-            //检验精度要求，达到精度要求便中止迭代并返回大地纬度B
-            list.add(B2);
-            return list;
-        } else {
+    /**
+     * 迭代法，从空间直角坐标系推算大地纬度B的具体实现
+     * <br>
+     * 详细请参考《大地测量学基础》（第二版），武汉大学出版社。第105页
+     *
+     * @param r         sqrt(X^2 + Y^2)，单位：米
+     * @param Z         空间直角坐标系Z轴值，单位：米
+     * @param precision 大地纬度B迭代精度，单位：弧度
+     * @param backend   三角函数计算后端
+     * @param output    长度不小于2的输出数组
+     * @param trace     每次迭代值的记录，为null时不记录
+     * @return 以B(大地纬度)，count(迭代总次数)顺序写入的output数组
+     */
+    private double[] iterateGeodeticLatitudeFromSpatialSystem(double r, double Z, double precision, MathBackend backend, double[] output, CalculationTrace trace) {
+        double tanB1, tanB2, B1, B2, t0, p, k;
+        int count = 0;
+
+        t0 = Z / r;
+        p = poleCurvatureRadius * firstEccentricity / r;
+        k = 1 + secondEccentricity;
+        tanB1 = t0;
+        while (true) {
+            B1 = backend.atan(tanB1);
+            if (trace != null) {
+                trace.record(B1);
+            }
+            tanB2 = t0 + p * tanB1 / Math.sqrt(k + tanB1 * tanB1);
+            B2 = backend.atan(tanB2);
+            count++;
+            if (Math.abs(B1 - B2) <= precision) {
+                //检验精度要求，达到精度要求便中止迭代并返回大地纬度B
+                break;
+            }
             //否则继续进行迭代
-            return this.calculateGeodeticLatitudeFromSpatialSystemIteration(precision, tanB2, t0, p, k, list);
+            tanB1 = tanB2;
+        }
+        if (trace != null) {
+            trace.record(B2);
         }
+
+        output[0] = B2;
+        output[1] = count;
+        return output;
     }
 
     /**
@@ -246,26 +637,135 @@ public class GeodeticCoordinateSystem {
      * @param B 大地纬度，单位：弧度
      * @param H 大地高，单位：米
      * @return 以X(X轴坐标值), Y(Y轴坐标值), Z(Z轴坐标值)顺序排列的ArrayList
+     * @see GeodeticCoordinateSystem#transformToSpatialCoordinateSystem(double, double, double, double[])
      */
     public ArrayList<Double> transformToSpatialCoordinateSystem(double L, double B, double H) {
         ArrayList<Double> list = new ArrayList<>();
+        double[] XYZ = transformToSpatialCoordinateSystem(L, B, H, new double[3]);
+
+        list.add(XYZ[0]);
+        list.add(XYZ[1]);
+        list.add(XYZ[2]);
+        return list;
+    }
 
-        double N, X, Y, Z;
+    /**
+     * 基于当前大地坐标系，将大地坐标系坐标转换为空间直角坐标系坐标，计算结果写入调用方提供的数组，计算过程不产生任何对象
+     * <br>
+     * 详细请参考《大地测量学基础》（第二版），武汉大学出版社。第105页
+     *
+     * @param L      大地经度，单位：弧度
+     * @param B      大地纬度，单位：弧度
+     * @param H      大地高，单位：米
+     * @param output 长度不小于3的输出数组
+     * @return 以X(X轴坐标值), Y(Y轴坐标值), Z(Z轴坐标值)顺序写入的output数组
+     */
+    public double[] transformToSpatialCoordinateSystem(double L, double B, double H, double[] output) {
+        return transformToSpatialCoordinateSystem(L, B, H, mathBackend, output);
+    }
+
+    /**
+     * 基于当前大地坐标系，将大地坐标系坐标转换为空间直角坐标系坐标，三角函数由指定的计算后端求得，计算结果写入调用方提供的数组，计算过程不产生任何对象
+     *
+     * @param L       大地经度，单位：弧度
+     * @param B       大地纬度，单位：弧度
+     * @param H       大地高，单位：米
+     * @param backend 三角函数计算后端
+     * @param output  长度不小于3的输出数组
+     * @return 以X(X轴坐标值), Y(Y轴坐标值), Z(Z轴坐标值)顺序写入的output数组
+     * @see GeodeticCoordinateSystem#transformToSpatialCoordinateSystem(double, double, double, double[])
+     */
+    public double[] transformToSpatialCoordinateSystem(double L, double B, double H, MathBackend backend, double[] output) {
+        long start = Metrics.start();
+        double N, X, Y, Z, sinB, cosB;
+        backend.sincos(B, output); //sin(B)，cos(B)暂存于output前两位
+        sinB = output[0];
+        cosB = output[1];
+        backend.sincos(L, output); //sin(L)，cos(L)暂存于output前两位
 
         //X = (N + H) * cosB * cosL
-        N = semimajorAxis / (Math.sqrt(1 - firstEccentricity * Math.pow(Math.sin(B), 2)));
-        X = (N + H) * Math.cos(B) * Math.cos(L);
+        N = semimajorAxis / Math.sqrt(1 - firstEccentricity * sinB * sinB);
+        X = (N + H) * cosB * output[1];
 
         //Y = (N + H) * cosB * sinL
-        Y = (N + H) * Math.cos(B) * Math.sin(L);
+        Y = (N + H) * cosB * output[0];
 
         //Z = (H * (1 - e^2) + H) * sinB
-        Z = (N * (1 - firstEccentricity) + H) * Math.sin(B);
+        Z = (N * (1 - firstEccentricity) + H) * sinB;
 
-        list.add(X);
-        list.add(Y);
-        list.add(Z);
-        return list;
+        output[0] = X;
+        output[1] = Y;
+        output[2] = Z;
+        Metrics.record(MetricOperation.TRANSFORM_TO_SPATIAL, name, start, 0);
+        return output;
+    }
+
+    /**
+     * 基于当前大地坐标系，批量将大地坐标系坐标转换为空间直角坐标系坐标
+     * <br>
+     * 输入及输出均以结构数组形式存放，第i个点的计算结果写入输出数组的第i位，计算过程不产生任何对象
+     * <br>
+     * 详细请参考《大地测量学基础》（第二版），武汉大学出版社。第105页
+     *
+     * @param L      大地经度数组，单位：弧度
+     * @param B      大地纬度数组，单位：弧度
+     * @param H      大地高数组，单位：米
+     * @param offset 起始下标
+     * @param length 计算点数
+     * @param X      空间直角坐标系X轴值输出数组，单位：米
+     * @param Y      空间直角坐标系Y轴值输出数组，单位：米
+     * @param Z      空间直角坐标系Z轴值输出数组，单位：米
+     * @throws IndexOutOfBoundsException 当任一数组长度不足时抛出此异常
+     */
+    public void transformToSpatialCoordinateSystem(double[] L, double[] B, double[] H, int offset, int length, double[] X, double[] Y, double[] Z) {
+        ParallelTools.checkBulkArrays(offset, length, L, B, H, X, Y, Z);
+        transformToSpatialCoordinateSystemRange(L, B, H, offset, offset + length, X, Y, Z);
+    }
+
+    /**
+     * 基于当前大地坐标系，在ForkJoinPool中分段并行地批量将大地坐标系坐标转换为空间直角坐标系坐标
+     *
+     * @param L      大地经度数组，单位：弧度
+     * @param B      大地纬度数组，单位：弧度
+     * @param H      大地高数组，单位：米
+     * @param offset 起始下标
+     * @param length 计算点数
+     * @param X      空间直角坐标系X轴值输出数组，单位：米
+     * @param Y      空间直角坐标系Y轴值输出数组，单位：米
+     * @param Z      空间直角坐标系Z轴值输出数组，单位：米
+     * @param pool   执行并行计算的ForkJoinPool
+     * @throws IndexOutOfBoundsException 当任一数组长度不足时抛出此异常
+     * @see GeodeticCoordinateSystem#transformToSpatialCoordinateSystem(double[], double[], double[], int, int, double[], double[], double[])
+     */
+    public void transformToSpatialCoordinateSystem(double[] L, double[] B, double[] H, int offset, int length, double[] X, double[] Y, double[] Z, ForkJoinPool pool) {
+        ParallelTools.checkBulkArrays(offset, length, L, B, H, X, Y, Z);
+        ParallelTools.forRange(pool, offset, length, (from, to) -> transformToSpatialCoordinateSystemRange(L, B, H, from, to, X, Y, Z));
+    }
+
+    /**
+     * 批量大地坐标系转换空间直角坐标系的区间计算实现
+     *
+     * @param L    大地经度数组，单位：弧度
+     * @param B    大地纬度数组，单位：弧度
+     * @param H    大地高数组，单位：米
+     * @param from 起始下标（包含）
+     * @param to   终止下标（不包含）
+     * @param X    空间直角坐标系X轴值输出数组，单位：米
+     * @param Y    空间直角坐标系Y轴值输出数组，单位：米
+     * @param Z    空间直角坐标系Z轴值输出数组，单位：米
+     */
+    private void transformToSpatialCoordinateSystemRange(double[] L, double[] B, double[] H, int from, int to, double[] X, double[] Y, double[] Z) {
+        double N, h, sinB, cosB, l;
+        for (int i = from; i < to; i++) {
+            sinB = mathBackend.sin(B[i]);
+            cosB = mathBackend.cos(B[i]);
+            l = L[i];
+            h = H[i];
+            N = semimajorAxis / Math.sqrt(1 - firstEccentricity * sinB * sinB);
+            X[i] = (N + h) * cosB * mathBackend.cos(l);
+            Y[i] = (N + h) * cosB * mathBackend.sin(l);
+            Z[i] = (N * (1 - firstEccentricity) + h) * sinB;
+        }
     }
 
     /**
@@ -278,74 +778,207 @@ public class GeodeticCoordinateSystem {
      * @param A1 大地线起点的大地方位角A1，单位：弧度
      * @param S  大地线长度S，单位：米
      * @return 以L2(大地线终点的经度L2)，B2(大地线终点的纬度B2)，A2(大地线终点的大地方位角A2)顺序排序的ArrayList
+     * @see GeodeticCoordinateSystem#directSolutionOfGeodeticProblem(double, double, double, double, double[])
      */
     public ArrayList<Double> directSolutionOfGeodeticProblem(double L1, double B1, double A1, double S) {
         ArrayList<Double> list = new ArrayList<>();
-        double W1, sinu1, cosu1, sinA0, cosA0, cotO1, sin2O1, cos2O1, sin2O0, cos2O0, sigma0, sigma, k2, A, B, C, alpha, beta, delta, sinu2, B2, lambda, sinA1, tanlambda, L2, A2, tanA2;
+        double[] LBA = directSolutionOfGeodeticProblem(L1, B1, A1, S, new double[3]);
+
+        list.add(LBA[0]);
+        list.add(LBA[1]);
+        list.add(LBA[2]);
+        return list;
+    }
+
+    /**
+     * 根据大地线起点的纬度B1，经度L1，大地方位角A1以及大地线长度S计算大地线终点的纬度B2，经度L2，大地方位角A2，计算结果写入调用方提供的数组，计算过程不产生任何对象
+     * <br>
+     * 详细请参考《大地测量学基础》（第二版），武汉大学出版社。第148页
+     *
+     * @param L1     大地线起点的经度L1，单位：弧度
+     * @param B1     大地线起点的纬度B1，单位：弧度
+     * @param A1     大地线起点的大地方位角A1，单位：弧度
+     * @param S      大地线长度S，单位：米
+     * @param output 长度不小于3的输出数组
+     * @return 以L2(大地线终点的经度L2)，B2(大地线终点的纬度B2)，A2(大地线终点的大地方位角A2)顺序写入的output数组
+     */
+    public double[] directSolutionOfGeodeticProblem(double L1, double B1, double A1, double S, double[] output) {
+        return directSolutionOfGeodeticProblem(L1, B1, A1, S, mathBackend, output);
+    }
+
+    /**
+     * 根据大地线起点的纬度B1，经度L1，大地方位角A1以及大地线长度S计算大地线终点的纬度B2，经度L2，大地方位角A2，三角函数由指定的计算后端求得，计算结果写入调用方提供的数组，计算过程不产生任何对象
+     *
+     * @param L1      大地线起点的经度L1，单位：弧度
+     * @param B1      大地线起点的纬度B1，单位：弧度
+     * @param A1      大地线起点的大地方位角A1，单位：弧度
+     * @param S       大地线长度S，单位：米
+     * @param backend 三角函数计算后端
+     * @param output  长度不小于3的输出数组
+     * @return 以L2(大地线终点的经度L2)，B2(大地线终点的纬度B2)，A2(大地线终点的大地方位角A2)顺序写入的output数组
+     * @see GeodeticCoordinateSystem#directSolutionOfGeodeticProblem(double, double, double, double, double[])
+     */
+    public double[] directSolutionOfGeodeticProblem(double L1, double B1, double A1, double S, MathBackend backend, double[] output) {
+        long start = Metrics.start();
+        double W1, sinB1, sinu1, cosu1, sinA0, cosA0_2, cotO1, cotO1_2, sin2O1, cos2O1, sin2O0, cos2O0, sigma0, sigma, sinO, cosO, A, B, C, alpha, beta, delta, sinu2, B2, lambda, sinA1, cosA1, tanlambda, L2, A2, tanA2;
         //计算起点的归化纬度归化纬度
-        W1 = Math.sqrt(1 - firstEccentricity * Math.pow(Math.sin(B1), 2));
+        sinB1 = backend.sin(B1);
+        W1 = Math.sqrt(1 - firstEccentricity * sinB1 * sinB1);
 
-        sinu1 = Math.sin(B1) * Math.sqrt(1 - firstEccentricity) / W1;
-        cosu1 = Math.cos(B1) / W1;
+        sinu1 = sinB1 * geodesicCoefficients.sqrtOneMinusE2 / W1;
+        cosu1 = backend.cos(B1) / W1;
 
         //计算辅助函数值
-        sinA1 = Math.sin(A1);
+        sinA1 = backend.sin(A1);
+        cosA1 = backend.cos(A1);
         sinA0 = cosu1 * sinA1;
-        cosA0 = Math.sqrt(1 - Math.pow(sinA0, 2));
-        cotO1 = cosu1 * Math.cos(A1) / sinu1;
-        sin2O1 = 2 * cotO1 / (Math.pow(cotO1, 2) + 1);
-        cos2O1 = (Math.pow(cotO1, 2) - 1) / (Math.pow(cotO1, 2) + 1);
+        cosA0_2 = 1 - sinA0 * sinA0;
+        cotO1 = cosu1 * cosA1 / sinu1;
+        cotO1_2 = cotO1 * cotO1;
+        sin2O1 = 2 * cotO1 / (cotO1_2 + 1);
+        cos2O1 = (cotO1_2 - 1) / (cotO1_2 + 1);
 
-        //计算球面长度
-        k2 = secondEccentricity * Math.pow(cosA0, 2);
-        A = semiminorAxis * (1 + k2 / 4 - 3 * Math.pow(k2, 2) / 64 + 5 * Math.pow(k2, 3) / 256);
-        B = semiminorAxis * (k2 / 8 - Math.pow(k2, 2) / 32 + 15 * Math.pow(k2, 3) / 1024);
-        C = semiminorAxis * (Math.pow(k2, 2) / 128 - 3 * Math.pow(k2, 3) / 512);
+        //计算球面长度，系数A，B，C均为cos(A0)^2的多项式
+        A = geodesicCoefficients.A(cosA0_2);
+        B = geodesicCoefficients.BOverCosA02(cosA0_2) * cosA0_2;
+        C = geodesicCoefficients.COverCosA04(cosA0_2) * cosA0_2 * cosA0_2;
 
         sigma0 = (S - (B + C * cos2O1) * sin2O1) / A;
-        cos2O0 = Math.cos(2 * sigma0);
-        sin2O0 = Math.sin(2 * sigma0);
+        cos2O0 = backend.cos(2 * sigma0);
+        sin2O0 = backend.sin(2 * sigma0);
         sigma = sigma0 + (B + 5 * C * (cos2O1 * cos2O0 - sin2O1 * sin2O0)) * (sin2O1 * cos2O0 + cos2O1 * sin2O0) / A;
 
         //计算经度改正数
-        alpha = (firstEccentricity / 2 + Math.pow(firstEccentricity, 2) / 8 + Math.pow(firstEccentricity, 3) / 16) - (Math.pow(firstEccentricity, 2) / 16 + Math.pow(firstEccentricity, 3) / 16) * Math.pow(cosA0, 2) + (3 * Math.pow(firstEccentricity, 3) / 128) * Math.pow(cosA0, 4);
-        beta = (Math.pow(firstEccentricity, 2) / 32 + Math.pow(firstEccentricity, 3) / 32) * Math.pow(cosA0, 2) - (Math.pow(firstEccentricity, 3) / 64) * Math.pow(cosA0, 4);
+        alpha = geodesicCoefficients.alpha(cosA0_2);
+        beta = geodesicCoefficients.beta(cosA0_2) * cosA0_2;
         delta = (alpha * sigma + beta * ((sin2O1 * cos2O0 + cos2O1 * sin2O0) - sin2O1)) * sinA0;
 
         //计算重点大地坐标及大地方位角
-        sinu2 = sinu1 * Math.cos(sigma) + cosu1 * Math.cos(A1) * Math.sin(sigma);
-        B2 = Math.atan(sinu2 / (Math.sqrt(1 - firstEccentricity) * Math.sqrt(1 - Math.pow(sinu2, 2))));
-        lambda = Math.atan(sinA1 * Math.sin(sigma) / (cosu1 * Math.cos(sigma) - sinu1 * Math.sin(sigma) * Math.cos(A1)));
+        sinO = backend.sin(sigma);
+        cosO = backend.cos(sigma);
+        sinu2 = sinu1 * cosO + cosu1 * cosA1 * sinO;
+        B2 = backend.atan(sinu2 / (geodesicCoefficients.sqrtOneMinusE2 * Math.sqrt(1 - sinu2 * sinu2)));
+        lambda = backend.atan(sinA1 * sinO / (cosu1 * cosO - sinu1 * sinO * cosA1));
 
         //判断λ取值
-        tanlambda = Math.tan(lambda);
+        tanlambda = backend.tan(lambda);
         lambda = Math.abs(lambda);
         if (sinA1 > 0 && tanlambda < 0) {
-            lambda = CalculationTools.degrees2Radians(180) - lambda;
+            lambda = Math.PI - lambda;
         } else if (sinA1 < 0 && tanlambda < 0) {
             lambda = -lambda;
         } else if (sinA1 < 0 && tanlambda > 0) {
-            lambda = lambda - CalculationTools.degrees2Radians(180);
+            lambda = lambda - Math.PI;
         }
 
         L2 = L1 + lambda - delta;
-        A2 = Math.atan(cosu1 * sinA1 / (cosu1 * Math.cos(sigma) * Math.cos(A1) - sinu1 * Math.sin(sigma)));
-        tanA2 = Math.tan(A2);
+        A2 = backend.atan(cosu1 * sinA1 / (cosu1 * cosO * cosA1 - sinu1 * sinO));
+        tanA2 = backend.tan(A2);
 
         //判断A2取值
         A2 = Math.abs(A2);
         if (sinA1 < 0 && tanA2 < 0) {
-            A2 = CalculationTools.degrees2Radians(180) - A2;
+            A2 = Math.PI - A2;
         } else if (sinA1 > 0 && tanA2 > 0) {
-            A2 = CalculationTools.degrees2Radians(180) + A2;
+            A2 = Math.PI + A2;
         } else if (sinA1 > 0 && tanA2 < 0) {
-            A2 = CalculationTools.degrees2Radians(360) - A2;
+            A2 = 2 * Math.PI - A2;
         }
 
-        list.add(L2);
-        list.add(B2);
-        list.add(A2);
-        return list;
+        output[0] = L2;
+        output[1] = B2;
+        output[2] = A2;
+        Metrics.record(MetricOperation.DIRECT_SOLUTION, name, start, 0);
+        return output;
+    }
+
+    /**
+     * 批量大地主题正算，根据大地线起点的经度L1，纬度B1，大地方位角A1以及大地线长度S计算大地线终点的经度L2，纬度B2，大地方位角A2
+     * <br>
+     * 输入及输出均以结构数组形式存放，第i条大地线的计算结果写入输出数组的第i位，计算过程不产生任何对象
+     * <br>
+     * 详细请参考《大地测量学基础》（第二版），武汉大学出版社。第148页
+     *
+     * @param L1     大地线起点的经度数组，单位：弧度
+     * @param B1     大地线起点的纬度数组，单位：弧度
+     * @param A1     大地线起点的大地方位角数组，单位：弧度
+     * @param S      大地线长度数组，单位：米
+     * @param offset 起始下标
+     * @param length 计算大地线条数
+     * @param L2     大地线终点的经度输出数组，单位：弧度
+     * @param B2     大地线终点的纬度输出数组，单位：弧度
+     * @param A2     大地线终点的大地方位角输出数组，单位：弧度
+     * @throws IndexOutOfBoundsException 当任一数组长度不足时抛出此异常
+     * @see GeodeticCoordinateSystem#directSolutionOfGeodeticProblem(double, double, double, double, double[])
+     */
+    public void directSolutionOfGeodeticProblem(double[] L1, double[] B1, double[] A1, double[] S, int offset, int length, double[] L2, double[] B2, double[] A2) {
+        ParallelTools.checkBulkArrays(offset, length, L1, B1, A1, S, L2, B2, A2);
+        directSolutionOfGeodeticProblemRange(L1, B1, A1, S, offset, offset + length, L2, B2, A2);
+    }
+
+    /**
+     * 在ForkJoinPool中分段并行地批量进行大地主题正算
+     *
+     * @param L1     大地线起点的经度数组，单位：弧度
+     * @param B1     大地线起点的纬度数组，单位：弧度
+     * @param A1     大地线起点的大地方位角数组，单位：弧度
+     * @param S      大地线长度数组，单位：米
+     * @param offset 起始下标
+     * @param length 计算大地线条数
+     * @param L2     大地线终点的经度输出数组，单位：弧度
+     * @param B2     大地线终点的纬度输出数组，单位：弧度
+     * @param A2     大地线终点的大地方位角输出数组，单位：弧度
+     * @param pool   执行并行计算的ForkJoinPool
+     * @throws IndexOutOfBoundsException 当任一数组长度不足时抛出此异常
+     * @see GeodeticCoordinateSystem#directSolutionOfGeodeticProblem(double[], double[], double[], double[], int, int, double[], double[], double[])
+     */
+    public void directSolutionOfGeodeticProblem(double[] L1, double[] B1, double[] A1, double[] S, int offset, int length, double[] L2, double[] B2, double[] A2, ForkJoinPool pool) {
+        directSolutionOfGeodeticProblem(L1, B1, A1, S, offset, length, L2, B2, A2, pool, ParallelTools.DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * 在ForkJoinPool中分段并行地批量进行大地主题正算，并指定每段的最大长度
+     *
+     * @param L1        大地线起点的经度数组，单位：弧度
+     * @param B1        大地线起点的纬度数组，单位：弧度
+     * @param A1        大地线起点的大地方位角数组，单位：弧度
+     * @param S         大地线长度数组，单位：米
+     * @param offset    起始下标
+     * @param length    计算大地线条数
+     * @param L2        大地线终点的经度输出数组，单位：弧度
+     * @param B2        大地线终点的纬度输出数组，单位：弧度
+     * @param A2        大地线终点的大地方位角输出数组，单位：弧度
+     * @param pool      执行并行计算的ForkJoinPool
+     * @param threshold 每段的最大长度
+     * @throws IndexOutOfBoundsException 当任一数组长度不足时抛出此异常
+     * @see GeodeticCoordinateSystem#directSolutionOfGeodeticProblem(double[], double[], double[], double[], int, int, double[], double[], double[])
+     */
+    public void directSolutionOfGeodeticProblem(double[] L1, double[] B1, double[] A1, double[] S, int offset, int length, double[] L2, double[] B2, double[] A2, ForkJoinPool pool, int threshold) {
+        ParallelTools.checkBulkArrays(offset, length, L1, B1, A1, S, L2, B2, A2);
+        ParallelTools.forRange(pool, offset, length, threshold, (from, to) -> directSolutionOfGeodeticProblemRange(L1, B1, A1, S, from, to, L2, B2, A2));
+    }
+
+    /**
+     * 批量大地主题正算的区间计算实现
+     *
+     * @param L1   大地线起点的经度数组，单位：弧度
+     * @param B1   大地线起点的纬度数组，单位：弧度
+     * @param A1   大地线起点的大地方位角数组，单位：弧度
+     * @param S    大地线长度数组，单位：米
+     * @param from 起始下标（包含）
+     * @param to   终止下标（不包含）
+     * @param L2   大地线终点的经度输出数组，单位：弧度
+     * @param B2   大地线终点的纬度输出数组，单位：弧度
+     * @param A2   大地线终点的大地方位角输出数组，单位：弧度
+     */
+    private void directSolutionOfGeodeticProblemRange(double[] L1, double[] B1, double[] A1, double[] S, int from, int to, double[] L2, double[] B2, double[] A2) {
+        double[] output = new double[3]; //每个区间复用同一个输出数组
+        for (int i = from; i < to; i++) {
+            directSolutionOfGeodeticProblem(L1[i], B1[i], A1[i], S[i], output);
+            L2[i] = output[0];
+            B2[i] = output[1];
+            A2[i] = output[2];
+        }
     }
 
     /**
@@ -359,87 +992,202 @@ public class GeodeticCoordinateSystem {
      * @param B2        终点大地坐标的大地纬度B1，单位：弧度
      * @param precision 迭代推算经度
      * @return 以A1(起点大地方位角)，A2(终点大地方位角)，S(大地线)，count(趋近次数)，...(每次趋近σ值)顺序排序的ArrayList
+     * @see GeodeticCoordinateSystem#inverseSolutionOfGeodeticProblem(double, double, double, double, double, double[])
      */
     public ArrayList<Double> inverseSolutionOfGeodeticProblem(double L1, double B1, double L2, double B2, double precision) {
         ArrayList<Double> list = new ArrayList<>();
-        double S, A1, A2, W1, W2, sinu1, sinu2, cosu1, cosu2, L, a1, a2, b1, b2, p, q, sinO, cosO, sigma, lambda, sinA0, cosA0_2, x, alpha, beta, delta1, delta2, y, k2, A, B, C, dB, dC;
+        ArrayList<Double> list1 = new ArrayList<>();
+        double[] AASC = inverseSolutionOfGeodeticProblem(L1, B1, L2, B2, precision, new double[4], list1::add);
+
+        list.add(AASC[0]);
+        list.add(AASC[1]);
+        list.add(AASC[2]);
+        list.add(AASC[3]);
+        list.addAll(list1);
+        return list;
+    }
+
+    /**
+     * 根据两个大地坐标点L1，B1，L2，B2计算大地线S及其大地方位角A1，A2，计算结果写入调用方提供的数组，计算过程不产生任何对象
+     * <br>
+     * 详细请参考《大地测量学基础》（第二版），武汉大学出版社。第149页
+     *
+     * @param L1        起点大地坐标的大地经度L1，单位：弧度
+     * @param B1        起点大地坐标的大地纬度B1，单位：弧度
+     * @param L2        终点大地坐标的大地经度L1，单位：弧度
+     * @param B2        终点大地坐标的大地纬度B1，单位：弧度
+     * @param precision 迭代推算经度
+     * @param output    长度不小于4的输出数组
+     * @return 以A1(起点大地方位角)，A2(终点大地方位角)，S(大地线)，count(趋近次数)顺序写入的output数组
+     */
+    public double[] inverseSolutionOfGeodeticProblem(double L1, double B1, double L2, double B2, double precision, double[] output) {
+        return inverseSolutionOfGeodeticProblem(L1, B1, L2, B2, precision, output, null);
+    }
+
+    /**
+     * 根据两个大地坐标点L1，B1，L2，B2计算大地线S及其大地方位角A1，A2，计算结果写入调用方提供的数组，每次趋近σ值交由trace记录
+     * <br>
+     * 详细请参考《大地测量学基础》（第二版），武汉大学出版社。第149页
+     *
+     * @param L1         起点大地坐标的大地经度L1，单位：弧度
+     * @param B1         起点大地坐标的大地纬度B1，单位：弧度
+     * @param L2         终点大地坐标的大地经度L1，单位：弧度
+     * @param B2         终点大地坐标的大地纬度B1，单位：弧度
+     * @param precision  迭代推算经度
+     * @param output     长度不小于4的输出数组
+     * @param trace      每次趋近σ值的记录，为null时不记录
+     * @return 以A1(起点大地方位角)，A2(终点大地方位角)，S(大地线)，count(趋近次数)顺序写入的output数组
+     */
+    public double[] inverseSolutionOfGeodeticProblem(double L1, double B1, double L2, double B2, double precision, double[] output, CalculationTrace trace) {
+        return inverseSolutionOfGeodeticProblem(L1, B1, L2, B2, precision, mathBackend, output, trace);
+    }
+
+    /**
+     * 根据两个大地坐标点L1，B1，L2，B2计算大地线S及其大地方位角A1，A2，三角函数由指定的计算后端求得，计算结果写入调用方提供的数组，计算过程不产生任何对象
+     *
+     * @param L1        起点大地坐标的大地经度L1，单位：弧度
+     * @param B1        起点大地坐标的大地纬度B1，单位：弧度
+     * @param L2        终点大地坐标的大地经度L1，单位：弧度
+     * @param B2        终点大地坐标的大地纬度B1，单位：弧度
+     * @param precision 迭代推算经度
+     * @param backend   三角函数计算后端
+     * @param output    长度不小于4的输出数组
+     * @return 以A1(起点大地方位角)，A2(终点大地方位角)，S(大地线)，count(趋近次数)顺序写入的output数组
+     * @see GeodeticCoordinateSystem#inverseSolutionOfGeodeticProblem(double, double, double, double, double, double[])
+     */
+    public double[] inverseSolutionOfGeodeticProblem(double L1, double B1, double L2, double B2, double precision, MathBackend backend, double[] output) {
+        return inverseSolutionOfGeodeticProblem(L1, B1, L2, B2, precision, backend, output, null);
+    }
+
+    /**
+     * 大地主题反算的具体实现，先计算两点的归化纬度
+     */
+    private double[] inverseSolutionOfGeodeticProblem(double L1, double B1, double L2, double B2, double precision, MathBackend backend, double[] output, CalculationTrace trace) {
+        double W1, W2, sinB1, sinB2;
         //计算两点的归化纬度
-        W1 = Math.sqrt(1 - firstEccentricity * Math.pow(Math.sin(B1), 2));
-        W2 = Math.sqrt(1 - firstEccentricity * Math.pow(Math.sin(B2), 2));
+        sinB1 = backend.sin(B1);
+        sinB2 = backend.sin(B2);
+        W1 = Math.sqrt(1 - firstEccentricity * sinB1 * sinB1);
+        W2 = Math.sqrt(1 - firstEccentricity * sinB2 * sinB2);
 
+        return inverseSolutionOfGeodeticProblem(sinB1 * geodesicCoefficients.sqrtOneMinusE2 / W1, backend.cos(B1) / W1, sinB2 * geodesicCoefficients.sqrtOneMinusE2 / W2, backend.cos(B2) / W2, L2 - L1, precision, Integer.MAX_VALUE, backend, output, trace);
+    }
+
+    /**
+     * 根据两点归化纬度的正余弦值及经差计算大地线S及其大地方位角A1，A2
+     * <br>
+     * 归化纬度只与大地纬度有关，批量计算时可对每个点预先计算一次并重复使用
+     * <br>
+     * 详细请参考《大地测量学基础》（第二版），武汉大学出版社。第149页
+     *
+     * @param sinu1         起点归化纬度正弦值
+     * @param cosu1         起点归化纬度余弦值
+     * @param sinu2         终点归化纬度正弦值
+     * @param cosu2         终点归化纬度余弦值
+     * @param L             经差 L2 - L1，单位：弧度
+     * @param precision     迭代推算经度
+     * @param maxIterations 最大趋近次数，近似对跖点上趋近可能不收敛
+     * @param backend       三角函数计算后端
+     * @param output        长度不小于4的输出数组
+     * @param trace         每次趋近σ值的记录，为null时不记录
+     * @return 以A1(起点大地方位角)，A2(终点大地方位角)，S(大地线)，count(趋近次数)顺序写入的output数组，达到最大趋近次数仍未收敛时返回null
+     */
+    double[] inverseSolutionOfGeodeticProblem(double sinu1, double cosu1, double sinu2, double cosu2, double L, double precision, int maxIterations, MathBackend backend, double[] output, CalculationTrace trace) {
+        long start = Metrics.start();
+        double S, A1, A2, a1, a2, b1, b2, p, q, sinO, cosO, sigma, lambda, sinLambda, cosLambda, sinA0, cosA0_2, x, alpha, beta, delta1, delta2, y, A, dB, dC;
         //辅助计算
-        sinu1 = Math.sin(B1) * Math.sqrt(1 - firstEccentricity) / W1;
-        sinu2 = Math.sin(B2) * Math.sqrt(1 - firstEccentricity) / W2;
-        cosu1 = Math.cos(B1) / W1;
-        cosu2 = Math.cos(B2) / W2;
-        L = L2 - L1;
         a1 = sinu1 * sinu2;
         a2 = cosu1 * cosu2;
         b1 = cosu1 * sinu2;
         b2 = sinu1 * cosu2;
 
         //逐次趋近法计算σ，实在不想用迭代了，就用for循环好了
-        ArrayList<Double> list1 = new ArrayList<>();
+        int count = 0;
         delta2 = 0;
         do {
             delta1 = delta2;
             lambda = L + delta1;
+            sinLambda = backend.sin(lambda);
+            cosLambda = backend.cos(lambda);
 
-            p = cosu2 * Math.sin(lambda);
-            q = b1 - b2 * Math.cos(lambda);
-            A1 = Math.atan(p / q);
+            p = cosu2 * sinLambda;
+            q = b1 - b2 * cosLambda;
+            A1 = backend.atan(p / q);
 
             A1 = Math.abs(A1);
             if (p > 0 && q < 0) {
-                A1 = CalculationTools.degrees2Radians(180) - A1;
+                A1 = Math.PI - A1;
             } else if (p < 0 && q < 0) {
-                A1 = CalculationTools.degrees2Radians(180) + A1;
+                A1 = Math.PI + A1;
             } else if (p < 0 && q > 0) {
-                A1 = CalculationTools.degrees2Radians(360) - A1;
+                A1 = 2 * Math.PI - A1;
             }
 
-            sinO = p * Math.sin(A1) + q * Math.cos(A1);
-            cosO = a1 + a2 * Math.cos(lambda);
-            sigma = Math.atan(sinO / cosO);
+            sinO = p * backend.sin(A1) + q * backend.cos(A1);
+            cosO = a1 + a2 * cosLambda;
+            sigma = backend.atan(sinO / cosO);
 
             sigma = Math.abs(sigma);
             if (cosO < 0) {
-                sigma = CalculationTools.degrees2Radians(180) - sigma;
+                sigma = Math.PI - sigma;
             }
 
-            sinA0 = cosu1 * Math.sin(A1);
-            cosA0_2 = 1 - Math.pow(sinA0, 2);
+            sinA0 = cosu1 * backend.sin(A1);
+            cosA0_2 = 1 - sinA0 * sinA0;
             x = 2 * a1 - cosA0_2 * cosO;
 
-            alpha = (firstEccentricity / 2 + Math.pow(firstEccentricity, 2) / 8 + Math.pow(firstEccentricity, 3) / 16) - (Math.pow(firstEccentricity, 2) / 16 + Math.pow(firstEccentricity, 3) / 16) * cosA0_2 + (3 * Math.pow(firstEccentricity, 3) / 128) * Math.pow(cosA0_2, 2);
-            beta = (Math.pow(firstEccentricity, 2) / 32 + Math.pow(firstEccentricity, 3) / 32) - (Math.pow(firstEccentricity, 3) / 64) * cosA0_2;
+            //α，β均为cos(A0)^2的多项式，系数已预先计算
+            alpha = geodesicCoefficients.alpha(cosA0_2);
+            beta = geodesicCoefficients.beta(cosA0_2);
             delta2 = (alpha * sigma - 2 * beta * x * sinO) * sinA0;
-            list1.add(sigma);
+            if (trace != null) {
+                trace.record(sigma);
+            }
+            count++;
+            if (count >= maxIterations && Math.abs(delta2 - delta1) > precision) {
+                return null;
+            }
         } while (Math.abs(delta2 - delta1) > precision);
 
-        //计算系数A，B"，C"和大地线S
-        k2 = secondEccentricity * cosA0_2;
-        A = semiminorAxis * (1 + k2 / 4 - 3 * Math.pow(k2, 2) / 64 + 5 * Math.pow(k2, 3) / 256);
-        B = semiminorAxis * (k2 / 8 - Math.pow(k2, 2) / 32 + 15 * Math.pow(k2, 3) / 1024);
-        C = semiminorAxis * (Math.pow(k2, 2) / 128 - 3 * Math.pow(k2, 3) / 512);
-        dB = 2 * B / cosA0_2;
-        dC = 2 * C / Math.pow(cosA0_2, 2);
+        //计算系数A，2B"/cos(A0)^2，2C"/cos(A0)^4和大地线S
+        A = geodesicCoefficients.A(cosA0_2);
+        dB = 2 * geodesicCoefficients.BOverCosA02(cosA0_2);
+        dC = 2 * geodesicCoefficients.COverCosA04(cosA0_2);
 
-        y = (Math.pow(cosA0_2, 2) - 2 * Math.pow(x, 2)) * Math.cos(sigma);
-        S = A * sigma + (dB * x + dC * y) * Math.sin(sigma);
+        y = (cosA0_2 * cosA0_2 - 2 * x * x) * backend.cos(sigma);
+        S = A * sigma + (dB * x + dC * y) * backend.sin(sigma);
 
         //计算反方位角
-        A2 = Math.atan(cosu1 * Math.sin(lambda) / (b1 * Math.cos(lambda) - b2));
-        if (A1 < CalculationTools.degrees2Radians(180)) {
-            A2 += CalculationTools.degrees2Radians(180);
+        A2 = backend.atan(cosu1 * sinLambda / (b1 * cosLambda - b2));
+        if (A1 < Math.PI) {
+            A2 += Math.PI;
         }
 
-        list.add(A1);
-        list.add(A2);
-        list.add(S);
-        list.add((double) list1.size());
-        list.addAll(list1);
-        return list;
+        output[0] = A1;
+        output[1] = A2;
+        output[2] = S;
+        output[3] = count;
+        Metrics.record(MetricOperation.INVERSE_SOLUTION, name, start, output[3]);
+        return output;
+    }
+
+    /**
+     * 计算归化纬度的正余弦值
+     * <br>
+     * sin(u) = sin(B) * sqrt(1 - e^2) / W，cos(u) = cos(B) / W
+     * <br>
+     * 详细请参考《大地测量学基础》（第二版），武汉大学出版社。第148页
+     *
+     * @param B      大地纬度，单位：弧度
+     * @param output 长度不小于2的输出数组
+     * @return 以sin(u)，cos(u)顺序写入的output数组
+     */
+    public double[] calculateReducedLatitude(double B, double[] output) {
+        double sinB = mathBackend.sin(B);
+        double W = Math.sqrt(1 - firstEccentricity * sinB * sinB);
+        output[0] = sinB * geodesicCoefficients.sqrtOneMinusE2 / W;
+        output[1] = mathBackend.cos(B) / W;
+        return output;
     }
 
     /**
@@ -447,13 +1195,16 @@ public class GeodeticCoordinateSystem {
      * <br>
      * M = c / sqrt(1 + η^2)^3 = c / (1 + η^2)^(1/2)
      * <br>
+     * 以 (1 + η^2) * sqrt(1 + η^2) 代替 Math.pow，sqrt结果正确舍入，各JVM上的结果逐位一致
+     * <br>
      * 详细请参考《大地测量学基础》（第二版），武汉大学出版社。第108页
      *
      * @param eit2 η^2 = e'^2 * sin(B)^2
      * @return 子午圈曲率半径，单位：米
      */
     public double calculateMeridianCurvatureRadius(double eit2) {
-        return poleCurvatureRadius / Math.pow(1 + eit2, 1.5);
+        double v2 = 1 + eit2;
+        return poleCurvatureRadius / (v2 * Math.sqrt(v2));
     }
 
     /**
@@ -494,7 +1245,31 @@ public class GeodeticCoordinateSystem {
      */
     public double calculateMeridianArc(double B) {
         double[] a = this.calculateMeridianArcParameters(); //获取计算参数
-        return a[0] * B - a[1] / 2 * Math.sin(2 * B) + a[2] / 4 * Math.sin(4 * B) - a[3] / 6 * Math.sin(6 * B) + a[4] / 8 * Math.sin(8 * B);
+        return a[0] * B - a[1] / 2 * mathBackend.sin(2 * B) + a[2] / 4 * mathBackend.sin(4 * B) - a[3] / 6 * mathBackend.sin(6 * B) + a[4] / 8 * mathBackend.sin(8 * B);
+    }
+
+    /**
+     * 根据大地纬度B及其正弦，余弦计算子午线弧长，单位：米
+     * <br>
+     * sin(2B)，sin(4B)，sin(6B)，sin(8B) 由倍角公式递推，不再调用三角函数，适用于调用方已求得 sin(B)，cos(B) 的场合
+     * <br>
+     * 详细请参考《大地测量学基础》（第二版），武汉大学出版社。第115页
+     *
+     * @param B    大地纬度B
+     * @param sinB sin(B)
+     * @param cosB cos(B)
+     * @return 子午线弧长，单位：米
+     * @see GeodeticCoordinateSystem#calculateMeridianArc(double)
+     */
+    public double calculateMeridianArc(double B, double sinB, double cosB) {
+        double[] a = this.calculateMeridianArcParameters(); //获取计算参数
+        double sin2B = 2 * sinB * cosB;
+        double cos2B = cosB * cosB - sinB * sinB;
+        double sin4B = 2 * sin2B * cos2B;
+        double cos4B = 2 * cos2B * cos2B - 1;
+        double sin6B = sin4B * cos2B + cos4B * sin2B;
+        double sin8B = 2 * sin4B * cos4B;
+        return a[0] * B - a[1] / 2 * sin2B + a[2] / 4 * sin4B - a[3] / 6 * sin6B + a[4] / 8 * sin8B;
     }
 
     /**
@@ -507,7 +1282,8 @@ public class GeodeticCoordinateSystem {
      * @return 平行圈弧长，单位：米
      */
     public double calculateParallelCircleArc(double l, double B) {
-        return calculatePrimeVerticalCurvatureRadius(secondEccentricity * Math.pow(Math.cos(B), 2)) * Math.cos(B) * l;
+        double cosB = mathBackend.cos(B);
+        return calculatePrimeVerticalCurvatureRadius(secondEccentricity * cosB * cosB) * cosB * l;
     }
 
     /**
@@ -520,36 +1296,156 @@ public class GeodeticCoordinateSystem {
      * @param X         X轴真坐标值，单位：米
      * @param precision 推算精度，单位：弧度
      * @return 包含每次迭代值的ArrayList，最后一个值即为最终计算值
-     * @see GeodeticCoordinateSystem#calculateGeodeticLatitudeFromMeridianArcIteration(double, double, double, double[], ArrayList)
+     * @see GeodeticCoordinateSystem#calculateGeodeticLatitudeFromMeridianArc(double, double, double[])
      */
     public ArrayList<Double> calculateGeodeticLatitudeFromMeridianArc(double X, double precision) {
-        double[] parameters = calculateMeridianArcParameters();
-        double start = X / parameters[0]; //迭代初始值 = X / parameters[0]
+        ArrayList<Double> list = new ArrayList<>();
+        calculateGeodeticLatitudeFromMeridianArc(X, precision, new double[2], list::add);
+        return list;
+    }
+
+    /**
+     * 迭代法，根据子午线弧长推算大地纬度B，计算结果写入调用方提供的数组，计算过程不产生任何对象
+     * <br>
+     * 此处X轴真坐标值 == 子午线弧长
+     * <br>
+     * 详细请参考《大地测量学基础》（第二版），武汉大学出版社。第118页
+     *
+     * @param X         X轴真坐标值，单位：米
+     * @param precision 推算精度，单位：弧度
+     * @param output    长度不小于2的输出数组
+     * @return 以B(大地纬度)，count(迭代总次数)顺序写入的output数组
+     */
+    public double[] calculateGeodeticLatitudeFromMeridianArc(double X, double precision, double[] output) {
+        return calculateGeodeticLatitudeFromMeridianArc(X, precision, output, null);
+    }
 
-        return calculateGeodeticLatitudeFromMeridianArcIteration(start, X, precision, parameters, new ArrayList<>());
+    /**
+     * 迭代法，根据子午线弧长推算大地纬度B，计算结果写入调用方提供的数组，每次迭代值交由trace记录
+     * <br>
+     * 此处X轴真坐标值 == 子午线弧长
+     * <br>
+     * 详细请参考《大地测量学基础》（第二版），武汉大学出版社。第118页
+     *
+     * @param X          X轴真坐标值，单位：米
+     * @param precision  推算精度，单位：弧度
+     * @param output     长度不小于2的输出数组
+     * @param trace      每次迭代值的记录，为null时不记录
+     * @return 以B(大地纬度)，count(迭代总次数)顺序写入的output数组
+     */
+    public double[] calculateGeodeticLatitudeFromMeridianArc(double X, double precision, double[] output, CalculationTrace trace) {
+        return calculateGeodeticLatitudeFromMeridianArc(X, precision, mathBackend, output, trace);
     }
 
     /**
-     * 迭代法，根据子午线弧长推算大地纬度B
+     * 迭代法，根据子午线弧长推算大地纬度B，三角函数由指定的计算后端求得
+     * <br>
+     * 此处X轴真坐标值 == 子午线弧长
      * <br>
      * 详细请参考《大地测量学基础》（第二版），武汉大学出版社。第118页
      *
-     * @param B1         前次迭代值
-     * @param X          X轴真坐标值
-     * @param precision  迭代精度
-     * @param parameters 子午线弧长计算参数
-     * @param list       用于递归的ArrayList
-     * @return 包含每次迭代值的ArrayList，最后一个值即为最终计算值
+     * @param X         X轴真坐标值，单位：米
+     * @param precision 推算精度，单位：弧度
+     * @param backend   三角函数计算后端
+     * @param output    长度不小于2的输出数组
+     * @param trace     每次迭代值的记录，为null时不记录
+     * @return 以B(大地纬度)，count(迭代总次数)顺序写入的output数组
      */
-    private ArrayList<Double> calculateGeodeticLatitudeFromMeridianArcIteration(double B1, double X, double precision, double[] parameters, ArrayList<Double> list) {
-        list.add(B1);
-        double B2 = (X - (-1 * parameters[1] / 2 * Math.sin(2 * B1) + parameters[2] / 4 * Math.sin(4 * B1) - parameters[3] / 6 * Math.sin(6 * B1) + parameters[4] / 8 * Math.sin(8 * B1))) / parameters[0];
-        if (Math.abs(B2 - B1) <= precision) {
-            list.add(B2);
-            return list;
-        } else {
-            return calculateGeodeticLatitudeFromMeridianArcIteration(B2, X, precision, parameters, list);
+    public double[] calculateGeodeticLatitudeFromMeridianArc(double X, double precision, MathBackend backend, double[] output, CalculationTrace trace) {
+        long start = Metrics.start();
+        double[] parameters = calculateMeridianArcParameters();
+        double B1 = X / parameters[0]; //迭代初始值 = X / parameters[0]
+        double B2;
+        int count = 0;
+
+        while (true) {
+            if (trace != null) {
+                trace.record(B1);
+            }
+            B2 = (X - (-1 * parameters[1] / 2 * backend.sin(2 * B1) + parameters[2] / 4 * backend.sin(4 * B1) - parameters[3] / 6 * backend.sin(6 * B1) + parameters[4] / 8 * backend.sin(8 * B1))) / parameters[0];
+            count++;
+            if (Math.abs(B2 - B1) <= precision) {
+                break;
+            }
+            B1 = B2;
+        }
+        if (trace != null) {
+            trace.record(B2);
+        }
+
+        output[0] = B2;
+        output[1] = count;
+        Metrics.record(MetricOperation.LATITUDE_FROM_MERIDIAN_ARC, name, start, count);
+        return output;
+    }
+
+    /**
+     * 闭合公式法，根据子午线弧长推算大地纬度B，计算结果写入调用方提供的数组，计算过程不产生任何对象
+     * <br>
+     * 先由子午线弧长求得纬度μ = X / a0，再以第三扁率n的反级数直接求得大地纬度：
+     * B = μ + d2 * sin(2μ) + d4 * sin(4μ) + d6 * sin(6μ) + d8 * sin(8μ) + d10 * sin(10μ)，
+     * 级数系数见 {@link #calculateFootpointLatitudeParameters()}，截断误差约为n^6（10^-15弧度量级），与迭代次数无关
+     * <br>
+     * 此处X轴真坐标值 == 子午线弧长
+     *
+     * @param X      X轴真坐标值，单位：米
+     * @param output 长度不小于2的输出数组
+     * @return 以B(大地纬度)，count(迭代总次数，恒为0)顺序写入的output数组
+     */
+    public double[] calculateGeodeticLatitudeFromMeridianArc(double X, double[] output) {
+        return calculateGeodeticLatitudeFromMeridianArc(X, mathBackend, output);
+    }
+
+    /**
+     * 闭合公式法，根据子午线弧长推算大地纬度B，三角函数由指定的计算后端求得，计算结果写入调用方提供的数组，计算过程不产生任何对象
+     * <br>
+     * 此处X轴真坐标值 == 子午线弧长
+     *
+     * @param X       X轴真坐标值，单位：米
+     * @param backend 三角函数计算后端
+     * @param output  长度不小于2的输出数组
+     * @return 以B(大地纬度)，count(迭代总次数，恒为0)顺序写入的output数组
+     * @see GeodeticCoordinateSystem#calculateGeodeticLatitudeFromMeridianArc(double, double[])
+     */
+    public double[] calculateGeodeticLatitudeFromMeridianArc(double X, MathBackend backend, double[] output) {
+        double[] d = footpointLatitudeParameters;
+        double mu = X / calculateMeridianArcParameters()[0];
+
+        //Clenshaw求和，只需计算一次sin(2μ)，cos(2μ)，暂存于output前两位
+        backend.sincos(2 * mu, output);
+        double sin2mu = output[0];
+        double ar = 2 * output[1];
+        double y0 = d[4], y1 = 0, y2;
+        for (int k = 3; k >= 0; k--) {
+            y2 = y1;
+            y1 = y0;
+            y0 = ar * y1 - y2 + d[k];
+        }
+
+        output[0] = mu + y0 * sin2mu;
+        output[1] = 0;
+        return output;
+    }
+
+    /**
+     * 根据子午线弧长推算大地纬度B，计算结果写入调用方提供的数组
+     *
+     * @param X         X轴真坐标值，单位：米
+     * @param precision 推算精度，单位：弧度，method为 {@link SolutionMethod#CLOSED_FORM} 或 {@link SolutionMethod#TABLE} 时忽略
+     * @param method    解算方法
+     * @param output    长度不小于2的输出数组
+     * @return 以B(大地纬度)，count(迭代总次数)顺序写入的output数组
+     */
+    public double[] calculateGeodeticLatitudeFromMeridianArc(double X, double precision, SolutionMethod method, double[] output) {
+        if (method == SolutionMethod.CLOSED_FORM) {
+            return calculateGeodeticLatitudeFromMeridianArc(X, output);
         }
+        if (method == SolutionMethod.TABLE) {
+            output[0] = getLatitudeTable().latitudeFromMeridianArc(X);
+            output[1] = 0;
+            return output;
+        }
+        return calculateGeodeticLatitudeFromMeridianArc(X, precision, output, null);
     }
 
     private double[] meridianArcParameters;
@@ -581,6 +1477,36 @@ public class GeodeticCoordinateSystem {
         return meridianArcParameters;
     }
 
+    private LatitudeTable latitudeTable;
+
+    /**
+     * 获取当前椭球的纬度查找表，首次调用时创建，此后复用
+     * <br>
+     * 创建约需数毫秒，多个线程同时首次调用时可能重复创建，结果相同，查找表的字段均为final，可安全发布
+     *
+     * @return 纬度查找表
+     */
+    public LatitudeTable getLatitudeTable() {
+        LatitudeTable table = latitudeTable;
+        if (table == null) {
+            table = new LatitudeTable(this);
+            latitudeTable = table;
+        }
+        return table;
+    }
+
+    /**
+     * 计算由子午线弧长推算大地纬度的反级数系数，系数只与椭球有关，在构造时求得
+     * <br>
+     * n = (a - b) / (a + b)，
+     * d2 = 3n/2 - 27n^3/32 + 269n^5/512，d4 = 21n^2/16 - 55n^4/32，d6 = 151n^3/96 - 417n^5/128，d8 = 1097n^4/512，d10 = 8011n^5/2560
+     *
+     * @return 以d2，d4，d6，d8，d10顺序排列的double类型数组，每次调用返回新的副本
+     */
+    public double[] calculateFootpointLatitudeParameters() {
+        return footpointLatitudeParameters.clone();
+    }
+
     /**
      * 获取椭圆长半轴a
      *
@@ -680,6 +1606,25 @@ public class GeodeticCoordinateSystem {
         return primeMeridian;
     }
 
+    /**
+     * 获取基于Karney算法的大地主题解算器，其反算迭代次数有上限，适用于全球范围包括近似对跖点的大地线
+     *
+     * @return 基于Karney算法的大地主题解算器
+     */
+    public KarneyGeodesicSolver getKarneyGeodesicSolver() {
+        return karneyGeodesicSolver;
+    }
+
+    /**
+     * 获取空间直角坐标转换及大地主题解算使用的三角函数计算后端
+     *
+     * @return 三角函数计算后端
+     * @see MathBackend
+     */
+    public MathBackend getMathBackend() {
+        return mathBackend;
+    }
+
     @Override
     public String toString() {
         return "GeodeticCoordinateSystem{" +
@@ -704,4 +1649,9 @@ public class GeodeticCoordinateSystem {
             return super.equals(obj);
         }
     }
+
+    @Override
+    public int hashCode() {
+        return 31 * Double.hashCode(semimajorAxis) + Double.hashCode(semiminorAxis);
+    }
 }
@@ -0,0 +1,303 @@
+package club.magiccrazyman.geodetic.core.coordinatesystem;
+
+import club.magiccrazyman.geodetic.core.metrics.RegistryLoadEvent;
+import club.magiccrazyman.geodetic.core.tools.ParallelTools;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 大地坐标系间的七参数（布尔莎-沃尔夫）转换
+ * <br>
+ * 源大地坐标 -> 源空间直角坐标 -> 七参数转换 -> 目标空间直角坐标 -> 目标大地坐标
+ * <br>
+ * 转换模型：
+ * <pre>
+ * | X2 |   | ΔX |           |  1   εz  -εy | | X1 |
+ * | Y2 | = | ΔY | + (1 + m) | -εz  1    εx | | Y1 |
+ * | Z2 |   | ΔZ |           |  εy  -εx  1  | | Z1 |
+ * </pre>
+ * 旋转参数采用坐标框架旋转（Coordinate Frame）约定，与国内常用的布尔莎模型一致；
+ * 若参数以位置矢量（Position Vector）约定给出，三个旋转参数取反即可
+ * <br>
+ * 旋转矩阵在构造时一次性计算，批量转换只进行矩阵乘法；反向转换由 {@link #inverse()} 以矩阵求逆得到，不引入小角度近似误差
+ * <br>
+ * 七参数与测区有关，本类不提供缺省参数，登记方法见 transformations.xml
+ *
+ * @author Magic Crazy Man
+ */
+public class HelmertTransformation {
+
+    /**
+     * 一角秒对应的弧度
+     */
+    private static final double ARC_SECOND = Math.PI / 180 / 3600;
+
+    private final GeodeticCoordinateSystem source;
+    private final GeodeticCoordinateSystem target;
+
+    /**
+     * 平移参数，单位：米
+     */
+    private final double tx, ty, tz;
+
+    /**
+     * 含尺度因子的旋转矩阵
+     */
+    private final double r11, r12, r13, r21, r22, r23, r31, r32, r33;
+
+    /**
+     * 七参数转换构造器
+     *
+     * @param source 源大地坐标系
+     * @param target 目标大地坐标系
+     * @param dx     X轴平移，单位：米
+     * @param dy     Y轴平移，单位：米
+     * @param dz     Z轴平移，单位：米
+     * @param rx     X轴旋转εx，单位：秒
+     * @param ry     Y轴旋转εy，单位：秒
+     * @param rz     Z轴旋转εz，单位：秒
+     * @param scale  尺度因子m，单位：ppm（10^-6）
+     */
+    public HelmertTransformation(GeodeticCoordinateSystem source, GeodeticCoordinateSystem target, double dx, double dy, double dz, double rx, double ry, double rz, double scale) {
+        double k = 1 + scale * 1e-6;
+        double ex = rx * ARC_SECOND, ey = ry * ARC_SECOND, ez = rz * ARC_SECOND;
+        this.source = source;
+        this.target = target;
+        this.tx = dx;
+        this.ty = dy;
+        this.tz = dz;
+        this.r11 = k;
+        this.r12 = k * ez;
+        this.r13 = -k * ey;
+        this.r21 = -k * ez;
+        this.r22 = k;
+        this.r23 = k * ex;
+        this.r31 = k * ey;
+        this.r32 = -k * ex;
+        this.r33 = k;
+    }
+
+    /**
+     * 以平移向量及旋转矩阵构造，用于求逆
+     */
+    private HelmertTransformation(GeodeticCoordinateSystem source, GeodeticCoordinateSystem target, double tx, double ty, double tz,
+                                  double r11, double r12, double r13, double r21, double r22, double r23, double r31, double r32, double r33) {
+        this.source = source;
+        this.target = target;
+        this.tx = tx;
+        this.ty = ty;
+        this.tz = tz;
+        this.r11 = r11;
+        this.r12 = r12;
+        this.r13 = r13;
+        this.r21 = r21;
+        this.r22 = r22;
+        this.r23 = r23;
+        this.r31 = r31;
+        this.r32 = r32;
+        this.r33 = r33;
+    }
+
+    /**
+     * 获取登记的七参数转换，登记了反方向参数时返回其逆转换
+     *
+     * @param source 源大地坐标系
+     * @param target 目标大地坐标系
+     * @return 七参数转换，未登记时返回null
+     */
+    public static HelmertTransformation getRecordedTransformation(GeodeticCoordinateSystem source, GeodeticCoordinateSystem target) {
+        for (HelmertTransformation transformation : Registry.TRANSFORMATIONS) {
+            if (transformation.source.equals(source) && transformation.target.equals(target)) {
+                return transformation;
+            }
+        }
+        for (HelmertTransformation transformation : Registry.TRANSFORMATIONS) {
+            if (transformation.source.equals(target) && transformation.target.equals(source)) {
+                return transformation.inverse();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 登记表由 transformations.xml 在构建时生成为 {@link RecordedHelmertTransformations}，首次访问时由类初始化完成创建
+     */
+    private static final class Registry {
+        private static final HelmertTransformation[] TRANSFORMATIONS;
+
+        static {
+            RegistryLoadEvent event = new RegistryLoadEvent("HelmertTransformation");
+            event.begin();
+            TRANSFORMATIONS = RecordedHelmertTransformations.createTransformations();
+            event.commit(TRANSFORMATIONS.length);
+        }
+    }
+
+    /**
+     * 计算反方向的七参数转换，X1 = R^-1 * (X2 - T)
+     *
+     * @return 由目标大地坐标系至源大地坐标系的七参数转换
+     */
+    public HelmertTransformation inverse() {
+        double c11 = r22 * r33 - r23 * r32, c12 = r13 * r32 - r12 * r33, c13 = r12 * r23 - r13 * r22;
+        double c21 = r23 * r31 - r21 * r33, c22 = r11 * r33 - r13 * r31, c23 = r13 * r21 - r11 * r23;
+        double c31 = r21 * r32 - r22 * r31, c32 = r12 * r31 - r11 * r32, c33 = r11 * r22 - r12 * r21;
+        double det = r11 * c11 + r12 * c21 + r13 * c31;
+        c11 /= det;
+        c12 /= det;
+        c13 /= det;
+        c21 /= det;
+        c22 /= det;
+        c23 /= det;
+        c31 /= det;
+        c32 /= det;
+        c33 /= det;
+        return new HelmertTransformation(target, source,
+                -(c11 * tx + c12 * ty + c13 * tz), -(c21 * tx + c22 * ty + c23 * tz), -(c31 * tx + c32 * ty + c33 * tz),
+                c11, c12, c13, c21, c22, c23, c31, c32, c33);
+    }
+
+    /**
+     * 空间直角坐标七参数转换，计算结果写入调用方提供的数组，计算过程不产生任何对象
+     *
+     * @param X      源空间直角坐标系X轴值，单位：米
+     * @param Y      源空间直角坐标系Y轴值，单位：米
+     * @param Z      源空间直角坐标系Z轴值，单位：米
+     * @param output 长度不小于3的输出数组
+     * @return 以X，Y，Z（目标空间直角坐标）顺序写入的output数组
+     */
+    public double[] transformSpatialCoordinate(double X, double Y, double Z, double[] output) {
+        output[0] = tx + r11 * X + r12 * Y + r13 * Z;
+        output[1] = ty + r21 * X + r22 * Y + r23 * Z;
+        output[2] = tz + r31 * X + r32 * Y + r33 * Z;
+        return output;
+    }
+
+    /**
+     * 批量空间直角坐标七参数转换，输入及输出均以结构数组形式存放，第i个点的计算结果写入输出数组的第i位
+     *
+     * @param X      源X轴值数组，单位：米
+     * @param Y      源Y轴值数组，单位：米
+     * @param Z      源Z轴值数组，单位：米
+     * @param offset 起始下标
+     * @param length 计算点数
+     * @param X2     目标X轴值输出数组，单位：米
+     * @param Y2     目标Y轴值输出数组，单位：米
+     * @param Z2     目标Z轴值输出数组，单位：米
+     * @throws IndexOutOfBoundsException 当任一数组长度不足时抛出此异常
+     */
+    public void transformSpatialCoordinate(double[] X, double[] Y, double[] Z, int offset, int length, double[] X2, double[] Y2, double[] Z2) {
+        ParallelTools.checkBulkArrays(offset, length, X, Y, Z, X2, Y2, Z2);
+        transformSpatialCoordinateRange(X, Y, Z, offset, offset + length, X2, Y2, Z2);
+    }
+
+    /**
+     * 在ForkJoinPool中分段并行地批量进行空间直角坐标七参数转换
+     *
+     * @param X      源X轴值数组，单位：米
+     * @param Y      源Y轴值数组，单位：米
+     * @param Z      源Z轴值数组，单位：米
+     * @param offset 起始下标
+     * @param length 计算点数
+     * @param X2     目标X轴值输出数组，单位：米
+     * @param Y2     目标Y轴值输出数组，单位：米
+     * @param Z2     目标Z轴值输出数组，单位：米
+     * @param pool   执行并行计算的ForkJoinPool
+     * @throws IndexOutOfBoundsException 当任一数组长度不足时抛出此异常
+     */
+    public void transformSpatialCoordinate(double[] X, double[] Y, double[] Z, int offset, int length, double[] X2, double[] Y2, double[] Z2, ForkJoinPool pool) {
+        ParallelTools.checkBulkArrays(offset, length, X, Y, Z, X2, Y2, Z2);
+        ParallelTools.forRange(pool, offset, length, (from, to) -> transformSpatialCoordinateRange(X, Y, Z, from, to, X2, Y2, Z2));
+    }
+
+    private void transformSpatialCoordinateRange(double[] X, double[] Y, double[] Z, int from, int to, double[] X2, double[] Y2, double[] Z2) {
+        for (int i = from; i < to; i++) {
+            double x = X[i], y = Y[i], z = Z[i];
+            X2[i] = tx + r11 * x + r12 * y + r13 * z;
+            Y2[i] = ty + r21 * x + r22 * y + r23 * z;
+            Z2[i] = tz + r31 * x + r32 * y + r33 * z;
+        }
+    }
+
+    /**
+     * 大地坐标七参数转换，目标大地坐标由闭合公式求得，计算结果写入调用方提供的数组，计算过程不产生任何对象
+     *
+     * @param L      源大地经度，单位：弧度
+     * @param B      源大地纬度，单位：弧度
+     * @param H      源大地高，单位：米
+     * @param output 长度不小于4的输出数组
+     * @return 以L，B，H（目标大地坐标）顺序写入的output数组
+     * @see GeodeticCoordinateSystem#transformToSpatialCoordinateSystem(double, double, double, double[])
+     * @see GeodeticCoordinateSystem#transformToGeodeticCoordinateSystemByClosedForm(double, double, double, double[])
+     */
+    public double[] transform(double L, double B, double H, double[] output) {
+        source.transformToSpatialCoordinateSystem(L, B, H, output);
+        transformSpatialCoordinate(output[0], output[1], output[2], output);
+        return target.transformToGeodeticCoordinateSystemByClosedForm(output[0], output[1], output[2], output);
+    }
+
+    /**
+     * 批量大地坐标七参数转换，输入及输出均以结构数组形式存放，第i个点的计算结果写入输出数组的第i位
+     *
+     * @param L      源大地经度数组，单位：弧度
+     * @param B      源大地纬度数组，单位：弧度
+     * @param H      源大地高数组，单位：米
+     * @param offset 起始下标
+     * @param length 计算点数
+     * @param L2     目标大地经度输出数组，单位：弧度
+     * @param B2     目标大地纬度输出数组，单位：弧度
+     * @param H2     目标大地高输出数组，单位：米
+     * @throws IndexOutOfBoundsException 当任一数组长度不足时抛出此异常
+     */
+    public void transform(double[] L, double[] B, double[] H, int offset, int length, double[] L2, double[] B2, double[] H2) {
+        ParallelTools.checkBulkArrays(offset, length, L, B, H, L2, B2, H2);
+        transformRange(L, B, H, offset, offset + length, L2, B2, H2);
+    }
+
+    /**
+     * 在ForkJoinPool中分段并行地批量进行大地坐标七参数转换
+     *
+     * @param L      源大地经度数组，单位：弧度
+     * @param B      源大地纬度数组，单位：弧度
+     * @param H      源大地高数组，单位：米
+     * @param offset 起始下标
+     * @param length 计算点数
+     * @param L2     目标大地经度输出数组，单位：弧度
+     * @param B2     目标大地纬度输出数组，单位：弧度
+     * @param H2     目标大地高输出数组，单位：米
+     * @param pool   执行并行计算的ForkJoinPool
+     * @throws IndexOutOfBoundsException 当任一数组长度不足时抛出此异常
+     */
+    public void transform(double[] L, double[] B, double[] H, int offset, int length, double[] L2, double[] B2, double[] H2, ForkJoinPool pool) {
+        ParallelTools.checkBulkArrays(offset, length, L, B, H, L2, B2, H2);
+        ParallelTools.forRange(pool, offset, length, (from, to) -> transformRange(L, B, H, from, to, L2, B2, H2));
+    }
+
+    private void transformRange(double[] L, double[] B, double[] H, int from, int to, double[] L2, double[] B2, double[] H2) {
+        double[] output = new double[4]; //同一区间内复用
+        for (int i = from; i < to; i++) {
+            transform(L[i], B[i], H[i], output);
+            L2[i] = output[0];
+            B2[i] = output[1];
+            H2[i] = output[2];
+        }
+    }
+
+    /**
+     * 获取源大地坐标系
+     *
+     * @return 源大地坐标系
+     */
+    public GeodeticCoordinateSystem getSource() {
+        return source;
+    }
+
+    /**
+     * 获取目标大地坐标系
+     *
+     * @return 目标大地坐标系
+     */
+    public GeodeticCoordinateSystem getTarget() {
+        return target;
+    }
+}
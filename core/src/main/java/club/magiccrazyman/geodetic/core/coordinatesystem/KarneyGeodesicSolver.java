@@ -0,0 +1,982 @@
+package club.magiccrazyman.geodetic.core.coordinatesystem;
+
+import club.magiccrazyman.geodetic.core.metrics.MetricOperation;
+import club.magiccrazyman.geodetic.core.metrics.Metrics;
+import club.magiccrazyman.geodetic.core.tools.MathBackend;
+
+import java.util.ArrayList;
+
+/**
+ * 基于Karney算法的大地主题解算
+ * <br>
+ * 与《大地测量学基础》（第二版）中的贝塞尔解法相比，本解法的级数展开至第三扁率n的六阶，在全球范围内（包括近似对跖点）均可达到纳米级精度；
+ * 大地主题反算采用牛顿迭代并以二分法兜底，迭代次数不超过 {@link #MAX_ITERATIONS} 次，因此计算耗时有确定的上限
+ * <br>
+ * 仅适用于扁椭球（a ≥ b）
+ * <br>
+ * 详细请参考 C. F. F. Karney, Algorithms for geodesics, J. Geodesy 87, 43–55 (2013)
+ *
+ * @author Magic Crazy Man
+ * @see GeodeticCoordinateSystem#getKarneyGeodesicSolver()
+ */
+public class KarneyGeodesicSolver {
+
+    /**
+     * 大地主题反算最大迭代次数，前20次为牛顿迭代，之后为二分法
+     */
+    public static final int MAX_ITERATIONS = 20 + 53 + 10;
+
+    private static final int NEWTON_ITERATIONS = 20;
+    private static final int ORDER = 6;
+    private static final double TINY = Math.sqrt(Double.MIN_NORMAL);
+    private static final double TOL0 = Math.ulp(1.0);
+    private static final double TOL1 = 200 * TOL0;
+    private static final double TOL2 = Math.sqrt(TOL0);
+    private static final double TOLB = TOL0;
+    private static final double XTHRESH = 1000 * TOL2;
+
+    /**
+     * A1，C1，C1'，A2，C2的级数系数，每组为多项式系数及公分母
+     */
+    private static final double[] A1M1_COEFF = {1, 4, 64, 0, 256};
+    private static final double[] C1_COEFF = {
+            -1, 6, -16, 32,
+            -9, 64, -128, 2048,
+            9, -16, 768,
+            3, -5, 512,
+            -7, 1280,
+            -7, 2048,
+    };
+    private static final double[] C1P_COEFF = {
+            205, -432, 768, 1536,
+            4005, -4736, 3840, 12288,
+            -225, 116, 384,
+            -7173, 2695, 7680,
+            3467, 7680,
+            38081, 61440,
+    };
+    private static final double[] A2M1_COEFF = {-11, -28, -192, 0, 256};
+    private static final double[] C2_COEFF = {
+            1, 2, 16, 32,
+            35, 64, 384, 2048,
+            15, 80, 768,
+            7, 35, 512,
+            63, 1280,
+            77, 2048,
+    };
+
+    /**
+     * 椭圆长半轴a，短半轴b，扁率f，1 - f，第一偏心率e^2，第二偏心率e'^2，第三扁率n
+     */
+    private final double a, b, f, f1, e2, ep2, n;
+
+    /**
+     * 判断是否为短距离大地线的阈值
+     */
+    private final double etol2;
+
+    /**
+     * A3，C3的系数，为ε及n的多项式，其中n的部分预先求值
+     */
+    private final double[] A3x = new double[ORDER];
+    private final double[] C3x = new double[ORDER * (ORDER - 1) / 2];
+
+    /**
+     * 大地坐标系名称，用于记录计算指标
+     */
+    private final String name;
+
+    /**
+     * 正反算使用的三角函数计算后端
+     *
+     * @see MathBackend
+     */
+    private final MathBackend mathBackend;
+
+    /**
+     * 根据椭圆长短半轴创建大地主题解算器
+     *
+     * @param semimajorAxis 椭圆长半轴
+     * @param semiminorAxis 椭圆短半轴
+     * @param name          大地坐标系名称
+     * @param mathBackend   三角函数计算后端
+     */
+    KarneyGeodesicSolver(double semimajorAxis, double semiminorAxis, String name, MathBackend mathBackend) {
+        this.name = name;
+        this.mathBackend = mathBackend;
+        a = semimajorAxis;
+        b = semiminorAxis;
+        f = (semimajorAxis - semiminorAxis) / semimajorAxis;
+        f1 = 1 - f;
+        e2 = f * (2 - f);
+        ep2 = e2 / (f1 * f1);
+        n = f / (2 - f);
+        etol2 = 0.1 * TOL2 / Math.sqrt(Math.max(0.001, Math.abs(f)) * Math.min(1.0, 1 - f / 2) / 2);
+        A3coeff();
+        C3coeff();
+    }
+
+    /**
+     * 大地主题正算，根据大地线起点的经度L1，纬度B1，大地方位角A1以及大地线长度S计算大地线终点的经度L2，纬度B2，大地方位角A2
+     *
+     * @param L1 大地线起点经度，单位：弧度
+     * @param B1 大地线起点纬度，单位：弧度
+     * @param A1 大地线起点大地方位角，单位：弧度
+     * @param S  大地线长度，单位：米
+     * @return 以L2(终点经度)，B2(终点纬度)，A2(终点大地方位角)顺序排序的ArrayList
+     * @see KarneyGeodesicSolver#directSolutionOfGeodeticProblem(double, double, double, double, double[])
+     */
+    public ArrayList<Double> directSolutionOfGeodeticProblem(double L1, double B1, double A1, double S) {
+        double[] LBA = directSolutionOfGeodeticProblem(L1, B1, A1, S, new double[3]);
+
+        ArrayList<Double> list = new ArrayList<>();
+        list.add(LBA[0]);
+        list.add(LBA[1]);
+        list.add(LBA[2]);
+        return list;
+    }
+
+    /**
+     * 大地主题正算，根据大地线起点的经度L1，纬度B1，大地方位角A1以及大地线长度S计算大地线终点的经度L2，纬度B2，大地方位角A2，计算结果写入调用方提供的数组，计算过程不产生任何对象
+     * <br>
+     * 输出值的含义与 {@link GeodeticCoordinateSystem#directSolutionOfGeodeticProblem(double, double, double, double, double[])} 一致：
+     * L2 = L1 + 经差，A2为终点处的反方位角，取值范围为[0, 2π)
+     *
+     * @param L1     大地线起点经度，单位：弧度
+     * @param B1     大地线起点纬度，单位：弧度
+     * @param A1     大地线起点大地方位角，单位：弧度
+     * @param S      大地线长度，单位：米
+     * @param output 长度不小于3的输出数组
+     * @return 以L2(终点经度)，B2(终点纬度)，A2(终点大地方位角)顺序写入的output数组
+     */
+    public double[] directSolutionOfGeodeticProblem(double L1, double B1, double A1, double S, double[] output) {
+        return directSolutionOfGeodeticProblem(L1, B1, A1, S, mathBackend, output);
+    }
+
+    /**
+     * 大地主题正算，三角函数由指定的计算后端求得，计算结果写入调用方提供的数组，计算过程不产生任何对象
+     *
+     * @param L1      大地线起点经度，单位：弧度
+     * @param B1      大地线起点纬度，单位：弧度
+     * @param A1      大地线起点大地方位角，单位：弧度
+     * @param S       大地线长度，单位：米
+     * @param backend 三角函数计算后端
+     * @param output  长度不小于3的输出数组
+     * @return 以L2(终点经度)，B2(终点纬度)，A2(终点大地方位角)顺序写入的output数组
+     * @see KarneyGeodesicSolver#directSolutionOfGeodeticProblem(double, double, double, double, double[])
+     */
+    public double[] directSolutionOfGeodeticProblem(double L1, double B1, double A1, double S, MathBackend backend, double[] output) {
+        long start = Metrics.start();
+        double azi1 = angNormalize(Math.toDegrees(A1));
+        double lat1 = latFix(Math.toDegrees(B1));
+        Workspace w = WORKSPACE.get();
+        double[] sc = w.sc;
+
+        sincosd(angRound(azi1), backend, sc);
+        double salp1 = sc[0], calp1 = sc[1];
+        sincosd(angRound(lat1), backend, sc);
+        double sbet1 = f1 * sc[0], cbet1 = sc[1];
+        double r = backend.hypot(sbet1, cbet1);
+        sbet1 /= r;
+        cbet1 = Math.max(TINY, cbet1 / r);
+
+        //大地线与赤道交点处的方位角α0
+        double salp0 = salp1 * cbet1;
+        double calp0 = backend.hypot(calp1, salp1 * sbet1);
+
+        //起点在辅助球上的弧长σ1及经度ω1
+        double ssig1 = sbet1, somg1 = salp0 * sbet1;
+        double csig1 = sbet1 != 0 || calp1 != 0 ? cbet1 * calp1 : 1, comg1 = csig1;
+        r = backend.hypot(ssig1, csig1);
+        ssig1 /= r;
+        csig1 /= r;
+
+        double k2 = calp0 * calp0 * ep2;
+        double eps = k2 / (2 * (1 + Math.sqrt(1 + k2)) + k2);
+
+        double A1m1 = A1m1f(eps);
+        double[] C1a = w.C1a;
+        C1f(eps, C1a);
+        double B11 = sinCosSeries(true, ssig1, csig1, C1a);
+        double s = backend.sin(B11), c = backend.cos(B11);
+        double stau1 = ssig1 * c + csig1 * s;
+        double ctau1 = csig1 * c - ssig1 * s;
+
+        double[] C1pa = w.C1pa;
+        C1pf(eps, C1pa);
+        double A3c = -f * salp0 * A3f(eps);
+        double[] C3a = w.C3a;
+        C3f(eps, C3a);
+        double B31 = sinCosSeries(true, ssig1, csig1, C3a);
+
+        //由大地线长度反求辅助球上的弧长σ12
+        double tau12 = S / (b * (1 + A1m1));
+        s = backend.sin(tau12);
+        c = backend.cos(tau12);
+        double B12 = -sinCosSeries(true, stau1 * c + ctau1 * s, ctau1 * c - stau1 * s, C1pa);
+        double sig12 = tau12 - (B12 - B11);
+        double ssig12 = backend.sin(sig12), csig12 = backend.cos(sig12);
+
+        double ssig2 = ssig1 * csig12 + csig1 * ssig12;
+        double csig2 = csig1 * csig12 - ssig1 * ssig12;
+        double sbet2 = calp0 * ssig2;
+        double cbet2 = backend.hypot(salp0, calp0 * csig2);
+        if (cbet2 == 0) {
+            cbet2 = csig2 = TINY;
+        }
+        double salp2 = salp0, calp2 = calp0 * csig2;
+
+        //辅助球上的经差ω12改正为椭球上的经差λ12
+        double somg2 = salp0 * ssig2, comg2 = csig2;
+        double omg12 = backend.atan2(somg2 * comg1 - comg2 * somg1, comg2 * comg1 + somg2 * somg1);
+        double lam12 = omg12 + A3c * (sig12 + (sinCosSeries(true, ssig2, csig2, C3a) - B31));
+
+        output[0] = L1 + lam12;
+        output[1] = Math.toRadians(atan2d(sbet2, f1 * cbet2, backend));
+        output[2] = reverseAzimuth(atan2d(salp2, calp2, backend));
+        Metrics.record(MetricOperation.KARNEY_DIRECT_SOLUTION, name, start, 0);
+        return output;
+    }
+
+    /**
+     * 大地主题反算，根据两个大地坐标点L1，B1，L2，B2计算大地线S及其大地方位角A1，A2
+     *
+     * @param L1 起点大地坐标的大地经度L1，单位：弧度
+     * @param B1 起点大地坐标的大地纬度B1，单位：弧度
+     * @param L2 终点大地坐标的大地经度L2，单位：弧度
+     * @param B2 终点大地坐标的大地纬度B2，单位：弧度
+     * @return 以A1(起点大地方位角)，A2(终点大地方位角)，S(大地线)，count(迭代次数)顺序排序的ArrayList
+     * @see KarneyGeodesicSolver#inverseSolutionOfGeodeticProblem(double, double, double, double, double[])
+     */
+    public ArrayList<Double> inverseSolutionOfGeodeticProblem(double L1, double B1, double L2, double B2) {
+        double[] AASC = inverseSolutionOfGeodeticProblem(L1, B1, L2, B2, new double[4]);
+
+        ArrayList<Double> list = new ArrayList<>();
+        list.add(AASC[0]);
+        list.add(AASC[1]);
+        list.add(AASC[2]);
+        list.add(AASC[3]);
+        return list;
+    }
+
+    /**
+     * 大地主题反算，根据两个大地坐标点L1，B1，L2，B2计算大地线S及其大地方位角A1，A2，计算结果写入调用方提供的数组，计算过程不产生任何对象
+     * <br>
+     * 输出值的含义与 {@link GeodeticCoordinateSystem#inverseSolutionOfGeodeticProblem(double, double, double, double, double, double[])} 一致：
+     * A1为起点方位角，A2为终点处的反方位角，取值范围均为[0, 2π)；迭代次数不超过 {@link #MAX_ITERATIONS}，无需迭代时为0
+     * <br>
+     * 对跖点之间存在多条大地线，此时返回其中一条
+     *
+     * @param L1     起点大地坐标的大地经度L1，单位：弧度
+     * @param B1     起点大地坐标的大地纬度B1，单位：弧度
+     * @param L2     终点大地坐标的大地经度L2，单位：弧度
+     * @param B2     终点大地坐标的大地纬度B2，单位：弧度
+     * @param output 长度不小于4的输出数组
+     * @return 以A1(起点大地方位角)，A2(终点大地方位角)，S(大地线)，count(迭代次数)顺序写入的output数组
+     */
+    public double[] inverseSolutionOfGeodeticProblem(double L1, double B1, double L2, double B2, double[] output) {
+        return inverseSolutionOfGeodeticProblem(L1, B1, L2, B2, mathBackend, output);
+    }
+
+    /**
+     * 大地主题反算，三角函数由指定的计算后端求得，计算结果写入调用方提供的数组，计算过程不产生任何对象
+     *
+     * @param L1      起点大地坐标的大地经度L1，单位：弧度
+     * @param B1      起点大地坐标的大地纬度B1，单位：弧度
+     * @param L2      终点大地坐标的大地经度L2，单位：弧度
+     * @param B2      终点大地坐标的大地纬度B2，单位：弧度
+     * @param backend 三角函数计算后端
+     * @param output  长度不小于4的输出数组
+     * @return 以A1(起点大地方位角)，A2(终点大地方位角)，S(大地线)，count(迭代次数)顺序写入的output数组
+     * @see KarneyGeodesicSolver#inverseSolutionOfGeodeticProblem(double, double, double, double, double[])
+     */
+    public double[] inverseSolutionOfGeodeticProblem(double L1, double B1, double L2, double B2, MathBackend backend, double[] output) {
+        long start = Metrics.start();
+        Workspace w = WORKSPACE.get();
+        double[] sc = w.sc;
+        //经差，化为[0, 180]并记录符号
+        double lon12 = angDiff(Math.toDegrees(L1), Math.toDegrees(L2), sc);
+        double lon12s = sc[0];
+        double lonsign = lon12 >= 0 ? 1 : -1;
+        lon12 = lonsign * angRound(lon12);
+        lon12s = angRound((180 - lon12) - lonsign * lon12s);
+        double lam12 = Math.toRadians(lon12), slam12, clam12;
+        if (lon12 > 90) {
+            sincosd(lon12s, backend, sc);
+            slam12 = sc[0];
+            clam12 = -sc[1];
+        } else {
+            sincosd(lon12, backend, sc);
+            slam12 = sc[0];
+            clam12 = sc[1];
+        }
+
+        //交换两点使 |B1| >= |B2|，并使 B1 <= 0
+        double lat1 = angRound(latFix(Math.toDegrees(B1)));
+        double lat2 = angRound(latFix(Math.toDegrees(B2)));
+        int swapp = Math.abs(lat1) < Math.abs(lat2) ? -1 : 1;
+        if (swapp < 0) {
+            lonsign *= -1;
+            double t = lat1;
+            lat1 = lat2;
+            lat2 = t;
+        }
+        int latsign = lat1 < 0 ? 1 : -1;
+        lat1 *= latsign;
+        lat2 *= latsign;
+
+        //归化纬度β
+        sincosd(lat1, backend, sc);
+        double sbet1 = f1 * sc[0], cbet1 = sc[1];
+        double r = backend.hypot(sbet1, cbet1);
+        sbet1 /= r;
+        cbet1 = Math.max(TINY, cbet1 / r);
+        sincosd(lat2, backend, sc);
+        double sbet2 = f1 * sc[0], cbet2 = sc[1];
+        r = backend.hypot(sbet2, cbet2);
+        sbet2 /= r;
+        cbet2 = Math.max(TINY, cbet2 / r);
+
+        if (cbet1 < -sbet1) {
+            if (cbet2 == cbet1) {
+                sbet2 = sbet2 < 0 ? sbet1 : -sbet1;
+            }
+        } else {
+            if (Math.abs(sbet2) == -sbet1) {
+                cbet2 = cbet1;
+            }
+        }
+
+        double dn1 = Math.sqrt(1 + ep2 * sbet1 * sbet1);
+        double dn2 = Math.sqrt(1 + ep2 * sbet2 * sbet2);
+
+        double sig12 = 0, s12x = 0, m12x = 0;
+        double salp1 = 0, calp1 = 0, salp2 = Double.NaN, calp2 = Double.NaN;
+        int count = 0;
+
+        boolean meridian = lat1 == -90 || slam12 == 0;
+        if (meridian) {
+            //子午线，方位角已知
+            calp1 = clam12;
+            salp1 = slam12;
+            calp2 = 1;
+            salp2 = 0;
+
+            double ssig1 = sbet1, csig1 = calp1 * cbet1;
+            double ssig2 = sbet2, csig2 = calp2 * cbet2;
+            sig12 = backend.atan2(Math.max(0.0, csig1 * ssig2 - ssig1 * csig2), csig1 * csig2 + ssig1 * ssig2);
+            lengths(w, n, sig12, ssig1, csig1, dn1, ssig2, csig2, dn2, true);
+            s12x = w.s12b;
+            m12x = w.m12b;
+            if (sig12 < 1 || m12x >= 0) {
+                if (sig12 < 3 * TINY || (sig12 < TOL0 && (s12x < 0 || m12x < 0))) {
+                    sig12 = m12x = s12x = 0;
+                }
+                m12x *= b;
+                s12x *= b;
+            } else {
+                //经过极点的子午线并非最短路径
+                meridian = false;
+            }
+        }
+
+        if (!meridian && sbet1 == 0 && (f <= 0 || lon12s >= f * 180)) {
+            //赤道上的大地线
+            calp1 = calp2 = 0;
+            salp1 = salp2 = 1;
+            s12x = a * lam12;
+        } else if (!meridian) {
+            sig12 = inverseStart(w, backend, sbet1, cbet1, dn1, sbet2, cbet2, dn2, lam12, slam12, clam12);
+            salp1 = w.salp1;
+            calp1 = w.calp1;
+
+            if (sig12 >= 0) {
+                //短距离大地线，初值即为最终结果
+                salp2 = w.salp2;
+                calp2 = w.calp2;
+                s12x = sig12 * b * w.dnm;
+            } else {
+                //牛顿迭代求解起点方位角α1，当牛顿迭代失效时改用二分法，[α1a, α1b]为包含解的区间
+                double salp1a = TINY, calp1a = 1, salp1b = TINY, calp1b = -1;
+                boolean tripn = false, tripb = false;
+                for (; count < MAX_ITERATIONS; ++count) {
+                    double v = lambda12(w, backend, sbet1, cbet1, dn1, sbet2, cbet2, dn2, salp1, calp1, slam12, clam12, count < NEWTON_ITERATIONS);
+                    if (tripb || !(Math.abs(v) >= (tripn ? 8 : 1) * TOL0)) {
+                        break;
+                    }
+                    if (v > 0 && (count > NEWTON_ITERATIONS || calp1 / salp1 > calp1b / salp1b)) {
+                        salp1b = salp1;
+                        calp1b = calp1;
+                    } else if (v < 0 && (count > NEWTON_ITERATIONS || calp1 / salp1 < calp1a / salp1a)) {
+                        salp1a = salp1;
+                        calp1a = calp1;
+                    }
+                    if (count < NEWTON_ITERATIONS && w.dlam12 > 0) {
+                        double dalp1 = -v / w.dlam12;
+                        double sdalp1 = backend.sin(dalp1), cdalp1 = backend.cos(dalp1);
+                        double nsalp1 = salp1 * cdalp1 + calp1 * sdalp1;
+                        if (nsalp1 > 0 && Math.abs(dalp1) < Math.PI) {
+                            calp1 = calp1 * cdalp1 - salp1 * sdalp1;
+                            salp1 = nsalp1;
+                            r = backend.hypot(salp1, calp1);
+                            salp1 /= r;
+                            calp1 /= r;
+                            tripn = Math.abs(v) <= 16 * TOL0;
+                            continue;
+                        }
+                    }
+                    salp1 = (salp1a + salp1b) / 2;
+                    calp1 = (calp1a + calp1b) / 2;
+                    r = backend.hypot(salp1, calp1);
+                    salp1 /= r;
+                    calp1 /= r;
+                    tripn = false;
+                    tripb = Math.abs(salp1a - salp1) + (calp1a - calp1) < TOLB || Math.abs(salp1 - salp1b) + (calp1 - calp1b) < TOLB;
+                }
+                salp2 = w.salp2;
+                calp2 = w.calp2;
+                sig12 = w.sig12;
+                lengths(w, w.eps, sig12, w.ssig1, w.csig1, dn1, w.ssig2, w.csig2, dn2, false);
+                s12x = w.s12b * b;
+            }
+        }
+
+        //还原两点交换及纬度符号
+        if (swapp < 0) {
+            double t = salp1;
+            salp1 = salp2;
+            salp2 = t;
+            t = calp1;
+            calp1 = calp2;
+            calp2 = t;
+        }
+        salp1 *= swapp * lonsign;
+        calp1 *= swapp * latsign;
+        salp2 *= swapp * lonsign;
+        calp2 *= swapp * latsign;
+
+        double A1 = Math.toRadians(atan2d(salp1, calp1, backend));
+        output[0] = A1 < 0 ? A1 + 2 * Math.PI : A1;
+        output[1] = reverseAzimuth(atan2d(salp2, calp2, backend));
+        output[2] = 0 + s12x;
+        output[3] = count;
+        Metrics.record(MetricOperation.KARNEY_INVERSE_SOLUTION, name, start, output[3]);
+        return output;
+    }
+
+    /**
+     * 每个线程复用的工作区，正反算均不产生任何对象
+     */
+    private static final ThreadLocal<Workspace> WORKSPACE = ThreadLocal.withInitial(Workspace::new);
+
+    /**
+     * 正反算的级数系数及反算的中间结果，只在单次计算内有效
+     */
+    private static final class Workspace {
+        final double[] sc = new double[2];
+        final double[] C1a = new double[ORDER + 1];
+        final double[] C1pa = new double[ORDER + 1];
+        final double[] C2a = new double[ORDER + 1];
+        final double[] C3a = new double[ORDER];
+        double s12b, m12b;
+        double salp1, calp1, salp2, calp2, dnm;
+        double sig12, ssig1, csig1, ssig2, csig2, eps, dlam12;
+    }
+
+    /**
+     * 计算辅助球上弧长σ12对应的大地线长度s12/b及归化长度m12/b
+     *
+     * @param reduced 为true时同时计算归化长度
+     */
+    private void lengths(Workspace w, double eps, double sig12, double ssig1, double csig1, double dn1, double ssig2, double csig2, double dn2, boolean reduced) {
+        double[] C1a = w.C1a, C2a = w.C2a;
+        double A1 = A1m1f(eps);
+        C1f(eps, C1a);
+        double A2 = A2m1f(eps);
+        C2f(eps, C2a);
+        double m0x = A1 - A2;
+        A1 = 1 + A1;
+        A2 = 1 + A2;
+
+        double B1 = sinCosSeries(true, ssig2, csig2, C1a) - sinCosSeries(true, ssig1, csig1, C1a);
+        w.s12b = A1 * (sig12 + B1);
+        if (reduced) {
+            double B2 = sinCosSeries(true, ssig2, csig2, C2a) - sinCosSeries(true, ssig1, csig1, C2a);
+            double J12 = m0x * sig12 + (A1 * B1 - A2 * B2);
+            w.m12b = dn2 * (csig1 * ssig2) - dn1 * (ssig1 * csig2) - csig1 * csig2 * J12;
+        }
+    }
+
+    /**
+     * 只计算归化长度m12/b，用于牛顿迭代的导数
+     */
+    private double reducedLength(Workspace w, double eps, double sig12, double ssig1, double csig1, double dn1, double ssig2, double csig2, double dn2) {
+        double[] C1a = w.C1a, C2a = w.C2a;
+        double A1 = A1m1f(eps);
+        C1f(eps, C1a);
+        double A2 = A2m1f(eps);
+        C2f(eps, C2a);
+        double m0x = A1 - A2;
+        A1 = 1 + A1;
+        A2 = 1 + A2;
+        for (int l = 1; l <= ORDER; ++l) {
+            C2a[l] = A1 * C1a[l] - A2 * C2a[l];
+        }
+        double J12 = m0x * sig12 + (sinCosSeries(true, ssig2, csig2, C2a) - sinCosSeries(true, ssig1, csig1, C2a));
+        return dn2 * (csig1 * ssig2) - dn1 * (ssig1 * csig2) - csig1 * csig2 * J12;
+    }
+
+    /**
+     * 求解星形线方程 x^2 / (1 + k)^2 + y^2 / k^2 = 1 的正根k，用于近似对跖点的迭代初值
+     */
+    private static double astroid(double x, double y, MathBackend backend) {
+        double k;
+        double p = x * x, q = y * y, r = (p + q - 1) / 6;
+        if (!(q == 0 && r <= 0)) {
+            double S = p * q / 4, r2 = r * r, r3 = r * r2;
+            double disc = S * (S + 2 * r3);
+            double u = r;
+            if (disc >= 0) {
+                double T3 = S + r3;
+                T3 += T3 < 0 ? -Math.sqrt(disc) : Math.sqrt(disc);
+                double T = backend.cbrt(T3);
+                u += T + (T != 0 ? r2 / T : 0);
+            } else {
+                double ang = backend.atan2(Math.sqrt(-disc), -(S + r3));
+                u += 2 * r * backend.cos(ang / 3);
+            }
+            double v = Math.sqrt(u * u + q);
+            double uv = u < 0 ? q / (v - u) : u + v;
+            double w = (uv - q) / (2 * v);
+            k = uv / (Math.sqrt(uv + w * w) + w);
+        } else {
+            k = 0;
+        }
+        return k;
+    }
+
+    /**
+     * 计算反算迭代初值α1，短距离大地线直接求得结果并返回σ12，否则返回-1
+     */
+    private double inverseStart(Workspace w, MathBackend backend, double sbet1, double cbet1, double dn1, double sbet2, double cbet2, double dn2, double lam12, double slam12, double clam12) {
+        double sig12 = -1;
+        w.salp2 = w.calp2 = w.dnm = Double.NaN;
+
+        double sbet12 = sbet2 * cbet1 - cbet2 * sbet1;
+        double cbet12 = cbet2 * cbet1 + sbet2 * sbet1;
+        double sbet12a = sbet2 * cbet1 + cbet2 * sbet1;
+        boolean shortline = cbet12 >= 0 && sbet12 < 0.5 && cbet2 * lam12 < 0.5;
+        double somg12, comg12;
+        if (shortline) {
+            double sbetm2 = (sbet1 + sbet2) * (sbet1 + sbet2);
+            sbetm2 /= sbetm2 + (cbet1 + cbet2) * (cbet1 + cbet2);
+            w.dnm = Math.sqrt(1 + ep2 * sbetm2);
+            double omg12 = lam12 / (f1 * w.dnm);
+            somg12 = backend.sin(omg12);
+            comg12 = backend.cos(omg12);
+        } else {
+            somg12 = slam12;
+            comg12 = clam12;
+        }
+
+        double salp1 = cbet2 * somg12;
+        double calp1 = comg12 >= 0 ?
+                sbet12 + cbet2 * sbet1 * somg12 * somg12 / (1 + comg12) :
+                sbet12a - cbet2 * sbet1 * somg12 * somg12 / (1 - comg12);
+
+        double ssig12 = backend.hypot(salp1, calp1);
+        double csig12 = sbet1 * sbet2 + cbet1 * cbet2 * comg12;
+
+        if (shortline && ssig12 < etol2) {
+            double salp2 = cbet1 * somg12;
+            double calp2 = sbet12 - cbet1 * sbet2 * (comg12 >= 0 ? somg12 * somg12 / (1 + comg12) : 1 - comg12);
+            double r = backend.hypot(salp2, calp2);
+            w.salp2 = salp2 / r;
+            w.calp2 = calp2 / r;
+            sig12 = backend.atan2(ssig12, csig12);
+        } else if (Math.abs(n) > 0.1 || csig12 >= 0 || ssig12 >= 6 * Math.abs(n) * Math.PI * cbet1 * cbet1) {
+            //球面近似的初值已足够
+        } else {
+            //近似对跖点，以星形线方程求初值
+            double lam12x = backend.atan2(-slam12, -clam12);
+            double k2 = sbet1 * sbet1 * ep2;
+            double eps = k2 / (2 * (1 + Math.sqrt(1 + k2)) + k2);
+            double lamscale = f * cbet1 * A3f(eps) * Math.PI;
+            double betscale = lamscale * cbet1;
+            double x = lam12x / lamscale;
+            double y = sbet12a / betscale;
+
+            if (y > -TOL1 && x > -1 - XTHRESH) {
+                salp1 = Math.min(1.0, -x);
+                calp1 = -Math.sqrt(1 - salp1 * salp1);
+            } else {
+                double k = astroid(x, y, backend);
+                double omg12a = lamscale * (-x * k / (1 + k));
+                somg12 = backend.sin(omg12a);
+                comg12 = -backend.cos(omg12a);
+                salp1 = cbet2 * somg12;
+                calp1 = sbet12a - cbet2 * sbet1 * somg12 * somg12 / (1 - comg12);
+            }
+        }
+
+        if (!(salp1 <= 0)) {
+            double r = backend.hypot(salp1, calp1);
+            w.salp1 = salp1 / r;
+            w.calp1 = calp1 / r;
+        } else {
+            w.salp1 = 1;
+            w.calp1 = 0;
+        }
+        return sig12;
+    }
+
+    /**
+     * 给定起点方位角α1，计算终点经差与目标经差之差，diffp为true时同时计算其对α1的导数
+     */
+    private double lambda12(Workspace w, MathBackend backend, double sbet1, double cbet1, double dn1, double sbet2, double cbet2, double dn2, double salp1, double calp1, double slam120, double clam120, boolean diffp) {
+        if (sbet1 == 0 && calp1 == 0) {
+            calp1 = -TINY;
+        }
+
+        double salp0 = salp1 * cbet1;
+        double calp0 = backend.hypot(calp1, salp1 * sbet1);
+
+        double ssig1 = sbet1, somg1 = salp0 * sbet1;
+        double csig1 = calp1 * cbet1, comg1 = csig1;
+        double r = backend.hypot(ssig1, csig1);
+        ssig1 /= r;
+        csig1 /= r;
+
+        double salp2 = cbet2 != cbet1 ? salp0 / cbet2 : salp1;
+        double calp2 = cbet2 != cbet1 || Math.abs(sbet2) != -sbet1 ?
+                Math.sqrt(calp1 * cbet1 * calp1 * cbet1 + (cbet1 < -sbet1 ? (cbet2 - cbet1) * (cbet1 + cbet2) : (sbet1 - sbet2) * (sbet1 + sbet2))) / cbet2 :
+                Math.abs(calp1);
+
+        double ssig2 = sbet2, somg2 = salp0 * sbet2;
+        double csig2 = calp2 * cbet2, comg2 = csig2;
+        r = backend.hypot(ssig2, csig2);
+        ssig2 /= r;
+        csig2 /= r;
+
+        double sig12 = backend.atan2(Math.max(0.0, csig1 * ssig2 - ssig1 * csig2), csig1 * csig2 + ssig1 * ssig2);
+        double somg12 = Math.max(0.0, comg1 * somg2 - somg1 * comg2);
+        double comg12 = comg1 * comg2 + somg1 * somg2;
+        double eta = backend.atan2(somg12 * clam120 - comg12 * slam120, comg12 * clam120 + somg12 * slam120);
+
+        double k2 = calp0 * calp0 * ep2;
+        double eps = k2 / (2 * (1 + Math.sqrt(1 + k2)) + k2);
+        C3f(eps, w.C3a);
+        double B312 = sinCosSeries(true, ssig2, csig2, w.C3a) - sinCosSeries(true, ssig1, csig1, w.C3a);
+        double domg12 = -f * A3f(eps) * salp0 * (sig12 + B312);
+        double lam12 = eta + domg12;
+
+        if (diffp) {
+            if (calp2 == 0) {
+                w.dlam12 = -2 * f1 * dn1 / sbet1;
+            } else {
+                double m12b = reducedLength(w, eps, sig12, ssig1, csig1, dn1, ssig2, csig2, dn2);
+                w.dlam12 = m12b * f1 / (calp2 * cbet2);
+            }
+        } else {
+            w.dlam12 = Double.NaN;
+        }
+
+        w.salp2 = salp2;
+        w.calp2 = calp2;
+        w.sig12 = sig12;
+        w.ssig1 = ssig1;
+        w.csig1 = csig1;
+        w.ssig2 = ssig2;
+        w.csig2 = csig2;
+        w.eps = eps;
+        return lam12;
+    }
+
+    /**
+     * 将以度为单位的正方位角化为以弧度为单位，取值范围为[0, 2π)的反方位角
+     */
+    private static double reverseAzimuth(double azimuth) {
+        double reverse = azimuth + 180;
+        if (reverse >= 360) {
+            reverse -= 360;
+        }
+        return Math.toRadians(reverse);
+    }
+
+    /**
+     * 以秦九韶（Horner）法计算 p[s]x^N + p[s + 1]x^(N - 1) + ... + p[s + N]
+     */
+    private static double polyval(int N, double[] p, int s, double x) {
+        double y = N < 0 ? 0 : p[s++];
+        while (--N >= 0) {
+            y = y * x + p[s++];
+        }
+        return y;
+    }
+
+    /**
+     * 计算 c[1]sin(2x) + c[2]sin(4x) + ...（sinp为true），或 c[0]cos(x) + c[1]cos(3x) + ...（sinp为false）
+     */
+    private static double sinCosSeries(boolean sinp, double sinx, double cosx, double[] c) {
+        int k = c.length, n = k - (sinp ? 1 : 0);
+        double ar = 2 * (cosx - sinx) * (cosx + sinx);
+        double y0 = (n & 1) != 0 ? c[--k] : 0, y1 = 0;
+        n /= 2;
+        while (n-- > 0) {
+            y1 = ar * y0 - y1 + c[--k];
+            y0 = ar * y1 - y0 + c[--k];
+        }
+        return sinp ? 2 * sinx * cosx * y0 : cosx * (y0 - y1);
+    }
+
+    /**
+     * 以1/16度为单位取整微小角度，避免接近0的角度产生下溢
+     */
+    private static double angRound(double x) {
+        final double z = 1 / 16.0;
+        if (x == 0) {
+            return 0;
+        }
+        double y = Math.abs(x);
+        y = y < z ? z - (z - y) : y;
+        return Math.copySign(y, x);
+    }
+
+    /**
+     * 将角度化为(-180, 180]
+     */
+    private static double angNormalize(double x) {
+        x = Math.IEEEremainder(x, 360.0);
+        return x == -180 ? 180 : x;
+    }
+
+    /**
+     * 纬度超出[-90, 90]时返回NaN
+     */
+    private static double latFix(double x) {
+        return Math.abs(x) > 90 ? Double.NaN : x;
+    }
+
+    /**
+     * 无舍入误差的加法，返回 u + v，舍入误差写入 e[0]
+     */
+    private static double sum(double u, double v, double[] e) {
+        double s = u + v;
+        double up = s - v;
+        double vpp = s - up;
+        up -= u;
+        vpp -= v;
+        e[0] = -(up + vpp);
+        return s;
+    }
+
+    /**
+     * 计算 y - x 并化为(-180, 180]，舍入误差写入 e[0]
+     */
+    private static double angDiff(double x, double y, double[] e) {
+        double d = sum(Math.IEEEremainder(-x, 360.0), Math.IEEEremainder(y, 360.0), e);
+        d = angNormalize(d);
+        double t = e[0];
+        return sum(d == 180 && t > 0 ? -180 : d, t, e);
+    }
+
+    /**
+     * 以度为单位计算正余弦值，90度的整数倍可得到精确值，结果以sin，cos顺序写入sc
+     */
+    private static void sincosd(double x, MathBackend backend, double[] sc) {
+        double r = x % 360.0;
+        int q = (int) Math.round(r / 90);
+        r -= 90 * q;
+        r = Math.toRadians(r);
+        double s = backend.sin(r), c = backend.cos(r);
+        double sinx, cosx;
+        switch (q & 3) {
+            case 0:
+                sinx = s;
+                cosx = c;
+                break;
+            case 1:
+                sinx = c;
+                cosx = -s;
+                break;
+            case 2:
+                sinx = -s;
+                cosx = -c;
+                break;
+            default:
+                sinx = -c;
+                cosx = s;
+                break;
+        }
+        if (x != 0) {
+            sinx += 0.0;
+            cosx += 0.0;
+        }
+        sc[0] = sinx;
+        sc[1] = cosx;
+    }
+
+    /**
+     * 以度为单位的atan2，结果取值范围为(-180, 180]
+     */
+    private static double atan2d(double y, double x, MathBackend backend) {
+        int q = 0;
+        if (Math.abs(y) > Math.abs(x)) {
+            double t = x;
+            x = y;
+            y = t;
+            q = 2;
+        }
+        if (x < 0) {
+            x = -x;
+            ++q;
+        }
+        double ang = Math.toDegrees(backend.atan2(y, x));
+        switch (q) {
+            case 1:
+                ang = (y >= 0 ? 180 : -180) - ang;
+                break;
+            case 2:
+                ang = 90 - ang;
+                break;
+            case 3:
+                ang = -90 + ang;
+                break;
+            default:
+                break;
+        }
+        return ang;
+    }
+
+    /**
+     * A1 - 1，A1为大地线长度系数
+     */
+    private static double A1m1f(double eps) {
+        double eps2 = eps * eps;
+        double t = polyval(3, A1M1_COEFF, 0, eps2) / A1M1_COEFF[4];
+        return (t + eps) / (1 - eps);
+    }
+
+    /**
+     * 大地线长度级数系数C1[l]，l = 1, ..., 6
+     */
+    private static void C1f(double eps, double[] c) {
+        double eps2 = eps * eps, d = eps;
+        int o = 0;
+        for (int l = 1; l <= ORDER; ++l) {
+            int m = (ORDER - l) / 2;
+            c[l] = d * polyval(m, C1_COEFF, o, eps2) / C1_COEFF[o + m + 1];
+            o += m + 2;
+            d *= eps;
+        }
+    }
+
+    /**
+     * 大地线长度反级数系数C1'[l]，l = 1, ..., 6
+     */
+    private static void C1pf(double eps, double[] c) {
+        double eps2 = eps * eps, d = eps;
+        int o = 0;
+        for (int l = 1; l <= ORDER; ++l) {
+            int m = (ORDER - l) / 2;
+            c[l] = d * polyval(m, C1P_COEFF, o, eps2) / C1P_COEFF[o + m + 1];
+            o += m + 2;
+            d *= eps;
+        }
+    }
+
+    /**
+     * A2 - 1，A2为归化长度系数
+     */
+    private static double A2m1f(double eps) {
+        double eps2 = eps * eps;
+        double t = polyval(3, A2M1_COEFF, 0, eps2) / A2M1_COEFF[4];
+        return (t - eps) / (1 + eps);
+    }
+
+    /**
+     * 归化长度级数系数C2[l]，l = 1, ..., 6
+     */
+    private static void C2f(double eps, double[] c) {
+        double eps2 = eps * eps, d = eps;
+        int o = 0;
+        for (int l = 1; l <= ORDER; ++l) {
+            int m = (ORDER - l) / 2;
+            c[l] = d * polyval(m, C2_COEFF, o, eps2) / C2_COEFF[o + m + 1];
+            o += m + 2;
+            d *= eps;
+        }
+    }
+
+    /**
+     * 经差改正系数A3
+     */
+    private double A3f(double eps) {
+        return polyval(ORDER - 1, A3x, 0, eps);
+    }
+
+    /**
+     * 经差改正级数系数C3[l]，l = 1, ..., 5
+     */
+    private void C3f(double eps, double[] c) {
+        double mult = 1;
+        int o = 0;
+        for (int l = 1; l < ORDER; ++l) {
+            int m = ORDER - l - 1;
+            mult *= eps;
+            c[l] = mult * polyval(m, C3x, o, eps);
+            o += m + 1;
+        }
+    }
+
+    /**
+     * 预先计算A3中与n有关的系数
+     */
+    private void A3coeff() {
+        final double[] coeff = {
+                -3, 128,
+                -2, -3, 64,
+                -1, -3, -1, 16,
+                3, -1, -2, 8,
+                1, -1, 2,
+                1, 1,
+        };
+        int o = 0, k = 0;
+        for (int j = ORDER - 1; j >= 0; --j) {
+            int m = Math.min(ORDER - j - 1, j);
+            A3x[k++] = polyval(m, coeff, o, n) / coeff[o + m + 1];
+            o += m + 2;
+        }
+    }
+
+    /**
+     * 预先计算C3中与n有关的系数
+     */
+    private void C3coeff() {
+        final double[] coeff = {
+                3, 128,
+                2, 5, 128,
+                -1, 3, 3, 64,
+                -1, 0, 1, 8,
+                -1, 1, 4,
+                5, 256,
+                1, 3, 128,
+                -3, -2, 3, 64,
+                1, -3, 2, 32,
+                7, 512,
+                -10, 9, 384,
+                5, -9, 5, 192,
+                7, 512,
+                -14, 7, 512,
+                21, 2560,
+        };
+        int o = 0, k = 0;
+        for (int l = 1; l < ORDER; ++l) {
+            for (int j = ORDER - 1; j >= l; --j) {
+                int m = Math.min(ORDER - j - 1, j);
+                C3x[k++] = polyval(m, coeff, o, n) / coeff[o + m + 1];
+                o += m + 2;
+            }
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package club.magiccrazyman.geodetic.core.coordinatesystem;
+
+import club.magiccrazyman.geodetic.core.tools.MathBackend;
+
+/**
+ * 纬度查找表，以分段切比雪夫多项式代替子午线弧长、曲率半径及由子午线弧长推算大地纬度的逐点计算
+ * <br>
+ * 大地纬度 [-π/2, π/2] 及子午线弧长 [-X(π/2), X(π/2)] 均等分为 {@value #SEGMENTS} 段，
+ * 每段以 {@value #DEGREE} 次切比雪夫多项式在切比雪夫节点上插值并展开为幂级数，查表时只需一次取整定位及一次Estrin求值，不调用三角函数，也不迭代；
+ * 函数在每段内解析，插值截断误差远小于双精度舍入误差，实际最大误差由构造时在每段内的检验点上与逐点计算结果对比求得，
+ * 对常用椭球约为：子午线弧长10^-8米，曲率半径10^-9米，大地纬度10^-15弧度
+ * <br>
+ * 查找表只与椭球有关，由 {@link GeodeticCoordinateSystem#getLatitudeTable()} 首次调用时创建，创建后不可变，可在任意线程中使用；
+ * 构建过程自身的三角函数使用 {@link StrictMath}，子午线弧长等逐点计算使用大地坐标系的计算后端，后端为 {@link MathBackend#STRICT} 时查找表逐位可复现
+ *
+ * @author Magic Crazy Man
+ * @see SolutionMethod#TABLE
+ */
+public final class LatitudeTable {
+
+    /**
+     * 分段数
+     */
+    public static final int SEGMENTS = 180;
+
+    /**
+     * 每段多项式的次数
+     */
+    public static final int DEGREE = 6;
+
+    /**
+     * 每段多项式的系数个数
+     */
+    private static final int WIDTH = DEGREE + 1;
+
+    /**
+     * 构造时每段内用于检验误差的点数
+     */
+    private static final int CHECKS = 16;
+
+    private static final double HALF_PI = Math.PI / 2;
+
+    /**
+     * 各函数的幂级数系数，自变量为段内规化至 [-1, 1] 的位置，第i段的系数位于 [i * WIDTH, (i + 1) * WIDTH)
+     */
+    private final double[] meridianArc, meridianCurvatureRadius, primeVerticalCurvatureRadius, averageCurvatureRadius, latitude;
+
+    /**
+     * 四分之一子午线弧长，单位：米
+     */
+    private final double quarterMeridianArc;
+
+    /**
+     * 每段宽度的倒数
+     */
+    private final double latitudeScale, arcScale;
+
+    /**
+     * 在检验点上求得的最大误差
+     */
+    private final double maxArcError, maxRadiusError, maxLatitudeError;
+
+    LatitudeTable(GeodeticCoordinateSystem system) {
+        double e2 = system.getSecondEccentricity();
+        quarterMeridianArc = system.calculateMeridianArc(HALF_PI);
+        latitudeScale = SEGMENTS / Math.PI;
+        arcScale = SEGMENTS / (2 * quarterMeridianArc);
+
+        meridianArc = fit(system::calculateMeridianArc, -HALF_PI, Math.PI);
+        meridianCurvatureRadius = fit(B -> system.calculateMeridianCurvatureRadius(eit2(e2, B)), -HALF_PI, Math.PI);
+        primeVerticalCurvatureRadius = fit(B -> system.calculatePrimeVerticalCurvatureRadius(eit2(e2, B)), -HALF_PI, Math.PI);
+        averageCurvatureRadius = fit(B -> system.calculateAverageCurvatureRadius(eit2(e2, B)), -HALF_PI, Math.PI);
+        latitude = fit(X -> latitudeFromMeridianArc(system, X), -quarterMeridianArc, 2 * quarterMeridianArc);
+
+        double arcError = 0, radiusError = 0, latitudeError = 0;
+        double latitudeStep = Math.PI / SEGMENTS, arcStep = 2 * quarterMeridianArc / SEGMENTS;
+        for (int i = 0; i < SEGMENTS; i++) {
+            for (int j = 0; j < CHECKS; j++) {
+                double t = (j + 0.5) / CHECKS;
+                double B = -HALF_PI + (i + t) * latitudeStep;
+                double eit2 = eit2(e2, B);
+                arcError = Math.max(arcError, Math.abs(meridianArc(B) - system.calculateMeridianArc(B)));
+                radiusError = Math.max(radiusError, Math.abs(meridianCurvatureRadius(B) - system.calculateMeridianCurvatureRadius(eit2)));
+                radiusError = Math.max(radiusError, Math.abs(primeVerticalCurvatureRadius(B) - system.calculatePrimeVerticalCurvatureRadius(eit2)));
+                radiusError = Math.max(radiusError, Math.abs(averageCurvatureRadius(B) - system.calculateAverageCurvatureRadius(eit2)));
+
+                double X = -quarterMeridianArc + (i + t) * arcStep;
+                latitudeError = Math.max(latitudeError, Math.abs(latitudeFromMeridianArc(X) - latitudeFromMeridianArc(system, X)));
+            }
+        }
+        maxArcError = arcError;
+        maxRadiusError = radiusError;
+        maxLatitudeError = latitudeError;
+    }
+
+    /**
+     * 由子午线弧长推算大地纬度的参考值，以闭合公式为初值，再以子午线弧长公式牛顿迭代至双精度舍入误差以内，与查表使用同一子午线弧长公式
+     */
+    private static double latitudeFromMeridianArc(GeodeticCoordinateSystem system, double X) {
+        double e2 = system.getSecondEccentricity();
+        double B = system.calculateGeodeticLatitudeFromMeridianArc(X, new double[2])[0];
+        for (int k = 0; k < 3; k++) {
+            B -= (system.calculateMeridianArc(B) - X) / system.calculateMeridianCurvatureRadius(eit2(e2, B));
+        }
+        return B;
+    }
+
+    /**
+     * η^2 = e'^2 * cos(B)^2
+     */
+    private static double eit2(double e2, double B) {
+        double cosB = StrictMath.cos(B);
+        return e2 * cosB * cosB;
+    }
+
+    @FunctionalInterface
+    private interface Function {
+        double apply(double x);
+    }
+
+    /**
+     * 将 [start, start + range] 等分为 {@value #SEGMENTS} 段，在每段的切比雪夫节点上插值，再由 T(k+1) = 2t * T(k) - T(k-1) 展开为幂级数
+     *
+     * @return 各段的幂级数系数
+     */
+    private static double[] fit(Function function, double start, double range) {
+        double[] coefficients = new double[SEGMENTS * WIDTH];
+        double[] values = new double[WIDTH];
+        double step = range / SEGMENTS;
+        for (int i = 0; i < SEGMENTS; i++) {
+            double center = start + (i + 0.5) * step;
+            for (int j = 0; j < WIDTH; j++) {
+                values[j] = function.apply(center + StrictMath.cos(Math.PI * (j + 0.5) / WIDTH) * step / 2);
+            }
+            //previous，current 为 T(k-1)，T(k) 的幂级数系数
+            double[] previous = new double[WIDTH], current = new double[WIDTH], next;
+            previous[0] = 1;
+            current[1] = 1;
+            for (int k = 0; k < WIDTH; k++) {
+                double sum = 0;
+                for (int j = 0; j < WIDTH; j++) {
+                    sum += values[j] * StrictMath.cos(Math.PI * k * (j + 0.5) / WIDTH);
+                }
+                double c = (k == 0 ? 1.0 : 2.0) / WIDTH * sum;
+                double[] chebyshev = k == 0 ? previous : current;
+                for (int m = 0; m < WIDTH; m++) {
+                    coefficients[i * WIDTH + m] += c * chebyshev[m];
+                }
+                if (k > 0) {
+                    next = new double[WIDTH];
+                    for (int m = 0; m < WIDTH; m++) {
+                        next[m] = (m > 0 ? 2 * current[m - 1] : 0) - previous[m];
+                    }
+                    previous = current;
+                    current = next;
+                }
+            }
+        }
+        return coefficients;
+    }
+
+    /**
+     * 定位所在分段并以Estrin方法求幂级数的值，各项分组求和以缩短依赖链
+     *
+     * @param c 幂级数系数
+     * @param u 以分段宽度为单位、自定义域起点起算的自变量，超出定义域时使用首段或末段外推
+     */
+    private static double evaluate(double[] c, double u) {
+        int segment = (int) u;
+        segment = segment < 0 ? 0 : Math.min(segment, SEGMENTS - 1);
+        double t = 2 * (u - segment) - 1;
+        double t2 = t * t;
+        int i = segment * WIDTH;
+        double p01 = c[i] + c[i + 1] * t;
+        double p23 = c[i + 2] + c[i + 3] * t;
+        double p45 = c[i + 4] + c[i + 5] * t;
+        return p01 + t2 * (p23 + t2 * (p45 + t2 * c[i + 6]));
+    }
+
+    /**
+     * 根据大地纬度查表求子午线弧长，单位：米
+     *
+     * @param B 大地纬度，单位：弧度
+     * @return 子午线弧长，单位：米
+     * @see GeodeticCoordinateSystem#calculateMeridianArc(double)
+     */
+    public double meridianArc(double B) {
+        return evaluate(meridianArc, (B + HALF_PI) * latitudeScale);
+    }
+
+    /**
+     * 根据大地纬度查表求子午圈曲率半径，单位：米
+     *
+     * @param B 大地纬度，单位：弧度
+     * @return 子午圈曲率半径，单位：米
+     * @see GeodeticCoordinateSystem#calculateMeridianCurvatureRadius(double)
+     */
+    public double meridianCurvatureRadius(double B) {
+        return evaluate(meridianCurvatureRadius, (B + HALF_PI) * latitudeScale);
+    }
+
+    /**
+     * 根据大地纬度查表求卯酉圈曲率半径，单位：米
+     *
+     * @param B 大地纬度，单位：弧度
+     * @return 卯酉圈曲率半径，单位：米
+     * @see GeodeticCoordinateSystem#calculatePrimeVerticalCurvatureRadius(double)
+     */
+    public double primeVerticalCurvatureRadius(double B) {
+        return evaluate(primeVerticalCurvatureRadius, (B + HALF_PI) * latitudeScale);
+    }
+
+    /**
+     * 根据大地纬度查表求平均曲率半径，单位：米
+     *
+     * @param B 大地纬度，单位：弧度
+     * @return 平均曲率半径，单位：米
+     * @see GeodeticCoordinateSystem#calculateAverageCurvatureRadius(double)
+     */
+    public double averageCurvatureRadius(double B) {
+        return evaluate(averageCurvatureRadius, (B + HALF_PI) * latitudeScale);
+    }
+
+    /**
+     * 根据子午线弧长查表求大地纬度
+     *
+     * @param X 子午线弧长，单位：米
+     * @return 大地纬度，单位：弧度
+     * @see GeodeticCoordinateSystem#calculateGeodeticLatitudeFromMeridianArc(double, double, SolutionMethod, double[])
+     */
+    public double latitudeFromMeridianArc(double X) {
+        return evaluate(latitude, (X + quarterMeridianArc) * arcScale);
+    }
+
+    /**
+     * 获取子午线弧长在检验点上的最大误差
+     *
+     * @return 最大误差，单位：米
+     */
+    public double getMaxArcError() {
+        return maxArcError;
+    }
+
+    /**
+     * 获取子午圈、卯酉圈及平均曲率半径在检验点上的最大误差
+     *
+     * @return 最大误差，单位：米
+     */
+    public double getMaxRadiusError() {
+        return maxRadiusError;
+    }
+
+    /**
+     * 获取由子午线弧长推算的大地纬度在检验点上的最大误差
+     *
+     * @return 最大误差，单位：弧度
+     */
+    public double getMaxLatitudeError() {
+        return maxLatitudeError;
+    }
+}
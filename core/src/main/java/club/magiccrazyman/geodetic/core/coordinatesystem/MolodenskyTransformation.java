@@ -0,0 +1,164 @@
+package club.magiccrazyman.geodetic.core.coordinatesystem;
+
+import club.magiccrazyman.geodetic.core.tools.MathBackend;
+import club.magiccrazyman.geodetic.core.tools.ParallelTools;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 大地坐标系间的莫洛金斯基（Molodensky）三参数转换
+ * <br>
+ * 直接由源大地坐标计算大地坐标改正数，无需经过空间直角坐标，适用于两个坐标系之间只有平移而无旋转、尺度差异的情况：
+ * <pre>
+ * ΔB = [-ΔX sinB cosL - ΔY sinB sinL + ΔZ cosB + Δa N e^2 sinB cosB / a + Δf (M a / b + N b / a) sinB cosB] / (M + H)
+ * ΔL = (-ΔX sinL + ΔY cosL) / ((N + H) cosB)
+ * ΔH = ΔX cosB cosL + ΔY cosB sinL + ΔZ sinB - Δa a / N + Δf N sin^2B b / a
+ * </pre>
+ * 其中a，b，e^2，M，N均属于源椭球，Δa，Δf为目标椭球与源椭球长半轴及扁率之差；
+ * 与 {@link HelmertTransformation} 只含平移参数时的结果相比，平移量为百米量级时差异在厘米量级
+ *
+ * @author Magic Crazy Man
+ */
+public class MolodenskyTransformation {
+
+    private final GeodeticCoordinateSystem source;
+    private final GeodeticCoordinateSystem target;
+
+    /**
+     * 平移参数，单位：米
+     */
+    private final double dx, dy, dz;
+
+    /**
+     * 源椭球长半轴a，第一偏心率e^2，b / a，a / b
+     */
+    private final double a, e2, bOverA, aOverB;
+
+    /**
+     * 目标椭球与源椭球长半轴之差Δa，扁率之差Δf
+     */
+    private final double da, df;
+
+    /**
+     * 莫洛金斯基转换构造器
+     *
+     * @param source 源大地坐标系
+     * @param target 目标大地坐标系
+     * @param dx     X轴平移，单位：米
+     * @param dy     Y轴平移，单位：米
+     * @param dz     Z轴平移，单位：米
+     */
+    public MolodenskyTransformation(GeodeticCoordinateSystem source, GeodeticCoordinateSystem target, double dx, double dy, double dz) {
+        this.source = source;
+        this.target = target;
+        this.dx = dx;
+        this.dy = dy;
+        this.dz = dz;
+
+        double sa = source.getSemimajorAxis(), sb = source.getSemiminorAxis();
+        double ta = target.getSemimajorAxis(), tb = target.getSemiminorAxis();
+        this.a = sa;
+        this.e2 = source.getFirstEccentricity();
+        this.bOverA = sb / sa;
+        this.aOverB = sa / sb;
+        this.da = ta - sa;
+        //扁率由长短半轴计算
+        this.df = (ta - tb) / ta - (sa - sb) / sa;
+    }
+
+    /**
+     * 莫洛金斯基转换，三角函数由源大地坐标系的计算后端求得，计算结果写入调用方提供的数组，计算过程不产生任何对象
+     *
+     * @param L      源大地经度，单位：弧度
+     * @param B      源大地纬度，单位：弧度
+     * @param H      源大地高，单位：米
+     * @param output 长度不小于3的输出数组
+     * @return 以L，B，H（目标大地坐标）顺序写入的output数组
+     */
+    public double[] transform(double L, double B, double H, double[] output) {
+        MathBackend backend = source.getMathBackend();
+        double sinB = backend.sin(B), cosB = backend.cos(B);
+        double sinL = backend.sin(L), cosL = backend.cos(L);
+        double w2 = 1 - e2 * sinB * sinB;
+        double N = a / Math.sqrt(w2);
+        double M = a * (1 - e2) / (w2 * Math.sqrt(w2));
+
+        double dB = (-dx * sinB * cosL - dy * sinB * sinL + dz * cosB
+                + da * N * e2 * sinB * cosB / a
+                + df * (M * aOverB + N * bOverA) * sinB * cosB) / (M + H);
+        double dL = (-dx * sinL + dy * cosL) / ((N + H) * cosB);
+        double dH = dx * cosB * cosL + dy * cosB * sinL + dz * sinB
+                - da * a / N
+                + df * bOverA * N * sinB * sinB;
+
+        output[0] = L + dL;
+        output[1] = B + dB;
+        output[2] = H + dH;
+        return output;
+    }
+
+    /**
+     * 批量莫洛金斯基转换，输入及输出均以结构数组形式存放，第i个点的计算结果写入输出数组的第i位
+     *
+     * @param L      源大地经度数组，单位：弧度
+     * @param B      源大地纬度数组，单位：弧度
+     * @param H      源大地高数组，单位：米
+     * @param offset 起始下标
+     * @param length 计算点数
+     * @param L2     目标大地经度输出数组，单位：弧度
+     * @param B2     目标大地纬度输出数组，单位：弧度
+     * @param H2     目标大地高输出数组，单位：米
+     * @throws IndexOutOfBoundsException 当任一数组长度不足时抛出此异常
+     */
+    public void transform(double[] L, double[] B, double[] H, int offset, int length, double[] L2, double[] B2, double[] H2) {
+        ParallelTools.checkBulkArrays(offset, length, L, B, H, L2, B2, H2);
+        transformRange(L, B, H, offset, offset + length, L2, B2, H2);
+    }
+
+    /**
+     * 在ForkJoinPool中分段并行地批量进行莫洛金斯基转换
+     *
+     * @param L      源大地经度数组，单位：弧度
+     * @param B      源大地纬度数组，单位：弧度
+     * @param H      源大地高数组，单位：米
+     * @param offset 起始下标
+     * @param length 计算点数
+     * @param L2     目标大地经度输出数组，单位：弧度
+     * @param B2     目标大地纬度输出数组，单位：弧度
+     * @param H2     目标大地高输出数组，单位：米
+     * @param pool   执行并行计算的ForkJoinPool
+     * @throws IndexOutOfBoundsException 当任一数组长度不足时抛出此异常
+     */
+    public void transform(double[] L, double[] B, double[] H, int offset, int length, double[] L2, double[] B2, double[] H2, ForkJoinPool pool) {
+        ParallelTools.checkBulkArrays(offset, length, L, B, H, L2, B2, H2);
+        ParallelTools.forRange(pool, offset, length, (from, to) -> transformRange(L, B, H, from, to, L2, B2, H2));
+    }
+
+    private void transformRange(double[] L, double[] B, double[] H, int from, int to, double[] L2, double[] B2, double[] H2) {
+        double[] output = new double[3]; //同一区间内复用
+        for (int i = from; i < to; i++) {
+            transform(L[i], B[i], H[i], output);
+            L2[i] = output[0];
+            B2[i] = output[1];
+            H2[i] = output[2];
+        }
+    }
+
+    /**
+     * 获取源大地坐标系
+     *
+     * @return 源大地坐标系
+     */
+    public GeodeticCoordinateSystem getSource() {
+        return source;
+    }
+
+    /**
+     * 获取目标大地坐标系
+     *
+     * @return 目标大地坐标系
+     */
+    public GeodeticCoordinateSystem getTarget() {
+        return target;
+    }
+}
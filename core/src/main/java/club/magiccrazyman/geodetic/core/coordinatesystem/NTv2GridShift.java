@@ -0,0 +1,392 @@
+package club.magiccrazyman.geodetic.core.coordinatesystem;
+
+import club.magiccrazyman.geodetic.core.tools.ParallelTools;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 基于NTv2格网文件的大地坐标改正
+ * <br>
+ * 格网文件以内存映射方式只读打开，每个子格网的改正数据单独映射，不读入堆内存，多个线程可共享同一实例；
+ * 打开时只读取文件头并建立子格网的层级索引，查询时优先使用覆盖该点的最精细子格网，在格网单元内双线性内插，查询过程不产生任何对象
+ * <br>
+ * NTv2文件结构：总文件头（11条记录）+ 若干子格网（子格网头11条记录 + GS_COUNT个格网点）+ 结束记录，每条记录16字节；
+ * 格网点按由南至北、每行由东至西的顺序存放，每点依次为纬度改正、经度改正、纬度精度、经度精度，均为4字节浮点数，单位：秒，经度以西为正；
+ * 字节序由 NUM_OREC 记录自动识别，仅支持 GS_TYPE 为 SECONDS 的文件
+ *
+ * @author Magic Crazy Man
+ */
+public class NTv2GridShift {
+
+    /**
+     * 每条记录的字节数
+     */
+    private static final int RECORD_LENGTH = 16;
+
+    /**
+     * 总文件头及子格网头的记录数
+     */
+    private static final int HEADER_RECORDS = 11;
+
+    /**
+     * 一角秒对应的弧度
+     */
+    private static final double ARC_SECOND = Math.PI / 180 / 3600;
+
+    /**
+     * 反向改正的最大迭代次数及收敛阈值（弧度）
+     */
+    private static final int MAX_INVERSE_ITERATIONS = 10;
+    private static final double INVERSE_TOLERANCE = 1e-12;
+
+    private final String sourceSystemName;
+    private final String targetSystemName;
+
+    /**
+     * 所有子格网，按文件中的顺序排列
+     */
+    private final SubGrid[] grids;
+
+    /**
+     * 顶层子格网（PARENT为NONE）的下标
+     */
+    private final int[] roots;
+
+    /**
+     * 打开NTv2格网文件，读取文件头并映射所有子格网
+     *
+     * @param file NTv2格网文件路径
+     * @throws IOException 当文件无法读取或格式不正确时抛出此异常
+     */
+    public NTv2GridShift(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_RECORDS * RECORD_LENGTH);
+            readFully(channel, header, 0);
+
+            ByteOrder order = header.order(ByteOrder.LITTLE_ENDIAN).getInt(8) == HEADER_RECORDS ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
+            header.order(order);
+            if (header.getInt(8) != HEADER_RECORDS || !"NUM_OREC".equals(recordName(header, 0))) {
+                throw new IOException("不是有效的NTv2格网文件：" + file);
+            }
+            int subGridCount = header.getInt(2 * RECORD_LENGTH + 8);
+            String gsType = recordText(header, 3);
+            if (!"SECONDS".equals(gsType)) {
+                throw new IOException("不支持的GS_TYPE：" + gsType);
+            }
+            sourceSystemName = recordText(header, 5);
+            targetSystemName = recordText(header, 6);
+
+            grids = new SubGrid[subGridCount];
+            long position = HEADER_RECORDS * RECORD_LENGTH;
+            for (int i = 0; i < subGridCount; i++) {
+                header.clear();
+                readFully(channel, header, position);
+                SubGrid grid = new SubGrid(header);
+                position += HEADER_RECORDS * RECORD_LENGTH;
+
+                long dataLength = (long) grid.rows * grid.cols * RECORD_LENGTH;
+                if (dataLength > Integer.MAX_VALUE || position + dataLength > channel.size()) {
+                    throw new IOException("子格网数据长度不正确：" + grid.name);
+                }
+                grid.data = channel.map(FileChannel.MapMode.READ_ONLY, position, dataLength);
+                grid.data.order(order);
+                position += dataLength;
+                grids[i] = grid;
+            }
+        }
+
+        //建立子格网层级索引
+        ArrayList<Integer> rootList = new ArrayList<>();
+        for (int i = 0; i < grids.length; i++) {
+            ArrayList<Integer> children = new ArrayList<>();
+            for (int j = 0; j < grids.length; j++) {
+                if (grids[j].parent.equals(grids[i].name)) {
+                    children.add(j);
+                }
+            }
+            grids[i].children = children.stream().mapToInt(Integer::intValue).toArray();
+            if ("NONE".equals(grids[i].parent)) {
+                rootList.add(i);
+            }
+        }
+        roots = rootList.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * 大地坐标改正，计算结果写入调用方提供的数组，计算过程不产生任何对象
+     *
+     * @param L      大地经度，单位：弧度，以东为正
+     * @param B      大地纬度，单位：弧度
+     * @param output 长度不小于3的输出数组
+     * @return 以L(改正后大地经度)，B(改正后大地纬度)，index(所用子格网下标，不在格网范围内时为-1且坐标不改正)顺序写入的output数组
+     */
+    public double[] shift(double L, double B, double[] output) {
+        double lat = B / ARC_SECOND, lon = -L / ARC_SECOND;
+        int index = find(-1, lat, lon);
+        if (index < 0) {
+            output[0] = L;
+            output[1] = B;
+        } else {
+            interpolate(grids[index], lat, lon, output);
+            output[0] = L - output[1] * ARC_SECOND;
+            output[1] = B + output[2] * ARC_SECOND;
+        }
+        output[2] = index;
+        return output;
+    }
+
+    /**
+     * 反向大地坐标改正，即由改正后的坐标迭代求改正前的坐标，计算结果写入调用方提供的数组，计算过程不产生任何对象
+     * <br>
+     * 迭代点越出格网时（如格网边缘附近的点），返回最后一个位于格网内的迭代点及其所用子格网
+     *
+     * @param L      改正后大地经度，单位：弧度，以东为正
+     * @param B      改正后大地纬度，单位：弧度
+     * @param output 长度不小于3的输出数组
+     * @return 以L(改正前大地经度)，B(改正前大地纬度)，index(最后一次格网内迭代所用子格网下标，不在格网范围内时为-1且坐标不改正)顺序写入的output数组
+     */
+    public double[] inverseShift(double L, double B, double[] output) {
+        double L0 = L, B0 = B;
+        //最后一个位于格网内的迭代点
+        double Lg = L, Bg = B, index = -1;
+        for (int i = 0; i < MAX_INVERSE_ITERATIONS; i++) {
+            shift(L0, B0, output);
+            if (output[2] < 0) {
+                L0 = Lg;
+                B0 = Bg;
+                break;
+            }
+            Lg = L0;
+            Bg = B0;
+            index = output[2];
+            double dL = output[0] - L, dB = output[1] - B;
+            L0 -= dL;
+            B0 -= dB;
+            if (Math.abs(dL) <= INVERSE_TOLERANCE && Math.abs(dB) <= INVERSE_TOLERANCE) {
+                break;
+            }
+        }
+        output[0] = L0;
+        output[1] = B0;
+        output[2] = index;
+        return output;
+    }
+
+    /**
+     * 批量大地坐标改正，输入及输出均以结构数组形式存放，第i个点的计算结果写入输出数组的第i位
+     * <br>
+     * 每个点先检查上一个点所用的子格网，输入按空间位置排序（如按行列扫描）时几乎不需要重新查找子格网
+     *
+     * @param L      大地经度数组，单位：弧度
+     * @param B      大地纬度数组，单位：弧度
+     * @param offset 起始下标
+     * @param length 计算点数
+     * @param L2     改正后大地经度输出数组，单位：弧度
+     * @param B2     改正后大地纬度输出数组，单位：弧度
+     * @return 不在格网范围内（未改正）的点数
+     * @throws IndexOutOfBoundsException 当任一数组长度不足时抛出此异常
+     */
+    public int shift(double[] L, double[] B, int offset, int length, double[] L2, double[] B2) {
+        ParallelTools.checkBulkArrays(offset, length, L, B, L2, B2);
+        return shiftRange(L, B, offset, offset + length, L2, B2);
+    }
+
+    /**
+     * 在ForkJoinPool中分段并行地批量进行大地坐标改正，每个子区间独立利用空间局部性
+     *
+     * @param L      大地经度数组，单位：弧度
+     * @param B      大地纬度数组，单位：弧度
+     * @param offset 起始下标
+     * @param length 计算点数
+     * @param L2     改正后大地经度输出数组，单位：弧度
+     * @param B2     改正后大地纬度输出数组，单位：弧度
+     * @param pool   执行并行计算的ForkJoinPool
+     * @return 不在格网范围内（未改正）的点数
+     * @throws IndexOutOfBoundsException 当任一数组长度不足时抛出此异常
+     */
+    public int shift(double[] L, double[] B, int offset, int length, double[] L2, double[] B2, ForkJoinPool pool) {
+        ParallelTools.checkBulkArrays(offset, length, L, B, L2, B2);
+        AtomicInteger outside = new AtomicInteger();
+        ParallelTools.forRange(pool, offset, length, (from, to) -> outside.addAndGet(shiftRange(L, B, from, to, L2, B2)));
+        return outside.get();
+    }
+
+    private int shiftRange(double[] L, double[] B, int from, int to, double[] L2, double[] B2) {
+        double[] output = new double[3]; //同一区间内复用
+        int last = -1, outside = 0;
+        for (int i = from; i < to; i++) {
+            double lat = B[i] / ARC_SECOND, lon = -L[i] / ARC_SECOND;
+            last = find(last, lat, lon);
+            if (last < 0) {
+                L2[i] = L[i];
+                B2[i] = B[i];
+                outside++;
+            } else {
+                interpolate(grids[last], lat, lon, output);
+                L2[i] = L[i] - output[1] * ARC_SECOND;
+                B2[i] = B[i] + output[2] * ARC_SECOND;
+            }
+        }
+        return outside;
+    }
+
+    /**
+     * 查找覆盖该点的最精细子格网；hint所指子格网覆盖该点且没有更精细的子格网覆盖该点时直接返回hint
+     *
+     * @param hint 上一次查找结果，-1表示没有
+     * @param lat  纬度，单位：秒
+     * @param lon  经度，单位：秒，以西为正
+     * @return 子格网下标，不在任何子格网范围内时返回-1
+     */
+    private int find(int hint, double lat, double lon) {
+        if (hint >= 0 && grids[hint].contains(lat, lon)) {
+            return descend(hint, lat, lon);
+        }
+        for (int root : roots) {
+            if (grids[root].contains(lat, lon)) {
+                return descend(root, lat, lon);
+            }
+        }
+        return -1;
+    }
+
+    private int descend(int index, double lat, double lon) {
+        boolean found = true;
+        while (found) {
+            found = false;
+            for (int child : grids[index].children) {
+                if (grids[child].contains(lat, lon)) {
+                    index = child;
+                    found = true;
+                    break;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * 在子格网中双线性内插经纬度改正数，纬度改正数写入output[2]，经度改正数（以西为正）写入output[1]，单位：秒
+     */
+    private static void interpolate(SubGrid grid, double lat, double lon, double[] output) {
+        double x = (lon - grid.east) / grid.lonInc;
+        double y = (lat - grid.south) / grid.latInc;
+        int col = Math.min((int) x, grid.cols - 2);
+        int row = Math.min((int) y, grid.rows - 2);
+        double fx = x - col, fy = y - row;
+
+        MappedByteBuffer data = grid.data;
+        int i00 = (row * grid.cols + col) * RECORD_LENGTH;
+        int i10 = i00 + RECORD_LENGTH;
+        int i01 = i00 + grid.cols * RECORD_LENGTH;
+        int i11 = i01 + RECORD_LENGTH;
+
+        output[2] = bilinear(data.getFloat(i00), data.getFloat(i10), data.getFloat(i01), data.getFloat(i11), fx, fy);
+        output[1] = bilinear(data.getFloat(i00 + 4), data.getFloat(i10 + 4), data.getFloat(i01 + 4), data.getFloat(i11 + 4), fx, fy);
+    }
+
+    private static double bilinear(double v00, double v10, double v01, double v11, double fx, double fy) {
+        return v00 + (v10 - v00) * fx + (v01 - v00) * fy + (v00 - v10 - v01 + v11) * fx * fy;
+    }
+
+    /**
+     * 获取格网文件的源坐标系名称（SYSTEM_F）
+     *
+     * @return 源坐标系名称
+     */
+    public String getSourceSystemName() {
+        return sourceSystemName;
+    }
+
+    /**
+     * 获取格网文件的目标坐标系名称（SYSTEM_T）
+     *
+     * @return 目标坐标系名称
+     */
+    public String getTargetSystemName() {
+        return targetSystemName;
+    }
+
+    /**
+     * 获取子格网数量
+     *
+     * @return 子格网数量
+     */
+    public int getSubGridCount() {
+        return grids.length;
+    }
+
+    /**
+     * 获取子格网名称（SUB_NAME）
+     *
+     * @param index 子格网下标，与 {@link #shift(double, double, double[])} 输出的index一致
+     * @return 子格网名称
+     */
+    public String getSubGridName(int index) {
+        return grids[index].name;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("NTv2格网文件不完整");
+            }
+        }
+    }
+
+    private static String recordName(ByteBuffer header, int offset) {
+        byte[] bytes = new byte[8];
+        header.get(offset, bytes, 0, 8);
+        return new String(bytes, StandardCharsets.US_ASCII).trim();
+    }
+
+    private static String recordText(ByteBuffer header, int record) {
+        return recordName(header, record * RECORD_LENGTH + 8);
+    }
+
+    /**
+     * 子格网，边界及间隔单位：秒，经度以西为正
+     */
+    private static final class SubGrid {
+        private final String name;
+        private final String parent;
+        private final double south, north, east, west, latInc, lonInc;
+        private final int rows, cols;
+        private MappedByteBuffer data;
+        private int[] children;
+
+        private SubGrid(ByteBuffer header) throws IOException {
+            if (!"SUB_NAME".equals(recordName(header, 0))) {
+                throw new IOException("子格网头不正确");
+            }
+            name = recordText(header, 0);
+            parent = recordText(header, 1);
+            south = header.getDouble(4 * RECORD_LENGTH + 8);
+            north = header.getDouble(5 * RECORD_LENGTH + 8);
+            east = header.getDouble(6 * RECORD_LENGTH + 8);
+            west = header.getDouble(7 * RECORD_LENGTH + 8);
+            latInc = header.getDouble(8 * RECORD_LENGTH + 8);
+            lonInc = header.getDouble(9 * RECORD_LENGTH + 8);
+            rows = (int) Math.round((north - south) / latInc) + 1;
+            cols = (int) Math.round((west - east) / lonInc) + 1;
+            int count = header.getInt(10 * RECORD_LENGTH + 8);
+            if (rows < 2 || cols < 2 || (long) rows * cols != count) {
+                throw new IOException("子格网范围与格网点数不一致：" + name);
+            }
+        }
+
+        private boolean contains(double lat, double lon) {
+            return lat >= south && lat <= north && lon >= east && lon <= west;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package club.magiccrazyman.geodetic.core.coordinatesystem;
+
+/**
+ * 大地纬度的解算方法
+ *
+ * @author Magic Crazy Man
+ */
+public enum SolutionMethod {
+
+    /**
+     * 迭代法，迭代次数取决于迭代精度及大地纬度，与《大地测量学基础》（第二版）一致
+     */
+    ITERATION,
+
+    /**
+     * 闭合公式法，无需迭代，每个点的计算量恒定，迭代精度参数将被忽略
+     */
+    CLOSED_FORM,
+
+    /**
+     * 查表法，由子午线弧长在 {@link LatitudeTable} 中查表求得大地纬度，无需迭代也不调用三角函数，迭代精度参数将被忽略；
+     * 只适用于根据子午线弧长推算大地纬度（包括高斯克吕格投影反算的底点纬度），不适用于空间直角坐标转换为大地坐标
+     */
+    TABLE
+}
@@ -1,9 +1,19 @@
 package club.magiccrazyman.geodetic.core.coordinatesystem.projection;
 
+import club.magiccrazyman.geodetic.core.coordinatesystem.CalculationTrace;
 import club.magiccrazyman.geodetic.core.coordinatesystem.GeodeticCoordinateSystem;
+import club.magiccrazyman.geodetic.core.coordinatesystem.HelmertTransformation;
+import club.magiccrazyman.geodetic.core.coordinatesystem.LatitudeTable;
+import club.magiccrazyman.geodetic.core.coordinatesystem.SolutionMethod;
+import club.magiccrazyman.geodetic.core.metrics.MetricOperation;
+import club.magiccrazyman.geodetic.core.metrics.Metrics;
 import club.magiccrazyman.geodetic.core.tools.CalculationTools;
+import club.magiccrazyman.geodetic.core.tools.MathBackend;
+import club.magiccrazyman.geodetic.core.tools.ParallelTools;
 
 import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * 高斯克吕格投影坐标系
@@ -32,6 +42,11 @@ public class GaussKrugerProjectionCoordinateSystem {
      */
     private final double centralMeridian;
 
+    /**
+     * 中央子午线，单位：弧度
+     */
+    private final double centralMeridianRadians;
+
     /**
      * 缩放因子
      */
@@ -69,6 +84,34 @@ public class GaussKrugerProjectionCoordinateSystem {
      */
     private final GeodeticCoordinateSystem geodeticCoordinateSystem;
 
+    /**
+     * 基于Krüger级数的投影实例，与此投影坐标系使用相同的参数
+     *
+     * @see KrugerTransverseMercator
+     */
+    private final KrugerTransverseMercator krugerTransverseMercator;
+
+    /**
+     * 投影正反算使用的三角函数计算后端
+     *
+     * @see MathBackend
+     */
+    private final MathBackend mathBackend;
+
+    /**
+     * 投影正反算使用的纬度查找表，未启用时为null
+     *
+     * @see LatitudeTable
+     */
+    private final LatitudeTable latitudeTable;
+
+    /**
+     * 以目标投影坐标系为键的换带计划缓存
+     *
+     * @see TransformPlan
+     */
+    private final ConcurrentHashMap<GaussKrugerProjectionCoordinateSystem, TransformPlan> transformPlans = new ConcurrentHashMap<>();
+
     /**
      * 高斯克吕格投影坐标系构造器
      *
@@ -84,16 +127,63 @@ public class GaussKrugerProjectionCoordinateSystem {
      * @param name                     坐标系名称
      */
     public GaussKrugerProjectionCoordinateSystem(GeodeticCoordinateSystem geodeticCoordinateSystem, int degree, boolean hasZoneNum, double falseEasting, double falseNorthing, double centralMeridian, double scaleFactor, double latitudeOfOrigin, String linerUnit, String name) {
+        this(geodeticCoordinateSystem, degree, hasZoneNum, falseEasting, falseNorthing, centralMeridian, scaleFactor, latitudeOfOrigin, linerUnit, name, MathBackend.JAVA);
+    }
+
+    /**
+     * 高斯克吕格投影坐标系构造器，指定投影正反算使用的三角函数计算后端
+     *
+     * @param geodeticCoordinateSystem 大地坐标系
+     * @param degree                   分度带
+     * @param hasZoneNum               Y轴坐标值是否会添加带号
+     * @param falseEasting             东伪偏移值，单位：米
+     * @param falseNorthing            北伪偏移值，单位：米
+     * @param centralMeridian          中央子午线，单位：十进制度
+     * @param scaleFactor              缩放因子
+     * @param latitudeOfOrigin         纬度起点
+     * @param linerUnit                线性单位
+     * @param name                     坐标系名称
+     * @param mathBackend              三角函数计算后端
+     */
+    public GaussKrugerProjectionCoordinateSystem(GeodeticCoordinateSystem geodeticCoordinateSystem, int degree, boolean hasZoneNum, double falseEasting, double falseNorthing, double centralMeridian, double scaleFactor, double latitudeOfOrigin, String linerUnit, String name, MathBackend mathBackend) {
+        this(geodeticCoordinateSystem, degree, hasZoneNum, falseEasting, falseNorthing, centralMeridian, scaleFactor, latitudeOfOrigin, linerUnit, name, mathBackend, false);
+    }
+
+    /**
+     * 高斯克吕格投影坐标系构造器，指定投影正反算使用的三角函数计算后端及是否使用纬度查找表
+     * <br>
+     * 启用纬度查找表时，正算的子午线弧长及卯酉圈曲率半径、反算的底点纬度及曲率半径均由大地坐标系的 {@link LatitudeTable} 查表求得，
+     * 未指定解算方法的反算不再迭代，迭代精度参数将被忽略，误差见 {@link LatitudeTable}；
+     * 坐标点集中于较窄的纬度范围时，查找表的系数常驻缓存，适合大批量计算
+     *
+     * @param geodeticCoordinateSystem 大地坐标系
+     * @param degree                   分度带
+     * @param hasZoneNum               Y轴坐标值是否会添加带号
+     * @param falseEasting             东伪偏移值，单位：米
+     * @param falseNorthing            北伪偏移值，单位：米
+     * @param centralMeridian          中央子午线，单位：十进制度
+     * @param scaleFactor              缩放因子
+     * @param latitudeOfOrigin         纬度起点
+     * @param linerUnit                线性单位
+     * @param name                     坐标系名称
+     * @param mathBackend              三角函数计算后端
+     * @param latitudeTable            是否使用纬度查找表
+     */
+    public GaussKrugerProjectionCoordinateSystem(GeodeticCoordinateSystem geodeticCoordinateSystem, int degree, boolean hasZoneNum, double falseEasting, double falseNorthing, double centralMeridian, double scaleFactor, double latitudeOfOrigin, String linerUnit, String name, MathBackend mathBackend, boolean latitudeTable) {
         this.geodeticCoordinateSystem = geodeticCoordinateSystem;
         this.degree = degree;
         this.hasZoneNum = hasZoneNum;
         this.falseEasting = falseEasting;
         this.falseNorthing = falseNorthing;
         this.centralMeridian = centralMeridian;
+        this.centralMeridianRadians = CalculationTools.degrees2Radians(centralMeridian);
         this.scaleFactor = scaleFactor;
         this.latitudeOfOrigin = latitudeOfOrigin;
         this.linerUnit = linerUnit;
         this.name = name;
+        this.mathBackend = mathBackend;
+        this.latitudeTable = latitudeTable ? geodeticCoordinateSystem.getLatitudeTable() : null;
+        this.krugerTransverseMercator = new KrugerTransverseMercator(geodeticCoordinateSystem, centralMeridianRadians, scaleFactor, falseEasting, falseNorthing);
     }
 
     /**
@@ -104,24 +194,69 @@ public class GaussKrugerProjectionCoordinateSystem {
      * @param L 大地经度，单位：弧度
      * @param B 大地纬度，单位：弧度
      * @return 以xz(X轴偏移坐标值)，yz(Y轴偏移坐标值)，x(X轴真坐标值)，y(Y轴真坐标值)，l(经差)，S(中央子午线弧长)，N(卯酉圈曲率半径)顺序排列的ArrayList
+     * @see GaussKrugerProjectionCoordinateSystem#forwardCalculation(double, double, double[])
      */
     public ArrayList<Double> forwardCalculation(double L, double B) {
         ArrayList<Double> list = new ArrayList<>();
+        double[] values = forwardCalculation(L, B, new double[7]);
+
+        for (double value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    /**
+     * 高斯克吕格投影正算，将大地坐标系坐标点投影至高斯克吕格投影坐标系上，计算结果写入调用方提供的数组，计算过程不产生任何对象
+     * <br>
+     * 详细请参考《大地测量学基础》（第二版），武汉大学出版社。第169页
+     *
+     * @param L      大地经度，单位：弧度
+     * @param B      大地纬度，单位：弧度
+     * @param output 长度不小于7的输出数组
+     * @return 以xz(X轴偏移坐标值)，yz(Y轴偏移坐标值)，x(X轴真坐标值)，y(Y轴真坐标值)，l(经差)，S(中央子午线弧长)，N(卯酉圈曲率半径)顺序写入的output数组
+     */
+    public double[] forwardCalculation(double L, double B, double[] output) {
+        return forwardCalculation(L, B, mathBackend, output);
+    }
 
-        double X, l, N, t, eit2, x, y, xz, yz;
-        l = L - CalculationTools.degrees2Radians(centralMeridian); //计算坐标点与中央子午线的经差
-        X = geodeticCoordinateSystem.calculateMeridianArc(B); //根据大地纬度计算子午线弧长
-        t = Math.tan(B); //t = atan(B)
-        eit2 = geodeticCoordinateSystem.getSecondEccentricity() * Math.pow(Math.cos(B), 2); //η^2 = e'^2 * cos(B)^2
-        N = geodeticCoordinateSystem.calculatePrimeVerticalCurvatureRadius(eit2); //计算卯酉圈曲率半径
+    /**
+     * 高斯克吕格投影正算，三角函数由指定的计算后端求得，计算结果写入调用方提供的数组，计算过程不产生任何对象
+     * <br>
+     * 详细请参考《大地测量学基础》（第二版），武汉大学出版社。第169页
+     *
+     * @param L       大地经度，单位：弧度
+     * @param B       大地纬度，单位：弧度
+     * @param backend 三角函数计算后端
+     * @param output  长度不小于7的输出数组
+     * @return 以xz(X轴偏移坐标值)，yz(Y轴偏移坐标值)，x(X轴真坐标值)，y(Y轴真坐标值)，l(经差)，S(中央子午线弧长)，N(卯酉圈曲率半径)顺序写入的output数组
+     */
+    public double[] forwardCalculation(double L, double B, MathBackend backend, double[] output) {
+        long start = Metrics.start();
+        double X, l, l2, N, t2, eit2, sinB, cosB, cosB2, x, y, xz, yz;
+        l = L - centralMeridianRadians; //计算坐标点与中央子午线的经差
+        l2 = l * l;
+        backend.sincos(B, output); //sin(B)，cos(B)暂存于output前两位
+        sinB = output[0];
+        cosB = output[1];
+        cosB2 = cosB * cosB;
+        t2 = sinB * sinB / cosB2; //t = tan(B)
+        eit2 = geodeticCoordinateSystem.getSecondEccentricity() * cosB2; //η^2 = e'^2 * cos(B)^2
+        if (latitudeTable == null) {
+            X = geodeticCoordinateSystem.calculateMeridianArc(B, sinB, cosB); //根据大地纬度计算子午线弧长
+            N = geodeticCoordinateSystem.calculatePrimeVerticalCurvatureRadius(eit2); //计算卯酉圈曲率半径
+        } else {
+            X = latitudeTable.meridianArc(B);
+            N = latitudeTable.primeVerticalCurvatureRadius(B);
+        }
 
         //x, y 为无偏移量真值
-        x = X + N * Math.sin(B) * Math.cos(B) * Math.pow(l, 2) / 2 +
-                N * Math.sin(B) * Math.pow(Math.cos(B), 3) * (5 - Math.pow(t, 2) + 9 * eit2 + 4 * Math.pow(eit2, 2)) * Math.pow(l, 4) / 24 +
-                N * Math.sin(B) * Math.pow(Math.cos(B), 5) * (61 - 58 * Math.pow(t, 2) + Math.pow(t, 4)) * Math.pow(l, 6) / 720;
-        y = N * Math.cos(B) * l +
-                N * Math.pow(Math.cos(B), 3) * (1 - Math.pow(t, 2) + eit2) * Math.pow(l, 3) / 6 +
-                N * Math.pow(Math.cos(B), 5) * (5 - 18 * Math.pow(t, 2) + Math.pow(t, 4) + 14 * eit2 - 58 * eit2 * Math.pow(t, 2)) * Math.pow(l, 5) / 120;
+        x = X + N * sinB * cosB * l2 / 2 +
+                N * sinB * cosB * cosB2 * (5 - t2 + 9 * eit2 + 4 * eit2 * eit2) * l2 * l2 / 24 +
+                N * sinB * cosB * cosB2 * cosB2 * (61 - 58 * t2 + t2 * t2) * l2 * l2 * l2 / 720;
+        y = N * cosB * l +
+                N * cosB * cosB2 * (1 - t2 + eit2) * l * l2 / 6 +
+                N * cosB * cosB2 * cosB2 * (5 - 18 * t2 + t2 * t2 + 14 * eit2 - 58 * eit2 * t2) * l * l2 * l2 / 120;
 
         //计算缩放因子
         x *= scaleFactor;
@@ -131,14 +266,71 @@ public class GaussKrugerProjectionCoordinateSystem {
         yz = y + falseEasting;
         xz = x + falseNorthing;
 
-        list.add(xz);
-        list.add(yz);
-        list.add(x);
-        list.add(y);
-        list.add(l);
-        list.add(X);
-        list.add(N);
-        return list;
+        output[0] = xz;
+        output[1] = yz;
+        output[2] = x;
+        output[3] = y;
+        output[4] = l;
+        output[5] = X;
+        output[6] = N;
+        Metrics.record(MetricOperation.FORWARD_CALCULATION, name, start, 0);
+        return output;
+    }
+
+    /**
+     * 批量高斯克吕格投影正算，输入及输出均以结构数组形式存放，第i个点的计算结果写入输出数组的第i位，计算过程不产生任何对象
+     * <br>
+     * 详细请参考《大地测量学基础》（第二版），武汉大学出版社。第169页
+     *
+     * @param L      大地经度数组，单位：弧度
+     * @param B      大地纬度数组，单位：弧度
+     * @param offset 起始下标
+     * @param length 计算点数
+     * @param xz     X轴偏移坐标值输出数组，单位：米
+     * @param yz     Y轴偏移坐标值输出数组，单位：米
+     * @throws IndexOutOfBoundsException 当任一数组长度不足时抛出此异常
+     * @see GaussKrugerProjectionCoordinateSystem#forwardCalculation(double, double, double[])
+     */
+    public void forwardCalculation(double[] L, double[] B, int offset, int length, double[] xz, double[] yz) {
+        ParallelTools.checkBulkArrays(offset, length, L, B, xz, yz);
+        forwardCalculationRange(L, B, offset, offset + length, xz, yz);
+    }
+
+    /**
+     * 在ForkJoinPool中分段并行地批量进行高斯克吕格投影正算
+     *
+     * @param L      大地经度数组，单位：弧度
+     * @param B      大地纬度数组，单位：弧度
+     * @param offset 起始下标
+     * @param length 计算点数
+     * @param xz     X轴偏移坐标值输出数组，单位：米
+     * @param yz     Y轴偏移坐标值输出数组，单位：米
+     * @param pool   执行并行计算的ForkJoinPool
+     * @throws IndexOutOfBoundsException 当任一数组长度不足时抛出此异常
+     * @see GaussKrugerProjectionCoordinateSystem#forwardCalculation(double[], double[], int, int, double[], double[])
+     */
+    public void forwardCalculation(double[] L, double[] B, int offset, int length, double[] xz, double[] yz, ForkJoinPool pool) {
+        ParallelTools.checkBulkArrays(offset, length, L, B, xz, yz);
+        ParallelTools.forRange(pool, offset, length, (from, to) -> forwardCalculationRange(L, B, from, to, xz, yz));
+    }
+
+    /**
+     * 批量高斯克吕格投影正算的区间计算实现
+     *
+     * @param L    大地经度数组，单位：弧度
+     * @param B    大地纬度数组，单位：弧度
+     * @param from 起始下标（包含）
+     * @param to   终止下标（不包含）
+     * @param xz   X轴偏移坐标值输出数组，单位：米
+     * @param yz   Y轴偏移坐标值输出数组，单位：米
+     */
+    private void forwardCalculationRange(double[] L, double[] B, int from, int to, double[] xz, double[] yz) {
+        double[] output = new double[7]; //同一区间内复用
+        for (int i = from; i < to; i++) {
+            forwardCalculation(L[i], B[i], output);
+            xz[i] = output[0];
+            yz[i] = output[1];
+        }
     }
 
     /**
@@ -151,47 +343,197 @@ public class GaussKrugerProjectionCoordinateSystem {
      * @param precision 大地纬度迭代精度，单位：弧度
      * @param hasFalse  坐标值是否含有伪偏移值，此偏移值包含带号
      * @return 以L(大地经度)，B(大地纬度)，l(经差)，Mf(子午圈曲率半径)，Nf(卯酉圈曲率半径)，count(迭代总次数)，...(Bf每次迭代值)顺序排列ArrayList
+     * @see GaussKrugerProjectionCoordinateSystem#backwardCalculation(double, double, double, boolean, double[])
      */
     public ArrayList<Double> backwardCalculation(double x, double y, double precision, boolean hasFalse) {
         ArrayList<Double> list = new ArrayList<>();
+        ArrayList<Double> Bi = new ArrayList<>();
+        double[] values = backwardCalculation(x, y, precision, hasFalse, new double[6], Bi::add);
+
+        for (double value : values) {
+            list.add(value);
+        }
+        list.addAll(Bi);
+        return list;
+    }
+
+    /**
+     * 高斯克吕格投影反算，将高斯克吕格投影坐标系反算至大地坐标系上，计算结果写入调用方提供的数组，计算过程不产生任何对象
+     * <br>
+     * 详细请参考《大地测量学基础》（第二版），武汉大学出版社。第171页
+     *
+     * @param x         X轴坐标值，单位：米
+     * @param y         Y轴坐标值，单位：米
+     * @param precision 大地纬度迭代精度，单位：弧度
+     * @param hasFalse  坐标值是否含有伪偏移值，此偏移值包含带号
+     * @param output    长度不小于6的输出数组
+     * @return 以L(大地经度)，B(大地纬度)，l(经差)，Mf(子午圈曲率半径)，Nf(卯酉圈曲率半径)，count(迭代总次数)顺序写入的output数组
+     */
+    public double[] backwardCalculation(double x, double y, double precision, boolean hasFalse, double[] output) {
+        return backwardCalculation(x, y, precision, hasFalse, output, null);
+    }
+
+    /**
+     * 高斯克吕格投影反算，将高斯克吕格投影坐标系反算至大地坐标系上，计算结果写入调用方提供的数组，底点纬度Bf每次迭代值交由trace记录
+     * <br>
+     * 启用纬度查找表时底点纬度由查表求得，不迭代，不记录trace，迭代次数恒为0
+     * <br>
+     * 详细请参考《大地测量学基础》（第二版），武汉大学出版社。第171页
+     *
+     * @param x         X轴坐标值，单位：米
+     * @param y         Y轴坐标值，单位：米
+     * @param precision 大地纬度迭代精度，单位：弧度
+     * @param hasFalse  坐标值是否含有伪偏移值，此偏移值包含带号
+     * @param output    长度不小于6的输出数组
+     * @param trace     底点纬度Bf每次迭代值的记录，为null时不记录
+     * @return 以L(大地经度)，B(大地纬度)，l(经差)，Mf(子午圈曲率半径)，Nf(卯酉圈曲率半径)，count(迭代总次数)顺序写入的output数组
+     */
+    public double[] backwardCalculation(double x, double y, double precision, boolean hasFalse, double[] output, CalculationTrace trace) {
+        long start = Metrics.start();
+        if (latitudeTable == null) {
+            //迭代法，根据子午线弧长推算大地纬度B,此处X轴真坐标值即为子午线弧长，Bf与迭代次数暂存于output前两位
+            geodeticCoordinateSystem.calculateGeodeticLatitudeFromMeridianArc(reduceX(x, hasFalse), precision, mathBackend, output, trace);
+            backwardCalculation(y, hasFalse, output[0], (int) output[1], mathBackend, null, output);
+        } else {
+            backwardCalculation(y, hasFalse, latitudeTable.latitudeFromMeridianArc(reduceX(x, hasFalse)), 0, mathBackend, latitudeTable, output);
+        }
+        Metrics.record(MetricOperation.BACKWARD_CALCULATION, name, start, output[5]);
+        return output;
+    }
+
+    /**
+     * 高斯克吕格投影反算，以闭合公式推算底点纬度Bf，无需迭代，计算量与坐标值无关，计算结果写入调用方提供的数组，计算过程不产生任何对象
+     * <br>
+     * 详细请参考《大地测量学基础》（第二版），武汉大学出版社。第171页
+     *
+     * @param x        X轴坐标值，单位：米
+     * @param y        Y轴坐标值，单位：米
+     * @param hasFalse 坐标值是否含有伪偏移值，此偏移值包含带号
+     * @param output   长度不小于6的输出数组
+     * @return 以L(大地经度)，B(大地纬度)，l(经差)，Mf(子午圈曲率半径)，Nf(卯酉圈曲率半径)，count(迭代总次数，恒为0)顺序写入的output数组
+     * @see GeodeticCoordinateSystem#calculateGeodeticLatitudeFromMeridianArc(double, double[])
+     */
+    public double[] backwardCalculation(double x, double y, boolean hasFalse, double[] output) {
+        return backwardCalculation(x, y, 0, hasFalse, SolutionMethod.CLOSED_FORM, mathBackend, output);
+    }
+
+    /**
+     * 高斯克吕格投影反算，按指定的解算方法推算底点纬度Bf，计算结果写入调用方提供的数组，计算过程不产生任何对象
+     * <br>
+     * 详细请参考《大地测量学基础》（第二版），武汉大学出版社。第171页
+     *
+     * @param x         X轴坐标值，单位：米
+     * @param y         Y轴坐标值，单位：米
+     * @param precision 大地纬度迭代精度，单位：弧度，method为 {@link SolutionMethod#CLOSED_FORM} 或 {@link SolutionMethod#TABLE} 时忽略
+     * @param hasFalse  坐标值是否含有伪偏移值，此偏移值包含带号
+     * @param method    底点纬度解算方法
+     * @param output    长度不小于6的输出数组
+     * @return 以L(大地经度)，B(大地纬度)，l(经差)，Mf(子午圈曲率半径)，Nf(卯酉圈曲率半径)，count(迭代总次数)顺序写入的output数组
+     */
+    public double[] backwardCalculation(double x, double y, double precision, boolean hasFalse, SolutionMethod method, double[] output) {
+        return backwardCalculation(x, y, precision, hasFalse, method, mathBackend, output);
+    }
+
+    /**
+     * 高斯克吕格投影反算，按指定的解算方法推算底点纬度Bf，三角函数由指定的计算后端求得，计算结果写入调用方提供的数组，计算过程不产生任何对象
+     * <br>
+     * 详细请参考《大地测量学基础》（第二版），武汉大学出版社。第171页
+     *
+     * @param x         X轴坐标值，单位：米
+     * @param y         Y轴坐标值，单位：米
+     * @param precision 大地纬度迭代精度，单位：弧度，method为 {@link SolutionMethod#CLOSED_FORM} 或 {@link SolutionMethod#TABLE} 时忽略
+     * @param hasFalse  坐标值是否含有伪偏移值，此偏移值包含带号
+     * @param method    底点纬度解算方法
+     * @param backend   三角函数计算后端
+     * @param output    长度不小于6的输出数组
+     * @return 以L(大地经度)，B(大地纬度)，l(经差)，Mf(子午圈曲率半径)，Nf(卯酉圈曲率半径)，count(迭代总次数)顺序写入的output数组
+     */
+    public double[] backwardCalculation(double x, double y, double precision, boolean hasFalse, SolutionMethod method, MathBackend backend, double[] output) {
+        long start = Metrics.start();
+        if (method == SolutionMethod.TABLE) {
+            LatitudeTable table = geodeticCoordinateSystem.getLatitudeTable();
+            backwardCalculation(y, hasFalse, table.latitudeFromMeridianArc(reduceX(x, hasFalse)), 0, backend, table, output);
+        } else {
+            if (method == SolutionMethod.CLOSED_FORM) {
+                geodeticCoordinateSystem.calculateGeodeticLatitudeFromMeridianArc(reduceX(x, hasFalse), backend, output);
+            } else {
+                geodeticCoordinateSystem.calculateGeodeticLatitudeFromMeridianArc(reduceX(x, hasFalse), precision, backend, output, null);
+            }
+            backwardCalculation(y, hasFalse, output[0], (int) output[1], backend, latitudeTable, output);
+        }
+        Metrics.record(MetricOperation.BACKWARD_CALCULATION, name, start, output[5]);
+        return output;
+    }
+
+    /**
+     * 修正X轴坐标值的北伪偏移值并复位缩放因子，所得即为子午线弧长
+     *
+     * @param x        X轴坐标值，单位：米
+     * @param hasFalse 坐标值是否含有伪偏移值
+     * @return X轴真坐标值，单位：米
+     */
+    private double reduceX(double x, boolean hasFalse) {
+        if (hasFalse) {
+            x = x - falseNorthing;
+        }
+        return x / scaleFactor;
+    }
 
-        ArrayList<Double> Bi;
-        double Bf, Mf, Nf, eit2f, tf, l, L, B;
+    /**
+     * 根据底点纬度Bf完成高斯克吕格投影反算
+     * <br>
+     * 详细请参考《大地测量学基础》（第二版），武汉大学出版社。第171页
+     *
+     * @param y        Y轴坐标值，单位：米
+     * @param hasFalse 坐标值是否含有伪偏移值，此偏移值包含带号
+     * @param Bf       底点纬度，单位：弧度
+     * @param count    推算底点纬度的迭代总次数
+     * @param backend  三角函数计算后端
+     * @param table    求曲率半径使用的纬度查找表，为null时逐点计算
+     * @param output   长度不小于6的输出数组
+     * @return 以L(大地经度)，B(大地纬度)，l(经差)，Mf(子午圈曲率半径)，Nf(卯酉圈曲率半径)，count(迭代总次数)顺序写入的output数组
+     */
+    private double[] backwardCalculation(double y, boolean hasFalse, double Bf, int count, MathBackend backend, LatitudeTable table, double[] output) {
+        double Mf, Nf, eit2f, tf, tf2, cosBf, y2, l, L, B;
         //修正伪偏移值
         if (hasFalse) {
             y = y - falseEasting;
-            x = x - falseNorthing;
         }
 
         //复位缩放因子
         y /= scaleFactor;
-        x /= scaleFactor;
+        y2 = y * y;
 
-        Bi = geodeticCoordinateSystem.calculateGeodeticLatitudeFromMeridianArc(x, precision); //迭代法，根据子午线弧长推算大地纬度B,此处X轴真坐标值即为子午线弧长
-        Bf = Bi.get(Bi.size() - 1);
-        eit2f = geodeticCoordinateSystem.getSecondEccentricity() * Math.pow(Math.cos(Bf), 2); //η^2 = e'^2 * cos(B)^2
-        tf = Math.tan(Bf); //t = atan(B)
-        Mf = geodeticCoordinateSystem.calculateMeridianCurvatureRadius(eit2f); //计算子午圈曲率半径
-        Nf = geodeticCoordinateSystem.calculatePrimeVerticalCurvatureRadius(eit2f); //计算卯酉圈曲率半径
+        backend.sincos(Bf, output); //sin(Bf)，cos(Bf)暂存于output前两位
+        cosBf = output[1];
+        eit2f = geodeticCoordinateSystem.getSecondEccentricity() * cosBf * cosBf; //η^2 = e'^2 * cos(B)^2
+        tf = output[0] / cosBf; //t = tan(B)
+        tf2 = tf * tf;
+        if (table == null) {
+            Mf = geodeticCoordinateSystem.calculateMeridianCurvatureRadius(eit2f); //计算子午圈曲率半径
+            Nf = geodeticCoordinateSystem.calculatePrimeVerticalCurvatureRadius(eit2f); //计算卯酉圈曲率半径
+        } else {
+            Mf = table.meridianCurvatureRadius(Bf);
+            Nf = table.primeVerticalCurvatureRadius(Bf);
+        }
 
         B = Bf -
-                tf * Math.pow(y, 2) / (2 * Mf * Nf) +
-                tf * (5 + 3 * Math.pow(tf, 2) + eit2f - 9 * eit2f * Math.pow(tf, 2)) * Math.pow(y, 4) / (24 * Mf * Math.pow(Nf, 3)) -
-                tf * (61 + 90 * Math.pow(tf, 2) + 45 * Math.pow(tf, 4)) * Math.pow(y, 6) / (720 * Mf * Math.pow(Nf, 5));
+                tf * y2 / (2 * Mf * Nf) +
+                tf * (5 + 3 * tf2 + eit2f - 9 * eit2f * tf2) * y2 * y2 / (24 * Mf * Nf * Nf * Nf) -
+                tf * (61 + 90 * tf2 + 45 * tf2 * tf2) * y2 * y2 * y2 / (720 * Mf * Nf * Nf * Nf * Nf * Nf);
         //l为与中央子午线的经差
-        l = y / (Nf * Math.cos(Bf)) -
-                (1 + 2 * Math.pow(tf, 2) + eit2f) * Math.pow(y, 3) / (6 * Math.pow(Nf, 3) * Math.cos(Bf)) +
-                (5 + 28 * Math.pow(tf, 2) + 24 * Math.pow(tf, 4) + 6 * eit2f + 8 * eit2f * Math.pow(tf, 2)) * Math.pow(y, 5) / (120 * Math.pow(Nf, 5) * Math.cos(Bf));
-        L = l + CalculationTools.degrees2Radians(centralMeridian);
-
-        list.add(L);
-        list.add(B);
-        list.add(l);
-        list.add(Mf);
-        list.add(Nf);
-        list.add((double) Bi.size() - 1); //Bi第一个值为初值，不算在迭代次数中
-        list.addAll(Bi);
-        return list;
+        l = y / (Nf * cosBf) -
+                (1 + 2 * tf2 + eit2f) * y * y2 / (6 * Nf * Nf * Nf * cosBf) +
+                (5 + 28 * tf2 + 24 * tf2 * tf2 + 6 * eit2f + 8 * eit2f * tf2) * y * y2 * y2 / (120 * Nf * Nf * Nf * Nf * Nf * cosBf);
+        L = l + centralMeridianRadians;
+
+        output[0] = L;
+        output[1] = B;
+        output[2] = l;
+        output[3] = Mf;
+        output[4] = Nf;
+        output[5] = count;
+        return output;
     }
 
     /**
@@ -208,20 +550,127 @@ public class GaussKrugerProjectionCoordinateSystem {
      * @throws UnsupportedOperationException 当两个投影坐标系的大地坐标系不一致时抛出此异常
      * @see GaussKrugerProjectionCoordinateSystem#forwardCalculation(double, double)
      * @see GaussKrugerProjectionCoordinateSystem#backwardCalculation(double, double, double, boolean)
+     * @see GaussKrugerProjectionCoordinateSystem#projectionTransform(GaussKrugerProjectionCoordinateSystem, double, double, double, boolean, double[])
      */
     public ArrayList<Double> projectionTransform(GaussKrugerProjectionCoordinateSystem outputSystem, double x, double y, double precision, boolean hasFalse) throws UnsupportedOperationException {
+        ArrayList<Double> list = new ArrayList<>();
+        ArrayList<Double> Bi = new ArrayList<>();
+        double[] values = projectionTransform(outputSystem, x, y, precision, hasFalse, new double[13], Bi::add);
+
+        for (double value : values) {
+            list.add(value);
+        }
+        list.addAll(Bi);
+        return list;
+    }
+
+    /**
+     * 间接法坐标系投影转换，领带转换操作，计算结果写入调用方提供的数组，计算过程不产生任何对象
+     * <br>
+     * 源高斯投影坐标 -> 大地坐标 -> 目标高斯投影坐标
+     *
+     * @param outputSystem 目标坐标系
+     * @param x            x轴坐标值
+     * @param y            y轴坐标值
+     * @param precision    迭代精度
+     * @param hasFalse     坐标值是否含有伪偏移值，此偏移值包含带号
+     * @param output       长度不小于13的输出数组
+     * @return 前7位与 {@link GaussKrugerProjectionCoordinateSystem#forwardCalculation(double, double, double[])} 一致，
+     * 后6位与 {@link GaussKrugerProjectionCoordinateSystem#backwardCalculation(double, double, double, boolean, double[])} 一致的output数组
+     * @throws UnsupportedOperationException 当两个投影坐标系的大地坐标系不一致时抛出此异常
+     */
+    public double[] projectionTransform(GaussKrugerProjectionCoordinateSystem outputSystem, double x, double y, double precision, boolean hasFalse, double[] output) throws UnsupportedOperationException {
+        return projectionTransform(outputSystem, x, y, precision, hasFalse, output, null);
+    }
+
+    /**
+     * 间接法坐标系投影转换，领带转换操作，计算结果写入调用方提供的数组，底点纬度Bf每次迭代值交由trace记录
+     * <br>
+     * 源高斯投影坐标 -> 大地坐标 -> 目标高斯投影坐标
+     *
+     * @param outputSystem 目标坐标系
+     * @param x            x轴坐标值
+     * @param y            y轴坐标值
+     * @param precision    迭代精度
+     * @param hasFalse     坐标值是否含有伪偏移值，此偏移值包含带号
+     * @param output       长度不小于13的输出数组
+     * @param trace        底点纬度Bf每次迭代值的记录，为null时不记录
+     * @return 前7位与 {@link GaussKrugerProjectionCoordinateSystem#forwardCalculation(double, double, double[])} 一致，
+     * 后6位与 {@link GaussKrugerProjectionCoordinateSystem#backwardCalculation(double, double, double, boolean, double[])} 一致的output数组
+     * @throws UnsupportedOperationException 当两个投影坐标系的大地坐标系不一致时抛出此异常
+     */
+    public double[] projectionTransform(GaussKrugerProjectionCoordinateSystem outputSystem, double x, double y, double precision, boolean hasFalse, double[] output, CalculationTrace trace) throws UnsupportedOperationException {
         if (!outputSystem.getGeodeticCoordinateSystem().equals(geodeticCoordinateSystem)) {
             throw new UnsupportedOperationException("两个投影坐标系的大地坐标系不一致");
-        } else {
-            ArrayList<Double> list = new ArrayList<>();
+        }
+        //反算结果暂存于output前6位，随后移至7~12位，再由目标坐标系正算结果覆盖前7位
+        backwardCalculation(x, y, precision, hasFalse, output, trace);
+        System.arraycopy(output, 0, output, 7, 6);
+        return outputSystem.forwardCalculation(output[7], output[8], output);
+    }
+
+    /**
+     * 间接法坐标系投影转换，领带转换操作，以闭合公式推算底点纬度Bf，计算结果写入调用方提供的数组，计算过程不产生任何对象
+     * <br>
+     * 源高斯投影坐标 -> 大地坐标 -> 目标高斯投影坐标
+     *
+     * @param outputSystem 目标坐标系
+     * @param x            x轴坐标值
+     * @param y            y轴坐标值
+     * @param hasFalse     坐标值是否含有伪偏移值，此偏移值包含带号
+     * @param output       长度不小于13的输出数组
+     * @return 前7位与 {@link GaussKrugerProjectionCoordinateSystem#forwardCalculation(double, double, double[])} 一致，
+     * 后6位与 {@link GaussKrugerProjectionCoordinateSystem#backwardCalculation(double, double, boolean, double[])} 一致的output数组
+     * @throws UnsupportedOperationException 当两个投影坐标系的大地坐标系不一致时抛出此异常
+     * @see GaussKrugerProjectionCoordinateSystem#getTransformPlan(GaussKrugerProjectionCoordinateSystem)
+     */
+    public double[] projectionTransform(GaussKrugerProjectionCoordinateSystem outputSystem, double x, double y, boolean hasFalse, double[] output) throws UnsupportedOperationException {
+        if (!outputSystem.getGeodeticCoordinateSystem().equals(geodeticCoordinateSystem)) {
+            throw new UnsupportedOperationException("两个投影坐标系的大地坐标系不一致");
+        }
+        backwardCalculation(x, y, hasFalse, output);
+        System.arraycopy(output, 0, output, 7, 6);
+        return outputSystem.forwardCalculation(output[7], output[8], output);
+    }
 
-            ArrayList<Double> lb = backwardCalculation(x, y, precision, hasFalse);
-            ArrayList<Double> newXY = outputSystem.forwardCalculation(lb.get(0), lb.get(1));
+    /**
+     * 跨大地坐标系的投影转换，以闭合公式推算底点纬度，计算结果写入调用方提供的数组，计算过程不产生任何对象
+     * <br>
+     * 源高斯投影坐标 -> 源大地坐标 -> 七参数转换 -> 目标大地坐标 -> 目标高斯投影坐标，投影坐标不含高程，大地高取0
+     *
+     * @param outputSystem        目标坐标系
+     * @param datumTransformation 由此投影坐标系的大地坐标系至目标坐标系的大地坐标系的七参数转换
+     * @param x                   x轴坐标值
+     * @param y                   y轴坐标值
+     * @param hasFalse            坐标值是否含有伪偏移值，此偏移值包含带号
+     * @param output              长度不小于7的输出数组
+     * @return 与 {@link GaussKrugerProjectionCoordinateSystem#forwardCalculation(double, double, double[])} 一致的output数组
+     * @throws IllegalArgumentException 当七参数转换的源或目标大地坐标系与两个投影坐标系不一致时抛出此异常
+     * @see HelmertTransformation#transform(double, double, double, double[])
+     */
+    public double[] projectionTransform(GaussKrugerProjectionCoordinateSystem outputSystem, HelmertTransformation datumTransformation, double x, double y, boolean hasFalse, double[] output) throws IllegalArgumentException {
+        if (!datumTransformation.getSource().equals(geodeticCoordinateSystem) || !datumTransformation.getTarget().equals(outputSystem.getGeodeticCoordinateSystem())) {
+            throw new IllegalArgumentException("七参数转换与投影坐标系的大地坐标系不一致");
+        }
+        backwardCalculation(x, y, hasFalse, output);
+        datumTransformation.transform(output[0], output[1], 0, output);
+        return outputSystem.forwardCalculation(output[0], output[1], output);
+    }
 
-            list.addAll(newXY);
-            list.addAll(lb);
-            return list;
+    /**
+     * 获取由此投影坐标系换带至目标投影坐标系的预编译计划，首次获取时编译并缓存，此后返回同一实例
+     *
+     * @param outputSystem 目标坐标系
+     * @return 换带计划
+     * @throws UnsupportedOperationException 当两个投影坐标系的大地坐标系不一致时抛出此异常
+     * @see TransformPlan
+     */
+    public TransformPlan getTransformPlan(GaussKrugerProjectionCoordinateSystem outputSystem) throws UnsupportedOperationException {
+        TransformPlan plan = transformPlans.get(outputSystem);
+        if (plan == null) {
+            plan = transformPlans.computeIfAbsent(outputSystem, target -> new TransformPlan(this, target));
         }
+        return plan;
     }
 
     /**
@@ -234,6 +683,26 @@ public class GaussKrugerProjectionCoordinateSystem {
         return geodeticCoordinateSystem;
     }
 
+    /**
+     * 获取投影正反算使用的三角函数计算后端
+     *
+     * @return 三角函数计算后端
+     * @see MathBackend
+     */
+    public MathBackend getMathBackend() {
+        return mathBackend;
+    }
+
+    /**
+     * 投影正反算是否使用纬度查找表
+     *
+     * @return 使用纬度查找表时返回true
+     * @see LatitudeTable
+     */
+    public boolean isLatitudeTableEnabled() {
+        return latitudeTable != null;
+    }
+
     /**
      * 获取东伪偏移值，单位：米
      *
@@ -297,6 +766,15 @@ public class GaussKrugerProjectionCoordinateSystem {
         return degree;
     }
 
+    /**
+     * 获取使用相同投影参数的Krüger级数横轴墨卡托投影，适用于离中央子午线较远的坐标点
+     *
+     * @return KrugerTransverseMercator 实例
+     */
+    public KrugerTransverseMercator getKrugerTransverseMercator() {
+        return krugerTransverseMercator;
+    }
+
 
     /**
      * 获取此高斯克吕格投影坐标系名称
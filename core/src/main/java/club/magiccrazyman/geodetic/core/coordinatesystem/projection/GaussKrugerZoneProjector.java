@@ -0,0 +1,305 @@
+package club.magiccrazyman.geodetic.core.coordinatesystem.projection;
+
+import club.magiccrazyman.geodetic.core.coordinatesystem.GeodeticCoordinateSystem;
+import club.magiccrazyman.geodetic.core.tools.CalculationTools;
+import club.magiccrazyman.geodetic.core.tools.MathBackend;
+import club.magiccrazyman.geodetic.core.tools.ParallelTools;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 自动分带的高斯克吕格投影
+ * <br>
+ * 根据大地经度计算3度带或6度带带号，每个带号对应的 {@link GaussKrugerProjectionCoordinateSystem} 在首次使用时创建并缓存，可在多线程中共享同一实例
+ * <br>
+ * 6度带：带号 n = int(L / 6) + 1，中央子午线 L0 = 6n - 3，n = 1, ..., 60；
+ * 3度带：带号 n = int((L - 1.5) / 3) + 1，中央子午线 L0 = 3n，n = 1, ..., 120；
+ * 经度以 [0°, 360°) 计，西经加360°
+ * <br>
+ * 详细请参考《大地测量学基础》（第二版），武汉大学出版社。第162页
+ *
+ * @author Magic Crazy Man
+ */
+public class GaussKrugerZoneProjector {
+
+    /**
+     * 添加带号时带号所乘的倍数，即 yz = n * 1000000 + 500000 + y
+     */
+    private static final double ZONE_NUMBER_FACTOR = 1000000.0;
+
+    /**
+     * 东伪偏移值（不含带号），单位：米
+     */
+    private static final double FALSE_EASTING = 500000.0;
+
+    private final GeodeticCoordinateSystem geodeticCoordinateSystem;
+    private final int degree;
+    private final boolean hasZoneNum;
+    private final MathBackend mathBackend;
+
+    /**
+     * 带号与投影坐标系的缓存
+     */
+    private final ConcurrentHashMap<Integer, GaussKrugerProjectionCoordinateSystem> systems = new ConcurrentHashMap<>();
+
+    /**
+     * 自动分带投影构造器
+     *
+     * @param geodeticCoordinateSystem 大地坐标系
+     * @param degree                   分度带，3或6
+     * @param hasZoneNum               Y轴坐标值是否添加带号
+     * @throws IllegalArgumentException 当分度带既不是3也不是6时抛出此异常
+     */
+    public GaussKrugerZoneProjector(GeodeticCoordinateSystem geodeticCoordinateSystem, int degree, boolean hasZoneNum) {
+        this(geodeticCoordinateSystem, degree, hasZoneNum, MathBackend.JAVA);
+    }
+
+    /**
+     * 自动分带投影构造器，指定各带投影坐标系使用的三角函数计算后端
+     *
+     * @param geodeticCoordinateSystem 大地坐标系
+     * @param degree                   分度带，3或6
+     * @param hasZoneNum               Y轴坐标值是否添加带号
+     * @param mathBackend              三角函数计算后端
+     * @throws IllegalArgumentException 当分度带既不是3也不是6时抛出此异常
+     */
+    public GaussKrugerZoneProjector(GeodeticCoordinateSystem geodeticCoordinateSystem, int degree, boolean hasZoneNum, MathBackend mathBackend) {
+        if (degree != 3 && degree != 6) {
+            throw new IllegalArgumentException("分度带只能为3或6：" + degree);
+        }
+        this.geodeticCoordinateSystem = geodeticCoordinateSystem;
+        this.degree = degree;
+        this.hasZoneNum = hasZoneNum;
+        this.mathBackend = mathBackend;
+    }
+
+    /**
+     * 根据大地经度计算带号
+     *
+     * @param L 大地经度，单位：弧度
+     * @return 带号，6度带为1至60，3度带为1至120
+     */
+    public int zoneOf(double L) {
+        double degrees = CalculationTools.radians2Degrees(L) % 360;
+        if (degrees < 0) {
+            degrees += 360;
+        }
+        if (degree == 6) {
+            return Math.min((int) (degrees / 6) + 1, 60);
+        }
+        int zone = (int) ((degrees + 1.5) / 3);
+        return zone == 0 || zone > 120 ? 120 : zone;
+    }
+
+    /**
+     * 计算带号对应的中央子午线
+     *
+     * @param zone 带号
+     * @return 中央子午线，单位：十进制度，范围 (0°, 360°]
+     */
+    public double centralMeridianOf(int zone) {
+        return degree == 6 ? 6 * zone - 3 : 3 * zone;
+    }
+
+    /**
+     * 获取带号对应的高斯克吕格投影坐标系，首次获取时创建，此后返回同一实例
+     *
+     * @param zone 带号
+     * @return 高斯克吕格投影坐标系
+     * @throws IllegalArgumentException 当带号超出范围时抛出此异常
+     */
+    public GaussKrugerProjectionCoordinateSystem getSystem(int zone) {
+        if (zone < 1 || zone > 360 / degree) {
+            throw new IllegalArgumentException("带号超出范围：" + zone);
+        }
+        GaussKrugerProjectionCoordinateSystem system = systems.get(zone);
+        if (system == null) {
+            system = systems.computeIfAbsent(zone, this::createSystem);
+        }
+        return system;
+    }
+
+    /**
+     * 获取大地经度所在带的高斯克吕格投影坐标系
+     *
+     * @param L 大地经度，单位：弧度
+     * @return 高斯克吕格投影坐标系
+     */
+    public GaussKrugerProjectionCoordinateSystem getSystemForLongitude(double L) {
+        return getSystem(zoneOf(L));
+    }
+
+    /**
+     * 自动分带的高斯克吕格投影正算，计算结果写入调用方提供的数组
+     *
+     * @param L      大地经度，单位：弧度
+     * @param B      大地纬度，单位：弧度
+     * @param output 长度不小于8的输出数组
+     * @return 前7位与 {@link GaussKrugerProjectionCoordinateSystem#forwardCalculation(double, double, double[])} 一致，第8位为带号的output数组
+     */
+    public double[] forwardCalculation(double L, double B, double[] output) {
+        int zone = zoneOf(L);
+        getSystem(zone).forwardCalculation(alignLongitude(L, zone), B, output);
+        output[7] = zone;
+        return output;
+    }
+
+    /**
+     * 批量自动分带的高斯克吕格投影正算，先按带号将坐标点分组，再对每一组调用对应投影坐标系的批量正算
+     *
+     * @param L      大地经度数组，单位：弧度
+     * @param B      大地纬度数组，单位：弧度
+     * @param offset 起始下标
+     * @param length 计算点数
+     * @param xz     X轴偏移坐标值输出数组，单位：米
+     * @param yz     Y轴偏移坐标值输出数组，单位：米
+     * @param zones  带号输出数组，为null时不输出
+     * @throws IndexOutOfBoundsException 当任一数组长度不足时抛出此异常
+     */
+    public void forwardCalculation(double[] L, double[] B, int offset, int length, double[] xz, double[] yz, int[] zones) {
+        forwardCalculation(L, B, offset, length, xz, yz, zones, null);
+    }
+
+    /**
+     * 批量自动分带的高斯克吕格投影正算，先按带号将坐标点分组，再在ForkJoinPool中对每一组分段并行地进行批量正算
+     *
+     * @param L      大地经度数组，单位：弧度
+     * @param B      大地纬度数组，单位：弧度
+     * @param offset 起始下标
+     * @param length 计算点数
+     * @param xz     X轴偏移坐标值输出数组，单位：米
+     * @param yz     Y轴偏移坐标值输出数组，单位：米
+     * @param zones  带号输出数组，为null时不输出
+     * @param pool   执行并行计算的ForkJoinPool，为null时在当前线程中计算
+     * @throws IndexOutOfBoundsException 当任一数组长度不足时抛出此异常
+     */
+    public void forwardCalculation(double[] L, double[] B, int offset, int length, double[] xz, double[] yz, int[] zones, ForkJoinPool pool) {
+        ParallelTools.checkBulkArrays(offset, length, L, B, xz, yz);
+        if (zones != null && zones.length < offset + length) {
+            throw new IndexOutOfBoundsException("带号输出数组长度不足：" + zones.length);
+        }
+
+        //计数排序，order中按带号顺序存放各点的下标，start[n]为带号n的起始位置
+        int zoneCount = 360 / degree;
+        int[] pointZones = new int[length];
+        int[] start = new int[zoneCount + 2];
+        for (int i = 0; i < length; i++) {
+            int zone = zoneOf(L[offset + i]);
+            pointZones[i] = zone;
+            start[zone + 1]++;
+        }
+        for (int n = 1; n <= zoneCount + 1; n++) {
+            start[n] += start[n - 1];
+        }
+        int[] order = new int[length];
+        int[] cursor = start.clone();
+        for (int i = 0; i < length; i++) {
+            order[cursor[pointZones[i]]++] = i;
+        }
+
+        //按带号收集为连续数组后批量计算，再写回原位置
+        double[] groupL = new double[length], groupB = new double[length];
+        double[] groupX = new double[length], groupY = new double[length];
+        for (int k = 0; k < length; k++) {
+            groupL[k] = alignLongitude(L[offset + order[k]], pointZones[order[k]]);
+            groupB[k] = B[offset + order[k]];
+        }
+        for (int zone = 1; zone <= zoneCount; zone++) {
+            int from = start[zone], count = start[zone + 1] - from;
+            if (count == 0) {
+                continue;
+            }
+            GaussKrugerProjectionCoordinateSystem system = getSystem(zone);
+            if (pool == null) {
+                system.forwardCalculation(groupL, groupB, from, count, groupX, groupY);
+            } else {
+                system.forwardCalculation(groupL, groupB, from, count, groupX, groupY, pool);
+            }
+        }
+        for (int k = 0; k < length; k++) {
+            int i = offset + order[k];
+            xz[i] = groupX[k];
+            yz[i] = groupY[k];
+        }
+        if (zones != null) {
+            for (int i = 0; i < length; i++) {
+                zones[offset + i] = pointZones[i];
+            }
+        }
+    }
+
+    /**
+     * 高斯克吕格投影反算，以闭合公式推算底点纬度，计算结果写入调用方提供的数组
+     *
+     * @param x      X轴偏移坐标值，单位：米
+     * @param y      Y轴偏移坐标值，单位：米，应与带号对应的投影坐标系一致（是否含带号由此投影的构造参数决定）
+     * @param zone   带号
+     * @param output 长度不小于6的输出数组
+     * @return 与 {@link GaussKrugerProjectionCoordinateSystem#backwardCalculation(double, double, boolean, double[])} 一致的output数组
+     */
+    public double[] backwardCalculation(double x, double y, int zone, double[] output) {
+        return getSystem(zone).backwardCalculation(x, y, true, output);
+    }
+
+    /**
+     * 高斯克吕格投影反算，带号由Y轴坐标值的百万位以上数字确定，以闭合公式推算底点纬度，计算结果写入调用方提供的数组
+     *
+     * @param x      X轴偏移坐标值，单位：米
+     * @param y      含带号的Y轴偏移坐标值，单位：米
+     * @param output 长度不小于6的输出数组
+     * @return 与 {@link GaussKrugerProjectionCoordinateSystem#backwardCalculation(double, double, boolean, double[])} 一致的output数组
+     * @throws UnsupportedOperationException 当此投影的Y轴坐标值不添加带号时抛出此异常
+     */
+    public double[] backwardCalculation(double x, double y, double[] output) throws UnsupportedOperationException {
+        if (!hasZoneNum) {
+            throw new UnsupportedOperationException("Y轴坐标值不含带号，无法确定投影带");
+        }
+        return backwardCalculation(x, y, (int) Math.floor(y / ZONE_NUMBER_FACTOR), output);
+    }
+
+    /**
+     * 获取此投影使用的大地坐标系
+     *
+     * @return GeodeticCoordinateSystem 大地坐标系实例
+     */
+    public GeodeticCoordinateSystem getGeodeticCoordinateSystem() {
+        return geodeticCoordinateSystem;
+    }
+
+    /**
+     * 获取分度带
+     *
+     * @return 分度带
+     */
+    public int getDegree() {
+        return degree;
+    }
+
+    /**
+     * 将大地经度加减360°的整数倍，使其与带号对应中央子午线的经差位于 [-180°, 180°]，如西经或中央子午线为360°的3度带第120带
+     */
+    private double alignLongitude(double L, int zone) {
+        double centralMeridianRadians = CalculationTools.degrees2Radians(centralMeridianOf(zone));
+        return centralMeridianRadians + Math.IEEEremainder(L - centralMeridianRadians, 2 * Math.PI);
+    }
+
+    private GaussKrugerProjectionCoordinateSystem createSystem(int zone) {
+        double centralMeridian = centralMeridianOf(zone);
+        String datum = geodeticCoordinateSystem.getReferenceEllipsoidName();
+        String name = degree == 3
+                ? (hasZoneNum ? String.format("%s_3_Degree_GK_Zone_%d", datum, zone) : String.format("%s_3_Degree_GK_CM_%dE", datum, (int) centralMeridian))
+                : (hasZoneNum ? String.format("%s_GK_Zone_%d", datum, zone) : String.format("%s_GK_CM_%dE", datum, (int) centralMeridian));
+        return new GaussKrugerProjectionCoordinateSystem(geodeticCoordinateSystem,
+                degree,
+                hasZoneNum,
+                hasZoneNum ? zone * ZONE_NUMBER_FACTOR + FALSE_EASTING : FALSE_EASTING,
+                0.0,
+                centralMeridian,
+                1.0,
+                0.0,
+                "Meter (1.0)",
+                name,
+                mathBackend);
+    }
+}
@@ -0,0 +1,243 @@
+package club.magiccrazyman.geodetic.core.coordinatesystem.projection;
+
+import club.magiccrazyman.geodetic.core.coordinatesystem.GeodeticCoordinateSystem;
+
+import java.util.ArrayList;
+
+/**
+ * 基于Krüger级数的横轴墨卡托（高斯克吕格）投影
+ * <br>
+ * 《大地测量学基础》（第二版）中的投影公式为经差l的幂级数，截断至l^6，离中央子午线越远误差越大；
+ * 本实现以第三扁率n的六阶Krüger级数代替，距中央子午线约4000公里以内均可保持毫米级以下精度，适合单一分带处理大范围数据
+ * <br>
+ * 级数系数只与椭球有关，在创建投影坐标系时一次性计算
+ * <br>
+ * 详细请参考 C. F. F. Karney, Transverse Mercator with an accuracy of a few nanometers, J. Geodesy 85, 475–485 (2011)
+ *
+ * @author Magic Crazy Man
+ * @see GaussKrugerProjectionCoordinateSystem#getKrugerTransverseMercator()
+ */
+public class KrugerTransverseMercator {
+
+    /**
+     * 由共形纬度反求大地纬度时的最大迭代次数，通常2至3次即可收敛
+     */
+    private static final int MAX_ITERATIONS = 5;
+
+    private final GeodeticCoordinateSystem geodeticCoordinateSystem;
+    private final double falseEasting;
+    private final double falseNorthing;
+    private final double centralMeridianRadians;
+
+    /**
+     * 第一偏心率e，1 - e^2
+     */
+    private final double e, e2m;
+
+    /**
+     * 缩放因子与等量纬度圆半径的乘积 k0 * A
+     */
+    private final double k0A;
+
+    /**
+     * 正算系数α1~α6，反算系数β1~β6，数组第0位不使用
+     */
+    private final double[] alpha = new double[7];
+    private final double[] beta = new double[7];
+
+    /**
+     * 根据高斯克吕格投影坐标系参数计算Krüger级数系数
+     *
+     * @param geodeticCoordinateSystem 大地坐标系
+     * @param centralMeridianRadians   中央子午线，单位：弧度
+     * @param scaleFactor              缩放因子
+     * @param falseEasting             东伪偏移值，单位：米
+     * @param falseNorthing            北伪偏移值，单位：米
+     */
+    KrugerTransverseMercator(GeodeticCoordinateSystem geodeticCoordinateSystem, double centralMeridianRadians, double scaleFactor, double falseEasting, double falseNorthing) {
+        this.geodeticCoordinateSystem = geodeticCoordinateSystem;
+        this.centralMeridianRadians = centralMeridianRadians;
+        this.falseEasting = falseEasting;
+        this.falseNorthing = falseNorthing;
+
+        double a = geodeticCoordinateSystem.getSemimajorAxis();
+        double b = geodeticCoordinateSystem.getSemiminorAxis();
+        double n = (a - b) / (a + b);
+        double n2 = n * n, n3 = n2 * n, n4 = n3 * n, n5 = n4 * n, n6 = n5 * n;
+
+        e = Math.sqrt(geodeticCoordinateSystem.getFirstEccentricity());
+        e2m = 1 - geodeticCoordinateSystem.getFirstEccentricity();
+        k0A = scaleFactor * a / (1 + n) * (1 + n2 / 4 + n4 / 64 + n6 / 256);
+
+        alpha[1] = n / 2 - 2 * n2 / 3 + 5 * n3 / 16 + 41 * n4 / 180 - 127 * n5 / 288 + 7891 * n6 / 37800;
+        alpha[2] = 13 * n2 / 48 - 3 * n3 / 5 + 557 * n4 / 1440 + 281 * n5 / 630 - 1983433 * n6 / 1935360;
+        alpha[3] = 61 * n3 / 240 - 103 * n4 / 140 + 15061 * n5 / 26880 + 167603 * n6 / 181440;
+        alpha[4] = 49561 * n4 / 161280 - 179 * n5 / 168 + 6601661 * n6 / 7257600;
+        alpha[5] = 34729 * n5 / 80640 - 3418889 * n6 / 1995840;
+        alpha[6] = 212378941 * n6 / 319334400;
+
+        beta[1] = n / 2 - 2 * n2 / 3 + 37 * n3 / 96 - n4 / 360 - 81 * n5 / 512 + 96199 * n6 / 604800;
+        beta[2] = n2 / 48 + n3 / 15 - 437 * n4 / 1440 + 46 * n5 / 105 - 1118711 * n6 / 3870720;
+        beta[3] = 17 * n3 / 480 - 37 * n4 / 840 - 209 * n5 / 4480 + 5569 * n6 / 90720;
+        beta[4] = 4397 * n4 / 161280 - 11 * n5 / 504 - 830251 * n6 / 7257600;
+        beta[5] = 4583 * n5 / 161280 - 108847 * n6 / 3991680;
+        beta[6] = 20648693 * n6 / 638668800;
+    }
+
+    /**
+     * 投影正算，将大地坐标系坐标点投影至投影坐标系上
+     *
+     * @param L 大地经度，单位：弧度
+     * @param B 大地纬度，单位：弧度
+     * @return 以xz(X轴偏移坐标值)，yz(Y轴偏移坐标值)，x(X轴真坐标值)，y(Y轴真坐标值)，l(经差)顺序排列的ArrayList
+     * @see KrugerTransverseMercator#forwardCalculation(double, double, double[])
+     */
+    public ArrayList<Double> forwardCalculation(double L, double B) {
+        ArrayList<Double> list = new ArrayList<>();
+        for (double value : forwardCalculation(L, B, new double[5])) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    /**
+     * 投影正算，将大地坐标系坐标点投影至投影坐标系上，计算结果写入调用方提供的数组，计算过程不产生任何对象
+     *
+     * @param L      大地经度，单位：弧度
+     * @param B      大地纬度，单位：弧度
+     * @param output 长度不小于5的输出数组
+     * @return 以xz(X轴偏移坐标值)，yz(Y轴偏移坐标值)，x(X轴真坐标值)，y(Y轴真坐标值)，l(经差)顺序写入的output数组
+     */
+    public double[] forwardCalculation(double L, double B, double[] output) {
+        double l = L - centralMeridianRadians;
+
+        //共形纬度 tan(φ') = τ'
+        double tau = Math.tan(B);
+        double tau1 = Math.sqrt(1 + tau * tau);
+        double sig = Math.sinh(e * atanh(e * tau / tau1));
+        double taup = Math.sqrt(1 + sig * sig) * tau - sig * tau1;
+
+        //球面横轴墨卡托坐标 ξ'，η'
+        double cosl = Math.cos(l);
+        double xip = Math.atan2(taup, cosl);
+        double etap = asinh(Math.sin(l) / Math.hypot(taup, cosl));
+
+        //ξ + iη = ζ' + Σ αj * sin(2jζ')
+        clenshaw(alpha, xip, etap, output);
+        double x = k0A * (xip + output[0]);
+        double y = k0A * (etap + output[1]);
+
+        output[0] = x + falseNorthing;
+        output[1] = y + falseEasting;
+        output[2] = x;
+        output[3] = y;
+        output[4] = l;
+        return output;
+    }
+
+    /**
+     * 投影反算，将投影坐标系坐标点反算至大地坐标系上
+     *
+     * @param x        X轴坐标值，单位：米
+     * @param y        Y轴坐标值，单位：米
+     * @param hasFalse 坐标值是否含有伪偏移值，此偏移值包含带号
+     * @return 以L(大地经度)，B(大地纬度)，l(经差)顺序排列的ArrayList
+     * @see KrugerTransverseMercator#backwardCalculation(double, double, boolean, double[])
+     */
+    public ArrayList<Double> backwardCalculation(double x, double y, boolean hasFalse) {
+        ArrayList<Double> list = new ArrayList<>();
+        for (double value : backwardCalculation(x, y, hasFalse, new double[3])) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    /**
+     * 投影反算，将投影坐标系坐标点反算至大地坐标系上，计算结果写入调用方提供的数组，计算过程不产生任何对象
+     *
+     * @param x        X轴坐标值，单位：米
+     * @param y        Y轴坐标值，单位：米
+     * @param hasFalse 坐标值是否含有伪偏移值，此偏移值包含带号
+     * @param output   长度不小于3的输出数组
+     * @return 以L(大地经度)，B(大地纬度)，l(经差)顺序写入的output数组
+     */
+    public double[] backwardCalculation(double x, double y, boolean hasFalse, double[] output) {
+        if (hasFalse) {
+            x = x - falseNorthing;
+            y = y - falseEasting;
+        }
+        double xi = x / k0A;
+        double eta = y / k0A;
+
+        //ζ' = ζ - Σ βj * sin(2jζ)
+        clenshaw(beta, xi, eta, output);
+        double xip = xi - output[0];
+        double etap = eta - output[1];
+
+        double sinhetap = Math.sinh(etap);
+        double cosxip = Math.cos(xip);
+        double taup = Math.sin(xip) / Math.hypot(sinhetap, cosxip);
+        double l = Math.atan2(sinhetap, cosxip);
+
+        //牛顿法由共形纬度求大地纬度
+        double tau = taup;
+        for (int i = 0; i < MAX_ITERATIONS; i++) {
+            double tau1 = Math.sqrt(1 + tau * tau);
+            double sig = Math.sinh(e * atanh(e * tau / tau1));
+            double taupa = Math.sqrt(1 + sig * sig) * tau - sig * tau1;
+            double dtau = (taup - taupa) / Math.sqrt(1 + taupa * taupa) * (1 + e2m * tau * tau) / (e2m * tau1);
+            tau += dtau;
+            if (!(Math.abs(dtau) >= 1e-15 * Math.max(1, Math.abs(tau)))) {
+                break;
+            }
+        }
+
+        output[0] = l + centralMeridianRadians;
+        output[1] = Math.atan(tau);
+        output[2] = l;
+        return output;
+    }
+
+    /**
+     * 获取此投影使用的大地坐标系
+     *
+     * @return GeodeticCoordinateSystem 大地坐标系实例
+     */
+    public GeodeticCoordinateSystem getGeodeticCoordinateSystem() {
+        return geodeticCoordinateSystem;
+    }
+
+    /**
+     * 以复数Clenshaw求和计算 Σ c[j] * sin(2j(ξ + iη))，j = 1, ..., 6，实部与虚部依次写入output前两位
+     * <br>
+     * sin(2j(ξ + iη)) = sin(2jξ) * cosh(2jη) + i * cos(2jξ) * sinh(2jη)，只需计算一次三角函数及双曲函数
+     */
+    private static void clenshaw(double[] c, double xi, double eta, double[] output) {
+        double sin2xi = Math.sin(2 * xi), cos2xi = Math.cos(2 * xi);
+        double sinh2eta = Math.sinh(2 * eta), cosh2eta = Math.cosh(2 * eta);
+
+        //a = 2 * cos(2ζ) = 2 * (cos(2ξ)cosh(2η) - i * sin(2ξ)sinh(2η))
+        double ar = 2 * cos2xi * cosh2eta, ai = -2 * sin2xi * sinh2eta;
+        double y0r = 0, y0i = 0, y1r = 0, y1i = 0;
+        for (int j = c.length - 1; j >= 1; j--) {
+            double y2r = y1r, y2i = y1i;
+            y1r = y0r;
+            y1i = y0i;
+            y0r = ar * y1r - ai * y1i - y2r + c[j];
+            y0i = ar * y1i + ai * y1r - y2i;
+        }
+
+        //结果 = sin(2ζ) * y1
+        double sr = sin2xi * cosh2eta, si = cos2xi * sinh2eta;
+        output[0] = sr * y0r - si * y0i;
+        output[1] = sr * y0i + si * y0r;
+    }
+
+    private static double atanh(double x) {
+        return 0.5 * Math.log1p(2 * x / (1 - x));
+    }
+
+    private static double asinh(double x) {
+        return Math.copySign(Math.log(Math.abs(x) + Math.sqrt(x * x + 1)), x);
+    }
+}
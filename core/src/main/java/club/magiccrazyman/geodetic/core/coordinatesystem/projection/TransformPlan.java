@@ -0,0 +1,244 @@
+package club.magiccrazyman.geodetic.core.coordinatesystem.projection;
+
+import club.magiccrazyman.geodetic.core.coordinatesystem.GeodeticCoordinateSystem;
+import club.magiccrazyman.geodetic.core.tools.CalculationTools;
+import club.magiccrazyman.geodetic.core.tools.MathBackend;
+import club.magiccrazyman.geodetic.core.tools.ParallelTools;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 预编译的高斯克吕格投影换带计划，源投影坐标 -> 大地坐标 -> 目标投影坐标
+ * <br>
+ * 两个投影坐标系的兼容性只在编译时检查一次，伪偏移值、缩放因子、中央子午线、子午线弧长系数及底点纬度反级数系数等常数均预先计算；
+ * 反算与正算合并为一次计算，底点纬度以闭合公式求得，不产生任何中间对象，适用于大批量换带计算
+ * <br>
+ * 计算公式与 {@link GaussKrugerProjectionCoordinateSystem#projectionTransform(GaussKrugerProjectionCoordinateSystem, double, double, boolean, double[])} 一致，
+ * 反算使用源投影坐标系的三角函数计算后端，正算使用目标投影坐标系的三角函数计算后端
+ * <br>
+ * 实例不可变，可在多线程中共享，通过 {@link GaussKrugerProjectionCoordinateSystem#getTransformPlan(GaussKrugerProjectionCoordinateSystem)} 获取
+ *
+ * @author Magic Crazy Man
+ */
+public class TransformPlan {
+
+    private final GaussKrugerProjectionCoordinateSystem source;
+    private final GaussKrugerProjectionCoordinateSystem target;
+    private final MathBackend sourceBackend;
+    private final MathBackend targetBackend;
+
+    /**
+     * 源投影坐标系的北伪偏移值，东伪偏移值，缩放因子，中央子午线（弧度）
+     */
+    private final double sourceFalseNorthing, sourceFalseEasting, sourceScaleFactor, sourceCentralMeridian;
+
+    /**
+     * 目标投影坐标系的北伪偏移值，东伪偏移值，缩放因子，中央子午线（弧度）
+     */
+    private final double targetFalseNorthing, targetFalseEasting, targetScaleFactor, targetCentralMeridian;
+
+    /**
+     * 极点处子午线曲率半径c，第二偏心率e'^2
+     */
+    private final double poleCurvatureRadius, secondEccentricity;
+
+    /**
+     * 子午线弧长系数 a0，a2 / 2，a4 / 4，a6 / 6，a8 / 8
+     */
+    private final double a0, a2, a4, a6, a8;
+
+    /**
+     * 底点纬度反级数系数 d2，d4，d6，d8，d10
+     */
+    private final double d2, d4, d6, d8, d10;
+
+    /**
+     * 编译换带计划
+     *
+     * @param source 源投影坐标系
+     * @param target 目标投影坐标系
+     * @throws UnsupportedOperationException 当两个投影坐标系的大地坐标系不一致时抛出此异常
+     */
+    TransformPlan(GaussKrugerProjectionCoordinateSystem source, GaussKrugerProjectionCoordinateSystem target) throws UnsupportedOperationException {
+        GeodeticCoordinateSystem geodeticCoordinateSystem = source.getGeodeticCoordinateSystem();
+        if (!target.getGeodeticCoordinateSystem().equals(geodeticCoordinateSystem)) {
+            throw new UnsupportedOperationException("两个投影坐标系的大地坐标系不一致");
+        }
+        this.source = source;
+        this.target = target;
+        this.sourceBackend = source.getMathBackend();
+        this.targetBackend = target.getMathBackend();
+
+        this.sourceFalseNorthing = source.getFalseNorthing();
+        this.sourceFalseEasting = source.getFalseEasting();
+        this.sourceScaleFactor = source.getScaleFactor();
+        this.sourceCentralMeridian = CalculationTools.degrees2Radians(source.getCentralMeridian());
+        this.targetFalseNorthing = target.getFalseNorthing();
+        this.targetFalseEasting = target.getFalseEasting();
+        this.targetScaleFactor = target.getScaleFactor();
+        this.targetCentralMeridian = CalculationTools.degrees2Radians(target.getCentralMeridian());
+
+        this.poleCurvatureRadius = geodeticCoordinateSystem.getPoleCurvatureRadius();
+        this.secondEccentricity = geodeticCoordinateSystem.getSecondEccentricity();
+
+        double[] a = geodeticCoordinateSystem.calculateMeridianArcParameters();
+        this.a0 = a[0];
+        this.a2 = a[1] / 2;
+        this.a4 = a[2] / 4;
+        this.a6 = a[3] / 6;
+        this.a8 = a[4] / 8;
+
+        double[] d = geodeticCoordinateSystem.calculateFootpointLatitudeParameters();
+        this.d2 = d[0];
+        this.d4 = d[1];
+        this.d6 = d[2];
+        this.d8 = d[3];
+        this.d10 = d[4];
+    }
+
+    /**
+     * 换带计算，计算结果写入调用方提供的数组，计算过程不产生任何对象
+     *
+     * @param x        源投影坐标系X轴坐标值，单位：米
+     * @param y        源投影坐标系Y轴坐标值，单位：米
+     * @param hasFalse 坐标值是否含有伪偏移值，此偏移值包含带号
+     * @param output   长度不小于4的输出数组
+     * @return 以xz(目标X轴偏移坐标值)，yz(目标Y轴偏移坐标值)，L(大地经度)，B(大地纬度)顺序写入的output数组
+     */
+    public double[] transform(double x, double y, boolean hasFalse, double[] output) {
+        if (hasFalse) {
+            x = x - sourceFalseNorthing;
+            y = y - sourceFalseEasting;
+        }
+        x /= sourceScaleFactor;
+        y /= sourceScaleFactor;
+
+        //闭合公式推算底点纬度，Clenshaw求和
+        double mu = x / a0;
+        sourceBackend.sincos(2 * mu, output);
+        double ar = 2 * output[1];
+        double c2 = d10;
+        double c1 = ar * c2 + d8;
+        double c0 = ar * c1 - c2 + d6;
+        c2 = c1;
+        c1 = c0;
+        c0 = ar * c1 - c2 + d4;
+        c2 = c1;
+        c1 = c0;
+        c0 = ar * c1 - c2 + d2;
+        double Bf = mu + c0 * output[0];
+
+        //反算，详细请参考《大地测量学基础》（第二版），武汉大学出版社。第171页
+        sourceBackend.sincos(Bf, output);
+        double cosBf = output[1];
+        double tf = output[0] / cosBf;
+        double tf2 = tf * tf;
+        double eit2f = secondEccentricity * cosBf * cosBf;
+        double Nf = poleCurvatureRadius / Math.sqrt(1 + eit2f);
+        double Mf = poleCurvatureRadius / ((1 + eit2f) * Math.sqrt(1 + eit2f)); //不使用Math.pow，保证逐位可复现
+        double y2 = y * y;
+        double Nf2 = Nf * Nf;
+
+        double B = Bf -
+                tf * y2 / (2 * Mf * Nf) +
+                tf * (5 + 3 * tf2 + eit2f - 9 * eit2f * tf2) * y2 * y2 / (24 * Mf * Nf * Nf2) -
+                tf * (61 + 90 * tf2 + 45 * tf2 * tf2) * y2 * y2 * y2 / (720 * Mf * Nf * Nf2 * Nf2);
+        double l = y / (Nf * cosBf) -
+                (1 + 2 * tf2 + eit2f) * y * y2 / (6 * Nf * Nf2 * cosBf) +
+                (5 + 28 * tf2 + 24 * tf2 * tf2 + 6 * eit2f + 8 * eit2f * tf2) * y * y2 * y2 / (120 * Nf * Nf2 * Nf2 * cosBf);
+        double L = l + sourceCentralMeridian;
+
+        //正算，详细请参考《大地测量学基础》（第二版），武汉大学出版社。第169页
+        l = L - targetCentralMeridian;
+        double l2 = l * l;
+        targetBackend.sincos(B, output);
+        double sinB = output[0], cosB = output[1];
+        double cosB2 = cosB * cosB;
+        double t2 = sinB * sinB / cosB2;
+        double eit2 = secondEccentricity * cosB2;
+        double N = poleCurvatureRadius / Math.sqrt(1 + eit2);
+
+        double sin2B = 2 * sinB * cosB;
+        double cos2B = cosB2 - sinB * sinB;
+        double sin4B = 2 * sin2B * cos2B;
+        double cos4B = 2 * cos2B * cos2B - 1;
+        double X = a0 * B - a2 * sin2B + a4 * sin4B - a6 * (sin4B * cos2B + cos4B * sin2B) + a8 * 2 * sin4B * cos4B;
+
+        double NsinBcosB = N * sinB * cosB;
+        double NcosB = N * cosB;
+        double xt = X + NsinBcosB * l2 / 2 +
+                NsinBcosB * cosB2 * (5 - t2 + 9 * eit2 + 4 * eit2 * eit2) * l2 * l2 / 24 +
+                NsinBcosB * cosB2 * cosB2 * (61 - 58 * t2 + t2 * t2) * l2 * l2 * l2 / 720;
+        double yt = NcosB * l +
+                NcosB * cosB2 * (1 - t2 + eit2) * l * l2 / 6 +
+                NcosB * cosB2 * cosB2 * (5 - 18 * t2 + t2 * t2 + 14 * eit2 - 58 * eit2 * t2) * l * l2 * l2 / 120;
+
+        output[0] = xt * targetScaleFactor + targetFalseNorthing;
+        output[1] = yt * targetScaleFactor + targetFalseEasting;
+        output[2] = L;
+        output[3] = B;
+        return output;
+    }
+
+    /**
+     * 批量换带计算，输入及输出均以结构数组形式存放，第i个点的计算结果写入输出数组的第i位
+     *
+     * @param x        源投影坐标系X轴坐标值数组，单位：米
+     * @param y        源投影坐标系Y轴坐标值数组，单位：米
+     * @param offset   起始下标
+     * @param length   计算点数
+     * @param hasFalse 坐标值是否含有伪偏移值，此偏移值包含带号
+     * @param xz       目标X轴偏移坐标值输出数组，单位：米
+     * @param yz       目标Y轴偏移坐标值输出数组，单位：米
+     * @throws IndexOutOfBoundsException 当任一数组长度不足时抛出此异常
+     */
+    public void transform(double[] x, double[] y, int offset, int length, boolean hasFalse, double[] xz, double[] yz) {
+        ParallelTools.checkBulkArrays(offset, length, x, y, xz, yz);
+        transformRange(x, y, offset, offset + length, hasFalse, xz, yz);
+    }
+
+    /**
+     * 在ForkJoinPool中分段并行地批量进行换带计算
+     *
+     * @param x        源投影坐标系X轴坐标值数组，单位：米
+     * @param y        源投影坐标系Y轴坐标值数组，单位：米
+     * @param offset   起始下标
+     * @param length   计算点数
+     * @param hasFalse 坐标值是否含有伪偏移值，此偏移值包含带号
+     * @param xz       目标X轴偏移坐标值输出数组，单位：米
+     * @param yz       目标Y轴偏移坐标值输出数组，单位：米
+     * @param pool     执行并行计算的ForkJoinPool
+     * @throws IndexOutOfBoundsException 当任一数组长度不足时抛出此异常
+     */
+    public void transform(double[] x, double[] y, int offset, int length, boolean hasFalse, double[] xz, double[] yz, ForkJoinPool pool) {
+        ParallelTools.checkBulkArrays(offset, length, x, y, xz, yz);
+        ParallelTools.forRange(pool, offset, length, (from, to) -> transformRange(x, y, from, to, hasFalse, xz, yz));
+    }
+
+    private void transformRange(double[] x, double[] y, int from, int to, boolean hasFalse, double[] xz, double[] yz) {
+        double[] output = new double[4]; //同一区间内复用
+        for (int i = from; i < to; i++) {
+            transform(x[i], y[i], hasFalse, output);
+            xz[i] = output[0];
+            yz[i] = output[1];
+        }
+    }
+
+    /**
+     * 获取源投影坐标系
+     *
+     * @return 源投影坐标系
+     */
+    public GaussKrugerProjectionCoordinateSystem getSource() {
+        return source;
+    }
+
+    /**
+     * 获取目标投影坐标系
+     *
+     * @return 目标投影坐标系
+     */
+    public GaussKrugerProjectionCoordinateSystem getTarget() {
+        return target;
+    }
+}
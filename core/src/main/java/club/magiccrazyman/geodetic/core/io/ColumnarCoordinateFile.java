@@ -0,0 +1,417 @@
+package club.magiccrazyman.geodetic.core.io;
+
+import club.magiccrazyman.geodetic.core.coordinatesystem.GeodeticCoordinateSystem;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * 内存映射的列式二进制坐标文件
+ * <br>
+ * 文件由64字节的文件头及若干列连续存放的小端序double组成，文件头依次为：
+ * <pre>
+ * 偏移  长度  内容
+ * 0     4     魔数 "GCOL"
+ * 4     4     版本号，现为1
+ * 8     4     列布局代码，见 {@link Layout}
+ * 12    4     大地坐标系ID，见 {@link GeodeticCoordinateSystem#getSystemById(int)}，0表示未指定
+ * 16    8     点数n
+ * 24    8     中央子午线，单位：十进制度，仅投影坐标有效，其余为NaN
+ * 32    32    保留，填0
+ * </pre>
+ * 第i列位于 64 + i * n * 8 字节处。各列按每段 2^27 个点（1GiB）分段映射，文件总长度不受单个 {@link MappedByteBuffer} 2GB的限制；
+ * 读写均为对映射内存的批量复制，不需要任何解析，批量计算的输入输出数组可直接由 {@link #get(int, long, double[], int, int)}，
+ * {@link #put(int, long, double[], int, int)} 或 {@link #transformTo(ColumnarCoordinateFile, int, BlockTransform)} 填充及写回
+ * <br>
+ * 各列不相交，不同线程可同时读写不同的区间
+ *
+ * @author Magic Crazy Man
+ */
+public class ColumnarCoordinateFile implements Closeable {
+
+    /**
+     * 文件头长度，单位：字节
+     */
+    public static final int HEADER_SIZE = 64;
+
+    /**
+     * 魔数，小端序下为 "GCOL"
+     */
+    private static final int MAGIC = 0x4C4F4347;
+
+    private static final int VERSION = 1;
+
+    /**
+     * 每段点数为 2^SEGMENT_SHIFT
+     */
+    private static final int SEGMENT_SHIFT = 27;
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+    private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    /**
+     * 列布局
+     */
+    public enum Layout {
+        /**
+         * 空间直角坐标X，Y，Z，单位：米
+         */
+        SPATIAL(1, "X", "Y", "Z"),
+        /**
+         * 大地坐标L，B（单位：弧度），H（单位：米）
+         */
+        GEODETIC(2, "L", "B", "H"),
+        /**
+         * 高斯克吕格投影坐标xz，yz，单位：米
+         */
+        PROJECTED(3, "x", "y");
+
+        private final int code;
+        private final String[] columns;
+
+        Layout(int code, String... columns) {
+            this.code = code;
+            this.columns = columns;
+        }
+
+        private static Layout of(int code) throws IOException {
+            for (Layout layout : values()) {
+                if (layout.code == code) {
+                    return layout;
+                }
+            }
+            throw new IOException("未知的列布局代码：" + code);
+        }
+
+        /**
+         * 获取列数
+         *
+         * @return 列数
+         */
+        public int getColumnCount() {
+            return columns.length;
+        }
+
+        /**
+         * 获取列名称
+         *
+         * @return 列名称
+         */
+        public String[] getColumns() {
+            return columns.clone();
+        }
+    }
+
+    /**
+     * 分块计算函数
+     */
+    @FunctionalInterface
+    public interface BlockTransform {
+        /**
+         * 计算一块数据
+         *
+         * @param input  源文件各列数据，每列的前length位有效
+         * @param output 目标文件各列数据，计算结果写入每列的前length位
+         * @param length 本块点数
+         */
+        void transform(double[][] input, double[][] output, int length);
+    }
+
+    private final FileChannel channel;
+    private final boolean writable;
+    private final Layout layout;
+    private final int systemId;
+    private final double centralMeridian;
+    private final long pointCount;
+
+    /**
+     * 各列各段的映射，[列][段]
+     */
+    private final DoubleBuffer[][] segments;
+
+    private ColumnarCoordinateFile(FileChannel channel, boolean writable, Layout layout, int systemId, double centralMeridian, long pointCount) throws IOException {
+        this.channel = channel;
+        this.writable = writable;
+        this.layout = layout;
+        this.systemId = systemId;
+        this.centralMeridian = centralMeridian;
+        this.pointCount = pointCount;
+
+        FileChannel.MapMode mode = writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY;
+        int segmentCount = (int) ((pointCount + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+        this.segments = new DoubleBuffer[layout.getColumnCount()][segmentCount];
+        for (int column = 0; column < segments.length; column++) {
+            long position = HEADER_SIZE + column * pointCount * Double.BYTES;
+            for (int segment = 0; segment < segmentCount; segment++) {
+                long points = Math.min(SEGMENT_SIZE, pointCount - ((long) segment << SEGMENT_SHIFT));
+                MappedByteBuffer buffer = channel.map(mode, position, points * Double.BYTES);
+                segments[column][segment] = buffer.order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+                position += points * Double.BYTES;
+            }
+        }
+    }
+
+    /**
+     * 创建列式坐标文件，已存在时覆盖，各列初始值为0
+     *
+     * @param file       文件路径
+     * @param layout     列布局
+     * @param systemId   大地坐标系ID，0表示未指定
+     * @param pointCount 点数
+     * @return 以读写方式映射的文件
+     * @throws IOException 当创建文件失败时抛出此异常
+     */
+    public static ColumnarCoordinateFile create(Path file, Layout layout, int systemId, long pointCount) throws IOException {
+        return create(file, layout, systemId, Double.NaN, pointCount);
+    }
+
+    /**
+     * 创建列式坐标文件，已存在时覆盖，各列初始值为0
+     *
+     * @param file            文件路径
+     * @param layout          列布局
+     * @param systemId        大地坐标系ID，0表示未指定
+     * @param centralMeridian 投影坐标的中央子午线，单位：十进制度，非投影坐标时应为NaN
+     * @param pointCount      点数
+     * @return 以读写方式映射的文件
+     * @throws IOException 当创建文件失败时抛出此异常
+     */
+    public static ColumnarCoordinateFile create(Path file, Layout layout, int systemId, double centralMeridian, long pointCount) throws IOException {
+        Objects.requireNonNull(layout);
+        if (pointCount < 0) {
+            throw new IllegalArgumentException("点数不能小于0：" + pointCount);
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(layout.code).putInt(systemId).putLong(pointCount).putDouble(centralMeridian);
+            header.clear();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            //写入最后一个字节以确定文件长度，未写入的区域为0
+            if (pointCount > 0) {
+                channel.write(ByteBuffer.allocate(1), HEADER_SIZE + layout.getColumnCount() * pointCount * Double.BYTES - 1);
+            }
+            return new ColumnarCoordinateFile(channel, true, layout, systemId, centralMeridian, pointCount);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 打开已有的列式坐标文件
+     *
+     * @param file     文件路径
+     * @param writable 是否以读写方式映射
+     * @return 映射的文件
+     * @throws IOException 当读取失败，文件头无效或文件长度与点数不符时抛出此异常
+     */
+    public static ColumnarCoordinateFile open(Path file, boolean writable) throws IOException {
+        FileChannel channel = writable
+                ? FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0) {
+                    throw new IOException("文件头不完整：" + file);
+                }
+            }
+            header.flip();
+            if (header.getInt() != MAGIC) {
+                throw new IOException("不是列式坐标文件：" + file);
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("不支持的文件版本：" + version);
+            }
+            Layout layout = Layout.of(header.getInt());
+            int systemId = header.getInt();
+            long pointCount = header.getLong();
+            double centralMeridian = header.getDouble();
+            if (pointCount < 0 || channel.size() != HEADER_SIZE + layout.getColumnCount() * pointCount * Double.BYTES) {
+                throw new IOException("文件长度与点数不符：" + file);
+            }
+            return new ColumnarCoordinateFile(channel, writable, layout, systemId, centralMeridian, pointCount);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 将一列中 [index, index + length) 区间的数据复制至数组
+     *
+     * @param column 列序号
+     * @param index  起始点序号
+     * @param dst    目标数组
+     * @param offset 目标数组起始下标
+     * @param length 点数
+     * @throws IndexOutOfBoundsException 当列序号、区间或数组下标越界时抛出此异常
+     */
+    public void get(int column, long index, double[] dst, int offset, int length) {
+        DoubleBuffer[] buffers = segments[Objects.checkIndex(column, segments.length)];
+        Objects.checkFromIndexSize(offset, length, dst.length);
+        checkRange(index, length);
+        while (length > 0) {
+            int position = (int) (index & SEGMENT_MASK);
+            int n = Math.min(length, SEGMENT_SIZE - position);
+            buffers[(int) (index >>> SEGMENT_SHIFT)].get(position, dst, offset, n);
+            index += n;
+            offset += n;
+            length -= n;
+        }
+    }
+
+    /**
+     * 将数组复制至一列中 [index, index + length) 区间
+     *
+     * @param column 列序号
+     * @param index  起始点序号
+     * @param src    源数组
+     * @param offset 源数组起始下标
+     * @param length 点数
+     * @throws IndexOutOfBoundsException     当列序号、区间或数组下标越界时抛出此异常
+     * @throws UnsupportedOperationException 当文件以只读方式打开时抛出此异常
+     */
+    public void put(int column, long index, double[] src, int offset, int length) {
+        if (!writable) {
+            throw new UnsupportedOperationException("文件以只读方式打开");
+        }
+        DoubleBuffer[] buffers = segments[Objects.checkIndex(column, segments.length)];
+        Objects.checkFromIndexSize(offset, length, src.length);
+        checkRange(index, length);
+        while (length > 0) {
+            int position = (int) (index & SEGMENT_MASK);
+            int n = Math.min(length, SEGMENT_SIZE - position);
+            buffers[(int) (index >>> SEGMENT_SHIFT)].put(position, src, offset, n);
+            index += n;
+            offset += n;
+            length -= n;
+        }
+    }
+
+    /**
+     * 分块读取本文件各列，经计算后写入目标文件，每块的输入输出数组只分配一次
+     * <br>
+     * 计算函数中可直接调用核心的批量计算方法（包括ForkJoinPool并行版本），如：
+     * <pre>
+     * geodetic.transformTo(spatial, 65536, (in, out, n) -&gt;
+     *         system.transformToSpatialCoordinateSystem(in[0], in[1], in[2], 0, n, out[0], out[1], out[2]));
+     * </pre>
+     *
+     * @param target    目标文件，点数须与本文件一致
+     * @param blockSize 每块点数
+     * @param transform 分块计算函数
+     * @throws IllegalArgumentException 当目标文件点数不一致或块大小小于1时抛出此异常
+     */
+    public void transformTo(ColumnarCoordinateFile target, int blockSize, BlockTransform transform) {
+        if (target.pointCount != pointCount) {
+            throw new IllegalArgumentException("目标文件点数与源文件不一致");
+        }
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("块大小必须大于0");
+        }
+        int length = (int) Math.min(blockSize, pointCount);
+        double[][] input = new double[segments.length][length];
+        double[][] output = new double[target.segments.length][length];
+        for (long index = 0; index < pointCount; index += length) {
+            int n = (int) Math.min(length, pointCount - index);
+            for (int column = 0; column < input.length; column++) {
+                get(column, index, input[column], 0, n);
+            }
+            transform.transform(input, output, n);
+            for (int column = 0; column < output.length; column++) {
+                target.put(column, index, output[column], 0, n);
+            }
+        }
+    }
+
+    private void checkRange(long index, int length) {
+        if (index < 0 || length < 0 || index > pointCount - length) {
+            throw new IndexOutOfBoundsException("区间 [" + index + ", " + (index + length) + ") 超出点数 " + pointCount);
+        }
+    }
+
+    /**
+     * 将映射内存中的修改写回存储设备
+     *
+     * @throws IOException 当写回失败时抛出此异常
+     */
+    public void force() throws IOException {
+        channel.force(false);
+    }
+
+    /**
+     * 关闭文件，已映射的内存在映射对象被回收后释放
+     *
+     * @throws IOException 当关闭失败时抛出此异常
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * 获取列布局
+     *
+     * @return 列布局
+     */
+    public Layout getLayout() {
+        return layout;
+    }
+
+    /**
+     * 获取大地坐标系ID
+     *
+     * @return 大地坐标系ID，0表示未指定
+     */
+    public int getSystemId() {
+        return systemId;
+    }
+
+    /**
+     * 获取登记的大地坐标系
+     *
+     * @return 大地坐标系实例，未指定或未登记时返回null
+     */
+    public GeodeticCoordinateSystem getSystem() {
+        return GeodeticCoordinateSystem.getSystemById(systemId);
+    }
+
+    /**
+     * 获取投影坐标的中央子午线
+     *
+     * @return 中央子午线，单位：十进制度，非投影坐标时为NaN
+     */
+    public double getCentralMeridian() {
+        return centralMeridian;
+    }
+
+    /**
+     * 获取点数
+     *
+     * @return 点数
+     */
+    public long getPointCount() {
+        return pointCount;
+    }
+
+    /**
+     * 是否以读写方式映射
+     *
+     * @return 是否可写
+     */
+    public boolean isWritable() {
+        return writable;
+    }
+}
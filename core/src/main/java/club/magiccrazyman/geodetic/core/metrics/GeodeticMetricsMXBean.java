@@ -0,0 +1,31 @@
+package club.magiccrazyman.geodetic.core.metrics;
+
+import java.util.List;
+
+/**
+ * 计算指标的JMX管理接口
+ *
+ * @author Magic Crazy Man
+ * @see JmxMetricsExporter
+ */
+public interface GeodeticMetricsMXBean {
+
+    /**
+     * 获取所有计算方法及坐标系的统计快照
+     *
+     * @return 统计快照
+     */
+    List<OperationSnapshot> getOperations();
+
+    /**
+     * 获取所有计算方法的调用总次数
+     *
+     * @return 调用总次数
+     */
+    long getTotalCount();
+
+    /**
+     * 清空所有统计
+     */
+    void reset();
+}
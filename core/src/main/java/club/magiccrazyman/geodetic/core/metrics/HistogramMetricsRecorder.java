@@ -0,0 +1,114 @@
+package club.magiccrazyman.geodetic.core.metrics;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 按计算方法及坐标系分别统计调用次数、迭代次数分布及耗时分布的记录器
+ * <br>
+ * 迭代次数直方图第i格为迭代i次的调用数，最后一格为迭代不少于 {@link #MAX_ITERATIONS} 次的调用数；
+ * 耗时直方图第i格为耗时在 [2^(i-1), 2^i) 纳秒内的调用数（第0格为0纳秒）。
+ * 记录过程无锁，除首次遇到某一坐标系外不产生任何对象
+ *
+ * @author Magic Crazy Man
+ */
+public class HistogramMetricsRecorder implements MetricsRecorder {
+
+    /**
+     * 迭代次数直方图单独计数的最大迭代次数
+     */
+    public static final int MAX_ITERATIONS = 32;
+
+    /**
+     * 耗时直方图格数
+     */
+    public static final int LATENCY_BUCKETS = 64;
+
+    private final Map<MetricOperation, ConcurrentHashMap<String, Statistics>> statistics = new EnumMap<>(MetricOperation.class);
+
+    public HistogramMetricsRecorder() {
+        for (MetricOperation operation : MetricOperation.values()) {
+            statistics.put(operation, new ConcurrentHashMap<>());
+        }
+    }
+
+    @Override
+    public void record(MetricOperation operation, String system, int iterations, long nanos) {
+        ConcurrentHashMap<String, Statistics> systems = statistics.get(operation);
+        Statistics statistic = systems.get(system);
+        if (statistic == null) {
+            statistic = systems.computeIfAbsent(system, key -> new Statistics());
+        }
+        statistic.record(iterations, nanos);
+    }
+
+    /**
+     * 获取当前所有统计的快照
+     *
+     * @return 按计算方法顺序排列的快照
+     */
+    public List<OperationSnapshot> snapshot() {
+        List<OperationSnapshot> snapshots = new ArrayList<>();
+        statistics.forEach((operation, systems) -> systems.forEach((system, statistic) -> snapshots.add(statistic.snapshot(operation, system))));
+        return snapshots;
+    }
+
+    /**
+     * 获取一个计算方法在一个坐标系上的统计快照
+     *
+     * @param operation 计算方法
+     * @param system    坐标系名称
+     * @return 统计快照，从未记录时返回null
+     */
+    public OperationSnapshot snapshot(MetricOperation operation, String system) {
+        Statistics statistic = statistics.get(operation).get(system);
+        return statistic == null ? null : statistic.snapshot(operation, system);
+    }
+
+    /**
+     * 清空所有统计
+     */
+    public void reset() {
+        statistics.values().forEach(Map::clear);
+    }
+
+    /**
+     * 耗时直方图的格号
+     */
+    static int latencyBucket(long nanos) {
+        return Math.min(LATENCY_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(Math.max(nanos, 0)));
+    }
+
+    private static final class Statistics {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalIterations = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLongArray iterationHistogram = new AtomicLongArray(MAX_ITERATIONS + 1);
+        private final AtomicLongArray latencyHistogram = new AtomicLongArray(LATENCY_BUCKETS);
+
+        private void record(int iterations, long nanos) {
+            count.increment();
+            totalIterations.add(iterations);
+            totalNanos.add(nanos);
+            iterationHistogram.incrementAndGet(Math.min(Math.max(iterations, 0), MAX_ITERATIONS));
+            latencyHistogram.incrementAndGet(latencyBucket(nanos));
+        }
+
+        private OperationSnapshot snapshot(MetricOperation operation, String system) {
+            long[] iterations = new long[iterationHistogram.length()];
+            for (int i = 0; i < iterations.length; i++) {
+                iterations[i] = iterationHistogram.get(i);
+            }
+            long[] latencies = new long[latencyHistogram.length()];
+            for (int i = 0; i < latencies.length; i++) {
+                latencies[i] = latencyHistogram.get(i);
+            }
+            return new OperationSnapshot(operation.name(), system, count.sum(), totalIterations.sum(), totalNanos.sum(), iterations, latencies);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package club.magiccrazyman.geodetic.core.metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 将 {@link HistogramMetricsRecorder} 的统计以MXBean形式注册至平台MBeanServer，可由jconsole，VisualVM等工具查看
+ *
+ * @author Magic Crazy Man
+ */
+public class JmxMetricsExporter {
+
+    /**
+     * 默认的MBean名称
+     */
+    public static final String DEFAULT_NAME = "club.magiccrazyman.geodetic:type=Metrics";
+
+    private JmxMetricsExporter() {
+    }
+
+    /**
+     * 以默认名称注册
+     *
+     * @param recorder 记录器
+     * @return 注册的MBean名称
+     * @throws JMException 当名称已被注册或注册失败时抛出此异常
+     */
+    public static ObjectName register(HistogramMetricsRecorder recorder) throws JMException {
+        return register(recorder, new ObjectName(DEFAULT_NAME));
+    }
+
+    /**
+     * 以指定名称注册
+     *
+     * @param recorder 记录器
+     * @param name     MBean名称
+     * @return 注册的MBean名称
+     * @throws JMException 当名称已被注册或注册失败时抛出此异常
+     */
+    public static ObjectName register(HistogramMetricsRecorder recorder, ObjectName name) throws JMException {
+        Objects.requireNonNull(recorder);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        return server.registerMBean(new GeodeticMetrics(recorder), name).getObjectName();
+    }
+
+    /**
+     * 注销
+     *
+     * @param name MBean名称
+     * @throws JMException 当名称未注册或注销失败时抛出此异常
+     */
+    public static void unregister(ObjectName name) throws JMException {
+        ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+    }
+
+    private static final class GeodeticMetrics implements GeodeticMetricsMXBean {
+        private final HistogramMetricsRecorder recorder;
+
+        private GeodeticMetrics(HistogramMetricsRecorder recorder) {
+            this.recorder = recorder;
+        }
+
+        @Override
+        public List<OperationSnapshot> getOperations() {
+            return recorder.snapshot();
+        }
+
+        @Override
+        public long getTotalCount() {
+            long total = 0;
+            for (OperationSnapshot snapshot : recorder.snapshot()) {
+                total += snapshot.getCount();
+            }
+            return total;
+        }
+
+        @Override
+        public void reset() {
+            recorder.reset();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package club.magiccrazyman.geodetic.core.metrics;
+
+/**
+ * 记录计算指标的计算方法
+ *
+ * @author Magic Crazy Man
+ */
+public enum MetricOperation {
+
+    /**
+     * 空间直角坐标转换为大地坐标（迭代法），迭代次数为大地纬度迭代次数
+     */
+    TRANSFORM_TO_GEODETIC,
+
+    /**
+     * 大地坐标转换为空间直角坐标
+     */
+    TRANSFORM_TO_SPATIAL,
+
+    /**
+     * 大地主题正算
+     */
+    DIRECT_SOLUTION,
+
+    /**
+     * 大地主题反算，迭代次数为趋近次数
+     */
+    INVERSE_SOLUTION,
+
+    /**
+     * Karney算法的大地主题正算
+     */
+    KARNEY_DIRECT_SOLUTION,
+
+    /**
+     * Karney算法的大地主题反算，迭代次数为牛顿迭代次数
+     */
+    KARNEY_INVERSE_SOLUTION,
+
+    /**
+     * 由子午线弧长推算大地纬度（迭代法），投影反算的迭代法亦会调用此计算
+     */
+    LATITUDE_FROM_MERIDIAN_ARC,
+
+    /**
+     * 高斯克吕格投影正算
+     */
+    FORWARD_CALCULATION,
+
+    /**
+     * 高斯克吕格投影反算，迭代次数为底点纬度迭代次数，闭合公式法恒为0
+     */
+    BACKWARD_CALCULATION
+}
@@ -0,0 +1,73 @@
+package club.magiccrazyman.geodetic.core.metrics;
+
+/**
+ * 计算指标的全局开关
+ * <br>
+ * 默认不设置记录器，此时各计算方法只多读取一次volatile字段及JFR事件开关，不调用 {@link System#nanoTime()}，不产生任何对象；
+ * 设置记录器后，各计算方法完成时将计算方法、坐标系名称、迭代次数及耗时交由记录器记录；
+ * 存在启用 {@link OperationEvent} 的JFR记录时，同时提交JFR事件，两者互不依赖
+ * <br>
+ * 批量计算按点逐次记录
+ *
+ * @author Magic Crazy Man
+ * @see HistogramMetricsRecorder
+ * @see OperationEvent
+ */
+public final class Metrics {
+
+    /**
+     * 未设置记录器且未启用JFR事件时 {@link #start()} 的返回值
+     */
+    private static final long DISABLED = Long.MIN_VALUE;
+
+    private static volatile MetricsRecorder recorder;
+
+    private Metrics() {
+    }
+
+    /**
+     * 设置全局记录器
+     *
+     * @param recorder 记录器，为null时停止记录
+     */
+    public static void setRecorder(MetricsRecorder recorder) {
+        Metrics.recorder = recorder;
+    }
+
+    /**
+     * 获取全局记录器
+     *
+     * @return 记录器，未设置时返回null
+     */
+    public static MetricsRecorder getRecorder() {
+        return recorder;
+    }
+
+    /**
+     * 计算开始时调用，供各计算方法使用
+     *
+     * @return 开始时间，单位：纳秒，未设置记录器且未启用JFR事件时返回一个特殊值
+     */
+    public static long start() {
+        return recorder == null && !OperationEvent.enabled() ? DISABLED : System.nanoTime();
+    }
+
+    /**
+     * 计算完成时调用，供各计算方法使用
+     *
+     * @param operation  计算方法
+     * @param system     坐标系名称
+     * @param start      {@link #start()} 的返回值
+     * @param iterations 迭代次数
+     */
+    public static void record(MetricOperation operation, String system, long start, double iterations) {
+        if (start != DISABLED) {
+            long elapsed = System.nanoTime() - start;
+            MetricsRecorder current = recorder;
+            if (current != null) {
+                current.record(operation, system, (int) iterations, elapsed);
+            }
+            OperationEvent.emit(operation, system, (int) iterations, elapsed);
+        }
+    }
+}
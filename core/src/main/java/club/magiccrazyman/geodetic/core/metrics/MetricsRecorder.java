@@ -0,0 +1,23 @@
+package club.magiccrazyman.geodetic.core.metrics;
+
+/**
+ * 计算指标记录器，每完成一次计算调用一次
+ * <br>
+ * 实现须线程安全，并应尽量快速返回，记录过程会计入计算方法的耗时
+ *
+ * @author Magic Crazy Man
+ * @see Metrics#setRecorder(MetricsRecorder)
+ */
+@FunctionalInterface
+public interface MetricsRecorder {
+
+    /**
+     * 记录一次计算
+     *
+     * @param operation  计算方法
+     * @param system     坐标系名称
+     * @param iterations 迭代次数，无迭代的计算为0
+     * @param nanos      耗时，单位：纳秒
+     */
+    void record(MetricOperation operation, String system, int iterations, long nanos);
+}
@@ -0,0 +1,87 @@
+package club.magiccrazyman.geodetic.core.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * 计算完成时提交的JFR事件，与 {@link MetricsRecorder} 使用相同的埋点
+ * <br>
+ * 默认关闭，须在记录中显式启用，例如 {@code recording.enable(OperationEvent.NAME)}，或在 .jfc 配置文件中将其 enabled 设为 true；
+ * 未启用或无正在进行的记录时，各计算方法不调用 {@link System#nanoTime()}，不产生任何对象
+ * <br>
+ * 事件于计算完成时提交，计算耗时记录在 elapsed 字段中，事件本身的持续时间为0
+ *
+ * @author Magic Crazy Man
+ * @see Metrics
+ */
+@Name(OperationEvent.NAME)
+@Label("大地测量计算")
+@Category("Geodetic Calculation")
+@Description("单次坐标转换、投影计算或大地主题解算")
+@Enabled(false)
+@StackTrace(false)
+public final class OperationEvent extends Event {
+
+    /**
+     * 事件名称
+     */
+    public static final String NAME = "club.magiccrazyman.geodetic.Operation";
+
+    /**
+     * 用于判断事件是否启用的实例，{@link #isEnabled()} 只读取JFR维护的开关
+     */
+    private static final OperationEvent PROBE = new OperationEvent();
+
+    @Label("计算方法")
+    private String operation;
+
+    @Label("坐标系名称")
+    private String system;
+
+    @Label("迭代次数")
+    private int iterations;
+
+    @Label("耗时")
+    @Timespan(Timespan.NANOSECONDS)
+    private long elapsed;
+
+    /**
+     * 事件只由 {@link #emit(MetricOperation, String, int, long)} 创建
+     */
+    private OperationEvent() {
+    }
+
+    /**
+     * 事件是否启用，供 {@link Metrics} 使用
+     *
+     * @return 存在启用本事件的记录时返回true
+     */
+    static boolean enabled() {
+        return PROBE.isEnabled();
+    }
+
+    /**
+     * 提交一次计算，供 {@link Metrics} 使用
+     *
+     * @param operation  计算方法
+     * @param system     坐标系名称
+     * @param iterations 迭代次数
+     * @param elapsed    耗时，单位：纳秒
+     */
+    static void emit(MetricOperation operation, String system, int iterations, long elapsed) {
+        OperationEvent event = new OperationEvent();
+        if (event.shouldCommit()) {
+            event.operation = operation.name();
+            event.system = system;
+            event.iterations = iterations;
+            event.elapsed = elapsed;
+            event.commit();
+        }
+    }
+}
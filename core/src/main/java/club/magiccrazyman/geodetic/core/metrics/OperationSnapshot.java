@@ -0,0 +1,156 @@
+package club.magiccrazyman.geodetic.core.metrics;
+
+/**
+ * 一个计算方法在一个坐标系上的统计快照，各项均为取快照时的值
+ * <br>
+ * 各计数在取快照的过程中仍可能增加，各项之间不保证严格一致
+ *
+ * @author Magic Crazy Man
+ * @see HistogramMetricsRecorder
+ */
+public class OperationSnapshot {
+
+    private final String operation;
+    private final String system;
+    private final long count;
+    private final long totalIterations;
+    private final long totalNanos;
+    private final long[] iterationHistogram;
+    private final long[] latencyHistogram;
+
+    OperationSnapshot(String operation, String system, long count, long totalIterations, long totalNanos, long[] iterationHistogram, long[] latencyHistogram) {
+        this.operation = operation;
+        this.system = system;
+        this.count = count;
+        this.totalIterations = totalIterations;
+        this.totalNanos = totalNanos;
+        this.iterationHistogram = iterationHistogram;
+        this.latencyHistogram = latencyHistogram;
+    }
+
+    /**
+     * 获取计算方法名称
+     *
+     * @return {@link MetricOperation} 的名称
+     */
+    public String getOperation() {
+        return operation;
+    }
+
+    /**
+     * 获取坐标系名称
+     *
+     * @return 坐标系名称
+     */
+    public String getSystem() {
+        return system;
+    }
+
+    /**
+     * 获取调用次数
+     *
+     * @return 调用次数
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * 获取迭代总次数
+     *
+     * @return 迭代总次数
+     */
+    public long getTotalIterations() {
+        return totalIterations;
+    }
+
+    /**
+     * 获取总耗时
+     *
+     * @return 总耗时，单位：纳秒
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * 获取平均迭代次数
+     *
+     * @return 平均迭代次数，未调用时为0
+     */
+    public double getMeanIterations() {
+        return count == 0 ? 0 : (double) totalIterations / count;
+    }
+
+    /**
+     * 获取平均耗时
+     *
+     * @return 平均耗时，单位：纳秒，未调用时为0
+     */
+    public double getMeanNanos() {
+        return count == 0 ? 0 : (double) totalNanos / count;
+    }
+
+    /**
+     * 获取迭代次数直方图
+     *
+     * @return 第i格为迭代i次的调用数，最后一格为迭代不少于 {@link HistogramMetricsRecorder#MAX_ITERATIONS} 次的调用数
+     */
+    public long[] getIterationHistogram() {
+        return iterationHistogram.clone();
+    }
+
+    /**
+     * 获取耗时直方图
+     *
+     * @return 第i格为耗时在 [2^(i-1), 2^i) 纳秒内的调用数
+     */
+    public long[] getLatencyHistogram() {
+        return latencyHistogram.clone();
+    }
+
+    /**
+     * 获取耗时的中位数估计值
+     *
+     * @return 中位数所在格的上界，单位：纳秒
+     */
+    public long getLatencyP50Nanos() {
+        return latencyPercentile(0.5);
+    }
+
+    /**
+     * 获取耗时的99%分位数估计值
+     *
+     * @return 99%分位数所在格的上界，单位：纳秒
+     */
+    public long getLatencyP99Nanos() {
+        return latencyPercentile(0.99);
+    }
+
+    /**
+     * 由耗时直方图估计分位数
+     *
+     * @param quantile 分位，范围 (0, 1]
+     * @return 分位数所在格的上界，单位：纳秒，未调用时为0
+     */
+    public long latencyPercentile(double quantile) {
+        long total = 0;
+        for (long value : latencyHistogram) {
+            total += value;
+        }
+        long rank = (long) Math.ceil(quantile * total);
+        long cumulative = 0;
+        for (int i = 0; i < latencyHistogram.length; i++) {
+            cumulative += latencyHistogram[i];
+            if (cumulative >= rank && cumulative > 0) {
+                return i == 0 ? 0 : i >= 63 ? Long.MAX_VALUE : (1L << i) - 1;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return operation + "[" + system + "]: count=" + count + ", meanIterations=" + getMeanIterations() + ", meanNanos=" + getMeanNanos();
+    }
+}
@@ -0,0 +1,63 @@
+package club.magiccrazyman.geodetic.core.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 登记表首次加载时提交的JFR事件，持续时间为登记表的创建耗时
+ * <br>
+ * 默认关闭，启用方式同 {@link OperationEvent}；登记表只在首次访问时加载一次，须在加载前开始记录
+ * <br>
+ * 使用方式：
+ * <pre>{@code
+ * RegistryLoadEvent event = new RegistryLoadEvent("GeodeticCoordinateSystem");
+ * event.begin();
+ * //创建登记表
+ * event.commit(count);
+ * }</pre>
+ *
+ * @author Magic Crazy Man
+ */
+@Name(RegistryLoadEvent.NAME)
+@Label("登记表加载")
+@Category("Geodetic Calculation")
+@Description("由构建时生成的登记表创建坐标系或转换参数")
+@Enabled(false)
+@StackTrace(false)
+public final class RegistryLoadEvent extends Event {
+
+    /**
+     * 事件名称
+     */
+    public static final String NAME = "club.magiccrazyman.geodetic.RegistryLoad";
+
+    @Label("登记表")
+    private String registry;
+
+    @Label("条目数")
+    private int count;
+
+    /**
+     * @param registry 登记表名称
+     */
+    public RegistryLoadEvent(String registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * 登记表创建完成时调用
+     *
+     * @param count 登记的条目数
+     */
+    public void commit(int count) {
+        if (shouldCommit()) {
+            this.count = count;
+            commit();
+        }
+    }
+}
@@ -9,6 +9,10 @@ import java.math.RoundingMode;
  * @author Magic Crazy Man
  */
 public class CalculationTools {
+
+    private CalculationTools() {
+    }
+
     /**
      * 弧度转换角度工具
      *
@@ -0,0 +1,427 @@
+package club.magiccrazyman.geodetic.core.tools;
+
+/**
+ * 三角函数计算后端，用于投影，空间直角坐标转换及大地主题解算等三角函数密集的计算过程，按坐标系或按次调用选择
+ * <ul>
+ *     <li>{@link #JAVA}：{@link Math}，由JVM选择实现（通常为硬件内联），不同平台间结果可能相差1ulp，为默认后端</li>
+ *     <li>{@link #STRICT}：{@link StrictMath}，即fdlibm算法，任何平台、任何JVM下结果逐位一致，适用于需要复现的计算</li>
+ *     <li>{@link #FAST}：Cody-Waite区间缩减加多项式逼近，sincos共用一次区间缩减，以少量精度换取速度</li>
+ * </ul>
+ * <br>
+ * {@link #FAST} 的误差界（相对于 {@link StrictMath}，绝对误差）：
+ * |x| ≤ 2^19·π/2 时 sin，cos 不超过4 * 10^-16，atan 在全实数域上不超过4 * 10^-16，tan 的相对误差不超过8 * 10^-16；
+ * |x| 超出上述范围的 sin，cos，tan 回退至 {@link Math}；atan2 不超过8 * 10^-16；hypot 的相对误差不超过4 * 10^-16；acos，cbrt 直接使用 {@link Math}。
+ * sqrt 由IEEE 754规定正确舍入，各后端均直接使用 {@link Math#sqrt(double)}。
+ * 以地球半径计，4 * 10^-16 弧度约合3 * 10^-9 米，远小于投影公式本身的截断误差
+ * <br>
+ * 使用范围：大地坐标系的空间直角坐标转换、大地主题正反算（含Karney算法）、子午线弧长及莫洛金斯基转换使用构造大地坐标系时指定的后端，
+ * 高斯克吕格投影正反算使用构造投影坐标系时指定的后端，二者均提供按次指定后端的重载。
+ * 克吕格级数投影（KrugerTransverseMercator）还依赖sinh，cosh，log1p等双曲及对数函数，不在本后端范围内，仍直接使用 {@link Math}，其结果不保证逐位可复现
+ *
+ * @author Magic Crazy Man
+ */
+public enum MathBackend {
+
+    /**
+     * {@link Math}，由JVM选择实现
+     */
+    JAVA {
+        @Override
+        public double sin(double x) {
+            return Math.sin(x);
+        }
+
+        @Override
+        public double cos(double x) {
+            return Math.cos(x);
+        }
+
+        @Override
+        public double tan(double x) {
+            return Math.tan(x);
+        }
+
+        @Override
+        public double atan(double x) {
+            return Math.atan(x);
+        }
+
+        @Override
+        public double atan2(double y, double x) {
+            return Math.atan2(y, x);
+        }
+
+        @Override
+        public double acos(double x) {
+            return Math.acos(x);
+        }
+
+        @Override
+        public double hypot(double x, double y) {
+            return Math.hypot(x, y);
+        }
+
+        @Override
+        public double cbrt(double x) {
+            return Math.cbrt(x);
+        }
+    },
+
+    /**
+     * {@link StrictMath}，结果逐位可复现
+     */
+    STRICT {
+        @Override
+        public double sin(double x) {
+            return StrictMath.sin(x);
+        }
+
+        @Override
+        public double cos(double x) {
+            return StrictMath.cos(x);
+        }
+
+        @Override
+        public double tan(double x) {
+            return StrictMath.tan(x);
+        }
+
+        @Override
+        public double atan(double x) {
+            return StrictMath.atan(x);
+        }
+
+        @Override
+        public double atan2(double y, double x) {
+            return StrictMath.atan2(y, x);
+        }
+
+        @Override
+        public double acos(double x) {
+            return StrictMath.acos(x);
+        }
+
+        @Override
+        public double hypot(double x, double y) {
+            return StrictMath.hypot(x, y);
+        }
+
+        @Override
+        public double cbrt(double x) {
+            return StrictMath.cbrt(x);
+        }
+    },
+
+    /**
+     * 区间缩减加多项式逼近，误差界见 {@link MathBackend}
+     */
+    FAST {
+        @Override
+        public double sin(double x) {
+            if (!(Math.abs(x) <= FAST_REDUCTION_LIMIT)) {
+                return Math.sin(x);
+            }
+            double k = Math.rint(x * TWO_OVER_PI);
+            double r = reduce(x, k);
+            switch ((int) k & 3) {
+                case 0:
+                    return kernelSin(r);
+                case 1:
+                    return kernelCos(r);
+                case 2:
+                    return -kernelSin(r);
+                default:
+                    return -kernelCos(r);
+            }
+        }
+
+        @Override
+        public double cos(double x) {
+            if (!(Math.abs(x) <= FAST_REDUCTION_LIMIT)) {
+                return Math.cos(x);
+            }
+            double k = Math.rint(x * TWO_OVER_PI);
+            double r = reduce(x, k);
+            switch ((int) k & 3) {
+                case 0:
+                    return kernelCos(r);
+                case 1:
+                    return -kernelSin(r);
+                case 2:
+                    return -kernelCos(r);
+                default:
+                    return kernelSin(r);
+            }
+        }
+
+        @Override
+        public double tan(double x) {
+            if (!(Math.abs(x) <= FAST_REDUCTION_LIMIT)) {
+                return Math.tan(x);
+            }
+            double k = Math.rint(x * TWO_OVER_PI);
+            double r = reduce(x, k);
+            double s = kernelSin(r), c = kernelCos(r);
+            return ((int) k & 1) == 0 ? s / c : -c / s;
+        }
+
+        @Override
+        public double atan(double x) {
+            double ax = Math.abs(x), y;
+            if (!(ax <= 1)) {
+                //atan(x) = π/2 - atan(1/x)，ax为NaN时结果亦为NaN
+                y = PI_OVER_2_HI - (kernelAtanUnit(1 / ax) - PI_OVER_2_LO);
+            } else {
+                y = kernelAtanUnit(ax);
+            }
+            return Math.copySign(y, x);
+        }
+
+        @Override
+        public double atan2(double y, double x) {
+            double ax = Math.abs(x), ay = Math.abs(y);
+            if (!(ax > 0 && ax < Double.POSITIVE_INFINITY && ay > 0 && ay < Double.POSITIVE_INFINITY)) {
+                return Math.atan2(y, x); //零，无穷及NaN的各种组合
+            }
+            double a;
+            if (ay <= ax) {
+                a = kernelAtanUnit(ay / ax);
+            } else {
+                a = PI_OVER_2_HI - (kernelAtanUnit(ax / ay) - PI_OVER_2_LO);
+            }
+            if (x < 0) {
+                a = PI_HI - (a - PI_LO);
+            }
+            return Math.copySign(a, y);
+        }
+
+        @Override
+        public double acos(double x) {
+            return Math.acos(x);
+        }
+
+        @Override
+        public double hypot(double x, double y) {
+            double m = Math.max(Math.abs(x), Math.abs(y));
+            if (!(m > FAST_HYPOT_MIN && m < FAST_HYPOT_MAX)) {
+                return Math.hypot(x, y); //平方可能上溢或下溢，以及零，无穷，NaN
+            }
+            return Math.sqrt(x * x + y * y);
+        }
+
+        @Override
+        public double cbrt(double x) {
+            return Math.cbrt(x);
+        }
+
+        @Override
+        public double[] sincos(double x, double[] output) {
+            if (!(Math.abs(x) <= FAST_REDUCTION_LIMIT)) {
+                return super.sincos(x, output);
+            }
+            double k = Math.rint(x * TWO_OVER_PI);
+            double r = reduce(x, k);
+            double s = kernelSin(r), c = kernelCos(r);
+            switch ((int) k & 3) {
+                case 0:
+                    output[0] = s;
+                    output[1] = c;
+                    break;
+                case 1:
+                    output[0] = c;
+                    output[1] = -s;
+                    break;
+                case 2:
+                    output[0] = -s;
+                    output[1] = -c;
+                    break;
+                default:
+                    output[0] = -c;
+                    output[1] = s;
+                    break;
+            }
+            return output;
+        }
+    };
+
+    /**
+     * 正弦
+     *
+     * @param x 弧度
+     * @return sin(x)
+     */
+    public abstract double sin(double x);
+
+    /**
+     * 余弦
+     *
+     * @param x 弧度
+     * @return cos(x)
+     */
+    public abstract double cos(double x);
+
+    /**
+     * 正切
+     *
+     * @param x 弧度
+     * @return tan(x)
+     */
+    public abstract double tan(double x);
+
+    /**
+     * 反正切
+     *
+     * @param x 正切值
+     * @return atan(x)，单位：弧度，范围[-π/2, π/2]
+     */
+    public abstract double atan(double x);
+
+    /**
+     * 二参数反正切
+     *
+     * @param y 纵坐标
+     * @param x 横坐标
+     * @return 点(x, y)的辐角，单位：弧度，范围[-π, π]
+     */
+    public abstract double atan2(double y, double x);
+
+    /**
+     * 反余弦
+     *
+     * @param x 余弦值
+     * @return acos(x)，单位：弧度，范围[0, π]
+     */
+    public abstract double acos(double x);
+
+    /**
+     * 不经中间结果上溢或下溢的 sqrt(x^2 + y^2)
+     *
+     * @param x 第一个直角边
+     * @param y 第二个直角边
+     * @return sqrt(x^2 + y^2)
+     */
+    public abstract double hypot(double x, double y);
+
+    /**
+     * 立方根
+     *
+     * @param x 实数
+     * @return x的立方根
+     */
+    public abstract double cbrt(double x);
+
+    /**
+     * 同时计算正弦与余弦，计算结果写入调用方提供的数组，计算过程不产生任何对象
+     * <br>
+     * {@link #FAST} 只进行一次区间缩减；{@link #JAVA}，{@link #STRICT} 与分别调用 sin，cos 的结果逐位一致
+     *
+     * @param x      弧度
+     * @param output 长度不小于2的输出数组
+     * @return 以sin(x)，cos(x)顺序写入的output数组
+     */
+    public double[] sincos(double x, double[] output) {
+        output[0] = sin(x);
+        output[1] = cos(x);
+        return output;
+    }
+
+    /**
+     * {@link #FAST} 进行Cody-Waite区间缩减的最大参数，k * π/2 的前两段在此范围内均可精确表示
+     */
+    private static final double FAST_REDUCTION_LIMIT = 0x1p19 * Math.PI / 2;
+
+    private static final double TWO_OVER_PI = 6.36619772367581382433e-01;
+
+    /**
+     * π/2 拆分为三段，前两段各含33位有效数字（fdlibm pio2_1，pio2_2，pio2_3）
+     */
+    private static final double PI_OVER_2_1 = 1.57079632673412561417e+00;
+    private static final double PI_OVER_2_2 = 6.07710050630396597660e-11;
+    private static final double PI_OVER_2_3 = 2.02226624871116645580e-21;
+
+    /**
+     * {@link #FAST} 以 sqrt(x^2 + y^2) 直接计算hypot的参数范围，其平方不会上溢或下溢
+     */
+    private static final double FAST_HYPOT_MIN = 0x1p-500;
+    private static final double FAST_HYPOT_MAX = 0x1p500;
+
+    /**
+     * π，π/2，π/4 的高位与低位
+     */
+    private static final double PI_HI = 3.14159265358979311600e+00;
+    private static final double PI_LO = 1.22464679914735317723e-16;
+    private static final double PI_OVER_2_HI = 1.57079632679489655800e+00;
+    private static final double PI_OVER_2_LO = 6.12323399573676603587e-17;
+    private static final double PI_OVER_4_HI = 7.85398163397448278999e-01;
+    private static final double PI_OVER_4_LO = 3.06161699786838301793e-17;
+
+    /**
+     * tan(π/8)
+     */
+    private static final double TAN_PI_OVER_8 = 4.14213562373095034e-01;
+
+    /**
+     * [-π/4, π/4] 上的正弦，余弦逼近多项式系数（fdlibm __kernel_sin，__kernel_cos）
+     */
+    private static final double S1 = -1.66666666666666324348e-01, S2 = 8.33333333332248946124e-03,
+            S3 = -1.98412698298579493134e-04, S4 = 2.75573137070700676789e-06,
+            S5 = -2.50507602534068634195e-08, S6 = 1.58969099521155010221e-10;
+    private static final double C1 = 4.16666666666666019037e-02, C2 = -1.38888888888741095749e-03,
+            C3 = 2.48015872894767294178e-05, C4 = -2.75573143513906633035e-07,
+            C5 = 2.08757232129817482790e-09, C6 = -1.13596475577881948265e-11;
+
+    /**
+     * [-7/16, 7/16] 上的反正切逼近多项式系数（fdlibm s_atan.c）
+     */
+    private static final double AT0 = 3.33333333333329318027e-01, AT1 = -1.99999999998764832476e-01,
+            AT2 = 1.42857142725034663711e-01, AT3 = -1.11111104054623557880e-01,
+            AT4 = 9.09088713343650656196e-02, AT5 = -7.69187620504482999495e-02,
+            AT6 = 6.66107313738753120669e-02, AT7 = -5.83357013379057348645e-02,
+            AT8 = 4.97687799461593236017e-02, AT9 = -3.65315727442169155270e-02,
+            AT10 = 1.62858201153657823623e-02;
+
+    /**
+     * r = x - k * π/2，|r| ≤ π/4
+     */
+    private static double reduce(double x, double k) {
+        if (k == 0) {
+            return x; //保留-0.0的符号
+        }
+        return ((x - k * PI_OVER_2_1) - k * PI_OVER_2_2) - k * PI_OVER_2_3;
+    }
+
+    private static double kernelSin(double r) {
+        if (r == 0) {
+            return r; //保留-0.0的符号
+        }
+        double z = r * r;
+        return r + r * z * (S1 + z * (S2 + z * (S3 + z * (S4 + z * (S5 + z * S6)))));
+    }
+
+    private static double kernelCos(double r) {
+        double z = r * r;
+        double hz = 0.5 * z;
+        double w = 1 - hz;
+        //补偿 1 - hz 的舍入误差
+        return w + (((1 - w) - hz) + z * z * (C1 + z * (C2 + z * (C3 + z * (C4 + z * (C5 + z * C6))))));
+    }
+
+    /**
+     * [0, 1] 上的反正切，超过tan(π/8)时以 atan(t) = π/4 + atan((t - 1) / (t + 1)) 缩减
+     */
+    private static double kernelAtanUnit(double t) {
+        if (t > TAN_PI_OVER_8) {
+            return PI_OVER_4_HI + (kernelAtanSmall((t - 1) / (t + 1)) + PI_OVER_4_LO);
+        }
+        return kernelAtanSmall(t);
+    }
+
+    private static double kernelAtanSmall(double t) {
+        double z = t * t;
+        double w = z * z;
+        //奇偶项分开以缩短依赖链
+        double s1 = z * (AT0 + w * (AT2 + w * (AT4 + w * (AT6 + w * (AT8 + w * AT10)))));
+        double s2 = w * (AT1 + w * (AT3 + w * (AT5 + w * (AT7 + w * AT9))));
+        return t - t * (s1 + s2);
+    }
+}
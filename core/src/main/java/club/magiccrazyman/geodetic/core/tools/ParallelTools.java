@@ -0,0 +1,116 @@
+package club.magiccrazyman.geodetic.core.tools;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 批量计算并行辅助工具
+ * <br>
+ * 将 [offset, offset + length) 区间二分拆分为不大于阈值的子区间，并提交至 {@link ForkJoinPool} 中并行执行
+ *
+ * @author Magic Crazy Man
+ */
+public class ParallelTools {
+
+    /**
+     * 默认子区间长度阈值，子区间长度不大于此值时不再拆分
+     */
+    public static final int DEFAULT_THRESHOLD = 4096;
+
+    private ParallelTools() {
+    }
+
+    /**
+     * 区间计算任务
+     */
+    @FunctionalInterface
+    public interface RangeTask {
+        /**
+         * 计算 [from, to) 区间内的所有数据
+         *
+         * @param from 起始下标（包含）
+         * @param to   终止下标（不包含）
+         */
+        void compute(int from, int to);
+    }
+
+    /**
+     * 使用默认阈值并行执行区间计算任务
+     *
+     * @param pool   执行任务的ForkJoinPool
+     * @param offset 起始下标
+     * @param length 数据长度
+     * @param task   区间计算任务
+     * @see ParallelTools#forRange(ForkJoinPool, int, int, int, RangeTask)
+     */
+    public static void forRange(ForkJoinPool pool, int offset, int length, RangeTask task) {
+        forRange(pool, offset, length, DEFAULT_THRESHOLD, task);
+    }
+
+    /**
+     * 并行执行区间计算任务，方法会阻塞至所有子区间计算完成
+     *
+     * @param pool      执行任务的ForkJoinPool
+     * @param offset    起始下标
+     * @param length    数据长度
+     * @param threshold 子区间长度阈值
+     * @param task      区间计算任务
+     * @throws IllegalArgumentException 当阈值小于1时抛出此异常
+     */
+    public static void forRange(ForkJoinPool pool, int offset, int length, int threshold, RangeTask task) {
+        Objects.requireNonNull(pool);
+        Objects.requireNonNull(task);
+        if (threshold < 1) {
+            throw new IllegalArgumentException("子区间长度阈值必须大于0");
+        }
+        if (length <= threshold) {
+            task.compute(offset, offset + length);
+        } else {
+            pool.invoke(new RangeAction(offset, offset + length, threshold, task));
+        }
+    }
+
+    /**
+     * 检查批量计算的所有数组是否均包含 [offset, offset + length) 区间
+     *
+     * @param offset 起始下标
+     * @param length 计算点数
+     * @param arrays 批量计算使用的数组
+     * @throws IndexOutOfBoundsException 当任一数组长度不足时抛出此异常
+     */
+    public static void checkBulkArrays(int offset, int length, double[]... arrays) {
+        for (double[] array : arrays) {
+            Objects.checkFromIndexSize(offset, length, array.length);
+        }
+    }
+
+    /**
+     * 二分拆分区间的ForkJoin任务
+     */
+    private static class RangeAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final int threshold;
+        private final RangeTask task;
+
+        private RangeAction(int from, int to, int threshold, RangeTask task) {
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+            this.task = task;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                task.compute(from, to);
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new RangeAction(from, middle, threshold, task), new RangeAction(middle, to, threshold, task));
+            }
+        }
+    }
+}
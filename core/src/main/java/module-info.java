@@ -1,8 +1,11 @@
 module geodetic.core {
-    requires dom4j;
-    requires java.xml;
+    requires transitive java.management;
+    requires transitive jdk.jfr;
 
     exports club.magiccrazyman.geodetic.core.coordinatesystem.projection ;
+    exports club.magiccrazyman.geodetic.core.cache;
     exports club.magiccrazyman.geodetic.core.coordinatesystem;
+    exports club.magiccrazyman.geodetic.core.io;
+    exports club.magiccrazyman.geodetic.core.metrics;
     exports club.magiccrazyman.geodetic.core.tools;
 }
\ No newline at end of file
@@ -0,0 +1,108 @@
+<?xml version="1.0" encoding="UTF-8"?>
+<!--
+    构建时将 systems.xml 转换为 RecordedGeodeticSystems.java，运行时不再解析XML
+    修改或新增大地坐标系只需编辑 systems.xml，重新构建即可
+-->
+<xsl:stylesheet version="1.0" xmlns:xsl="http://www.w3.org/1999/XSL/Transform">
+    <xsl:output method="text" encoding="UTF-8"/>
+
+    <xsl:template match="/systems">
+        <xsl:text>package club.magiccrazyman.geodetic.core.coordinatesystem;
+
+/**
+ * 预编译的大地坐标系登记表，由 systems.xml 在构建时生成，请勿手动修改
+ *
+ * @author Magic Crazy Man
+ */
+final class RecordedGeodeticSystems {
+
+    private RecordedGeodeticSystems() {
+    }
+
+    /**
+     * 创建所有登记的大地坐标系，按 systems.xml 中的顺序排列
+     *
+     * @return 大地坐标系数组
+     */
+    static GeodeticCoordinateSystem[] createSystems() {
+        return new GeodeticCoordinateSystem[]{
+</xsl:text>
+        <xsl:for-each select="system">
+            <xsl:text>                new GeodeticCoordinateSystem(</xsl:text>
+            <xsl:value-of select="normalize-space(semimajorAxis)"/>
+            <xsl:text>, </xsl:text>
+            <xsl:value-of select="normalize-space(semiminorAxis)"/>
+            <xsl:text>, </xsl:text>
+            <xsl:value-of select="normalize-space(primeMeridian)"/>
+            <xsl:text>, </xsl:text>
+            <xsl:call-template name="string-literal">
+                <xsl:with-param name="text" select="normalize-space(names/zh_cn)"/>
+            </xsl:call-template>
+            <xsl:text>, </xsl:text>
+            <xsl:value-of select="normalize-space(id)"/>
+            <xsl:text>, </xsl:text>
+            <xsl:call-template name="string-literal">
+                <xsl:with-param name="text" select="normalize-space(referenceEllipsoidName)"/>
+            </xsl:call-template>
+            <xsl:text>)</xsl:text>
+            <xsl:if test="position() != last()">
+                <xsl:text>,</xsl:text>
+            </xsl:if>
+            <xsl:text>&#10;</xsl:text>
+        </xsl:for-each>
+        <xsl:text>        };
+    }
+
+    /**
+     * 登记的大地坐标系英文名称，与 {@link #createSystems()} 一一对应
+     *
+     * @return 英文名称数组
+     */
+    static String[] englishNames() {
+        return new String[]{
+</xsl:text>
+        <xsl:for-each select="system">
+            <xsl:text>                </xsl:text>
+            <xsl:call-template name="string-literal">
+                <xsl:with-param name="text" select="normalize-space(names/en_us)"/>
+            </xsl:call-template>
+            <xsl:if test="position() != last()">
+                <xsl:text>,</xsl:text>
+            </xsl:if>
+            <xsl:text>&#10;</xsl:text>
+        </xsl:for-each>
+        <xsl:text>        };
+    }
+}
+</xsl:text>
+    </xsl:template>
+
+    <!-- 输出Java字符串字面量，转义反斜杠与双引号 -->
+    <xsl:template name="string-literal">
+        <xsl:param name="text"/>
+        <xsl:text>"</xsl:text>
+        <xsl:call-template name="escape">
+            <xsl:with-param name="text" select="$text"/>
+        </xsl:call-template>
+        <xsl:text>"</xsl:text>
+    </xsl:template>
+
+    <xsl:template name="escape">
+        <xsl:param name="text"/>
+        <xsl:choose>
+            <xsl:when test="contains($text, '\') or contains($text, '&quot;')">
+                <xsl:variable name="c" select="substring($text, 1, 1)"/>
+                <xsl:if test="$c = '\' or $c = '&quot;'">
+                    <xsl:text>\</xsl:text>
+                </xsl:if>
+                <xsl:value-of select="$c"/>
+                <xsl:call-template name="escape">
+                    <xsl:with-param name="text" select="substring($text, 2)"/>
+                </xsl:call-template>
+            </xsl:when>
+            <xsl:otherwise>
+                <xsl:value-of select="$text"/>
+            </xsl:otherwise>
+        </xsl:choose>
+    </xsl:template>
+</xsl:stylesheet>
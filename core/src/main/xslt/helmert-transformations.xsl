@@ -0,0 +1,59 @@
+<?xml version="1.0" encoding="UTF-8"?>
+<!--
+    构建时将 transformations.xml 转换为 RecordedHelmertTransformations.java，运行时不再解析XML
+-->
+<xsl:stylesheet version="1.0" xmlns:xsl="http://www.w3.org/1999/XSL/Transform">
+    <xsl:output method="text" encoding="UTF-8"/>
+
+    <xsl:template match="/transformations">
+        <xsl:text>package club.magiccrazyman.geodetic.core.coordinatesystem;
+
+/**
+ * 预编译的七参数转换登记表，由 transformations.xml 在构建时生成，请勿手动修改
+ *
+ * @author Magic Crazy Man
+ */
+final class RecordedHelmertTransformations {
+
+    private RecordedHelmertTransformations() {
+    }
+
+    /**
+     * 创建所有登记的七参数转换，按 transformations.xml 中的顺序排列
+     *
+     * @return 七参数转换数组
+     */
+    static HelmertTransformation[] createTransformations() {
+        return new HelmertTransformation[]{
+</xsl:text>
+        <xsl:for-each select="transformation">
+            <xsl:text>                new HelmertTransformation(GeodeticCoordinateSystem.getSystemById(</xsl:text>
+            <xsl:value-of select="normalize-space(source)"/>
+            <xsl:text>), GeodeticCoordinateSystem.getSystemById(</xsl:text>
+            <xsl:value-of select="normalize-space(target)"/>
+            <xsl:text>), </xsl:text>
+            <xsl:value-of select="normalize-space(dx)"/>
+            <xsl:text>, </xsl:text>
+            <xsl:value-of select="normalize-space(dy)"/>
+            <xsl:text>, </xsl:text>
+            <xsl:value-of select="normalize-space(dz)"/>
+            <xsl:text>, </xsl:text>
+            <xsl:value-of select="normalize-space(rx)"/>
+            <xsl:text>, </xsl:text>
+            <xsl:value-of select="normalize-space(ry)"/>
+            <xsl:text>, </xsl:text>
+            <xsl:value-of select="normalize-space(rz)"/>
+            <xsl:text>, </xsl:text>
+            <xsl:value-of select="normalize-space(scale)"/>
+            <xsl:text>)</xsl:text>
+            <xsl:if test="position() != last()">
+                <xsl:text>,</xsl:text>
+            </xsl:if>
+            <xsl:text>&#10;</xsl:text>
+        </xsl:for-each>
+        <xsl:text>        };
+    }
+}
+</xsl:text>
+    </xsl:template>
+</xsl:stylesheet>
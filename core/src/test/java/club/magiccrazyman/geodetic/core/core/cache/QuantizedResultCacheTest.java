@@ -0,0 +1,144 @@
+package club.magiccrazyman.geodetic.core.core.cache;
+
+import club.magiccrazyman.geodetic.core.cache.QuantizedResultCache;
+import club.magiccrazyman.geodetic.core.coordinatesystem.GeodeticCoordinateSystem;
+import club.magiccrazyman.geodetic.core.coordinatesystem.projection.GaussKrugerProjectionCoordinateSystem;
+import club.magiccrazyman.geodetic.core.tools.CalculationTools;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuantizedResultCacheTest {
+
+    private static final double ANGULAR_QUANTUM = 1e-9;
+    private static final double LINEAR_QUANTUM = 1e-3;
+
+    @Test
+    void forwardCalculation() {
+        GaussKrugerProjectionCoordinateSystem system = GaussKrugerProjectionCoordinateSystem.RecordedSystem.CGCS2000_3_Degree_GK_CM_111E.getSystem();
+        QuantizedResultCache cache = new QuantizedResultCache(1024, ANGULAR_QUANTUM, LINEAR_QUANTUM);
+        double[] expected = new double[7];
+        double[] actual = new double[7];
+        //取格网中心，使偏移不足半个步长的输入落在同一格网内
+        double L = Math.round(CalculationTools.degrees2Radians(111.3) / ANGULAR_QUANTUM) * ANGULAR_QUANTUM;
+        double B = Math.round(CalculationTools.degrees2Radians(30.7) / ANGULAR_QUANTUM) * ANGULAR_QUANTUM;
+
+        system.forwardCalculation(L, B, expected);
+        cache.forwardCalculation(system, L, B, actual);
+        assertArrayEquals(expected, actual);
+        assertEquals(0, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+
+        //同一格网内的输入得到完全相同的结果
+        double[] cached = actual.clone();
+        cache.forwardCalculation(system, L + 0.3 * ANGULAR_QUANTUM, B - 0.3 * ANGULAR_QUANTUM, actual);
+        assertArrayEquals(cached, actual);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(0.5, cache.getHitRate());
+        assertEquals(1, cache.size());
+
+        //不同坐标系分别缓存
+        GaussKrugerProjectionCoordinateSystem other = GaussKrugerProjectionCoordinateSystem.RecordedSystem.CGCS2000_3_Degree_GK_Zone_37.getSystem();
+        cache.forwardCalculation(other, L, B, actual);
+        assertEquals(2, cache.getMissCount());
+        assertEquals(2, cache.size());
+
+        //非有限的输入不经过缓存
+        cache.forwardCalculation(system, Double.NaN, B, actual);
+        assertTrue(Double.isNaN(actual[0]) || Double.isNaN(actual[1]));
+        assertEquals(2, cache.getMissCount());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void transformToGeodeticCoordinateSystem() {
+        GeodeticCoordinateSystem system = GeodeticCoordinateSystem.getSystemById(1);
+        QuantizedResultCache cache = new QuantizedResultCache(1024, ANGULAR_QUANTUM, LINEAR_QUANTUM);
+        double[] spatial = system.transformToSpatialCoordinateSystem(CalculationTools.degrees2Radians(112), CalculationTools.degrees2Radians(31), 100, new double[3]);
+        for (int i = 0; i < 3; i++) {
+            spatial[i] = Math.round(spatial[i] / LINEAR_QUANTUM) * LINEAR_QUANTUM;
+        }
+        double[] expected = new double[4];
+        double[] actual = new double[4];
+
+        system.transformToGeodeticCoordinateSystem(spatial[0], spatial[1], spatial[2], 1e-12, expected);
+        cache.transformToGeodeticCoordinateSystem(system, spatial[0], spatial[1], spatial[2], 1e-12, actual);
+        assertArrayEquals(expected, actual);
+
+        cache.transformToGeodeticCoordinateSystem(system, spatial[0] + 1e-4, spatial[1], spatial[2] - 1e-4, 1e-12, actual);
+        assertEquals(1, cache.getHitCount());
+
+        //精度不同时分别缓存
+        cache.transformToGeodeticCoordinateSystem(system, spatial[0], spatial[1], spatial[2], 1e-6, actual);
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    void eviction() {
+        GaussKrugerProjectionCoordinateSystem system = GaussKrugerProjectionCoordinateSystem.RecordedSystem.CGCS2000_3_Degree_GK_CM_111E.getSystem();
+        QuantizedResultCache cache = new QuantizedResultCache(4, 1, ANGULAR_QUANTUM, LINEAR_QUANTUM);
+        double[] output = new double[7];
+        double B = CalculationTools.degrees2Radians(30);
+        double[] L = new double[5];
+        for (int i = 0; i < L.length; i++) {
+            L[i] = CalculationTools.degrees2Radians(110 + i * 0.1);
+        }
+        for (int i = 0; i < 4; i++) {
+            cache.forwardCalculation(system, L[i], B, output);
+        }
+        //使用第0个后插入第4个，淘汰最久未使用的第1个
+        cache.forwardCalculation(system, L[0], B, output);
+        cache.forwardCalculation(system, L[4], B, output);
+        assertEquals(4, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+
+        long misses = cache.getMissCount();
+        cache.forwardCalculation(system, L[0], B, output);
+        cache.forwardCalculation(system, L[2], B, output);
+        cache.forwardCalculation(system, L[3], B, output);
+        cache.forwardCalculation(system, L[4], B, output);
+        assertEquals(misses, cache.getMissCount());
+        cache.forwardCalculation(system, L[1], B, output);
+        assertEquals(misses + 1, cache.getMissCount());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertThrows(IllegalArgumentException.class, () -> new QuantizedResultCache(0, ANGULAR_QUANTUM, LINEAR_QUANTUM));
+        assertThrows(IllegalArgumentException.class, () -> new QuantizedResultCache(16, 3, ANGULAR_QUANTUM, LINEAR_QUANTUM));
+        assertThrows(IllegalArgumentException.class, () -> new QuantizedResultCache(16, 0, LINEAR_QUANTUM));
+    }
+
+    @Test
+    void bulk() {
+        GaussKrugerProjectionCoordinateSystem system = GaussKrugerProjectionCoordinateSystem.RecordedSystem.CGCS2000_3_Degree_GK_CM_111E.getSystem();
+        QuantizedResultCache cache = new QuantizedResultCache(256, 4, ANGULAR_QUANTUM, LINEAR_QUANTUM);
+        int n = 20000;
+        double[] L = new double[n], B = new double[n];
+        double[] xz = new double[n], yz = new double[n];
+        double[] output = new double[7];
+        Random random = new Random(25);
+        //少量固定位置反复出现，淘汰与段内散列表在并发下反复增删
+        double[] positions = new double[600];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = CalculationTools.degrees2Radians(110 + 2 * random.nextDouble());
+        }
+        for (int i = 0; i < n; i++) {
+            int k = random.nextInt(positions.length / 2);
+            L[i] = positions[2 * k];
+            B[i] = positions[2 * k + 1] - CalculationTools.degrees2Radians(80);
+        }
+
+        cache.forwardCalculation(system, L, B, 0, n, xz, yz, ForkJoinPool.commonPool());
+        for (int i = 0; i < n; i++) {
+            system.forwardCalculation(Math.round(L[i] / ANGULAR_QUANTUM) * ANGULAR_QUANTUM, Math.round(B[i] / ANGULAR_QUANTUM) * ANGULAR_QUANTUM, output);
+            assertEquals(output[0], xz[i]);
+            assertEquals(output[1], yz[i]);
+        }
+        assertEquals(n, cache.getHitCount() + cache.getMissCount());
+        assertTrue(cache.size() <= cache.getCapacity());
+        assertTrue(cache.getEvictionCount() > 0);
+    }
+}
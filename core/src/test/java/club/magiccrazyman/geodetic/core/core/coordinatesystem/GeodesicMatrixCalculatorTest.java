@@ -0,0 +1,107 @@
+package club.magiccrazyman.geodetic.core.core.coordinatesystem;
+
+import club.magiccrazyman.geodetic.core.coordinatesystem.GeodesicMatrixCalculator;
+import club.magiccrazyman.geodetic.core.coordinatesystem.GeodeticCoordinateSystem;
+import club.magiccrazyman.geodetic.core.tools.CalculationTools;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeodesicMatrixCalculatorTest {
+
+    private GeodeticCoordinateSystem CGCS2000 = GeodeticCoordinateSystem.getSystemById(1);
+    private double precision = 0.000000000000000001;
+
+    private double[] L1 = new double[37], B1 = new double[37], L2 = new double[23], B2 = new double[23];
+
+    {
+        for (int i = 0; i < L1.length; i++) {
+            L1[i] = CalculationTools.degrees2Radians(100 + i * 0.7);
+            B1[i] = CalculationTools.degrees2Radians(20 + i * 0.5);
+        }
+        for (int i = 0; i < L2.length; i++) {
+            L2[i] = CalculationTools.degrees2Radians(110 - i * 0.9);
+            B2[i] = CalculationTools.degrees2Radians(45 - i * 1.1);
+        }
+    }
+
+    @Test
+    void heapOutput() {
+        GeodesicMatrixCalculator calculator = new GeodesicMatrixCalculator(CGCS2000, precision, 8, ForkJoinPool.commonPool());
+        GeodesicMatrixCalculator.HeapOutput output = calculator.calculate(L1, B1, L2, B2);
+        assertEquals(L1.length, output.getRows());
+        assertEquals(L2.length, output.getColumns());
+
+        double[] AASC = new double[4];
+        for (int i = 0; i < L1.length; i++) {
+            for (int j = 0; j < L2.length; j++) {
+                CGCS2000.inverseSolutionOfGeodeticProblem(L1[i], B1[i], L2[j], B2[j], precision, AASC);
+                assertEquals(AASC[0], output.getForwardAzimuth(i, j), 1e-12, String.format("A1[%d][%d]", i, j));
+                assertEquals(AASC[1], output.getBackwardAzimuth(i, j), 1e-12, String.format("A2[%d][%d]", i, j));
+                assertEquals(AASC[2], output.getDistance(i, j), 1e-6, String.format("S[%d][%d]", i, j));
+            }
+        }
+    }
+
+    @Test
+    void mappedFileOutput(@TempDir Path directory) throws IOException {
+        GeodesicMatrixCalculator calculator = new GeodesicMatrixCalculator(CGCS2000, precision, 5, ForkJoinPool.commonPool());
+        GeodesicMatrixCalculator.HeapOutput expected = calculator.calculate(L1, B1, L2, B2);
+
+        Path file = directory.resolve("matrix.bin");
+        calculator.calculate(L1, B1, L2, B2, file);
+        int size = L1.length * L2.length;
+        assertEquals(3L * size * Double.BYTES, Files.size(file));
+
+        DoubleBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+        for (int i = 0; i < size; i++) {
+            assertEquals(expected.getDistances()[i], buffer.get(i));
+            assertEquals(expected.getForwardAzimuths()[i], buffer.get(size + i));
+            assertEquals(expected.getBackwardAzimuths()[i], buffer.get(2 * size + i));
+        }
+    }
+
+    @Test
+    void nearAntipodal() {
+        //教科书方法在近似对跖点上趋近不收敛，须改用Karney算法且不阻塞计算
+        double[] L1 = {0, CalculationTools.degrees2Radians(114)}, B1 = {CalculationTools.degrees2Radians(10), CalculationTools.degrees2Radians(30)};
+        double[] L2 = {CalculationTools.degrees2Radians(179.8), CalculationTools.degrees2Radians(116)}, B2 = {CalculationTools.degrees2Radians(-10.1), CalculationTools.degrees2Radians(32)};
+        GeodesicMatrixCalculator calculator = new GeodesicMatrixCalculator(CGCS2000, 1e-12, 1, ForkJoinPool.commonPool());
+        GeodesicMatrixCalculator.HeapOutput output = assertTimeoutPreemptively(Duration.ofSeconds(10), () -> calculator.calculate(L1, B1, L2, B2));
+
+        double[] AASC = new double[4];
+        CGCS2000.getKarneyGeodesicSolver().inverseSolutionOfGeodeticProblem(L1[0], B1[0], L2[0], B2[0], AASC);
+        assertEquals(AASC[2], output.getDistance(0, 0), 1e-6);
+        assertEquals(AASC[0], output.getForwardAzimuth(0, 0), 1e-12);
+        assertEquals(AASC[1], output.getBackwardAzimuth(0, 0), 1e-12);
+
+        CGCS2000.inverseSolutionOfGeodeticProblem(L1[1], B1[1], L2[1], B2[1], 1e-12, AASC);
+        assertEquals(AASC[2], output.getDistance(1, 1), 1e-6);
+    }
+
+    @Test
+    void selfMatrix() {
+        //点集与自身的距离矩阵，对角线上起终点重合
+        GeodesicMatrixCalculator calculator = new GeodesicMatrixCalculator(CGCS2000, precision, 8, ForkJoinPool.commonPool());
+        GeodesicMatrixCalculator.HeapOutput output = calculator.calculate(L1, B1, L1, B1);
+        for (int i = 0; i < L1.length; i++) {
+            for (int j = 0; j < L1.length; j++) {
+                assertTrue(Double.isFinite(output.getDistance(i, j)), String.format("S[%d][%d]", i, j));
+                assertTrue(Double.isFinite(output.getForwardAzimuth(i, j)), String.format("A1[%d][%d]", i, j));
+                assertTrue(Double.isFinite(output.getBackwardAzimuth(i, j)), String.format("A2[%d][%d]", i, j));
+            }
+            assertEquals(0, output.getDistance(i, i), String.format("S[%d][%d]", i, i));
+        }
+        assertEquals(output.getDistance(3, 7), output.getDistance(7, 3), 1e-6);
+    }
+}
@@ -1,10 +1,15 @@
 package club.magiccrazyman.geodetic.core.core.coordinatesystem;
 
 import club.magiccrazyman.geodetic.core.coordinatesystem.GeodeticCoordinateSystem;
+import club.magiccrazyman.geodetic.core.coordinatesystem.SolutionMethod;
 import club.magiccrazyman.geodetic.core.tools.CalculationTools;
+import club.magiccrazyman.geodetic.core.tools.MathBackend;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -99,4 +104,242 @@ class GeodeticCoordinateSystemTest {
         assertEquals("225°0'0.0260\"", A2, String.format("A2：%f", AAS.get(1)));
         assertEquals("9999999.2631", S, String.format("S：%f", AAS.get(2)));
     }
-}
\ No newline at end of file
+
+    @Test
+    void primitiveOutput() {
+        double[] output = new double[4];
+        ArrayList<Double> LBHC = CGCS2000.transformToGeodeticCoordinateSystem(-3694419.14443691, -3694419.14443691, 5194455.18902173, 0.0000000000001);
+        CGCS2000.transformToGeodeticCoordinateSystem(-3694419.14443691, -3694419.14443691, 5194455.18902173, 0.0000000000001, output);
+        assertEquals("-2.3561944901923450", String.format("%.16f", output[0]), String.format("L：%f", output[0]));
+        for (int i = 0; i < 4; i++) {
+            assertEquals(LBHC.get(i), output[i]);
+        }
+
+        ArrayList<Double> XYZ = CGCS2000.transformToSpatialCoordinateSystem(0.7853981633974483, 0.7853981633974483, 999999.9987);
+        CGCS2000.transformToSpatialCoordinateSystem(0.7853981633974483, 0.7853981633974483, 999999.9987, output);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(XYZ.get(i), output[i]);
+        }
+
+        double L1 = CalculationTools.degrees2Radians(35 + 49 / 60.0 + 36.330 / 3600.0);
+        double B1 = CalculationTools.degrees2Radians(47 + 46 / 60.0 + 52.647 / 3600.0);
+        double A1 = CalculationTools.degrees2Radians(44 + 12 / 60.0 + 13.664 / 3600.0);
+        ArrayList<Double> LBA = Beijing54.directSolutionOfGeodeticProblem(L1, B1, A1, 44797.282);
+        Beijing54.directSolutionOfGeodeticProblem(L1, B1, A1, 44797.282, output);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(LBA.get(i), output[i]);
+        }
+
+        ArrayList<Double> AASC = Beijing54.inverseSolutionOfGeodeticProblem(L1, B1, LBA.get(0), LBA.get(1), 0.000000000000000001);
+        Beijing54.inverseSolutionOfGeodeticProblem(L1, B1, LBA.get(0), LBA.get(1), 0.000000000000000001, output);
+        for (int i = 0; i < 4; i++) {
+            assertEquals(AASC.get(i), output[i]);
+        }
+        assertEquals(AASC.size(), 4 + (int) output[3]);
+    }
+
+    @Test
+    void bulkTransform() {
+        int n = 10000;
+        double[] L = new double[n], B = new double[n], H = new double[n];
+        for (int i = 0; i < n; i++) {
+            L[i] = CalculationTools.degrees2Radians(-180 + 360.0 * i / n);
+            B[i] = CalculationTools.degrees2Radians(1 + 88.0 * ((i * 7919) % n) / n);
+            H[i] = (i % 100) * 100.0;
+        }
+        double[] X = new double[n], Y = new double[n], Z = new double[n];
+        double[] L2 = new double[n], B2 = new double[n], H2 = new double[n];
+        double[] output = new double[4];
+        double precision = 0.0000000000001;
+
+        CGCS2000.transformToSpatialCoordinateSystem(L, B, H, 0, n, X, Y, Z, ForkJoinPool.commonPool());
+        CGCS2000.transformToGeodeticCoordinateSystem(X, Y, Z, 0, n, precision, L2, B2, H2);
+        for (int i = 0; i < n; i++) {
+            CGCS2000.transformToSpatialCoordinateSystem(L[i], B[i], H[i], output);
+            assertEquals(output[0], X[i]);
+            assertEquals(output[1], Y[i]);
+            assertEquals(output[2], Z[i]);
+            CGCS2000.transformToGeodeticCoordinateSystem(X[i], Y[i], Z[i], precision, output);
+            assertEquals(output[0], L2[i]);
+            assertEquals(output[1], B2[i]);
+            assertEquals(output[2], H2[i]);
+            assertEquals(L[i], L2[i], 1e-12);
+            assertEquals(B[i], B2[i], 1e-12);
+            assertEquals(H[i], H2[i], 1e-4);
+        }
+
+        double[] L3 = new double[n], B3 = new double[n], H3 = new double[n];
+        CGCS2000.transformToGeodeticCoordinateSystem(X, Y, Z, 100, n - 200, precision, L3, B3, H3, ForkJoinPool.commonPool());
+        assertEquals(0.0, L3[99]);
+        assertEquals(0.0, L3[n - 100]);
+        for (int i = 100; i < n - 100; i++) {
+            assertEquals(L2[i], L3[i]);
+            assertEquals(B2[i], B3[i]);
+            assertEquals(H2[i], H3[i]);
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> CGCS2000.transformToSpatialCoordinateSystem(L, B, H, 1, n, X, Y, Z));
+    }
+
+    @Test
+    void closedFormTransform() {
+        double[] XYZ = new double[3];
+        double[] iteration = new double[4];
+        double[] closedForm = new double[4];
+        for (int lon = -179; lon <= 180; lon += 7) {
+            for (int lat = -89; lat <= 89; lat += 4) {
+                for (double h : new double[]{-500.0, 0.0, 8848.86, 35786000.0}) {
+                    double L = CalculationTools.degrees2Radians(lon);
+                    double B = CalculationTools.degrees2Radians(lat);
+                    CGCS2000.transformToSpatialCoordinateSystem(L, B, h, XYZ);
+                    CGCS2000.transformToGeodeticCoordinateSystem(XYZ[0], XYZ[1], XYZ[2], 0, SolutionMethod.CLOSED_FORM, closedForm);
+                    assertEquals(L, closedForm[0], 1e-12);
+                    assertEquals(B, closedForm[1], 1e-12);
+                    assertEquals(h, closedForm[2], 1e-4);
+                    assertEquals(0, closedForm[3]);
+                    if (lat != 0) {
+                        CGCS2000.transformToGeodeticCoordinateSystem(XYZ[0], XYZ[1], XYZ[2], 0.0000000000001, iteration);
+                        assertEquals(iteration[1], closedForm[1], 1e-12);
+                    }
+                }
+            }
+        }
+
+        CGCS2000.transformToGeodeticCoordinateSystem(3694419.14443691, 3694419.14443691, 5194455.18902173, 0, SolutionMethod.CLOSED_FORM, closedForm);
+        assertEquals(0.7853981633974483, closedForm[0], 1e-15, String.format("L：%f", closedForm[0]));
+        assertEquals(0.7853981633974483, closedForm[1], 1e-15, String.format("B：%f", closedForm[1]));
+        assertEquals("999999.9987", String.format("%.4f", closedForm[2]), String.format("H：%f", closedForm[2]));
+
+        double[] X = {XYZ[0], 3694419.14443691}, Y = {XYZ[1], 3694419.14443691}, Z = {XYZ[2], 5194455.18902173};
+        double[] L = new double[2], B = new double[2], H = new double[2];
+        CGCS2000.transformToGeodeticCoordinateSystem(X, Y, Z, 0, 2, 0, SolutionMethod.CLOSED_FORM, L, B, H, ForkJoinPool.commonPool());
+        assertEquals(closedForm[0], L[1]);
+        assertEquals(closedForm[1], B[1]);
+        assertEquals(closedForm[2], H[1]);
+    }
+
+    @Test
+    void footpointLatitudeParameters() {
+        double[] expected = CGCS2000.calculateGeodeticLatitudeFromMeridianArc(3404762.7444, new double[2]);
+        //返回副本，修改后不影响后续计算
+        double[] d = CGCS2000.calculateFootpointLatitudeParameters();
+        double[] original = d.clone();
+        Arrays.fill(d, 0);
+        assertArrayEquals(original, CGCS2000.calculateFootpointLatitudeParameters());
+        assertArrayEquals(expected, CGCS2000.calculateGeodeticLatitudeFromMeridianArc(3404762.7444, new double[2]));
+    }
+
+    @Test
+    void mathBackend() {
+        double precision = 0.0000000000001;
+        GeodeticCoordinateSystem strict = new GeodeticCoordinateSystem(CGCS2000.getSemimajorAxis(), CGCS2000.getSemiminorAxis(), 0, "CGCS2000", 90001, "CGCS2000", MathBackend.STRICT);
+        assertEquals(MathBackend.JAVA, CGCS2000.getMathBackend());
+        assertEquals(MathBackend.STRICT, strict.getMathBackend());
+
+        double L = CalculationTools.degrees2Radians(114.3), B = CalculationTools.degrees2Radians(30.6), H = 52.7;
+        double[] expected = new double[4], actual = new double[4];
+        for (MathBackend backend : MathBackend.values()) {
+            //按次指定的后端与坐标系后端一致时结果逐位相同
+            GeodeticCoordinateSystem system = new GeodeticCoordinateSystem(CGCS2000.getSemimajorAxis(), CGCS2000.getSemiminorAxis(), 0, "CGCS2000", 90002, "CGCS2000", backend);
+            double[] XYZ = system.transformToSpatialCoordinateSystem(L, B, H, new double[3]);
+            assertArrayEquals(XYZ, CGCS2000.transformToSpatialCoordinateSystem(L, B, H, backend, new double[3]), backend.name());
+            system.transformToGeodeticCoordinateSystem(XYZ[0], XYZ[1], XYZ[2], precision, expected);
+            assertArrayEquals(expected, CGCS2000.transformToGeodeticCoordinateSystem(XYZ[0], XYZ[1], XYZ[2], precision, SolutionMethod.ITERATION, backend, actual), backend.name());
+            system.transformToGeodeticCoordinateSystemByClosedForm(XYZ[0], XYZ[1], XYZ[2], expected);
+            assertArrayEquals(expected, CGCS2000.transformToGeodeticCoordinateSystemByClosedForm(XYZ[0], XYZ[1], XYZ[2], backend, actual), backend.name());
+            system.directSolutionOfGeodeticProblem(L, B, 1.1, 350000, expected);
+            assertArrayEquals(expected, CGCS2000.directSolutionOfGeodeticProblem(L, B, 1.1, 350000, backend, actual), backend.name());
+            system.inverseSolutionOfGeodeticProblem(L, B, L + 0.05, B - 0.04, precision, expected);
+            assertArrayEquals(expected, CGCS2000.inverseSolutionOfGeodeticProblem(L, B, L + 0.05, B - 0.04, precision, backend, actual), backend.name());
+            system.getKarneyGeodesicSolver().inverseSolutionOfGeodeticProblem(L, B, L + 0.05, B - 0.04, expected);
+            assertArrayEquals(expected, CGCS2000.getKarneyGeodesicSolver().inverseSolutionOfGeodeticProblem(L, B, L + 0.05, B - 0.04, backend, actual), backend.name());
+
+            //各后端的结果只相差舍入误差
+            CGCS2000.transformToGeodeticCoordinateSystemByClosedForm(XYZ[0], XYZ[1], XYZ[2], actual);
+            assertEquals(L, actual[0], 1e-14, backend.name());
+            assertEquals(B, actual[1], 1e-14, backend.name());
+            assertEquals(H, actual[2], 1e-8, backend.name());
+            assertArrayEquals(CGCS2000.getKarneyGeodesicSolver().directSolutionOfGeodeticProblem(L, B, 1.1, 350000, new double[3]),
+                    system.getKarneyGeodesicSolver().directSolutionOfGeodeticProblem(L, B, 1.1, 350000, new double[3]), 1e-14, backend.name());
+        }
+
+        //STRICT的结果与StrictMath逐位一致
+        double sinB = StrictMath.sin(B), cosB = StrictMath.cos(B);
+        double N = strict.getSemimajorAxis() / Math.sqrt(1 - strict.getFirstEccentricity() * sinB * sinB);
+        double[] XYZ = strict.transformToSpatialCoordinateSystem(L, B, H, new double[3]);
+        assertEquals((N + H) * cosB * StrictMath.cos(L), XYZ[0]);
+        assertEquals((N + H) * cosB * StrictMath.sin(L), XYZ[1]);
+        assertEquals((N * (1 - strict.getFirstEccentricity()) + H) * sinB, XYZ[2]);
+        strict.transformToGeodeticCoordinateSystemByClosedForm(XYZ[0], XYZ[1], XYZ[2], actual);
+        assertEquals(StrictMath.atan2(XYZ[1], XYZ[0]), actual[0]);
+    }
+
+    @Test
+    void calculationTrace() {
+        double precision = 0.0000000000001;
+        ArrayList<Double> Bi = new ArrayList<>();
+        double[] LBHC = CGCS2000.transformToGeodeticCoordinateSystem(3694419.14443691, 3694419.14443691, 5194455.18902173, precision, new double[4], Bi::add);
+        assertEquals(CGCS2000.calculateGeodeticLatitudeFromSpatialSystem(3694419.14443691, 3694419.14443691, 5194455.18902173, precision), Bi);
+        assertEquals(Bi.size() - 1, (int) LBHC[3]);
+        assertEquals(Bi.get(Bi.size() - 1), LBHC[1]);
+
+        ArrayList<Double> sigma = new ArrayList<>();
+        double[] AASC = Beijing54.inverseSolutionOfGeodeticProblem(0.6, 0.8, 0.7, 0.9, 0.000000000000000001, new double[4], sigma::add);
+        assertEquals(sigma.size(), (int) AASC[3]);
+
+        Bi.clear();
+        double[] BC = CGCS2000.calculateGeodeticLatitudeFromMeridianArc(3404762.7444, precision, new double[2], Bi::add);
+        assertEquals(CGCS2000.calculateGeodeticLatitudeFromMeridianArc(3404762.7444, precision), Bi);
+        assertEquals(Bi.size() - 1, (int) BC[1]);
+    }
+
+    @Test
+    void equatorialGeodesic() {
+        double L1 = CalculationTools.degrees2Radians(10);
+        double L2 = CalculationTools.degrees2Radians(40);
+        double[] AASC = CGCS2000.inverseSolutionOfGeodeticProblem(L1, 0, L2, 0, 0.000000000000000001, new double[4]);
+        assertEquals(CGCS2000.getSemimajorAxis() * (L2 - L1), AASC[2], 0.001, String.format("S：%f", AASC[2]));
+        assertEquals(CalculationTools.degrees2Radians(90), AASC[0], 1e-12, String.format("A1：%f", AASC[0]));
+    }
+
+    @Test
+    void bulkDirectSolution() {
+        int n = 20000;
+        double[] L1 = new double[n], B1 = new double[n], A1 = new double[n], S = new double[n];
+        for (int i = 0; i < n; i++) {
+            L1[i] = CalculationTools.degrees2Radians(114 + (i % 10) / 10.0);
+            B1[i] = CalculationTools.degrees2Radians(30 + (i % 7) / 7.0);
+            A1[i] = CalculationTools.degrees2Radians(1 + 358.0 * i / n);
+            S[i] = 1000 + (i % 50) * 2000;
+        }
+        double[] L2 = new double[n], B2 = new double[n], A2 = new double[n];
+        Beijing54.directSolutionOfGeodeticProblem(L1, B1, A1, S, 0, n, L2, B2, A2, ForkJoinPool.commonPool(), 1000);
+
+        double[] output = new double[3];
+        for (int i = 0; i < n; i++) {
+            Beijing54.directSolutionOfGeodeticProblem(L1[i], B1[i], A1[i], S[i], output);
+            assertEquals(output[0], L2[i]);
+            assertEquals(output[1], B2[i]);
+            assertEquals(output[2], A2[i]);
+        }
+    }
+
+    @Test
+    void registry() {
+        Collection<GeodeticCoordinateSystem> systems = GeodeticCoordinateSystem.getSystems();
+        assertEquals(4, systems.size());
+        int lastId = 0;
+        for (GeodeticCoordinateSystem system : systems) {
+            assertTrue(system.getId() > lastId);
+            assertSame(system, GeodeticCoordinateSystem.getSystemById(system.getId()));
+            assertSame(system, GeodeticCoordinateSystem.getSystemByName(system.getName()));
+            lastId = system.getId();
+        }
+        assertThrows(UnsupportedOperationException.class, () -> systems.remove(CGCS2000));
+
+        assertSame(CGCS2000, GeodeticCoordinateSystem.getSystemByName("China Geodetic Coordinate System 2000"));
+        assertEquals("Krasovsky_1940", Beijing54.getReferenceEllipsoidName());
+        assertEquals(6356752.31414, CGCS2000.getSemiminorAxis());
+        assertNull(GeodeticCoordinateSystem.getSystemById(0));
+        assertNull(GeodeticCoordinateSystem.getSystemByName("Unknown"));
+    }
+}
@@ -0,0 +1,101 @@
+package club.magiccrazyman.geodetic.core.core.coordinatesystem;
+
+import club.magiccrazyman.geodetic.core.coordinatesystem.GeodeticCoordinateSystem;
+import club.magiccrazyman.geodetic.core.coordinatesystem.HelmertTransformation;
+import club.magiccrazyman.geodetic.core.coordinatesystem.projection.GaussKrugerProjectionCoordinateSystem;
+import club.magiccrazyman.geodetic.core.tools.CalculationTools;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HelmertTransformationTest {
+
+    private GeodeticCoordinateSystem CGCS2000 = GeodeticCoordinateSystem.getSystemById(1);
+    private GeodeticCoordinateSystem Beijing54 = GeodeticCoordinateSystem.getSystemById(3);
+
+    /**
+     * 仅用于测试的示例参数，并非任何测区的实际参数
+     */
+    private HelmertTransformation beijing54ToCGCS2000 = new HelmertTransformation(Beijing54, CGCS2000, -15.4, 152.1, 88.7, 1.2, -0.8, 2.5, 3.1);
+
+    @Test
+    void transformSpatialCoordinate() {
+        //坐标框架旋转：绕Z轴旋转εz后，X轴上的点Y坐标为 -X * εz
+        HelmertTransformation rotation = new HelmertTransformation(Beijing54, CGCS2000, 0, 0, 0, 0, 0, 1, 0);
+        double[] XYZ = rotation.transformSpatialCoordinate(6378137, 0, 0, new double[3]);
+        assertEquals(6378137, XYZ[0], 1e-6);
+        assertEquals(-6378137 * Math.PI / 180 / 3600, XYZ[1], 1e-9);
+        assertEquals(0, XYZ[2]);
+
+        HelmertTransformation scale = new HelmertTransformation(Beijing54, CGCS2000, 1, 2, 3, 0, 0, 0, 1);
+        XYZ = scale.transformSpatialCoordinate(1e6, 2e6, 3e6, new double[3]);
+        assertEquals(1e6 + 1 + 1, XYZ[0], 1e-9);
+        assertEquals(2e6 + 2 + 2, XYZ[1], 1e-9);
+        assertEquals(3e6 + 3 + 3, XYZ[2], 1e-9);
+    }
+
+    @Test
+    void inverse() {
+        HelmertTransformation inverse = beijing54ToCGCS2000.inverse();
+        assertSame(CGCS2000, inverse.getSource());
+        assertSame(Beijing54, inverse.getTarget());
+
+        double[] XYZ = beijing54ToCGCS2000.transformSpatialCoordinate(-2148744.2, 4426641.0, 4044655.9, new double[3]);
+        inverse.transformSpatialCoordinate(XYZ[0], XYZ[1], XYZ[2], XYZ);
+        assertEquals(-2148744.2, XYZ[0], 1e-8);
+        assertEquals(4426641.0, XYZ[1], 1e-8);
+        assertEquals(4044655.9, XYZ[2], 1e-8);
+
+        double L = CalculationTools.degrees2Radians(116.39), B = CalculationTools.degrees2Radians(39.91), H = 50;
+        double[] LBH = beijing54ToCGCS2000.transform(L, B, H, new double[4]);
+        inverse.transform(LBH[0], LBH[1], LBH[2], LBH);
+        assertEquals(L, LBH[0], 1e-14);
+        assertEquals(B, LBH[1], 1e-14);
+        assertEquals(H, LBH[2], 1e-6);
+    }
+
+    @Test
+    void bulkTransform() {
+        int n = 5000;
+        double[] L = new double[n], B = new double[n], H = new double[n];
+        for (int i = 0; i < n; i++) {
+            L[i] = CalculationTools.degrees2Radians(73 + 62.0 * i / n);
+            B[i] = CalculationTools.degrees2Radians(18 + (i % 350) / 10.0);
+            H[i] = i % 5000;
+        }
+        double[] L2 = new double[n], B2 = new double[n], H2 = new double[n];
+        beijing54ToCGCS2000.transform(L, B, H, 0, n, L2, B2, H2, ForkJoinPool.commonPool());
+
+        double[] output = new double[4];
+        for (int i = 0; i < n; i++) {
+            beijing54ToCGCS2000.transform(L[i], B[i], H[i], output);
+            assertEquals(output[0], L2[i]);
+            assertEquals(output[1], B2[i]);
+            assertEquals(output[2], H2[i]);
+        }
+    }
+
+    @Test
+    void projectionTransform() {
+        GaussKrugerProjectionCoordinateSystem beijing54_3_117E = GaussKrugerProjectionCoordinateSystem.RecordedSystem.Beijing_1954_3_Degree_GK_CM_117E.getSystem();
+        GaussKrugerProjectionCoordinateSystem cgcs2000_3_111E = GaussKrugerProjectionCoordinateSystem.RecordedSystem.CGCS2000_3_Degree_GK_CM_111E.getSystem();
+
+        double[] LB = beijing54_3_117E.backwardCalculation(4420000, 530000, true, new double[6]);
+        double[] expected = beijing54ToCGCS2000.transform(LB[0], LB[1], 0, new double[4]);
+        cgcs2000_3_111E.forwardCalculation(expected[0], expected[1], expected = new double[7]);
+
+        double[] xy = beijing54_3_117E.projectionTransform(cgcs2000_3_111E, beijing54ToCGCS2000, 4420000, 530000, true, new double[7]);
+        assertEquals(expected[0], xy[0], 1e-9);
+        assertEquals(expected[1], xy[1], 1e-9);
+
+        assertThrows(IllegalArgumentException.class, () -> beijing54_3_117E.projectionTransform(cgcs2000_3_111E, beijing54ToCGCS2000.inverse(), 4420000, 530000, true, new double[7]));
+    }
+
+    @Test
+    void recordedTransformation() {
+        //transformations.xml 默认不登记任何参数
+        assertNull(HelmertTransformation.getRecordedTransformation(Beijing54, CGCS2000));
+    }
+}
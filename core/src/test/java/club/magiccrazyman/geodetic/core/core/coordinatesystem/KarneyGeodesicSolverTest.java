@@ -0,0 +1,97 @@
+package club.magiccrazyman.geodetic.core.core.coordinatesystem;
+
+import club.magiccrazyman.geodetic.core.coordinatesystem.GeodeticCoordinateSystem;
+import club.magiccrazyman.geodetic.core.coordinatesystem.KarneyGeodesicSolver;
+import club.magiccrazyman.geodetic.core.tools.CalculationTools;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KarneyGeodesicSolverTest {
+
+    private GeodeticCoordinateSystem CGCS2000 = GeodeticCoordinateSystem.getSystemById(1);
+    private GeodeticCoordinateSystem Beijing54 = GeodeticCoordinateSystem.getSystemById(3);
+
+    @Test
+    void directSolutionOfGeodeticProblem() {
+        double L1 = CalculationTools.degrees2Radians(35 + 49 / 60.0 + 36.330 / 3600.0);
+        double B1 = CalculationTools.degrees2Radians(47 + 46 / 60.0 + 52.647 / 3600.0);
+        double A1 = CalculationTools.degrees2Radians(44 + 12 / 60.0 + 13.664 / 3600.0);
+        double S = 44797.282;
+        ArrayList<Double> LBA = Beijing54.getKarneyGeodesicSolver().directSolutionOfGeodeticProblem(L1, B1, A1, S);
+        ArrayList<Double> expected = Beijing54.directSolutionOfGeodeticProblem(L1, B1, A1, S);
+        assertEquals(expected.get(0), LBA.get(0), 1e-9, String.format("L2：%f", LBA.get(0)));
+        assertEquals(expected.get(1), LBA.get(1), 1e-9, String.format("B2：%f", LBA.get(1)));
+        assertEquals(expected.get(2), LBA.get(2), 1e-9, String.format("A2：%f", LBA.get(2)));
+    }
+
+    @Test
+    void inverseSolutionOfGeodeticProblem() {
+        double L1 = CalculationTools.degrees2Radians(35 + 49 / 60.0 + 36.3300 / 3600.0);
+        double B1 = CalculationTools.degrees2Radians(47 + 46 / 60.0 + 52.6470 / 3600.0);
+        double L2 = CalculationTools.degrees2Radians(36 + 14 / 60.0 + 45.0505 / 3600.0);
+        double B2 = CalculationTools.degrees2Radians(48 + 04 / 60.0 + 09.6384 / 3600.0);
+        ArrayList<Double> AASC = Beijing54.getKarneyGeodesicSolver().inverseSolutionOfGeodeticProblem(L1, B1, L2, B2);
+        ArrayList<Double> expected = Beijing54.inverseSolutionOfGeodeticProblem(L1, B1, L2, B2, 0.000000000000000001);
+        assertEquals(expected.get(0), AASC.get(0), 1e-9, String.format("A1：%f", AASC.get(0)));
+        assertEquals(expected.get(1), AASC.get(1), 1e-9, String.format("A2：%f", AASC.get(1)));
+        assertEquals("44797.2832", String.format("%.4f", AASC.get(2)), String.format("S：%f", AASC.get(2)));
+
+        //纽约肯尼迪机场至新加坡樟宜机场
+        double[] output = CGCS2000.getKarneyGeodesicSolver().inverseSolutionOfGeodeticProblem(
+                CalculationTools.degrees2Radians(-73.78), CalculationTools.degrees2Radians(40.64),
+                CalculationTools.degrees2Radians(103.99), CalculationTools.degrees2Radians(1.36), new double[4]);
+        assertEquals(15347512.9405, output[2], 0.0001, String.format("S：%f", output[2]));
+        assertEquals(3.3057734779, CalculationTools.radians2Degrees(output[0]), 1e-9, String.format("A1：%f", output[0]));
+        assertEquals(357.4878402082, CalculationTools.radians2Degrees(output[1]), 1e-9, String.format("A2：%f", output[1]));
+    }
+
+    @Test
+    void antipodalBoundedIterations() {
+        KarneyGeodesicSolver solver = CGCS2000.getKarneyGeodesicSolver();
+        double[] AASC = new double[4];
+        double[] LBA = new double[3];
+        for (int i = 0; i < 200; i++) {
+            double B1 = CalculationTools.degrees2Radians(-60 + i * 0.6);
+            double L2 = CalculationTools.degrees2Radians(179.5 + (i % 10) * 0.05);
+            double B2 = -B1 + CalculationTools.degrees2Radians((i % 7 - 3) * 0.001);
+            solver.inverseSolutionOfGeodeticProblem(0, B1, L2, B2, AASC);
+            assertTrue(AASC[3] <= KarneyGeodesicSolver.MAX_ITERATIONS, String.format("count：%f", AASC[3]));
+            assertTrue(AASC[2] > 19900000 && AASC[2] < 20040000, String.format("S：%f", AASC[2]));
+
+            //以反算结果进行正算，应回到终点
+            solver.directSolutionOfGeodeticProblem(0, B1, AASC[0], AASC[2], LBA);
+            assertEquals(B2, LBA[1], 1e-12, String.format("B2：%f", LBA[1]));
+            assertEquals(0, Math.IEEEremainder(L2 - LBA[0], 2 * Math.PI), 1e-12, String.format("L2：%f", LBA[0]));
+        }
+    }
+
+    @Test
+    void allocationFree() throws Exception {
+        KarneyGeodesicSolver solver = CGCS2000.getKarneyGeodesicSolver();
+        //模块路径上无法直接访问com.sun.management，经由MBean读取本线程已分配的字节数
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName threading = new ObjectName(ManagementFactory.THREAD_MXBEAN_NAME);
+        Object[] id = {Thread.currentThread().getId()};
+        String[] signature = {long.class.getName()};
+        double[] output = new double[4];
+        double L1 = CalculationTools.degrees2Radians(114), B1 = CalculationTools.degrees2Radians(30);
+        //首次调用创建本线程的工作区
+        solver.inverseSolutionOfGeodeticProblem(L1, B1, L1 + 1, B1 + 0.5, output);
+        solver.directSolutionOfGeodeticProblem(L1, B1, 1, 1e6, output);
+
+        long before = (long) server.invoke(threading, "getThreadAllocatedBytes", id, signature);
+        for (int i = 0; i < 10000; i++) {
+            solver.inverseSolutionOfGeodeticProblem(L1, B1, L1 + i * 1e-4, -B1 + i * 1e-5, output);
+            solver.directSolutionOfGeodeticProblem(L1, B1, i * 1e-3, 1e6 + i, output);
+        }
+        long allocated = (long) server.invoke(threading, "getThreadAllocatedBytes", id, signature) - before;
+        //每次计算只要分配一个对象即超过此上限
+        assertTrue(allocated < 20000, "分配了" + allocated + "字节");
+    }
+}
@@ -0,0 +1,92 @@
+package club.magiccrazyman.geodetic.core.core.coordinatesystem;
+
+import club.magiccrazyman.geodetic.core.coordinatesystem.GeodeticCoordinateSystem;
+import club.magiccrazyman.geodetic.core.coordinatesystem.LatitudeTable;
+import club.magiccrazyman.geodetic.core.coordinatesystem.SolutionMethod;
+import club.magiccrazyman.geodetic.core.coordinatesystem.projection.GaussKrugerProjectionCoordinateSystem;
+import club.magiccrazyman.geodetic.core.tools.CalculationTools;
+import club.magiccrazyman.geodetic.core.tools.MathBackend;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatitudeTableTest {
+
+    @Test
+    void maxError() {
+        for (GeodeticCoordinateSystem system : GeodeticCoordinateSystem.getSystems()) {
+            LatitudeTable table = system.getLatitudeTable();
+            assertSame(table, system.getLatitudeTable());
+            assertTrue(table.getMaxArcError() < 1e-7, system.getName() + "：" + table.getMaxArcError());
+            assertTrue(table.getMaxRadiusError() < 1e-7, system.getName() + "：" + table.getMaxRadiusError());
+            assertTrue(table.getMaxLatitudeError() < 1e-14, system.getName() + "：" + table.getMaxLatitudeError());
+        }
+    }
+
+    @Test
+    void lookup() {
+        GeodeticCoordinateSystem system = GeodeticCoordinateSystem.getSystemById(1);
+        LatitudeTable table = system.getLatitudeTable();
+        double[] output = new double[2];
+        Random random = new Random(24);
+        for (int i = 0; i < 1000; i++) {
+            double B = (random.nextDouble() - 0.5) * Math.PI;
+            double eit2 = system.getSecondEccentricity() * Math.pow(Math.cos(B), 2);
+            double X = system.calculateMeridianArc(B);
+            assertEquals(X, table.meridianArc(B), 1e-7);
+            assertEquals(system.calculateMeridianCurvatureRadius(eit2), table.meridianCurvatureRadius(B), 1e-7);
+            assertEquals(system.calculatePrimeVerticalCurvatureRadius(eit2), table.primeVerticalCurvatureRadius(B), 1e-7);
+            assertEquals(system.calculateAverageCurvatureRadius(eit2), table.averageCurvatureRadius(B), 1e-7);
+            assertEquals(B, table.latitudeFromMeridianArc(X), 1e-14);
+
+            system.calculateGeodeticLatitudeFromMeridianArc(X, 0, SolutionMethod.TABLE, output);
+            assertEquals(B, output[0], 1e-14);
+            assertEquals(0, output[1]);
+        }
+        //两极及赤道
+        assertEquals(Math.PI / 2, table.latitudeFromMeridianArc(system.calculateMeridianArc(Math.PI / 2)), 1e-14);
+        assertEquals(0, table.meridianArc(0), 1e-7);
+
+        assertThrows(IllegalArgumentException.class, () -> system.transformToGeodeticCoordinateSystem(1e6, 1e6, 6e6, 1e-12, SolutionMethod.TABLE, new double[4]));
+    }
+
+    @Test
+    void projection() {
+        GaussKrugerProjectionCoordinateSystem system = GaussKrugerProjectionCoordinateSystem.RecordedSystem.CGCS2000_3_Degree_GK_CM_111E.getSystem();
+        GaussKrugerProjectionCoordinateSystem table = new GaussKrugerProjectionCoordinateSystem(system.getGeodeticCoordinateSystem(), system.getDegree(), false,
+                system.getFalseEasting(), system.getFalseNorthing(), system.getCentralMeridian(), system.getScaleFactor(), system.getLatitudeOfOrigin(),
+                system.getLinerUnit(), system.getName(), MathBackend.JAVA, true);
+        assertFalse(system.isLatitudeTableEnabled());
+        assertTrue(table.isLatitudeTableEnabled());
+
+        double[] expected = new double[7];
+        double[] actual = new double[7];
+        Random random = new Random(24);
+        for (int i = 0; i < 1000; i++) {
+            double L = CalculationTools.degrees2Radians(109.5 + 3 * random.nextDouble());
+            double B = CalculationTools.degrees2Radians(20 + 30 * random.nextDouble());
+
+            system.forwardCalculation(L, B, expected);
+            table.forwardCalculation(L, B, actual);
+            assertEquals(expected[0], actual[0], 1e-6);
+            assertEquals(expected[1], actual[1], 1e-6);
+
+            //未指定解算方法的反算使用查找表
+            system.backwardCalculation(expected[0], expected[1], 1e-12, true, expected);
+            table.backwardCalculation(actual[0], actual[1], 1e-12, true, actual);
+            assertEquals(expected[0], actual[0], 1e-12);
+            assertEquals(expected[1], actual[1], 1e-12);
+            assertEquals(0, actual[5]);
+            assertEquals(L, actual[0], 1e-10);
+            assertEquals(B, actual[1], 1e-10);
+
+            //未启用查找表的坐标系亦可指定查表法
+            system.forwardCalculation(L, B, actual);
+            system.backwardCalculation(actual[0], actual[1], 0, true, SolutionMethod.TABLE, actual);
+            assertEquals(expected[0], actual[0], 1e-12);
+            assertEquals(expected[1], actual[1], 1e-12);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package club.magiccrazyman.geodetic.core.core.coordinatesystem;
+
+import club.magiccrazyman.geodetic.core.coordinatesystem.GeodeticCoordinateSystem;
+import club.magiccrazyman.geodetic.core.coordinatesystem.HelmertTransformation;
+import club.magiccrazyman.geodetic.core.coordinatesystem.MolodenskyTransformation;
+import club.magiccrazyman.geodetic.core.tools.CalculationTools;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MolodenskyTransformationTest {
+
+    private GeodeticCoordinateSystem CGCS2000 = GeodeticCoordinateSystem.getSystemById(1);
+    private GeodeticCoordinateSystem Beijing54 = GeodeticCoordinateSystem.getSystemById(3);
+
+    @Test
+    void transform() {
+        //仅用于测试的示例平移参数
+        double dx = -15.4, dy = 152.1, dz = 88.7;
+        MolodenskyTransformation molodensky = new MolodenskyTransformation(Beijing54, CGCS2000, dx, dy, dz);
+        HelmertTransformation helmert = new HelmertTransformation(Beijing54, CGCS2000, dx, dy, dz, 0, 0, 0, 0);
+
+        double[] expected = new double[4], actual = new double[3];
+        for (double lon = 73; lon <= 135; lon += 2) {
+            for (double lat = 18; lat <= 54; lat += 2) {
+                double L = CalculationTools.degrees2Radians(lon), B = CalculationTools.degrees2Radians(lat);
+                helmert.transform(L, B, 100, expected);
+                molodensky.transform(L, B, 100, actual);
+                //百米量级的平移，两种方法的差异在厘米量级
+                assertEquals(expected[0], actual[0], 3e-9, String.format("L(%f, %f)", lon, lat));
+                assertEquals(expected[1], actual[1], 3e-9, String.format("B(%f, %f)", lon, lat));
+                assertEquals(expected[2], actual[2], 0.05, String.format("H(%f, %f)", lon, lat));
+            }
+        }
+
+        double[] L = {CalculationTools.degrees2Radians(116.39)}, B = {CalculationTools.degrees2Radians(39.91)}, H = {50};
+        double[] L2 = new double[1], B2 = new double[1], H2 = new double[1];
+        molodensky.transform(L, B, H, 0, 1, L2, B2, H2);
+        molodensky.transform(L[0], B[0], H[0], actual);
+        assertEquals(actual[0], L2[0]);
+        assertEquals(actual[1], B2[0]);
+        assertEquals(actual[2], H2[0]);
+    }
+}
@@ -0,0 +1,202 @@
+package club.magiccrazyman.geodetic.core.core.coordinatesystem;
+
+import club.magiccrazyman.geodetic.core.coordinatesystem.NTv2GridShift;
+import club.magiccrazyman.geodetic.core.tools.CalculationTools;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NTv2GridShiftTest {
+
+    private static final double ARC_SECOND = Math.PI / 180 / 3600;
+
+    @Test
+    void shift() throws IOException {
+        for (ByteOrder order : new ByteOrder[]{ByteOrder.LITTLE_ENDIAN, ByteOrder.BIG_ENDIAN}) {
+            Path file = writeGrid(order);
+            try {
+                NTv2GridShift grid = new NTv2GridShift(file);
+                assertEquals(2, grid.getSubGridCount());
+                assertEquals("BJ54", grid.getSourceSystemName());
+                assertEquals("CGCS2000", grid.getTargetSystemName());
+
+                //父格网内的改正数为经纬度的线性函数，双线性内插结果精确
+                double L = CalculationTools.degrees2Radians(110.7), B = CalculationTools.degrees2Radians(30.3);
+                double[] output = grid.shift(L, B, new double[3]);
+                double lat = 30.3 * 3600, lon = -110.7 * 3600;
+                assertEquals("PARENT", grid.getSubGridName((int) output[2]));
+                assertEquals(B + latShift(lat, lon) * ARC_SECOND, output[1], 1e-12, order.toString());
+                assertEquals(L - lonShift(lat) * ARC_SECOND, output[0], 1e-12, order.toString());
+
+                //子格网优先
+                output = grid.shift(CalculationTools.degrees2Radians(110.75), CalculationTools.degrees2Radians(31.25), output);
+                assertEquals("CHILD", grid.getSubGridName((int) output[2]));
+                assertEquals(CalculationTools.degrees2Radians(31.25) + 5 * ARC_SECOND, output[1], 1e-12);
+                assertEquals(CalculationTools.degrees2Radians(110.75) + 5 * ARC_SECOND, output[0], 1e-12);
+
+                //格网范围外不改正
+                output = grid.shift(CalculationTools.degrees2Radians(100), B, output);
+                assertEquals(-1, output[2]);
+                assertEquals(CalculationTools.degrees2Radians(100), output[0]);
+
+                //反向改正
+                grid.shift(L, B, output);
+                grid.inverseShift(output[0], output[1], output);
+                assertEquals(L, output[0], 1e-14);
+                assertEquals(B, output[1], 1e-14);
+            } finally {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    void inverseShiftAtEdge() throws IOException {
+        Path file = writeGrid(ByteOrder.LITTLE_ENDIAN);
+        try {
+            NTv2GridShift grid = new NTv2GridShift(file);
+            //南边缘内侧，纬度改正约为+0.17秒，第一次迭代后越过南边缘，应保留格网内的迭代点及其子格网
+            double L = CalculationTools.degrees2Radians(111), B = CalculationTools.degrees2Radians(30) + 0.05 * ARC_SECOND;
+            double[] output = grid.inverseShift(L, B, new double[3]);
+            assertEquals("PARENT", grid.getSubGridName((int) output[2]));
+            assertEquals(L, output[0]);
+            assertEquals(B, output[1]);
+            assertEquals(output[2], grid.shift(output[0], output[1], new double[3])[2]);
+
+            //格网范围外不改正
+            output = grid.inverseShift(L, CalculationTools.degrees2Radians(29.9), output);
+            assertEquals(-1, output[2]);
+            assertEquals(L, output[0]);
+            assertEquals(CalculationTools.degrees2Radians(29.9), output[1]);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void bulkShift() throws IOException {
+        Path file = writeGrid(ByteOrder.LITTLE_ENDIAN);
+        try {
+            NTv2GridShift grid = new NTv2GridShift(file);
+            int n = 10000;
+            double[] L = new double[n], B = new double[n];
+            for (int i = 0; i < n; i++) {
+                L[i] = CalculationTools.degrees2Radians(109.9 + 2.2 * (i % 100) / 100);
+                B[i] = CalculationTools.degrees2Radians(29.9 + 2.2 * (i / 100) / 100);
+            }
+            double[] L2 = new double[n], B2 = new double[n];
+            int outside = grid.shift(L, B, 0, n, L2, B2, ForkJoinPool.commonPool());
+
+            double[] output = new double[3];
+            int expectedOutside = 0;
+            for (int i = 0; i < n; i++) {
+                grid.shift(L[i], B[i], output);
+                assertEquals(output[0], L2[i]);
+                assertEquals(output[1], B2[i]);
+                if (output[2] < 0) {
+                    expectedOutside++;
+                }
+            }
+            assertTrue(expectedOutside > 0);
+            assertEquals(expectedOutside, outside);
+            assertEquals(outside, grid.shift(L, B, 0, n, L2, B2));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void invalidFile() throws IOException {
+        Path file = Files.createTempFile("invalid", ".gsb");
+        try {
+            Files.write(file, new byte[176]);
+            assertThrows(IOException.class, () -> new NTv2GridShift(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static double latShift(double lat, double lon) {
+        return 0.1 + 1e-5 * (lat - 30 * 3600) + 2e-5 * (lon + 112 * 3600);
+    }
+
+    private static double lonShift(double lat) {
+        return -0.2 + 3e-5 * (lat - 30 * 3600);
+    }
+
+    /**
+     * 生成测试用NTv2文件：父格网 30°N~32°N，110°E~112°E，间隔0.5°；子格网 31°N~31.5°N，110.5°E~111°E，间隔0.25°，改正数恒为5秒
+     */
+    private static Path writeGrid(ByteOrder order) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(16 * (11 + 11 + 25 + 11 + 9 + 1)).order(order);
+        putInt(buffer, "NUM_OREC", 11);
+        putInt(buffer, "NUM_SREC", 11);
+        putInt(buffer, "NUM_FILE", 2);
+        putText(buffer, "GS_TYPE", "SECONDS");
+        putText(buffer, "VERSION", "NTv2.0");
+        putText(buffer, "SYSTEM_F", "BJ54");
+        putText(buffer, "SYSTEM_T", "CGCS2000");
+        putDouble(buffer, "MAJOR_F", 6378245.0);
+        putDouble(buffer, "MINOR_F", 6356863.0187730473);
+        putDouble(buffer, "MAJOR_T", 6378137.0);
+        putDouble(buffer, "MINOR_T", 6356752.31414);
+
+        putSubGridHeader(buffer, "PARENT", "NONE", 30, 32, 110, 112, 0.5, 25);
+        for (int row = 0; row < 5; row++) {
+            for (int col = 0; col < 5; col++) {
+                double lat = (30 + 0.5 * row) * 3600, lon = -(112 - 0.5 * col) * 3600;
+                buffer.putFloat((float) latShift(lat, lon)).putFloat((float) lonShift(lat)).putFloat(0).putFloat(0);
+            }
+        }
+        putSubGridHeader(buffer, "CHILD", "PARENT", 31, 31.5, 110.5, 111, 0.25, 9);
+        for (int i = 0; i < 9; i++) {
+            buffer.putFloat(5).putFloat(-5).putFloat(0).putFloat(0);
+        }
+        putText(buffer, "END", "");
+
+        Path file = Files.createTempFile("ntv2", ".gsb");
+        Files.write(file, buffer.array());
+        return file;
+    }
+
+    private static void putSubGridHeader(ByteBuffer buffer, String name, String parent, double south, double north, double east, double west, double inc, int count) {
+        putText(buffer, "SUB_NAME", name);
+        putText(buffer, "PARENT", parent);
+        putText(buffer, "CREATED", "");
+        putText(buffer, "UPDATED", "");
+        putDouble(buffer, "S_LAT", south * 3600);
+        putDouble(buffer, "N_LAT", north * 3600);
+        putDouble(buffer, "E_LONG", -west * 3600);
+        putDouble(buffer, "W_LONG", -east * 3600);
+        putDouble(buffer, "LAT_INC", inc * 3600);
+        putDouble(buffer, "LONG_INC", inc * 3600);
+        putInt(buffer, "GS_COUNT", count);
+    }
+
+    private static void putName(ByteBuffer buffer, String name) {
+        buffer.put(String.format("%-8s", name).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static void putInt(ByteBuffer buffer, String name, int value) {
+        putName(buffer, name);
+        buffer.putInt(value).putInt(0);
+    }
+
+    private static void putDouble(ByteBuffer buffer, String name, double value) {
+        putName(buffer, name);
+        buffer.putDouble(value);
+    }
+
+    private static void putText(ByteBuffer buffer, String name, String value) {
+        putName(buffer, name);
+        putName(buffer, value);
+    }
+}
@@ -1,10 +1,14 @@
 package club.magiccrazyman.geodetic.core.core.coordinatesystem.projection;
 
+import club.magiccrazyman.geodetic.core.coordinatesystem.GeodeticCoordinateSystem;
+import club.magiccrazyman.geodetic.core.coordinatesystem.SolutionMethod;
 import club.magiccrazyman.geodetic.core.coordinatesystem.projection.GaussKrugerProjectionCoordinateSystem;
 import club.magiccrazyman.geodetic.core.tools.CalculationTools;
+import club.magiccrazyman.geodetic.core.tools.MathBackend;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -84,4 +88,152 @@ class GaussKrugerProjectionCoordinateSystemTest {
         assertEquals("112°17'58.3596\"", Ld, String.format("L：%f", lb.get(0)));
         assertEquals("30°45'25.4425\"", Bd, String.format("B：%f", lb.get(1)));
     }
-}
\ No newline at end of file
+
+    @Test
+    void primitiveOutput() {
+        double L = CalculationTools.degrees2Radians(111 + 17.0 / 60 + 58.3596 / 3600);
+        double B = CalculationTools.degrees2Radians(30 + 45.0 / 60 + 25.4425 / 3600);
+        double precision = 0.0000000000001;
+        double[] output = new double[13];
+
+        ArrayList<Double> xy = cgcs2000_3_111E.forwardCalculation(L, B);
+        cgcs2000_3_111E.forwardCalculation(L, B, output);
+        for (int i = 0; i < 7; i++) {
+            assertEquals(xy.get(i), output[i]);
+        }
+
+        ArrayList<Double> LBlMNC = cgcs2000_3_111E.backwardCalculation(3404762.7444, 624430.6672, precision, true);
+        cgcs2000_3_111E.backwardCalculation(3404762.7444, 624430.6672, precision, true, output);
+        for (int i = 0; i < 6; i++) {
+            assertEquals(LBlMNC.get(i), output[i]);
+        }
+
+        ArrayList<Double> newXY = beijing54_3_20N.projectionTransform(beijing54_3_21N, 1944359.6070, 240455.4563, precision, false);
+        beijing54_3_20N.projectionTransform(beijing54_3_21N, 1944359.6070, 240455.4563, precision, false, output);
+        for (int i = 0; i < 13; i++) {
+            assertEquals(newXY.get(i), output[i]);
+        }
+    }
+
+    @Test
+    void closedFormBackwardCalculation() {
+        double precision = 0.0000000000001;
+        double[] iteration = cgcs2000_3_111E.backwardCalculation(3404762.7444, 624430.6672, precision, true, new double[6]);
+        double[] closedForm = cgcs2000_3_111E.backwardCalculation(3404762.7444, 624430.6672, true, new double[6]);
+        assertEquals(iteration[0], closedForm[0], 1e-11, String.format("L：%f", closedForm[0]));
+        assertEquals(iteration[1], closedForm[1], 1e-11, String.format("B：%f", closedForm[1]));
+        assertEquals(0, (int) closedForm[5]);
+        assertArrayEquals(closedForm, cgcs2000_3_111E.backwardCalculation(3404762.7444, 624430.6672, precision, true, SolutionMethod.CLOSED_FORM, new double[6]));
+
+        //闭合公式与子午线弧长级数的差异来自后者e^10项的截断，全纬度范围内小于10^-11弧度
+        double[] BC = new double[2];
+        for (int i = -89; i <= 89; i++) {
+            double X = cgcs2000_3_111E.getGeodeticCoordinateSystem().calculateMeridianArc(CalculationTools.degrees2Radians(i + 0.5));
+            cgcs2000_3_111E.getGeodeticCoordinateSystem().calculateGeodeticLatitudeFromMeridianArc(X, BC);
+            assertEquals(CalculationTools.degrees2Radians(i + 0.5), BC[0], 1e-11, String.format("B：%f", BC[0]));
+        }
+
+        double[] newXY = beijing54_3_20N.projectionTransform(beijing54_3_21N, 1944359.6070, 240455.4563, false, new double[13]);
+        assertEquals("1943076.2990", String.format("%.4f", newXY[2]), String.format("x：%f", newXY[2]));
+        assertEquals("-78087.2222", String.format("%.4f", newXY[3]), String.format("y：%f", newXY[3]));
+    }
+
+    @Test
+    void bulkForwardCalculation() {
+        int n = 10000;
+        double[] L = new double[n], B = new double[n];
+        for (int i = 0; i < n; i++) {
+            L[i] = CalculationTools.degrees2Radians(109.5 + 3.0 * i / n);
+            B[i] = CalculationTools.degrees2Radians(20 + (i % 300) / 10.0);
+        }
+        double[] xz = new double[n], yz = new double[n];
+        cgcs2000_3_111E.forwardCalculation(L, B, 0, n, xz, yz, ForkJoinPool.commonPool());
+
+        double[] output = new double[7];
+        for (int i = 0; i < n; i++) {
+            cgcs2000_3_111E.forwardCalculation(L[i], B[i], output);
+            assertEquals(output[0], xz[i]);
+            assertEquals(output[1], yz[i]);
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> cgcs2000_3_111E.forwardCalculation(L, B, 1, n, xz, yz));
+    }
+
+    @Test
+    void mathBackend() {
+        double L = CalculationTools.degrees2Radians(111 + 17.0 / 60 + 58.3596 / 3600);
+        double B = CalculationTools.degrees2Radians(30 + 45.0 / 60 + 25.4425 / 3600);
+
+        assertSame(MathBackend.JAVA, cgcs2000_3_111E.getMathBackend());
+        double[] expected = cgcs2000_3_111E.forwardCalculation(L, B, new double[7]);
+        double[] expectedLB = cgcs2000_3_111E.backwardCalculation(expected[0], expected[1], true, new double[6]);
+        double[] LB = new double[6];
+        for (MathBackend backend : MathBackend.values()) {
+            double[] xy = cgcs2000_3_111E.forwardCalculation(L, B, backend, new double[7]);
+            assertEquals(expected[0], xy[0], 1e-8, backend.name());
+            assertEquals(expected[1], xy[1], 1e-8, backend.name());
+
+            cgcs2000_3_111E.backwardCalculation(xy[0], xy[1], 0, true, SolutionMethod.CLOSED_FORM, backend, LB);
+            assertEquals(expectedLB[0], LB[0], 1e-14, backend.name());
+            assertEquals(expectedLB[1], LB[1], 1e-14, backend.name());
+        }
+
+        //STRICT结果逐位可复现
+        assertArrayEquals(cgcs2000_3_111E.forwardCalculation(L, B, MathBackend.STRICT, new double[7]),
+                cgcs2000_3_111E.forwardCalculation(L, B, MathBackend.STRICT, new double[7]));
+    }
+
+    @Test
+    void strictBackwardCalculation() {
+        //STRICT反算须与只使用StrictMath及四则运算的参考实现逐位一致，不得经过Math.pow等由JVM选择实现的函数
+        double[] output = new double[6];
+        for (int i = 0; i <= 20; i++) {
+            double L = CalculationTools.degrees2Radians(109.5 + i * 0.15);
+            double B = CalculationTools.degrees2Radians(-80 + i * 8);
+            double[] xy = cgcs2000_3_111E.forwardCalculation(L, B, MathBackend.STRICT, new double[7]);
+
+            cgcs2000_3_111E.backwardCalculation(xy[0], xy[1], 0, true, SolutionMethod.CLOSED_FORM, MathBackend.STRICT, output);
+            double[] expected = strictBackwardCalculation(cgcs2000_3_111E, xy[0], xy[1]);
+            for (int k = 0; k < 5; k++) {
+                assertEquals(expected[k], output[k], "B = " + (-80 + i * 8) + "，第" + k + "项");
+            }
+        }
+    }
+
+    /**
+     * 以StrictMath按闭合公式法实现的高斯克吕格投影反算参考，运算顺序与被测实现相同
+     */
+    private static double[] strictBackwardCalculation(GaussKrugerProjectionCoordinateSystem system, double x, double y) {
+        GeodeticCoordinateSystem geodetic = system.getGeodeticCoordinateSystem();
+        double X = (x - system.getFalseNorthing()) / system.getScaleFactor();
+        y = (y - system.getFalseEasting()) / system.getScaleFactor();
+
+        //底点纬度，Clenshaw求和
+        double[] d = geodetic.calculateFootpointLatitudeParameters();
+        double mu = X / geodetic.calculateMeridianArcParameters()[0];
+        double sin2mu = StrictMath.sin(2 * mu), ar = 2 * StrictMath.cos(2 * mu);
+        double y0 = d[4], y1 = 0, y2;
+        for (int k = 3; k >= 0; k--) {
+            y2 = y1;
+            y1 = y0;
+            y0 = ar * y1 - y2 + d[k];
+        }
+        double Bf = mu + y0 * sin2mu;
+
+        double sinBf = StrictMath.sin(Bf), cosBf = StrictMath.cos(Bf);
+        double eit2f = geodetic.getSecondEccentricity() * cosBf * cosBf;
+        double tf = sinBf / cosBf, tf2 = tf * tf;
+        double c = geodetic.getPoleCurvatureRadius();
+        double Mf = c / ((1 + eit2f) * StrictMath.sqrt(1 + eit2f));
+        double Nf = c / StrictMath.sqrt(1 + eit2f);
+        double yy = y * y;
+
+        double B = Bf -
+                tf * yy / (2 * Mf * Nf) +
+                tf * (5 + 3 * tf2 + eit2f - 9 * eit2f * tf2) * yy * yy / (24 * Mf * Nf * Nf * Nf) -
+                tf * (61 + 90 * tf2 + 45 * tf2 * tf2) * yy * yy * yy / (720 * Mf * Nf * Nf * Nf * Nf * Nf);
+        double l = y / (Nf * cosBf) -
+                (1 + 2 * tf2 + eit2f) * y * yy / (6 * Nf * Nf * Nf * cosBf) +
+                (5 + 28 * tf2 + 24 * tf2 * tf2 + 6 * eit2f + 8 * eit2f * tf2) * y * yy * yy / (120 * Nf * Nf * Nf * Nf * Nf * cosBf);
+        return new double[]{l + CalculationTools.degrees2Radians(system.getCentralMeridian()), B, l, Mf, Nf};
+    }
+}
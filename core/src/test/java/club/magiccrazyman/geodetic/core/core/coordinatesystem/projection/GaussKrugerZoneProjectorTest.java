@@ -0,0 +1,86 @@
+package club.magiccrazyman.geodetic.core.core.coordinatesystem.projection;
+
+import club.magiccrazyman.geodetic.core.coordinatesystem.GeodeticCoordinateSystem;
+import club.magiccrazyman.geodetic.core.coordinatesystem.projection.GaussKrugerProjectionCoordinateSystem;
+import club.magiccrazyman.geodetic.core.coordinatesystem.projection.GaussKrugerZoneProjector;
+import club.magiccrazyman.geodetic.core.tools.CalculationTools;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GaussKrugerZoneProjectorTest {
+    private GeodeticCoordinateSystem CGCS2000 = GeodeticCoordinateSystem.getSystemById(1);
+
+    private GaussKrugerProjectionCoordinateSystem cgcs2000_3_Zone_37 = GaussKrugerProjectionCoordinateSystem.RecordedSystem.CGCS2000_3_Degree_GK_Zone_37.getSystem();
+    private GaussKrugerProjectionCoordinateSystem cgcs2000_Zone_19 = GaussKrugerProjectionCoordinateSystem.RecordedSystem.CGCS2000_GK_Zone_19.getSystem();
+
+    @Test
+    void zoneOf() {
+        GaussKrugerZoneProjector zone3 = new GaussKrugerZoneProjector(CGCS2000, 3, true);
+        GaussKrugerZoneProjector zone6 = new GaussKrugerZoneProjector(CGCS2000, 6, true);
+
+        assertEquals(37, zone3.zoneOf(CalculationTools.degrees2Radians(111.3)));
+        assertEquals(37, zone3.zoneOf(CalculationTools.degrees2Radians(109.5)));
+        assertEquals(38, zone3.zoneOf(CalculationTools.degrees2Radians(112.5)));
+        assertEquals(120, zone3.zoneOf(CalculationTools.degrees2Radians(0.5)));
+        assertEquals(19, zone6.zoneOf(CalculationTools.degrees2Radians(111.3)));
+        assertEquals(1, zone6.zoneOf(0));
+        assertEquals(48, zone6.zoneOf(CalculationTools.degrees2Radians(-75)));
+        assertEquals(111.0, zone3.centralMeridianOf(37));
+        assertEquals(111.0, zone6.centralMeridianOf(19));
+
+        assertSame(zone3.getSystem(37), zone3.getSystemForLongitude(CalculationTools.degrees2Radians(111.3)));
+        assertEquals("CGCS2000_3_Degree_GK_Zone_37", zone3.getSystem(37).getName());
+        assertThrows(IllegalArgumentException.class, () -> zone6.getSystem(61));
+        assertThrows(IllegalArgumentException.class, () -> new GaussKrugerZoneProjector(CGCS2000, 4, true));
+    }
+
+    @Test
+    void forwardCalculation() {
+        double L = CalculationTools.degrees2Radians(111 + 17.0 / 60 + 58.3596 / 3600);
+        double B = CalculationTools.degrees2Radians(30 + 45.0 / 60 + 25.4425 / 3600);
+
+        double[] output = new GaussKrugerZoneProjector(CGCS2000, 3, true).forwardCalculation(L, B, new double[8]);
+        assertArrayEquals(cgcs2000_3_Zone_37.forwardCalculation(L, B, new double[7]), Arrays.copyOf(output, 7));
+        assertEquals(37, output[7]);
+
+        output = new GaussKrugerZoneProjector(CGCS2000, 6, true).forwardCalculation(L, B, new double[8]);
+        assertArrayEquals(cgcs2000_Zone_19.forwardCalculation(L, B, new double[7]), Arrays.copyOf(output, 7));
+
+        //西经与东经对称
+        double[] east = new GaussKrugerZoneProjector(CGCS2000, 6, false).forwardCalculation(CalculationTools.degrees2Radians(75.5), B, new double[8]);
+        double[] west = new GaussKrugerZoneProjector(CGCS2000, 6, false).forwardCalculation(CalculationTools.degrees2Radians(-75.5), B, new double[8]);
+        assertEquals(east[0], west[0], 1e-6);
+        assertEquals(east[3], -west[3], 1e-6);
+    }
+
+    @Test
+    void bulkForwardCalculation() {
+        GaussKrugerZoneProjector projector = new GaussKrugerZoneProjector(CGCS2000, 3, true);
+        int n = 20000;
+        double[] L = new double[n], B = new double[n];
+        for (int i = 0; i < n; i++) {
+            L[i] = CalculationTools.degrees2Radians(73 + 62.0 * ((i * 7919) % n) / n);
+            B[i] = CalculationTools.degrees2Radians(18 + (i % 350) / 10.0);
+        }
+        double[] xz = new double[n], yz = new double[n];
+        int[] zones = new int[n];
+        projector.forwardCalculation(L, B, 0, n, xz, yz, zones, ForkJoinPool.commonPool());
+
+        double[] output = new double[8];
+        for (int i = 0; i < n; i++) {
+            projector.forwardCalculation(L[i], B[i], output);
+            assertEquals(output[0], xz[i]);
+            assertEquals(output[1], yz[i]);
+            assertEquals((int) output[7], zones[i]);
+        }
+
+        double[] LB = projector.backwardCalculation(xz[123], yz[123], new double[6]);
+        assertEquals(L[123], LB[0], 1e-10);
+        assertEquals(B[123], LB[1], 1e-10);
+        assertThrows(UnsupportedOperationException.class, () -> new GaussKrugerZoneProjector(CGCS2000, 3, false).backwardCalculation(0, 0, new double[6]));
+    }
+}
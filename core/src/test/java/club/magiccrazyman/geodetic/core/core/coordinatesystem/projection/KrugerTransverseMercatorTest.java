@@ -0,0 +1,57 @@
+package club.magiccrazyman.geodetic.core.core.coordinatesystem.projection;
+
+import club.magiccrazyman.geodetic.core.coordinatesystem.projection.GaussKrugerProjectionCoordinateSystem;
+import club.magiccrazyman.geodetic.core.coordinatesystem.projection.KrugerTransverseMercator;
+import club.magiccrazyman.geodetic.core.tools.CalculationTools;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KrugerTransverseMercatorTest {
+    private GaussKrugerProjectionCoordinateSystem cgcs2000_3_111E = GaussKrugerProjectionCoordinateSystem.RecordedSystem.CGCS2000_3_Degree_GK_CM_111E.getSystem();
+    private GaussKrugerProjectionCoordinateSystem utm = GaussKrugerProjectionCoordinateSystem.RecordedSystem.WGS_1984_UTM_Zone_49N.getSystem();
+
+    @Test
+    void forwardCalculation() {
+        double L = CalculationTools.degrees2Radians(111 + 17.0 / 60 + 58.3596 / 3600);
+        double B = CalculationTools.degrees2Radians(30 + 45.0 / 60 + 25.4425 / 3600);
+
+        //靠近中央子午线时与《大地测量学基础》的幂级数一致
+        ArrayList<Double> xy = cgcs2000_3_111E.getKrugerTransverseMercator().forwardCalculation(L, B);
+        ArrayList<Double> expected = cgcs2000_3_111E.forwardCalculation(L, B);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(expected.get(i), xy.get(i), 0.000001, String.format("%d：%f", i, xy.get(i)));
+        }
+
+        xy = utm.getKrugerTransverseMercator().forwardCalculation(L + CalculationTools.degrees2Radians(1), B);
+        expected = utm.forwardCalculation(L + CalculationTools.degrees2Radians(1), B);
+        assertEquals(expected.get(0), xy.get(0), 0.000001, String.format("xz：%f", xy.get(0)));
+        assertEquals(expected.get(1), xy.get(1), 0.000001, String.format("yz：%f", xy.get(1)));
+    }
+
+    @Test
+    void backwardCalculation() {
+        ArrayList<Double> lb = cgcs2000_3_111E.getKrugerTransverseMercator().backwardCalculation(3404762.7444, 624430.6672, true);
+        String Ld = CalculationTools.degreesFormatter(CalculationTools.radians2Degrees(lb.get(0)));
+        String Bd = CalculationTools.degreesFormatter(CalculationTools.radians2Degrees(lb.get(1)));
+        assertEquals("112°17'58.3596\"", Ld, String.format("L：%f", lb.get(0)));
+        assertEquals("30°45'25.4425\"", Bd, String.format("B：%f", lb.get(1)));
+    }
+
+    @Test
+    void wideZoneRoundTrip() {
+        KrugerTransverseMercator projection = cgcs2000_3_111E.getKrugerTransverseMercator();
+        double[] xy = new double[5], LBl = new double[3];
+        for (int lat = -80; lat <= 80; lat += 5) {
+            for (int dl = -30; dl <= 30; dl += 3) {
+                double L = CalculationTools.degrees2Radians(111 + dl), B = CalculationTools.degrees2Radians(lat);
+                projection.forwardCalculation(L, B, xy);
+                projection.backwardCalculation(xy[0], xy[1], true, LBl);
+                assertEquals(L, LBl[0], 1e-14, String.format("L：%f", LBl[0]));
+                assertEquals(B, LBl[1], 1e-14, String.format("B：%f", LBl[1]));
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package club.magiccrazyman.geodetic.core.core.coordinatesystem.projection;
+
+import club.magiccrazyman.geodetic.core.coordinatesystem.projection.GaussKrugerProjectionCoordinateSystem;
+import club.magiccrazyman.geodetic.core.coordinatesystem.projection.TransformPlan;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransformPlanTest {
+    private GaussKrugerProjectionCoordinateSystem beijing54_3_20N = GaussKrugerProjectionCoordinateSystem.RecordedSystem.Beijing_1954_3_Degree_GK_CM_117E.getSystem();
+    private GaussKrugerProjectionCoordinateSystem beijing54_3_21N = GaussKrugerProjectionCoordinateSystem.RecordedSystem.Beijing_1954_3_Degree_GK_CM_120E.getSystem();
+    private GaussKrugerProjectionCoordinateSystem cgcs2000_3_111E = GaussKrugerProjectionCoordinateSystem.RecordedSystem.CGCS2000_3_Degree_GK_CM_111E.getSystem();
+
+    @Test
+    void transform() {
+        TransformPlan plan = beijing54_3_20N.getTransformPlan(beijing54_3_21N);
+        assertSame(plan, beijing54_3_20N.getTransformPlan(beijing54_3_21N));
+        assertSame(beijing54_3_21N, plan.getTarget());
+
+        double[] output = plan.transform(1944359.6070, 240455.4563, false, new double[4]);
+        assertEquals("1943076.2990", String.format("%.4f", output[0]));
+        assertEquals("421912.7778", String.format("%.4f", output[1]));
+
+        double[] expected = beijing54_3_20N.projectionTransform(beijing54_3_21N, 1944359.6070, 240455.4563, false, new double[13]);
+        assertEquals(expected[0], output[0], 1e-8);
+        assertEquals(expected[1], output[1], 1e-8);
+        assertEquals(expected[7], output[2], 1e-15);
+        assertEquals(expected[8], output[3], 1e-15);
+    }
+
+    @Test
+    void bulkTransform() {
+        TransformPlan plan = beijing54_3_20N.getTransformPlan(beijing54_3_21N);
+        int n = 10000;
+        double[] x = new double[n], y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = 2000000 + 20.0 * i;
+            y[i] = 400000 + (i % 2000) * 100.0;
+        }
+        double[] xz = new double[n], yz = new double[n];
+        plan.transform(x, y, 0, n, true, xz, yz, ForkJoinPool.commonPool());
+
+        double[] output = new double[4];
+        for (int i = 0; i < n; i++) {
+            plan.transform(x[i], y[i], true, output);
+            assertEquals(output[0], xz[i]);
+            assertEquals(output[1], yz[i]);
+        }
+    }
+
+    @Test
+    void incompatibleSystems() {
+        assertThrows(UnsupportedOperationException.class, () -> beijing54_3_20N.getTransformPlan(cgcs2000_3_111E));
+    }
+}
@@ -0,0 +1,93 @@
+package club.magiccrazyman.geodetic.core.core.io;
+
+import club.magiccrazyman.geodetic.core.coordinatesystem.GeodeticCoordinateSystem;
+import club.magiccrazyman.geodetic.core.io.ColumnarCoordinateFile;
+import club.magiccrazyman.geodetic.core.tools.CalculationTools;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarCoordinateFileTest {
+
+    @Test
+    void transform() throws IOException {
+        GeodeticCoordinateSystem system = GeodeticCoordinateSystem.getSystemById(1);
+        Path geodeticFile = Files.createTempFile("geodetic", ".gcol");
+        Path spatialFile = Files.createTempFile("spatial", ".gcol");
+        int n = 100000;
+        try {
+            try (ColumnarCoordinateFile geodetic = ColumnarCoordinateFile.create(geodeticFile, ColumnarCoordinateFile.Layout.GEODETIC, system.getId(), n)) {
+                double[] L = new double[n], B = new double[n], H = new double[n];
+                for (int i = 0; i < n; i++) {
+                    L[i] = CalculationTools.degrees2Radians(73 + 62.0 * i / n);
+                    B[i] = CalculationTools.degrees2Radians(3 + 50.0 * ((i * 7919) % n) / n);
+                    H[i] = i % 5000;
+                }
+                geodetic.put(0, 0, L, 0, n);
+                geodetic.put(1, 0, B, 0, n);
+                geodetic.put(2, 0, H, 0, n);
+
+                try (ColumnarCoordinateFile spatial = ColumnarCoordinateFile.create(spatialFile, ColumnarCoordinateFile.Layout.SPATIAL, system.getId(), n)) {
+                    geodetic.transformTo(spatial, 30000, (in, out, length) ->
+                            system.transformToSpatialCoordinateSystem(in[0], in[1], in[2], 0, length, out[0], out[1], out[2], ForkJoinPool.commonPool()));
+                    spatial.force();
+                }
+            }
+
+            try (ColumnarCoordinateFile geodetic = ColumnarCoordinateFile.open(geodeticFile, false);
+                 ColumnarCoordinateFile spatial = ColumnarCoordinateFile.open(spatialFile, false)) {
+                assertEquals(ColumnarCoordinateFile.Layout.SPATIAL, spatial.getLayout());
+                assertEquals(system, spatial.getSystem());
+                assertEquals(n, spatial.getPointCount());
+                assertTrue(Double.isNaN(spatial.getCentralMeridian()));
+                assertEquals(ColumnarCoordinateFile.HEADER_SIZE + 3L * n * Double.BYTES, Files.size(spatialFile));
+
+                double[] LBH = new double[3], XYZ = new double[3], expected = new double[3];
+                for (int i = 0; i < n; i += 997) {
+                    for (int column = 0; column < 3; column++) {
+                        geodetic.get(column, i, LBH, column, 1);
+                        spatial.get(column, i, XYZ, column, 1);
+                    }
+                    system.transformToSpatialCoordinateSystem(LBH[0], LBH[1], LBH[2], expected);
+                    assertArrayEquals(expected, XYZ);
+                }
+
+                assertThrows(UnsupportedOperationException.class, () -> spatial.put(0, 0, XYZ, 0, 1));
+                assertThrows(IndexOutOfBoundsException.class, () -> spatial.get(0, n - 1, XYZ, 0, 2));
+                assertThrows(IndexOutOfBoundsException.class, () -> spatial.get(3, 0, XYZ, 0, 1));
+            }
+        } finally {
+            Files.delete(geodeticFile);
+            Files.delete(spatialFile);
+        }
+    }
+
+    @Test
+    void invalidFile() throws IOException {
+        Path file = Files.createTempFile("invalid", ".gcol");
+        try {
+            try (ColumnarCoordinateFile projected = ColumnarCoordinateFile.create(file, ColumnarCoordinateFile.Layout.PROJECTED, 1, 117, 10)) {
+                assertEquals(117, projected.getCentralMeridian());
+            }
+            try (ColumnarCoordinateFile projected = ColumnarCoordinateFile.open(file, true)) {
+                assertEquals(117, projected.getCentralMeridian());
+                assertEquals(2, projected.getLayout().getColumnCount());
+            }
+
+            //文件长度与点数不符
+            Files.write(file, new byte[8], StandardOpenOption.APPEND);
+            assertThrows(IOException.class, () -> ColumnarCoordinateFile.open(file, false));
+
+            Files.write(file, new byte[ColumnarCoordinateFile.HEADER_SIZE]);
+            assertThrows(IOException.class, () -> ColumnarCoordinateFile.open(file, false));
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package club.magiccrazyman.geodetic.core.core.metrics;
+
+import club.magiccrazyman.geodetic.core.coordinatesystem.GeodeticCoordinateSystem;
+import club.magiccrazyman.geodetic.core.coordinatesystem.projection.GaussKrugerProjectionCoordinateSystem;
+import club.magiccrazyman.geodetic.core.metrics.HistogramMetricsRecorder;
+import club.magiccrazyman.geodetic.core.metrics.JmxMetricsExporter;
+import club.magiccrazyman.geodetic.core.metrics.MetricOperation;
+import club.magiccrazyman.geodetic.core.metrics.Metrics;
+import club.magiccrazyman.geodetic.core.metrics.OperationSnapshot;
+import club.magiccrazyman.geodetic.core.tools.CalculationTools;
+import org.junit.jupiter.api.Test;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistogramMetricsRecorderTest {
+
+    @Test
+    void record() {
+        GeodeticCoordinateSystem system = GeodeticCoordinateSystem.getSystemById(1);
+        GaussKrugerProjectionCoordinateSystem projection = GaussKrugerProjectionCoordinateSystem.RecordedSystem.CGCS2000_3_Degree_GK_Zone_37.getSystem();
+        double[] output = new double[6];
+        HistogramMetricsRecorder recorder = new HistogramMetricsRecorder();
+
+        //未设置记录器时不记录
+        system.inverseSolutionOfGeodeticProblem(0.1, 0.2, 0.3, 0.4, 1e-12, output);
+
+        Metrics.setRecorder(recorder);
+        try {
+            long iterations = 0;
+            for (int i = 0; i < 100; i++) {
+                system.inverseSolutionOfGeodeticProblem(CalculationTools.degrees2Radians(110), CalculationTools.degrees2Radians(30 + i * 0.1),
+                        CalculationTools.degrees2Radians(115), CalculationTools.degrees2Radians(35), 1e-12, output);
+                iterations += (long) output[3];
+            }
+            projection.backwardCalculation(3380000, 37500000, 1e-12, true, output);
+            int backwardIterations = (int) output[5];
+
+            OperationSnapshot inverse = recorder.snapshot(MetricOperation.INVERSE_SOLUTION, system.getName());
+            assertEquals(100, inverse.getCount());
+            assertEquals(iterations, inverse.getTotalIterations());
+            assertEquals(100, sum(inverse.getIterationHistogram()));
+            assertEquals(100, sum(inverse.getLatencyHistogram()));
+            assertTrue(inverse.getTotalNanos() > 0);
+            assertTrue(inverse.getLatencyP50Nanos() <= inverse.getLatencyP99Nanos());
+
+            OperationSnapshot backward = recorder.snapshot(MetricOperation.BACKWARD_CALCULATION, projection.getName());
+            assertEquals(1, backward.getCount());
+            assertEquals(1, backward.getIterationHistogram()[backwardIterations]);
+            //投影反算的迭代法同时记录底点纬度推算
+            assertEquals(1, recorder.snapshot(MetricOperation.LATITUDE_FROM_MERIDIAN_ARC, system.getName()).getCount());
+            assertNull(recorder.snapshot(MetricOperation.DIRECT_SOLUTION, system.getName()));
+
+            recorder.reset();
+            assertTrue(recorder.snapshot().isEmpty());
+        } finally {
+            Metrics.setRecorder(null);
+        }
+    }
+
+    @Test
+    void jmx() throws JMException {
+        HistogramMetricsRecorder recorder = new HistogramMetricsRecorder();
+        ObjectName name = JmxMetricsExporter.register(recorder);
+        try {
+            recorder.record(MetricOperation.DIRECT_SOLUTION, "test", 0, 100);
+            recorder.record(MetricOperation.INVERSE_SOLUTION, "test", 40, 3000);
+
+            assertEquals(2L, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "TotalCount"));
+            CompositeData[] operations = (CompositeData[]) ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Operations");
+            assertEquals(2, operations.length);
+            assertEquals("DIRECT_SOLUTION", operations[0].get("operation"));
+            long[] iterations = (long[]) operations[1].get("iterationHistogram");
+            assertEquals(1, iterations[HistogramMetricsRecorder.MAX_ITERATIONS]);
+            assertEquals(4095L, operations[1].get("latencyP99Nanos"));
+
+            ManagementFactory.getPlatformMBeanServer().invoke(name, "reset", null, null);
+            assertEquals(0L, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "TotalCount"));
+        } finally {
+            JmxMetricsExporter.unregister(name);
+        }
+    }
+
+    private static long sum(long[] values) {
+        long sum = 0;
+        for (long value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+}
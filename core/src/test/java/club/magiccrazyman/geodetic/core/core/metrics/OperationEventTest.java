@@ -0,0 +1,77 @@
+package club.magiccrazyman.geodetic.core.core.metrics;
+
+import club.magiccrazyman.geodetic.core.coordinatesystem.GeodeticCoordinateSystem;
+import club.magiccrazyman.geodetic.core.coordinatesystem.projection.GaussKrugerProjectionCoordinateSystem;
+import club.magiccrazyman.geodetic.core.metrics.MetricOperation;
+import club.magiccrazyman.geodetic.core.metrics.OperationEvent;
+import club.magiccrazyman.geodetic.core.tools.CalculationTools;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OperationEventTest {
+
+    @Test
+    void recording() throws IOException {
+        GeodeticCoordinateSystem system = GeodeticCoordinateSystem.getSystemById(1);
+        GaussKrugerProjectionCoordinateSystem projection = GaussKrugerProjectionCoordinateSystem.RecordedSystem.CGCS2000_3_Degree_GK_Zone_37.getSystem();
+        double[] output = new double[13];
+
+        Path file = Files.createTempFile("geodetic", ".jfr");
+        try {
+            try (Recording recording = new Recording()) {
+                //默认关闭，未启用的记录中不出现
+                recording.start();
+                system.transformToSpatialCoordinateSystem(0.1, 0.2, 0, output);
+                recording.stop();
+                recording.dump(file);
+            }
+            assertTrue(read(file).isEmpty());
+
+            try (Recording recording = new Recording()) {
+                recording.enable(OperationEvent.NAME);
+                recording.start();
+                system.inverseSolutionOfGeodeticProblem(CalculationTools.degrees2Radians(110), CalculationTools.degrees2Radians(30),
+                        CalculationTools.degrees2Radians(115), CalculationTools.degrees2Radians(35), 1e-12, output);
+                int iterations = (int) output[3];
+                projection.forwardCalculation(CalculationTools.degrees2Radians(111.5), CalculationTools.degrees2Radians(30.5), output);
+                recording.stop();
+                recording.dump(file);
+
+                List<RecordedEvent> events = read(file);
+                RecordedEvent inverse = find(events, MetricOperation.INVERSE_SOLUTION);
+                assertEquals(system.getName(), inverse.getString("system"));
+                assertEquals(iterations, inverse.getInt("iterations"));
+                assertTrue(inverse.getDuration("elapsed").toNanos() > 0);
+
+                RecordedEvent forward = find(events, MetricOperation.FORWARD_CALCULATION);
+                assertEquals(projection.getName(), forward.getString("system"));
+                assertEquals(0, forward.getInt("iterations"));
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static List<RecordedEvent> read(Path file) throws IOException {
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(OperationEvent.NAME))
+                .collect(Collectors.toList());
+    }
+
+    private static RecordedEvent find(List<RecordedEvent> events, MetricOperation operation) {
+        return events.stream()
+                .filter(event -> event.getString("operation").equals(operation.name()))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("未记录：" + operation));
+    }
+}
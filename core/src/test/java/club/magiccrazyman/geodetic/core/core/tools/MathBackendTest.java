@@ -0,0 +1,73 @@
+package club.magiccrazyman.geodetic.core.core.tools;
+
+import club.magiccrazyman.geodetic.core.tools.MathBackend;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MathBackendTest {
+
+    @Test
+    void fastErrorBound() {
+        Random random = new Random(20201018);
+        double[] sc = new double[2];
+        for (int i = 0; i < 200000; i++) {
+            double x = (random.nextDouble() * 2 - 1) * (i % 2 == 0 ? 2 * Math.PI : 1e5);
+            MathBackend.FAST.sincos(x, sc);
+            assertEquals(StrictMath.sin(x), sc[0], 4e-16, String.format("sin(%s)", x));
+            assertEquals(StrictMath.cos(x), sc[1], 4e-16, String.format("cos(%s)", x));
+            assertEquals(sc[0], MathBackend.FAST.sin(x));
+            assertEquals(sc[1], MathBackend.FAST.cos(x));
+
+            double t = StrictMath.tan(x);
+            assertEquals(t, MathBackend.FAST.tan(x), 8e-16 * Math.max(1, Math.abs(t)), String.format("tan(%s)", x));
+
+            double y = Math.tan((random.nextDouble() * 2 - 1) * 1.57) * (i % 2 == 0 ? 1 : 1e3);
+            assertEquals(StrictMath.atan(y), MathBackend.FAST.atan(y), 4e-16, String.format("atan(%s)", y));
+
+            //ECEF坐标量级及单位圆上的分量
+            double u = (random.nextDouble() * 2 - 1) * (i % 2 == 0 ? 1 : 7e6), v = (random.nextDouble() * 2 - 1) * (i % 3 == 0 ? 1e-3 : 7e6);
+            assertEquals(StrictMath.atan2(u, v), MathBackend.FAST.atan2(u, v), 8e-16, String.format("atan2(%s, %s)", u, v));
+            double h = StrictMath.hypot(u, v);
+            assertEquals(h, MathBackend.FAST.hypot(u, v), 4e-16 * h, String.format("hypot(%s, %s)", u, v));
+        }
+    }
+
+    @Test
+    void specialValues() {
+        for (MathBackend backend : MathBackend.values()) {
+            assertTrue(Double.isNaN(backend.sin(Double.NaN)), backend.name());
+            assertTrue(Double.isNaN(backend.cos(Double.POSITIVE_INFINITY)), backend.name());
+            assertEquals(-0.0, backend.sin(-0.0), backend.name());
+            assertEquals(Math.PI / 2, backend.atan(Double.POSITIVE_INFINITY), backend.name());
+            assertEquals(-Math.PI / 2, backend.atan(Double.NEGATIVE_INFINITY), backend.name());
+            assertEquals(Math.sin(1e10), backend.sin(1e10), 1e-15, backend.name()); //超出FAST缩减范围时回退
+            assertEquals(Math.PI, backend.atan2(0.0, -1), backend.name());
+            assertEquals(-Math.PI, backend.atan2(-0.0, -1), backend.name());
+            assertEquals(Math.PI / 2, backend.atan2(1, 0), backend.name());
+            assertEquals(-0.0, backend.atan2(-0.0, 1), backend.name());
+            assertEquals(Math.PI / 4, backend.atan2(Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY), backend.name());
+            assertTrue(Double.isNaN(backend.atan2(Double.NaN, 1)), backend.name());
+            assertEquals(Math.PI, backend.acos(-1), backend.name());
+            assertEquals(5, backend.hypot(3, -4), backend.name());
+            assertEquals(Double.POSITIVE_INFINITY, backend.hypot(Double.NEGATIVE_INFINITY, Double.NaN), backend.name());
+            assertEquals(5e300, backend.hypot(3e300, 4e300), 1e286, backend.name());
+            assertEquals(-3, backend.cbrt(-27), backend.name());
+        }
+    }
+
+    @Test
+    void strictSincos() {
+        double[] sc = new double[2];
+        for (double x = -10; x < 10; x += 0.013) {
+            MathBackend.STRICT.sincos(x, sc);
+            assertEquals(StrictMath.sin(x), sc[0]);
+            assertEquals(StrictMath.cos(x), sc[1]);
+            assertEquals(StrictMath.atan2(x, 0.7), MathBackend.STRICT.atan2(x, 0.7));
+            assertEquals(StrictMath.hypot(x, 0.7), MathBackend.STRICT.hypot(x, 0.7));
+            assertEquals(StrictMath.cbrt(x), MathBackend.STRICT.cbrt(x));
+        }
+    }
+}
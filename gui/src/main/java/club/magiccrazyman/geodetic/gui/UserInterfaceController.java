@@ -499,14 +499,15 @@ public class UserInterfaceController {
             Z = Double.parseDouble(axisZTextField.getText());
             precision = Double.parseDouble(precisionTextField.getText());
 
-            ArrayList<Double> LBHC = geodeticSystem.transformToGeodeticCoordinateSystem(X, Y, Z, precision);
+            ArrayList<Double> Bi = new ArrayList<>();
+            double[] LBHC = geodeticSystem.transformToGeodeticCoordinateSystem(X, Y, Z, precision, new double[4], processPane != null ? Bi::add : null);
 
-            longitudeTextField.setText(String.valueOf(LBHC.get(0)));
-            latitudeTextField.setText(String.valueOf(LBHC.get(1)));
-            heightTextField.setText(String.format("%.4f", LBHC.get(2)));
+            longitudeTextField.setText(String.valueOf(LBHC[0]));
+            latitudeTextField.setText(String.valueOf(LBHC[1]));
+            heightTextField.setText(String.format("%.4f", LBHC[2]));
 
-            String longitude = CalculationTools.degreesFormatter(CalculationTools.radians2Degrees(LBHC.get(0)));
-            String latitude = CalculationTools.degreesFormatter(CalculationTools.radians2Degrees(LBHC.get(1)));
+            String longitude = CalculationTools.degreesFormatter(CalculationTools.radians2Degrees(LBHC[0]));
+            String latitude = CalculationTools.degreesFormatter(CalculationTools.radians2Degrees(LBHC[1]));
             setDegreeTextField(longitude, latitude, 0);
 
             if (processPane != null) {
@@ -514,13 +515,13 @@ public class UserInterfaceController {
                 processTextArea.appendText(String.format(geodeticCoordinateSystemIntroduction, geodeticSystem.getName(), geodeticSystem.getSemimajorAxis(), geodeticSystem.getSemiminorAxis(), 1 / geodeticSystem.getFlattening(), geodeticSystem.getFirstEccentricity(), geodeticSystem.getSecondEccentricity(), geodeticSystem.getPoleCurvatureRadius()));
                 processTextArea.appendText(String.format(toGeoInputParametersIntroduction, X, Y, Z, precisionTextField.getText()));
                 processTextArea.appendText(outputResultIntroduction);
-                processTextArea.appendText(String.format(geodeticIterationStart, LBHC.get(4)));
-                for (int i = 5, j = 1; i < LBHC.size(); i++, j++) {
-                    processTextArea.appendText(String.format(geodeticLatitudeIterationCount, j, LBHC.get(i)));
+                processTextArea.appendText(String.format(geodeticIterationStart, Bi.get(0)));
+                for (int i = 1; i < Bi.size(); i++) {
+                    processTextArea.appendText(String.format(geodeticLatitudeIterationCount, i, Bi.get(i)));
                 }
-                processTextArea.appendText(String.format(geodeticLongitudeResult, LBHC.get(0)));
-                processTextArea.appendText(String.format(geodeticLatitudeResult, LBHC.get(1), (int) (double) LBHC.get(3)));
-                processTextArea.appendText(String.format(geodeticHeightResult, LBHC.get(2)));
+                processTextArea.appendText(String.format(geodeticLongitudeResult, LBHC[0]));
+                processTextArea.appendText(String.format(geodeticLatitudeResult, LBHC[1], (int) LBHC[3]));
+                processTextArea.appendText(String.format(geodeticHeightResult, LBHC[2]));
             }
         } catch (NumberFormatException e) {
             e.printStackTrace();
@@ -767,7 +768,8 @@ public class UserInterfaceController {
         try {
             double X, Y, precision;
             boolean hasFalse;
-            ArrayList<Double> LBlffC;
+            double[] LBlffC;
+            ArrayList<Double> Bi = new ArrayList<>();
 
             precision = Double.parseDouble(precisionTextField1.getText());
 
@@ -775,28 +777,28 @@ public class UserInterfaceController {
                 X = Double.parseDouble(projectionAxisXTextField1.getText());
                 Y = Double.parseDouble(projectionAxisYTextField1.getText());
                 hasFalse = true;
-                LBlffC = projectionSystem.backwardCalculation(X, Y, precision, hasFalse);
+                LBlffC = projectionSystem.backwardCalculation(X, Y, precision, hasFalse, new double[6], processPane != null ? Bi::add : null);
             } else {
                 X = Double.parseDouble(projectionAxisXTextField2.getText());
                 Y = Double.parseDouble(projectionAxisYTextField2.getText());
                 hasFalse = false;
-                LBlffC = projectionSystem.backwardCalculation(X, Y, precision, hasFalse);
+                LBlffC = projectionSystem.backwardCalculation(X, Y, precision, hasFalse, new double[6], processPane != null ? Bi::add : null);
             }
 
-            longitudeTextField1.setText(String.valueOf(LBlffC.get(0)));
-            latitudeTextField1.setText(String.valueOf(LBlffC.get(1)));
+            longitudeTextField1.setText(String.valueOf(LBlffC[0]));
+            latitudeTextField1.setText(String.valueOf(LBlffC[1]));
 
-            String longitude = CalculationTools.degreesFormatter(CalculationTools.radians2Degrees(LBlffC.get(0)));
-            String latitude = CalculationTools.degreesFormatter(CalculationTools.radians2Degrees(LBlffC.get(1)));
+            String longitude = CalculationTools.degreesFormatter(CalculationTools.radians2Degrees(LBlffC[0]));
+            String latitude = CalculationTools.degreesFormatter(CalculationTools.radians2Degrees(LBlffC[1]));
             setDegreeTextField(longitude, latitude, 1);
 
-            if (LBlffC.get(0) > 0) {
+            if (LBlffC[0] > 0) {
                 EorW.getSelectionModel().select(0);
             } else {
                 EorW.getSelectionModel().select(1);
             }
 
-            if (LBlffC.get(1) > 0) {
+            if (LBlffC[1] > 0) {
                 NorS.getSelectionModel().select(0);
             } else {
                 NorS.getSelectionModel().select(1);
@@ -807,11 +809,11 @@ public class UserInterfaceController {
                 processTextArea.appendText(String.format(gaussProjectionCoordinateSystemIntroduction, projectionSystem.getName(), projectionSystem.getDegree(), projectionSystem.getCentralMeridian(), projectionSystem.getFalseEasting(), projectionSystem.getFalseNorthing(), projectionSystem.getScaleFactor(), projectionSystem.getLatitudeOfOrigin(), projectionSystem.getLinerUnit()));
                 processTextArea.appendText(String.format(gaussProjectionBackwardInputParameters, X, Y, hasFalse ? "有" : "无", precision));
                 processTextArea.appendText(outputResultIntroduction);
-                processTextArea.appendText(String.format(gaussProjectionIterationStart, LBlffC.get(6)));
-                for (int i = 7, j = 1; i < LBlffC.size(); i++, j++) {
-                    processTextArea.appendText(String.format(gaussProjectionLatitudeIterationCount, j, LBlffC.get(i)));
+                processTextArea.appendText(String.format(gaussProjectionIterationStart, Bi.get(0)));
+                for (int i = 1; i < Bi.size(); i++) {
+                    processTextArea.appendText(String.format(gaussProjectionLatitudeIterationCount, i, Bi.get(i)));
                 }
-                processTextArea.appendText(String.format(gaussProjectionBackwardResult, LBlffC.get(3), LBlffC.get(4), LBlffC.get(1), (int) (double) LBlffC.get(5), LBlffC.get(0), LBlffC.get(2)));
+                processTextArea.appendText(String.format(gaussProjectionBackwardResult, LBlffC[3], LBlffC[4], LBlffC[1], (int) LBlffC[5], LBlffC[0], LBlffC[2]));
             }
         } catch (NumberFormatException e) {
             e.printStackTrace();
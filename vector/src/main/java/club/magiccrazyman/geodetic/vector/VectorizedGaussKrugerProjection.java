@@ -0,0 +1,179 @@
+package club.magiccrazyman.geodetic.vector;
+
+import club.magiccrazyman.geodetic.core.coordinatesystem.GeodeticCoordinateSystem;
+import club.magiccrazyman.geodetic.core.coordinatesystem.projection.GaussKrugerProjectionCoordinateSystem;
+import club.magiccrazyman.geodetic.core.tools.CalculationTools;
+import club.magiccrazyman.geodetic.core.tools.ParallelTools;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 基于SIMD（jdk.incubator.vector）的批量高斯克吕格投影正算
+ * <br>
+ * 公式与 {@link GaussKrugerProjectionCoordinateSystem#forwardCalculation(double, double, double[])} 一致，每次同时计算一组（SIMD通道数）坐标点；
+ * 子午线弧长中的 sin(2B)，sin(4B)，sin(6B)，sin(8B) 由 sin(B)，cos(B) 以倍角公式递推，每个点只计算一次三角函数
+ * <br>
+ * 区间末尾不足一组的坐标点，以及硬件不支持SIMD（通道数为1）时，均回退至 {@link GaussKrugerProjectionCoordinateSystem} 的批量标量实现，
+ * 两者结果的差异仅来自浮点舍入，小于10^-8米
+ * <br>
+ * 运行时须添加JVM参数 --add-modules jdk.incubator.vector
+ *
+ * @author Magic Crazy Man
+ */
+public class VectorizedGaussKrugerProjection {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    /**
+     * 高斯克吕格投影坐标系
+     */
+    private final GaussKrugerProjectionCoordinateSystem system;
+
+    /**
+     * 中央子午线，单位：弧度
+     */
+    private final double centralMeridianRadians;
+
+    /**
+     * 缩放因子，东伪偏移值，北伪偏移值
+     */
+    private final double scaleFactor, falseEasting, falseNorthing;
+
+    /**
+     * 极点处子午线曲率半径c，第二偏心率e'^2
+     */
+    private final double poleCurvatureRadius, secondEccentricity;
+
+    /**
+     * 子午线弧长系数 a0，a2 / 2，a4 / 4，a6 / 6，a8 / 8
+     */
+    private final double a0, a2, a4, a6, a8;
+
+    /**
+     * SIMD批量投影构造器
+     *
+     * @param system 高斯克吕格投影坐标系
+     */
+    public VectorizedGaussKrugerProjection(GaussKrugerProjectionCoordinateSystem system) {
+        GeodeticCoordinateSystem geodeticCoordinateSystem = system.getGeodeticCoordinateSystem();
+        double[] a = geodeticCoordinateSystem.calculateMeridianArcParameters();
+
+        this.system = system;
+        this.centralMeridianRadians = CalculationTools.degrees2Radians(system.getCentralMeridian());
+        this.scaleFactor = system.getScaleFactor();
+        this.falseEasting = system.getFalseEasting();
+        this.falseNorthing = system.getFalseNorthing();
+        this.poleCurvatureRadius = geodeticCoordinateSystem.getPoleCurvatureRadius();
+        this.secondEccentricity = geodeticCoordinateSystem.getSecondEccentricity();
+        this.a0 = a[0];
+        this.a2 = a[1] / 2;
+        this.a4 = a[2] / 4;
+        this.a6 = a[3] / 6;
+        this.a8 = a[4] / 8;
+    }
+
+    /**
+     * 当前硬件是否支持SIMD计算，不支持时所有计算均由标量实现完成
+     *
+     * @return SIMD通道数大于1时返回true
+     */
+    public static boolean isVectorized() {
+        return SPECIES.length() > 1;
+    }
+
+    /**
+     * 批量高斯克吕格投影正算，输入及输出均以结构数组形式存放，第i个点的计算结果写入输出数组的第i位
+     *
+     * @param L      大地经度数组，单位：弧度
+     * @param B      大地纬度数组，单位：弧度
+     * @param offset 起始下标
+     * @param length 计算点数
+     * @param xz     X轴偏移坐标值输出数组，单位：米
+     * @param yz     Y轴偏移坐标值输出数组，单位：米
+     * @throws IndexOutOfBoundsException 当任一数组长度不足时抛出此异常
+     * @see GaussKrugerProjectionCoordinateSystem#forwardCalculation(double[], double[], int, int, double[], double[])
+     */
+    public void forwardCalculation(double[] L, double[] B, int offset, int length, double[] xz, double[] yz) {
+        ParallelTools.checkBulkArrays(offset, length, L, B, xz, yz);
+        forwardCalculationRange(L, B, offset, offset + length, xz, yz);
+    }
+
+    /**
+     * 在ForkJoinPool中分段并行地批量进行高斯克吕格投影正算，每个子区间内以SIMD计算
+     *
+     * @param L      大地经度数组，单位：弧度
+     * @param B      大地纬度数组，单位：弧度
+     * @param offset 起始下标
+     * @param length 计算点数
+     * @param xz     X轴偏移坐标值输出数组，单位：米
+     * @param yz     Y轴偏移坐标值输出数组，单位：米
+     * @param pool   执行并行计算的ForkJoinPool
+     * @throws IndexOutOfBoundsException 当任一数组长度不足时抛出此异常
+     */
+    public void forwardCalculation(double[] L, double[] B, int offset, int length, double[] xz, double[] yz, ForkJoinPool pool) {
+        ParallelTools.checkBulkArrays(offset, length, L, B, xz, yz);
+        ParallelTools.forRange(pool, offset, length, (from, to) -> forwardCalculationRange(L, B, from, to, xz, yz));
+    }
+
+    /**
+     * 批量高斯克吕格投影正算的区间计算实现
+     *
+     * @param L    大地经度数组，单位：弧度
+     * @param B    大地纬度数组，单位：弧度
+     * @param from 起始下标（包含）
+     * @param to   终止下标（不包含）
+     * @param xz   X轴偏移坐标值输出数组，单位：米
+     * @param yz   Y轴偏移坐标值输出数组，单位：米
+     */
+    private void forwardCalculationRange(double[] L, double[] B, int from, int to, double[] xz, double[] yz) {
+        int i = from;
+        if (isVectorized()) {
+            int upper = from + SPECIES.loopBound(to - from);
+            for (; i < upper; i += SPECIES.length()) {
+                DoubleVector b = DoubleVector.fromArray(SPECIES, B, i);
+                DoubleVector l = DoubleVector.fromArray(SPECIES, L, i).sub(centralMeridianRadians); //经差
+                DoubleVector l2 = l.mul(l);
+
+                DoubleVector sinB = b.lanewise(VectorOperators.SIN);
+                DoubleVector cosB = b.lanewise(VectorOperators.COS);
+                DoubleVector sinB2 = sinB.mul(sinB);
+                DoubleVector cosB2 = cosB.mul(cosB);
+                DoubleVector t2 = sinB2.div(cosB2); //t^2 = tan(B)^2
+                DoubleVector eit2 = cosB2.mul(secondEccentricity); //η^2 = e'^2 * cos(B)^2
+                DoubleVector N = DoubleVector.broadcast(SPECIES, poleCurvatureRadius).div(eit2.add(1).sqrt()); //N = c / sqrt(1 + η^2)
+
+                //倍角公式递推子午线弧长所需的正弦值
+                DoubleVector sin2B = sinB.mul(cosB).mul(2);
+                DoubleVector cos2B = cosB2.sub(sinB2);
+                DoubleVector sin4B = sin2B.mul(cos2B).mul(2);
+                DoubleVector cos4B = cos2B.mul(cos2B).mul(2).sub(1);
+                DoubleVector sin6B = sin4B.mul(cos2B).add(cos4B.mul(sin2B));
+                DoubleVector sin8B = sin4B.mul(cos4B).mul(2);
+                DoubleVector X = b.mul(a0).sub(sin2B.mul(a2)).add(sin4B.mul(a4)).sub(sin6B.mul(a6)).add(sin8B.mul(a8));
+
+                DoubleVector NsinBcosB = N.mul(sinB).mul(cosB);
+                DoubleVector NcosB = N.mul(cosB);
+                DoubleVector cosB4 = cosB2.mul(cosB2);
+                DoubleVector t4 = t2.mul(t2);
+                DoubleVector l4 = l2.mul(l2);
+
+                DoubleVector x = X
+                        .add(NsinBcosB.mul(l2).div(2))
+                        .add(NsinBcosB.mul(cosB2).mul(t2.neg().add(5).add(eit2.mul(9)).add(eit2.mul(eit2).mul(4))).mul(l4).div(24))
+                        .add(NsinBcosB.mul(cosB4).mul(t2.mul(-58).add(61).add(t4)).mul(l4).mul(l2).div(720));
+                DoubleVector y = NcosB.mul(l)
+                        .add(NcosB.mul(cosB2).mul(t2.neg().add(1).add(eit2)).mul(l).mul(l2).div(6))
+                        .add(NcosB.mul(cosB4).mul(t2.mul(-18).add(5).add(t4).add(eit2.mul(14)).sub(eit2.mul(t2).mul(58))).mul(l).mul(l4).div(120));
+
+                x.mul(scaleFactor).add(falseNorthing).intoArray(xz, i);
+                y.mul(scaleFactor).add(falseEasting).intoArray(yz, i);
+            }
+        }
+        if (i < to) {
+            system.forwardCalculation(L, B, i, to - i, xz, yz);
+        }
+    }
+}
@@ -0,0 +1,6 @@
+module geodetic.vector {
+    requires geodetic.core;
+    requires jdk.incubator.vector;
+
+    exports club.magiccrazyman.geodetic.vector;
+}
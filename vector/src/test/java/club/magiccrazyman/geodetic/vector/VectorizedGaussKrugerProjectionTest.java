@@ -0,0 +1,58 @@
+package club.magiccrazyman.geodetic.vector;
+
+import club.magiccrazyman.geodetic.core.coordinatesystem.projection.GaussKrugerProjectionCoordinateSystem;
+import club.magiccrazyman.geodetic.core.tools.CalculationTools;
+import jdk.incubator.vector.DoubleVector;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VectorizedGaussKrugerProjectionTest {
+    private GaussKrugerProjectionCoordinateSystem cgcs2000_3_Zone_37 = GaussKrugerProjectionCoordinateSystem.RecordedSystem.CGCS2000_3_Degree_GK_Zone_37.getSystem();
+
+    @Test
+    void forwardCalculation() {
+        int n = 10007; //不是SIMD通道数的整数倍，覆盖标量回退
+        double[] L = new double[n], B = new double[n];
+        for (int i = 0; i < n; i++) {
+            L[i] = CalculationTools.degrees2Radians(109.5 + 3.0 * i / n);
+            B[i] = CalculationTools.degrees2Radians(-70 + 140.0 * ((i * 7919) % n) / n);
+        }
+
+        double[] xz = new double[n], yz = new double[n];
+        cgcs2000_3_Zone_37.forwardCalculation(L, B, 0, n, xz, yz);
+
+        VectorizedGaussKrugerProjection projection = new VectorizedGaussKrugerProjection(cgcs2000_3_Zone_37);
+        double[] vxz = new double[n], vyz = new double[n];
+        projection.forwardCalculation(L, B, 0, n, vxz, vyz);
+        for (int i = 0; i < n; i++) {
+            assertEquals(xz[i], vxz[i], 1e-8, String.format("xz[%d]", i));
+            assertEquals(yz[i], vyz[i], 1e-8, String.format("yz[%d]", i));
+        }
+
+        //分段边界不一定是通道数的整数倍，同一点可能分别经过SIMD通道与标量回退，只相差舍入误差
+        double[] pxz = new double[n], pyz = new double[n];
+        projection.forwardCalculation(L, B, 0, n, pxz, pyz, ForkJoinPool.commonPool());
+        assertArrayEquals(vxz, pxz, 1e-8);
+        assertArrayEquals(vyz, pyz, 1e-8);
+    }
+
+    @Test
+    void knownPointAgreement() {
+        //两倍通道数再加一个点，同一点既经过SIMD通道也经过标量回退
+        int n = 2 * DoubleVector.SPECIES_PREFERRED.length() + 1;
+        double[] L = new double[n], B = new double[n];
+        Arrays.fill(L, CalculationTools.degrees2Radians(111 + 17.0 / 60 + 58.3596 / 3600));
+        Arrays.fill(B, CalculationTools.degrees2Radians(30 + 45.0 / 60 + 25.4425 / 3600));
+        double[] xz = new double[n], yz = new double[n];
+        new VectorizedGaussKrugerProjection(cgcs2000_3_Zone_37).forwardCalculation(L, B, 0, n, xz, yz);
+        double[] expected = cgcs2000_3_Zone_37.forwardCalculation(L[0], B[0], new double[7]);
+        for (int i = 0; i < n; i++) {
+            assertEquals(expected[0], xz[i], 1e-8, String.format("xz[%d]", i));
+            assertEquals(expected[1], yz[i], 1e-8, String.format("yz[%d]", i));
+        }
+    }
+}